@@ -0,0 +1,40 @@
+package com.elina.authorization.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.cache.RedisCache;
+
+/**
+ * Prefix-based eviction for the cache implementations used by the application.
+ *
+ * Spring's Cache abstraction only supports evicting a single key or clearing a whole cache.
+ * Keys in this application are structured ("master_codes:{tenant}:{codeType}:..."), so a
+ * prefix is enough to drop everything belonging to one tenant or one code type.
+ */
+public final class CacheEvictionSupport {
+
+    private CacheEvictionSupport() {
+    }
+
+    /**
+     * Evict all keys starting with the given prefix. Caches that cannot evict by prefix are cleared.
+     * Transaction-aware decorators are bypassed; callers defer to after commit themselves.
+     */
+    public static void evictByPrefix(Cache cache, String prefix) {
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+
+        if (cache instanceof NearCache nearCache) {
+            nearCache.evictByPrefix(prefix);
+        } else if (cache instanceof RedisCache redisCache) {
+            // Key pattern is resolved against the cache's key prefix ("masterCodes::")
+            redisCache.clear(prefix + "*");
+        } else if (cache instanceof ConcurrentMapCache mapCache) {
+            mapCache.getNativeCache().keySet().removeIf(key -> String.valueOf(key).startsWith(prefix));
+        } else {
+            cache.clear();
+        }
+    }
+}
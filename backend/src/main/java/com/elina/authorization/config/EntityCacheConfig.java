@@ -0,0 +1,153 @@
+package com.elina.authorization.config;
+
+import com.elina.authorization.service.EntityCacheInvalidator;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for read-mostly reference entities (Tenant, Role, Permission,
+ * BusinessRule, MasterCode, Project).
+ *
+ * Each region is a JCache cache (Caffeine provider) created here with an entry bound and a
+ * TTL, configured per region as entity-cache.regions.{region}.maximum-size / ttl-minutes. A
+ * @Cache region without configuration fails startup, so no region is unbounded by accident.
+ *
+ * Entities use READ_WRITE: writes through Hibernate update the cache when the transaction
+ * commits. Writes that bypass Hibernate (JDBC batches) evict the region through
+ * EntityCacheInvalidator.
+ *
+ * Regions are local to each node. EntityCacheInvalidator publishes committed changes of cached
+ * entities on the near-cache invalidation channel, and the other nodes evict them.
+ *
+ * The query cache keeps the ids returned by repository methods hinted as cacheable; Hibernate
+ * invalidates those results per table through the update-timestamps region.
+ *
+ * Statistics (entity-cache.statistics-enabled) are exported by Actuator as
+ * hibernate.second.level.cache.* and hibernate.query.cache.* meters per region.
+ *
+ * With entity-cache.enabled=false no region factory is configured and the @Cache annotations
+ * are ignored.
+ */
+@Configuration
+@ConditionalOnProperty(name = "entity-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class EntityCacheConfig {
+
+    public static final String TENANT_REGION = "entity.tenant";
+    public static final String ROLE_REGION = "entity.role";
+    public static final String PERMISSION_REGION = "entity.permission";
+    public static final String BUSINESS_RULE_REGION = "entity.business-rule";
+    public static final String MASTER_CODE_REGION = "entity.master-code";
+    public static final String PROJECT_REGION = "entity.project";
+    static final String QUERY_RESULTS_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    static final String UPDATE_TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityCacheConfig.class);
+
+    /**
+     * Default bounds per region: maximum entries and TTL in minutes (0 = no expiry).
+     * Update timestamps must never expire before the query results they guard.
+     */
+    private static final Map<String, long[]> REGION_DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        REGION_DEFAULTS.put(TENANT_REGION, new long[] {1_000, 60});
+        REGION_DEFAULTS.put(ROLE_REGION, new long[] {5_000, 30});
+        REGION_DEFAULTS.put(PERMISSION_REGION, new long[] {20_000, 30});
+        REGION_DEFAULTS.put(BUSINESS_RULE_REGION, new long[] {20_000, 10});
+        REGION_DEFAULTS.put(MASTER_CODE_REGION, new long[] {50_000, 30});
+        REGION_DEFAULTS.put(PROJECT_REGION, new long[] {20_000, 10});
+        REGION_DEFAULTS.put(QUERY_RESULTS_REGION, new long[] {10_000, 5});
+        REGION_DEFAULTS.put(UPDATE_TIMESTAMPS_REGION, new long[] {1_000, 0});
+    }
+
+    @Value("${entity-cache.query-cache-enabled:true}")
+    private boolean queryCacheEnabled;
+
+    @Value("${entity-cache.statistics-enabled:true}")
+    private boolean statisticsEnabled;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(Environment environment) {
+        CaffeineCachingProvider provider =
+                (CaffeineCachingProvider) Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // Own URI per application context, so contexts in the same JVM (tests) do not share regions
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        REGION_DEFAULTS.forEach((region, defaults) -> {
+            String prefix = "entity-cache.regions." + region.substring(region.indexOf('.') + 1) + ".";
+            long maximumSize = environment.getProperty(prefix + "maximum-size", Long.class, defaults[0]);
+            long ttlMinutes = environment.getProperty(prefix + "ttl-minutes", Long.class, defaults[1]);
+
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            // Hibernate stores disassembled state; copying it on every access is not needed
+            configuration.setStoreByValue(false);
+            configuration.setStatisticsEnabled(statisticsEnabled);
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+            if (ttlMinutes > 0) {
+                configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(ttlMinutes)));
+            }
+            cacheManager.createCache(region, configuration);
+            logger.info("Entity cache region {}: maximum size {}, TTL {} minutes", region, maximumSize, ttlMinutes);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, queryCacheEnabled);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, "ENABLE_SELECTIVE");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statisticsEnabled);
+        };
+    }
+
+    /**
+     * Subscribes the entity cache to invalidations published by other nodes.
+     * Startup does not fail when Redis is unavailable; entries then rely on the region TTL.
+     */
+    @Bean
+    public RedisMessageListenerContainer entityCacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                                  EntityCacheInvalidator entityCacheInvalidator) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer() {
+            @Override
+            public void start() {
+                try {
+                    super.start();
+                } catch (Exception e) {
+                    EntityCacheConfig.logger.warn("Failed to subscribe to entity cache invalidation channel. Error: {}", e.getMessage());
+                }
+            }
+        };
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(entityCacheInvalidator, new ChannelTopic(NearCacheManager.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,36 @@
+package com.elina.authorization.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Worker pool for asynchronous import jobs (see ImportJobWorker).
+ * Scheduling is enabled for the stale job recovery sweep.
+ */
+@Configuration
+@EnableScheduling
+public class ImportJobConfig {
+
+    @Value("${import.jobs.worker-threads:2}")
+    private int workerThreads;
+
+    @Value("${import.jobs.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Bean(name = "importJobExecutor")
+    public ThreadPoolTaskExecutor importJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("import-job-");
+        // Let running chunks finish on shutdown; unfinished jobs resume via recovery
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
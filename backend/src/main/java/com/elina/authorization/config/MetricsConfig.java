@@ -0,0 +1,103 @@
+package com.elina.authorization.config;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application metrics (Micrometer, exposed through Actuator).
+ *
+ * Built-in meters: http.server.requests (every controller endpoint), hikaricp.* (connection
+ * pool usage, pending threads, acquire time), jvm.*, cache.* for Redis caches without
+ * near-cache. Application meters:
+ * - business.rules.validation / business.rules.cache (BusinessRuleEngine)
+ * - cache.near.gets (NearCache)
+ * - audit.log.write (AuditLogService)
+ * - jwt.parse (TenantFilter)
+ * - http.server.requests.sql.statements / .repeats / .budget.violations (RequestSqlMetricsFilter,
+ *   see @SqlBudget)
+ *
+ * Tenant tag: http.server.requests gets the tenant of the request, and at most
+ * metrics.tenant-tag.max-values distinct tenant values are kept per registry; meters of further
+ * tenants are merged under tenant=other so the number of time series stays bounded.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Value("${metrics.tenant-tag.max-values:200}")
+    private int maxTenantTagValues;
+
+    @Value("${sql.budget.max-repeats:10}")
+    private int sqlMaxRepeats;
+
+    @Value("${sql.budget.fail-on-violation:false}")
+    private boolean sqlFailOnViolation;
+
+    @Value("${sql.budget.headers-enabled:false}")
+    private boolean sqlHeadersEnabled;
+
+    @Bean
+    public MeterFilter tenantTagLimitMeterFilter() {
+        Set<String> tenants = ConcurrentHashMap.newKeySet();
+        return new MeterFilter() {
+            @Override
+            public Meter.Id map(Meter.Id id) {
+                String tenant = id.getTag(TenantMetrics.TENANT_TAG);
+                if (tenant == null || tenants.contains(tenant)) {
+                    return id;
+                }
+                if (tenants.size() < maxTenantTagValues) {
+                    tenants.add(tenant);
+                    return id;
+                }
+                return id.replaceTags(Tags.of(id.getTagsAsIterable()).and(TenantMetrics.TENANT_TAG, TenantMetrics.OTHER_TENANT));
+            }
+        };
+    }
+
+    /**
+     * Adds the tenant to http.server.requests.
+     */
+    @Bean
+    public ServerRequestObservationConvention tenantServerRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object tenantId = context.getCarrier().getAttribute(TenantMetrics.TENANT_ATTRIBUTE);
+                return super.getLowCardinalityKeyValues(context)
+                        .and(TenantMetrics.TENANT_TAG, TenantMetrics.tenant(tenantId));
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        SqlStatementCounter counter = new SqlStatementCounter();
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestSqlMetricsFilter> requestSqlMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestSqlMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestSqlMetricsFilter(meterRegistry, sqlMaxRepeats,
+                        sqlFailOnViolation, sqlHeadersEnabled));
+        // Inside the request observation, outside the security filter chain
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
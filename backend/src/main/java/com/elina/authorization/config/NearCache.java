@@ -0,0 +1,301 @@
+package com.elina.authorization.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Two-level cache: a size-bounded in-process Caffeine cache (W-TinyLFU eviction)
+ * in front of a shared cache such as Redis.
+ *
+ * Reads are served from the local cache when possible and fall back to the shared cache,
+ * populating the local cache on the way back. Evictions are applied to both levels and
+ * broadcast to other nodes through the owning NearCacheManager.
+ *
+ * Null values are never stored locally (the Redis cache disables null caching as well).
+ *
+ * Mutable values are held locally as serialized snapshots (same serializer as the shared level)
+ * and every read returns a fresh copy, so a caller modifying a returned DTO cannot corrupt the
+ * entry for other threads. Strings, numbers, booleans, enums and java.time values are kept as is.
+ *
+ * Values read from the shared level or loaded are only stored locally if the key was not
+ * invalidated since the read started: each key hashes to one of a fixed set of generation
+ * counters that invalidations bump before dropping local entries, and the local insert is
+ * done atomically with the generation check.
+ *
+ * Loads through get(key, valueLoader) (@Cacheable(sync = true)) are coalesced per key:
+ * concurrent misses for the same key on this node wait for a single load.
+ *
+ * Lookups are counted as cache.near.gets with result=local (local level hit), shared (shared
+ * level hit) or miss (value loaded, or waited for another thread's load).
+ */
+public class NearCache implements org.springframework.cache.Cache {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final org.springframework.cache.Cache shared;
+    private final Cache<Object, Object> local;
+    private final NearCacheManager manager;
+    private final RedisSerializer<Object> valueSerializer;
+    private final Map<Object, CompletableFuture<Object>> inFlightLoads = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /**
+     * Serialized form of a mutable value in the local level.
+     */
+    private record Snapshot(byte[] bytes) {
+    }
+
+    NearCache(org.springframework.cache.Cache shared, Cache<Object, Object> local, NearCacheManager manager,
+              RedisSerializer<Object> valueSerializer) {
+        this.shared = shared;
+        this.local = local;
+        this.manager = manager;
+        this.valueSerializer = valueSerializer;
+    }
+
+    @Override
+    public String getName() {
+        return shared.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return shared.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = getLocal(key);
+        if (value != null) {
+            manager.recordGet(getName(), NearCacheManager.LOCAL_HIT);
+            return new SimpleValueWrapper(value);
+        }
+        long generation = generation(key);
+        ValueWrapper wrapper = shared.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            manager.recordGet(getName(), NearCacheManager.SHARED_HIT);
+            putLocalIfCurrent(key, toLocal(wrapper.get()), generation);
+        } else {
+            manager.recordGet(getName(), NearCacheManager.MISS);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        Object value = getLocal(key);
+        if (value != null && (type == null || type.isInstance(value))) {
+            manager.recordGet(getName(), NearCacheManager.LOCAL_HIT);
+            return (T) value;
+        }
+        long generation = generation(key);
+        T sharedValue = shared.get(key, type);
+        if (sharedValue != null) {
+            manager.recordGet(getName(), NearCacheManager.SHARED_HIT);
+            putLocalIfCurrent(key, toLocal(sharedValue), generation);
+        } else {
+            manager.recordGet(getName(), NearCacheManager.MISS);
+        }
+        return sharedValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = getLocal(key);
+        if (value != null) {
+            manager.recordGet(getName(), NearCacheManager.LOCAL_HIT);
+            return (T) value;
+        }
+
+        // Completed with the local form of the value so every waiter gets its own copy
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = inFlightLoads.putIfAbsent(key, load);
+        if (inFlight != null) {
+            // Another thread is already loading this key
+            manager.recordGet(getName(), NearCacheManager.MISS);
+            try {
+                return (T) fromLocal(inFlight.join());
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        try {
+            T loaded = load(key, valueLoader);
+            load.complete(loaded != null ? toLocal(loaded) : null);
+            return loaded;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(key, load);
+        }
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader) {
+        long generation = generation(key);
+        ValueWrapper wrapper = shared.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            @SuppressWarnings("unchecked")
+            T sharedValue = (T) wrapper.get();
+            manager.recordGet(getName(), NearCacheManager.SHARED_HIT);
+            putLocalIfCurrent(key, toLocal(sharedValue), generation);
+            return sharedValue;
+        }
+        manager.recordGet(getName(), NearCacheManager.MISS);
+
+        T loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (loaded != null) {
+            shared.put(key, loaded);
+            putLocalIfCurrent(key, toLocal(loaded), generation);
+        }
+        return loaded;
+    }
+
+    private Object getLocal(Object key) {
+        Object stored = local.getIfPresent(key);
+        return stored != null ? fromLocal(stored) : null;
+    }
+
+    /**
+     * Store a value read before an invalidation could have happened, unless the key's
+     * generation moved in the meantime. Runs inside the map's compute so a concurrent
+     * invalidation either sees the entry (and drops it) or has bumped the generation first.
+     */
+    private void putLocalIfCurrent(Object key, Object stored, long generation) {
+        local.asMap().compute(key, (k, existing) -> generation(key) == generation ? stored : existing);
+    }
+
+    private long generation(Object key) {
+        return generations.get(stripe(key));
+    }
+
+    private void bumpGeneration(Object key) {
+        generations.incrementAndGet(stripe(key));
+    }
+
+    private void bumpAllGenerations() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+    }
+
+    private static int stripe(Object key) {
+        return Math.floorMod(key.hashCode(), GENERATION_STRIPES);
+    }
+
+    private Object toLocal(Object value) {
+        if (valueSerializer == null || isImmutable(value)) {
+            return value;
+        }
+        return new Snapshot(valueSerializer.serialize(value));
+    }
+
+    private Object fromLocal(Object stored) {
+        return stored instanceof Snapshot snapshot ? valueSerializer.deserialize(snapshot.bytes()) : stored;
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof Enum || value instanceof TemporalAccessor;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        shared.put(key, value);
+        if (value != null) {
+            local.put(key, toLocal(value));
+        } else {
+            evictLocal(key);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = shared.putIfAbsent(key, value);
+        Object current = existing != null ? existing.get() : value;
+        if (current != null) {
+            local.put(key, toLocal(current));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        shared.evict(key);
+        evictLocal(key);
+        manager.publishEvict(getName(), key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = shared.evictIfPresent(key);
+        evictLocal(key);
+        manager.publishEvict(getName(), key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        shared.clear();
+        clearLocal();
+        manager.publishClear(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = shared.invalidate();
+        clearLocal();
+        manager.publishClear(getName());
+        return present;
+    }
+
+    /**
+     * Evict all keys starting with the given prefix from both levels and broadcast it.
+     */
+    public void evictByPrefix(String prefix) {
+        CacheEvictionSupport.evictByPrefix(shared, prefix);
+        evictLocalByPrefix(prefix);
+        manager.publishEvictPrefix(getName(), prefix);
+    }
+
+    /**
+     * Drop all keys starting with the given prefix from the local level only (also applied for remote invalidations).
+     */
+    void evictLocalByPrefix(String prefix) {
+        bumpAllGenerations();
+        local.asMap().keySet().removeIf(key -> String.valueOf(key).startsWith(prefix));
+    }
+
+    /**
+     * Drop a key from the local level only (also applied for remote invalidations).
+     */
+    void evictLocal(Object key) {
+        bumpGeneration(key);
+        local.invalidate(key);
+    }
+
+    /**
+     * Drop all entries from the local level only (also applied for remote invalidations).
+     */
+    void clearLocal() {
+        bumpAllGenerations();
+        local.invalidateAll();
+    }
+}
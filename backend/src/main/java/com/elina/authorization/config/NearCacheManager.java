@@ -0,0 +1,212 @@
+package com.elina.authorization.config;
+
+import com.elina.authorization.context.TenantContext;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache manager that puts a NearCache (in-process Caffeine level) in front of every cache
+ * of a shared cache manager (Redis).
+ *
+ * Cross-node invalidation: evictions are published on a Redis pub/sub channel as
+ * "{nodeId}|{cacheName}|{key}" ("*" as key clears the cache, "{prefix}*" evicts all keys
+ * starting with the prefix). Every node subscribes to the
+ * channel and drops the matching local entries; messages from this node are ignored.
+ * Local entries also expire after a short TTL as a safety net for lost messages.
+ *
+ * Caches are transaction-aware: puts and evictions are applied after commit.
+ *
+ * Metrics: lookups are counted as cache.near.gets (tags cache, result, tenant).
+ */
+public class NearCacheManager implements CacheManager, MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache:near:invalidate";
+
+    static final String LOCAL_HIT = "local";
+    static final String SHARED_HIT = "shared";
+    static final String MISS = "miss";
+
+    private static final Logger logger = LoggerFactory.getLogger(NearCacheManager.class);
+    private static final String CLEAR_ALL = "*";
+
+    private final CacheManager sharedCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final long maximumSize;
+    private final Duration localTtl;
+    private final MeterRegistry meterRegistry;
+    private final RedisSerializer<Object> valueSerializer;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, NearCache> nearCaches = new ConcurrentHashMap<>();
+    private final Map<String, Cache> decoratedCaches = new ConcurrentHashMap<>();
+    private final Map<String, GetCounters> getCounters = new ConcurrentHashMap<>();
+
+    public NearCacheManager(CacheManager sharedCacheManager, StringRedisTemplate redisTemplate,
+                            long maximumSize, Duration localTtl, MeterRegistry meterRegistry) {
+        this(sharedCacheManager, redisTemplate, maximumSize, localTtl, meterRegistry,
+            new GenericJackson2JsonRedisSerializer());
+    }
+
+    /**
+     * @param valueSerializer serializer used for the local copies of mutable values
+     *                        (normally the shared level's value serializer)
+     */
+    public NearCacheManager(CacheManager sharedCacheManager, StringRedisTemplate redisTemplate,
+                            long maximumSize, Duration localTtl, MeterRegistry meterRegistry,
+                            RedisSerializer<Object> valueSerializer) {
+        this.sharedCacheManager = sharedCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.maximumSize = maximumSize;
+        this.localTtl = localTtl;
+        this.meterRegistry = meterRegistry;
+        this.valueSerializer = valueSerializer;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return decoratedCaches.computeIfAbsent(name, cacheName -> {
+            Cache shared = sharedCacheManager.getCache(cacheName);
+            if (shared == null) {
+                return null;
+            }
+            NearCache nearCache = new NearCache(shared, Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(localTtl)
+                    .build(), this, valueSerializer);
+            nearCaches.put(cacheName, nearCache);
+            getCounters.put(cacheName, new GetCounters(cacheName));
+            return new TransactionAwareCacheDecorator(nearCache);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return sharedCacheManager.getCacheNames();
+    }
+
+    /**
+     * Count a lookup of a near-cache (result: local, shared or miss).
+     */
+    void recordGet(String cacheName, String result) {
+        GetCounters counters = getCounters.get(cacheName);
+        if (counters != null) {
+            counters.increment(result);
+        }
+    }
+
+    /**
+     * Lookup counters of one cache. The counters of a tenant are registered on its first
+     * lookup and reused afterwards, so a lookup does not go through the meter registry.
+     */
+    private final class GetCounters {
+
+        private final String cacheName;
+        private final Map<Object, Map<String, Counter>> byTenant = new ConcurrentHashMap<>();
+
+        GetCounters(String cacheName) {
+            this.cacheName = cacheName;
+        }
+
+        void increment(String result) {
+            Long tenantId = TenantContext.getTenantId();
+            Object tenantKey = tenantId != null ? tenantId : TenantMetrics.NO_TENANT;
+            Map<String, Counter> counters = byTenant.get(tenantKey);
+            if (counters == null) {
+                counters = byTenant.computeIfAbsent(tenantKey, key -> register(TenantMetrics.tenant(tenantId)));
+            }
+            counters.get(result).increment();
+        }
+
+        private Map<String, Counter> register(String tenant) {
+            Map<String, Counter> counters = new HashMap<>();
+            for (String result : List.of(LOCAL_HIT, SHARED_HIT, MISS)) {
+                counters.put(result, Counter.builder("cache.near.gets")
+                        .description("Near-cache lookups")
+                        .tag("cache", cacheName)
+                        .tag("result", result)
+                        .tag(TenantMetrics.TENANT_TAG, tenant)
+                        .register(meterRegistry));
+            }
+            return counters;
+        }
+    }
+
+    /**
+     * Broadcast eviction of a single key to other nodes.
+     */
+    void publishEvict(String cacheName, Object key) {
+        publish(cacheName, String.valueOf(key));
+    }
+
+    /**
+     * Broadcast eviction of all keys starting with a prefix to other nodes.
+     */
+    void publishEvictPrefix(String cacheName, String prefix) {
+        publish(cacheName, prefix + CLEAR_ALL);
+    }
+
+    /**
+     * Broadcast a full clear of a cache to other nodes.
+     */
+    void publishClear(String cacheName) {
+        publish(cacheName, CLEAR_ALL);
+    }
+
+    private void publish(String cacheName, String key) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + "|" + cacheName + "|" + key);
+        } catch (Exception e) {
+            // Other nodes fall back to the local TTL
+            logger.warn("Failed to publish near-cache invalidation for {} / {}: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    /**
+     * Handle an invalidation published by another node.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        NearCache nearCache = nearCaches.get(parts[1]);
+        if (nearCache == null) {
+            return; // Cache not used on this node yet, nothing held locally
+        }
+
+        if (CLEAR_ALL.equals(parts[2])) {
+            nearCache.clearLocal();
+        } else if (parts[2].endsWith(CLEAR_ALL)) {
+            nearCache.evictLocalByPrefix(parts[2].substring(0, parts[2].length() - 1));
+        } else {
+            nearCache.evictLocal(parts[2]);
+        }
+        logger.debug("Applied remote near-cache invalidation: {} / {}", parts[1], parts[2]);
+    }
+}
@@ -0,0 +1,47 @@
+package com.elina.authorization.config;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Loads entries of shared caches (confirmation locks, master codes) from the primary database.
+ *
+ * With read replica routing (see ReplicaRoutingDataSource), a cache miss in a read-only
+ * transaction would otherwise be loaded from the replica. Right after a write has evicted the
+ * entry, the replica may still return the old value, which would then be cached for all nodes
+ * and trusted by the write paths (e.g. Rule 102 lock checks) until it expires.
+ *
+ * Unless the current transaction already reads from the primary, the loader runs in its own
+ * read-only transaction on the primary. Only cache misses pay for the extra transaction.
+ * Without read replica routing the loader runs as is.
+ */
+@Component
+public class PrimaryCacheLoader {
+
+    private final Optional<ReplicaRoutingDataSource> replicaRoutingDataSource;
+    private final TransactionTemplate primaryReadTransaction;
+
+    public PrimaryCacheLoader(Optional<ReplicaRoutingDataSource> replicaRoutingDataSource,
+                              PlatformTransactionManager transactionManager) {
+        this.replicaRoutingDataSource = replicaRoutingDataSource;
+        this.primaryReadTransaction = new TransactionTemplate(transactionManager);
+        this.primaryReadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.primaryReadTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Load a cache entry from the primary.
+     */
+    public <T> T load(Supplier<T> loader) {
+        ReplicaRoutingDataSource routing = replicaRoutingDataSource.orElse(null);
+        if (routing == null || routing.readsFromPrimary()) {
+            return loader.get();
+        }
+        return routing.withPrimaryReads(() -> primaryReadTransaction.execute(status -> loader.get()));
+    }
+}
@@ -0,0 +1,111 @@
+package com.elina.authorization.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseDataSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read replica routing: read-only transactions (@Transactional(readOnly = true)) run on a
+ * replica pool, everything else on the primary (spring.datasource).
+ *
+ * Beans:
+ * - primaryDataSource: the primary pool (spring.datasource.*, spring.datasource.hikari.*), also
+ *   used by Liquibase
+ * - dataSource (@Primary): LazyConnectionDataSourceProxy around ReplicaRoutingDataSource, used by
+ *   JPA and JdbcTemplate
+ *
+ * The replica pool (read-replica.url, username, password) is owned by the routing data source
+ * and not a bean, so a replica outage does not turn the actuator health DOWN; its pool metrics
+ * are exported as hikaricp.* with pool=replica and it is closed with the routing data source.
+ *
+ * Local setup: point read-replica.url at a second database (a copy of the primary, e.g. a
+ * restored backup or a second H2 file database) and compare datasource.routing counts.
+ */
+@Configuration
+@ConditionalOnProperty(name = "read-replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Value("${read-replica.url}")
+    private String replicaUrl;
+
+    @Value("${read-replica.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${read-replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${read-replica.driver-class-name:}")
+    private String replicaDriverClassName;
+
+    @Value("${read-replica.maximum-pool-size:10}")
+    private int replicaMaximumPoolSize;
+
+    @Value("${read-replica.connection-timeout-ms:2000}")
+    private long replicaConnectionTimeoutMs;
+
+    @Value("${read-replica.read-your-writes-window-ms:5000}")
+    private long readYourWritesWindowMs;
+
+    @Value("${read-replica.max-tracked-users:100000}")
+    private long maxTrackedUsers;
+
+    @Value("${read-replica.health-check-timeout-seconds:2}")
+    private int healthCheckTimeoutSeconds;
+
+    @Bean
+    @LiquibaseDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             MeterRegistry meterRegistry) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaPool(meterRegistry),
+                Duration.ofMillis(readYourWritesWindowMs), maxTrackedUsers, healthCheckTimeoutSeconds, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private HikariDataSource replicaPool(MeterRegistry meterRegistry) {
+        DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replicaUrl)
+                .username(replicaUsername)
+                .password(replicaPassword);
+        if (StringUtils.hasText(replicaDriverClassName)) {
+            builder.driverClassName(replicaDriverClassName);
+        }
+        HikariDataSource dataSource = builder.build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.REPLICA);
+        dataSource.setMaximumPoolSize(replicaMaximumPoolSize);
+        // Fail fast so a dead replica falls back to the primary quickly
+        dataSource.setConnectionTimeout(replicaConnectionTimeoutMs);
+        // Do not fail startup when the replica is down; the first request falls back instead
+        dataSource.setInitializationFailTimeout(-1);
+        dataSource.setReadOnly(true);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
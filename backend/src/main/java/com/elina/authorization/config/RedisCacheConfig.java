@@ -1,5 +1,6 @@
 package com.elina.authorization.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,6 +14,9 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -22,6 +26,10 @@ import java.time.Duration;
 /**
  * Redis cache configuration for master codes.
  * Provides caching with configurable TTL and graceful fallback when Redis is unavailable.
+ * 
+ * When master-data.cache.near.enabled is true (default), each Redis cache is fronted by an
+ * in-process Caffeine near-cache (see NearCacheManager) and invalidations are propagated
+ * to other nodes through Redis pub/sub.
  */
 @Configuration
 @EnableCaching
@@ -35,30 +43,82 @@ public class RedisCacheConfig {
     @Value("${master-data.cache.enabled:true}")
     private boolean cacheEnabled;
 
+    @Value("${master-data.cache.near.enabled:true}")
+    private boolean nearCacheEnabled;
+
+    @Value("${master-data.cache.near.maximum-size:10000}")
+    private long nearCacheMaximumSize;
+
+    @Value("${master-data.cache.near.ttl-seconds:60}")
+    private long nearCacheTtlSeconds;
+
     @Bean
     @Primary
     @ConditionalOnProperty(name = "master-data.cache.enabled", havingValue = "true", matchIfMissing = true)
-    public CacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public CacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory,
+                                          StringRedisTemplate stringRedisTemplate,
+                                          MeterRegistry meterRegistry) {
         try {
+            GenericJackson2JsonRedisSerializer valueSerializer = new GenericJackson2JsonRedisSerializer();
             RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                     .entryTtl(Duration.ofMinutes(cacheTtlMinutes))
                     .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()))
+                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer))
                     .disableCachingNullValues();
 
-            RedisCacheManager manager = RedisCacheManager.builder(redisConnectionFactory)
+            if (!nearCacheEnabled) {
+                RedisCacheManager manager = RedisCacheManager.builder(redisConnectionFactory)
+                        .cacheDefaults(config)
+                        .transactionAware()
+                        .enableStatistics()
+                        .build();
+
+                logger.info("Redis cache manager initialized with TTL: {} minutes", cacheTtlMinutes);
+                return manager;
+            }
+
+            // Transaction awareness is applied by the near-cache manager around both levels
+            RedisCacheManager redisManager = RedisCacheManager.builder(redisConnectionFactory)
                     .cacheDefaults(config)
-                    .transactionAware()
                     .build();
+            redisManager.initializeCaches();
 
-            logger.info("Redis cache manager initialized with TTL: {} minutes", cacheTtlMinutes);
-            return manager;
+            logger.info("Redis cache manager initialized with TTL: {} minutes, near-cache size: {}, near-cache TTL: {} seconds",
+                cacheTtlMinutes, nearCacheMaximumSize, nearCacheTtlSeconds);
+            return new NearCacheManager(redisManager, stringRedisTemplate,
+                nearCacheMaximumSize, Duration.ofSeconds(nearCacheTtlSeconds), meterRegistry, valueSerializer);
         } catch (Exception e) {
             logger.warn("Failed to initialize Redis cache manager. Falling back to NoOpCacheManager. Error: {}", e.getMessage());
             return new NoOpCacheManager();
         }
     }
 
+    /**
+     * Subscribes the near-cache manager to cross-node invalidation messages.
+     * Startup does not fail when Redis is unavailable; local entries then rely on the near-cache TTL.
+     */
+    @Bean
+    @ConditionalOnProperty(name = {"master-data.cache.enabled", "master-data.cache.near.enabled"},
+        havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer nearCacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                                CacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer() {
+            @Override
+            public void start() {
+                try {
+                    super.start();
+                } catch (Exception e) {
+                    RedisCacheConfig.logger.warn("Failed to subscribe to near-cache invalidation channel. Error: {}", e.getMessage());
+                }
+            }
+        };
+        container.setConnectionFactory(redisConnectionFactory);
+        if (cacheManager instanceof NearCacheManager nearCacheManager) {
+            container.addMessageListener(nearCacheManager, new ChannelTopic(NearCacheManager.INVALIDATION_CHANNEL));
+        }
+        return container;
+    }
+
     @Bean
     @ConditionalOnProperty(name = "master-data.cache.enabled", havingValue = "false")
     public CacheManager noOpCacheManager() {
@@ -0,0 +1,288 @@
+package com.elina.authorization.config;
+
+import com.elina.authorization.context.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * DataSource that sends read-only transactions to a read replica and everything else to the
+ * primary (see ReadReplicaConfig).
+ *
+ * The target is chosen when a connection is requested, so this data source must sit behind a
+ * LazyConnectionDataSourceProxy: the proxy defers the request to the first statement, when the
+ * transaction's read-only flag is known.
+ *
+ * A read-only transaction still goes to the primary when:
+ * - the current user committed a read-write transaction within the read-your-writes window
+ *   (the replica may not have applied it yet); users are tracked per node
+ * - the replica is marked down: a connection request failed, or the periodic health check did;
+ *   the next successful health check marks it up again
+ * - it runs inside withPrimaryReads (entries of shared caches, see PrimaryCacheLoader)
+ *
+ * Caches must not be filled from the replica: it may not have applied a write yet whose
+ * commit just evicted the entry, and the stale value would then be served (also to the write
+ * paths) until it expires. Shared caches load their entries from the primary
+ * (PrimaryCacheLoader), and Hibernate sessions of transactions routed to the replica read the
+ * second-level cache but do not put entities or query results into it (CacheMode.GET).
+ *
+ * Metrics: datasource.routing (tags target, reason) and datasource.replica.healthy.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    static final String REASON_READ_WRITE = "read-write";
+    static final String REASON_READ_ONLY = "read-only";
+    static final String REASON_READ_YOUR_WRITES = "read-your-writes";
+    static final String REASON_REPLICA_DOWN = "replica-down";
+    static final String REASON_FALLBACK = "fallback";
+    static final String REASON_CACHE_LOAD = "cache-load";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final int healthCheckTimeoutSeconds;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, Long> recentWriters;
+    private final Map<String, Counter> routingCounters = new ConcurrentHashMap<>();
+    private final ThreadLocal<Boolean> primaryReads = new ThreadLocal<>();
+    /** Transaction resource key: target of the current read-only transaction */
+    private final Object readTargetKey = new Object();
+    private volatile boolean replicaHealthy = true;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow,
+                                    long maxTrackedUsers, int healthCheckTimeoutSeconds, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+        this.meterRegistry = meterRegistry;
+        // An entry exists while the user's last write is within the window
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(maxTrackedUsers)
+                .build();
+        Gauge.builder("datasource.replica.healthy", this, routing -> routing.replicaHealthy ? 1 : 0)
+                .description("1 while read-only transactions may use the read replica")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            return route(PRIMARY, REASON_READ_WRITE).getConnection();
+        }
+        if (Boolean.TRUE.equals(primaryReads.get())) {
+            return routeRead(PRIMARY, REASON_CACHE_LOAD).getConnection();
+        }
+        if (!replicaHealthy) {
+            return routeRead(PRIMARY, REASON_REPLICA_DOWN).getConnection();
+        }
+        String user = currentUser();
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            return routeRead(PRIMARY, REASON_READ_YOUR_WRITES).getConnection();
+        }
+        try {
+            Connection connection = route(REPLICA, REASON_READ_ONLY).getConnection();
+            bindReadTarget(REPLICA);
+            return connection;
+        } catch (SQLException e) {
+            markReplicaDown(e);
+            return routeRead(PRIMARY, REASON_FALLBACK).getConnection();
+        }
+    }
+
+    /**
+     * Connections with explicit credentials always come from the primary; the replica pool
+     * only serves routed read-only transactions.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Probe the replica every read-replica.health-check-interval-ms; marks it up or down.
+     */
+    @Scheduled(fixedDelayString = "${read-replica.health-check-interval-ms:10000}",
+               initialDelayString = "${read-replica.health-check-interval-ms:10000}")
+    public void checkReplicaHealth() {
+        try (Connection connection = replica.getConnection()) {
+            if (!connection.isValid(healthCheckTimeoutSeconds)) {
+                throw new SQLException("Connection validation failed");
+            }
+            if (!replicaHealthy) {
+                replicaHealthy = true;
+                logger.info("Read replica is up again; read-only transactions use the replica");
+            }
+        } catch (SQLException e) {
+            markReplicaDown(e);
+        }
+    }
+
+    public boolean isReplicaHealthy() {
+        return replicaHealthy;
+    }
+
+    /**
+     * Whether the current transaction reads from the primary: a read-write transaction, or a
+     * read-only one whose connection came from the primary. Outside a transaction, and in a
+     * read-only transaction that has not run a statement yet, reads may still go to the replica.
+     */
+    public boolean readsFromPrimary() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return false;
+        }
+        return !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || PRIMARY.equals(TransactionSynchronizationManager.getResource(readTargetKey));
+    }
+
+    /**
+     * Run an action whose read-only transactions use the primary. Connections are only chosen
+     * when a transaction starts, so the action must start its own (REQUIRES_NEW) transaction.
+     */
+    public <T> T withPrimaryReads(Supplier<T> action) {
+        Boolean previous = primaryReads.get();
+        primaryReads.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                primaryReads.remove();
+            }
+        }
+    }
+
+    /**
+     * Close the replica pool; the primary pool is a bean of its own.
+     */
+    @Override
+    public void close() throws Exception {
+        if (replica instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void markReplicaDown(SQLException e) {
+        if (replicaHealthy) {
+            replicaHealthy = false;
+            logger.warn("Read replica unavailable, routing read-only transactions to the primary: {}", e.getMessage());
+        }
+    }
+
+    private DataSource route(String target, String reason) {
+        // Each reason always routes to the same target, so the reason identifies the counter
+        Counter counter = routingCounters.get(reason);
+        if (counter == null) {
+            counter = routingCounters.computeIfAbsent(reason, key -> Counter.builder("datasource.routing")
+                    .description("Connections requested per target data source")
+                    .tag("target", target)
+                    .tag("reason", reason)
+                    .register(meterRegistry));
+        }
+        counter.increment();
+        return REPLICA.equals(target) ? replica : primary;
+    }
+
+    private DataSource routeRead(String target, String reason) {
+        DataSource dataSource = route(target, reason);
+        bindReadTarget(target);
+        return dataSource;
+    }
+
+    /**
+     * Remember the target of the current read-only transaction until it completes. Sessions of a
+     * transaction on the replica stop putting into the second-level cache meanwhile.
+     */
+    private void bindReadTarget(String target) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(readTargetKey)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(readTargetKey, target);
+
+        Map<Session, CacheMode> previousModes = new HashMap<>();
+        if (REPLICA.equals(target)) {
+            for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+                if (resource instanceof EntityManagerHolder holder) {
+                    Session session = holder.getEntityManager().unwrap(Session.class);
+                    previousModes.put(session, session.getCacheMode());
+                    session.setCacheMode(CacheMode.GET);
+                }
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(readTargetKey);
+                // The session may outlive the transaction (open session in view)
+                previousModes.forEach((session, mode) -> {
+                    if (session.isOpen()) {
+                        session.setCacheMode(mode);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Record the current user as recent writer once the read-write transaction commits.
+     */
+    private void trackWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, user);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReplicaRoutingDataSource.this);
+                if (status == STATUS_COMMITTED) {
+                    recentWriters.put(user, System.currentTimeMillis());
+                }
+            }
+        });
+    }
+
+    /**
+     * Tenant and user id of the current request, or null outside of authenticated requests.
+     */
+    private static String currentUser() {
+        Long tenantId = TenantContext.getTenantId();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (tenantId == null || authentication == null || !(authentication.getPrincipal() instanceof Long)) {
+            return null;
+        }
+        return tenantId + ":" + authentication.getPrincipal();
+    }
+}
@@ -0,0 +1,198 @@
+package com.elina.authorization.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Per-request SQL statement accounting and N+1 detection.
+ *
+ * For every request the Hibernate statements are counted (see SqlStatementCounter) and recorded
+ * as http.server.requests.sql.statements and, for the most repeated SELECT,
+ * http.server.requests.sql.repeats (tags method, uri, tenant).
+ *
+ * Checks:
+ * - A SELECT executed more than sql.budget.max-repeats times is logged as a possible N+1.
+ * - Endpoints annotated with @SqlBudget are checked against their budget; violations are
+ *   logged and counted, and fail the request when sql.budget.fail-on-violation is set (tests).
+ *
+ * With sql.budget.headers-enabled (non-prod) the counts are also returned as X-SQL-Statements
+ * and X-SQL-Max-Repeats. Headers are written when the response is committed, so statements
+ * issued while the body is serialized are only included in the metrics.
+ */
+public class RequestSqlMetricsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS_METRIC = "http.server.requests.sql.statements";
+    static final String REPEATS_METRIC = "http.server.requests.sql.repeats";
+    static final String VIOLATIONS_METRIC = "http.server.requests.sql.budget.violations";
+    static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    static final String MAX_REPEATS_HEADER = "X-SQL-Max-Repeats";
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestSqlMetricsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxRepeats;
+    private final boolean failOnViolation;
+    private final boolean headersEnabled;
+
+    public RequestSqlMetricsFilter(MeterRegistry meterRegistry, int maxRepeats, boolean failOnViolation,
+                                   boolean headersEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.maxRepeats = maxRepeats;
+        this.failOnViolation = failOnViolation;
+        this.headersEnabled = headersEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.start();
+        SqlHeaderResponse headerResponse = headersEnabled ? new SqlHeaderResponse(response) : null;
+        SqlStatementCounter.Stats stats;
+        try {
+            filterChain.doFilter(request, headerResponse != null ? headerResponse : response);
+        } finally {
+            if (headerResponse != null) {
+                headerResponse.writeSqlHeaders();
+            }
+            stats = SqlStatementCounter.stop();
+            record(request, stats);
+        }
+        checkBudget(request, stats);
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Stats stats) {
+        String method = request.getMethod();
+        String uri = uri(request);
+        String tenant = TenantMetrics.tenant(request.getAttribute(TenantMetrics.TENANT_ATTRIBUTE));
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("SQL statements prepared by Hibernate per request")
+                .tags("method", method, "uri", uri, TenantMetrics.TENANT_TAG, tenant)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder(REPEATS_METRIC)
+                .description("Executions of the most repeated SELECT per request")
+                .tags("method", method, "uri", uri, TenantMetrics.TENANT_TAG, tenant)
+                .register(meterRegistry)
+                .record(stats.getMaxRepeats());
+
+        if (stats.getMaxRepeats() > maxRepeats) {
+            logger.warn("Possible N+1 on {} {}: SELECT executed {} times in one request: {}",
+                method, uri, stats.getMaxRepeats(), stats.getMostRepeated());
+        }
+    }
+
+    private void checkBudget(HttpServletRequest request, SqlStatementCounter.Stats stats) {
+        SqlBudget budget = budgetOf(request);
+        if (budget == null) {
+            return;
+        }
+
+        String violation = null;
+        String type = null;
+        if (stats.getStatements() > budget.value()) {
+            type = "statements";
+            violation = stats.getStatements() + " statements, budget " + budget.value();
+        } else if (stats.getMaxRepeats() > budget.maxRepeats()) {
+            type = "repeats";
+            violation = "SELECT executed " + stats.getMaxRepeats() + " times, budget " + budget.maxRepeats()
+                + ": " + stats.getMostRepeated();
+        }
+        if (violation == null) {
+            return;
+        }
+
+        Counter.builder(VIOLATIONS_METRIC)
+                .description("Requests exceeding the SQL budget of their endpoint")
+                .tags("method", request.getMethod(), "uri", uri(request), "type", type)
+                .register(meterRegistry)
+                .increment();
+        String message = "SQL budget exceeded on " + request.getMethod() + " " + uri(request) + ": " + violation;
+        if (failOnViolation) {
+            throw new IllegalStateException(message);
+        }
+        logger.warn(message);
+    }
+
+    private static SqlBudget budgetOf(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getMethodAnnotation(SqlBudget.class);
+        }
+        return null;
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    /**
+     * Adds the SQL headers just before the response is committed.
+     */
+    private static final class SqlHeaderResponse extends HttpServletResponseWrapper {
+
+        private boolean written;
+
+        SqlHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void writeSqlHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            SqlStatementCounter.Stats stats = SqlStatementCounter.current();
+            if (stats != null) {
+                setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+                setHeader(MAX_REPEATS_HEADER, String.valueOf(stats.getMaxRepeats()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeSqlHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeSqlHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeSqlHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeSqlHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeSqlHeaders();
+            super.sendError(sc, msg);
+        }
+    }
+}
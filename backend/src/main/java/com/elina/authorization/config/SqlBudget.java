@@ -0,0 +1,34 @@
+package com.elina.authorization.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the SQL statement budget of a controller endpoint.
+ *
+ * RequestSqlMetricsFilter compares the Hibernate statements of each request with the budget
+ * of the handler method. Exceeding it is logged and counted
+ * (http.server.requests.sql.budget.violations); with sql.budget.fail-on-violation=true (test
+ * profile) the request fails, so integration tests catch regressions such as new N+1 queries.
+ *
+ * Budgets should not depend on the amount of data returned: an endpoint whose statement
+ * count grows with the number of rows has an N+1 problem.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlBudget {
+
+    /**
+     * Maximum number of statements per request.
+     */
+    int value();
+
+    /**
+     * Maximum number of executions of one identical SELECT per request.
+     */
+    int maxRepeats() default 5;
+}
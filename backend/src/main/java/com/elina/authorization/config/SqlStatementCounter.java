@@ -0,0 +1,106 @@
+package com.elina.authorization.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ *
+ * Registered as Hibernate's statement inspector (see MetricsConfig). Counting only happens
+ * between start() and stop(), which RequestSqlMetricsFilter calls around each request;
+ * statements outside a request (schedulers, import workers) are not counted.
+ * Statements issued through JdbcTemplate bypass Hibernate and are not counted either.
+ *
+ * Besides the total, executions of identical SELECT statements are counted: Hibernate binds
+ * parameters, so the same query for another id has the same SQL text, and a SELECT repeated
+ * many times within one request is the signature of an N+1 access pattern.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Stats stats = CURRENT.get();
+        if (stats != null) {
+            stats.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Start counting on the current thread (resets a previous count).
+     */
+    public static void start() {
+        CURRENT.set(new Stats());
+    }
+
+    /**
+     * Statements counted so far on the current thread, or null if counting was not started.
+     */
+    public static Stats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop counting on the current thread.
+     *
+     * @return Statements counted since start() (empty if counting was not started)
+     */
+    public static Stats stop() {
+        Stats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats != null ? stats : new Stats();
+    }
+
+    /**
+     * Statement counts of one request.
+     */
+    public static final class Stats {
+
+        private int statements;
+        private final Map<String, Integer> selectCounts = new HashMap<>();
+        private int maxRepeats;
+        private String mostRepeated;
+
+        void add(String sql) {
+            statements++;
+            if (isSelect(sql)) {
+                int count = selectCounts.merge(sql, 1, Integer::sum);
+                if (count > maxRepeats) {
+                    maxRepeats = count;
+                    mostRepeated = sql;
+                }
+            }
+        }
+
+        /**
+         * Total statements (queries and DML).
+         */
+        public int getStatements() {
+            return statements;
+        }
+
+        /**
+         * Highest number of executions of one identical SELECT.
+         */
+        public int getMaxRepeats() {
+            return maxRepeats;
+        }
+
+        /**
+         * The SELECT executed getMaxRepeats() times, or null if there was none.
+         */
+        public String getMostRepeated() {
+            return mostRepeated;
+        }
+
+        private static boolean isSelect(String sql) {
+            String trimmed = sql.stripLeading();
+            return trimmed.regionMatches(true, 0, "select", 0, 6)
+                || trimmed.regionMatches(true, 0, "with", 0, 4);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.elina.authorization.config;
+
+import com.elina.authorization.context.TenantContext;
+
+/**
+ * Tenant tag shared by all application metrics.
+ *
+ * Meters are tagged with tenant=&lt;tenant id&gt; ("none" outside a tenant request). The number of
+ * distinct tenant values is capped by MetricsConfig (metrics.tenant-tag.max-values); further
+ * tenants are reported as "other".
+ */
+public final class TenantMetrics {
+
+    public static final String TENANT_TAG = "tenant";
+    public static final String NO_TENANT = "none";
+    public static final String OTHER_TENANT = "other";
+
+    /**
+     * Request attribute holding the tenant id of an authenticated request. TenantContext is
+     * already cleared when request metrics are recorded at the end of the filter chain.
+     */
+    public static final String TENANT_ATTRIBUTE = TenantMetrics.class.getName() + ".tenantId";
+
+    private TenantMetrics() {
+    }
+
+    public static String tenant(Object tenantId) {
+        return tenantId != null ? tenantId.toString() : NO_TENANT;
+    }
+
+    public static String currentTenant() {
+        return tenant(TenantContext.getTenantId());
+    }
+}
@@ -0,0 +1,59 @@
+package com.elina.authorization.controller;
+
+import com.elina.authorization.dto.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * HTTP conditional GET for read endpoints whose version is cheaper to compute than the payload.
+ *
+ * Responses carry ETag, Last-Modified and Cache-Control: private, no-cache, so browsers keep the
+ * body and revalidate on every navigation. If-None-Match with the current ETag is answered with
+ * 304 before the payload is loaded; clients sending only If-Modified-Since get their 304 after
+ * loading (Spring evaluates it on the returned entity).
+ */
+public final class ConditionalGet {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    public static <T> ResponseEntity<T> respond(WebRequest request, ResourceVersion version, Supplier<T> body) {
+        String eTag = version.eTag();
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).eTag(eTag).build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(REVALIDATE).eTag(eTag);
+        if (version.lastModifiedMillis() >= 0) {
+            builder.lastModified(version.lastModifiedMillis());
+        }
+        return builder.body(body.get());
+    }
+
+    /**
+     * Weak comparison of If-None-Match (a list of ETags or "*") with the current ETag.
+     */
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String current = stripWeak(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || stripWeak(value).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+}
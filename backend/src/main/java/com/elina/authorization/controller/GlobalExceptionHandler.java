@@ -2,6 +2,7 @@ package com.elina.authorization.controller;
 
 import com.elina.authorization.exception.AuthenticationException;
 import com.elina.authorization.rule.BusinessRuleException;
+import com.elina.authorization.rule.BusinessRuleViolation;
 import com.elina.projects.exception.NotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,7 +14,9 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -41,6 +44,22 @@ public class GlobalExceptionHandler {
         if (e.getHint() != null) {
             error.put("hint", e.getHint());
         }
+        if (!e.getViolations().isEmpty()) {
+            List<Map<String, Object>> violations = new ArrayList<>();
+            for (BusinessRuleViolation violation : e.getViolations()) {
+                Map<String, Object> item = new HashMap<>();
+                item.put("ruleNumber", violation.getRuleNumber());
+                item.put("message", violation.getMessage());
+                if (violation.getHint() != null) {
+                    item.put("hint", violation.getHint());
+                }
+                if (violation.getContext() != null && violation.getContext().getUpdateDate() != null) {
+                    item.put("updateDate", violation.getContext().getUpdateDate());
+                }
+                violations.add(item);
+            }
+            error.put("violations", violations);
+        }
         error.put("type", "BUSINESS_RULE_VIOLATION");
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
@@ -0,0 +1,110 @@
+package com.elina.authorization.controller;
+
+import com.elina.authorization.dto.ImportJobDTO;
+import com.elina.authorization.dto.ImportJobErrorDTO;
+import com.elina.authorization.service.ImportJobService;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Import job controller: progress and row errors of asynchronous imports.
+ *
+ * Tenant enforcement: All operations automatically filter by tenant_id
+ * from TenantContext. Jobs are tenant-specific.
+ *
+ * Jobs are submitted through the endpoint of the imported data
+ * (e.g. POST /api/master-codes/bulk-upload/async), which checks the edit permission.
+ * Reading jobs requires view access to the imported data, since row errors echo
+ * imported values. All job types today import master data.
+ */
+@RestController
+@RequestMapping("/api/import-jobs")
+public class ImportJobController {
+
+    private final ImportJobService importJobService;
+
+    public ImportJobController(ImportJobService importJobService) {
+        this.importJobService = importJobService;
+    }
+
+    /**
+     * Check if current user is a system admin.
+     */
+    private boolean isSystemAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) return false;
+        return authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_SYSTEM_ADMIN"));
+    }
+
+    /**
+     * Check if user has required permission.
+     * Permissions are included as authorities in TenantFilter.
+     */
+    private boolean hasPermission(String permission) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) return false;
+        return authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals(permission) ||
+                             a.getAuthority().equals("ROLE_SYSTEM_ADMIN"));
+    }
+
+    private boolean canViewImports() {
+        return hasPermission("PAGE_MASTER_DATA_VIEW") || hasPermission("PAGE_MASTER_DATA_EDIT");
+    }
+
+    /**
+     * List import jobs, newest first.
+     * Requires: PAGE_MASTER_DATA_VIEW or higher
+     */
+    @GetMapping
+    public ResponseEntity<Page<ImportJobDTO>> listJobs(
+            @RequestParam(required = false) String jobType,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "20") int size) {
+        if (!canViewImports()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(importJobService.listJobs(jobType, page, size));
+    }
+
+    /**
+     * Get job status and progress.
+     * Requires: PAGE_MASTER_DATA_VIEW or higher
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobDTO> getJob(@PathVariable Long jobId) {
+        if (!canViewImports()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(importJobService.getJob(jobId));
+    }
+
+    /**
+     * Get row errors of a job, paginated.
+     * Requires: PAGE_MASTER_DATA_VIEW or higher
+     */
+    @GetMapping("/{jobId}/errors")
+    public ResponseEntity<Page<ImportJobErrorDTO>> getErrors(
+            @PathVariable Long jobId,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "50") int size) {
+        if (!canViewImports()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(importJobService.getErrors(jobId, page, size));
+    }
+
+    /**
+     * Resume a failed job after its last committed row.
+     * Requires: submitter of the job or ROLE_SYSTEM_ADMIN
+     */
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<ImportJobDTO> resumeJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(importJobService.resume(jobId, isSystemAdmin()));
+    }
+}
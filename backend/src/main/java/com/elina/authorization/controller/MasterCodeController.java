@@ -1,9 +1,14 @@
 package com.elina.authorization.controller;
 
+import com.elina.authorization.context.TenantContext;
 import com.elina.authorization.dto.BulkUploadResult;
+import com.elina.authorization.dto.ImportJobDTO;
 import com.elina.authorization.dto.MasterCodeCountDTO;
 import com.elina.authorization.dto.MasterCodeCreateDTO;
 import com.elina.authorization.dto.MasterCodeDTO;
+import com.elina.authorization.dto.ResourceVersion;
+import com.elina.authorization.service.ImportJobService;
+import com.elina.authorization.service.MasterCodeImportHandler;
 import com.elina.authorization.service.MasterCodeService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
@@ -13,6 +18,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -32,9 +38,11 @@ import java.util.Map;
 public class MasterCodeController {
 
     private final MasterCodeService masterCodeService;
+    private final ImportJobService importJobService;
 
-    public MasterCodeController(MasterCodeService masterCodeService) {
+    public MasterCodeController(MasterCodeService masterCodeService, ImportJobService importJobService) {
         this.masterCodeService = masterCodeService;
+        this.importJobService = importJobService;
     }
 
     /**
@@ -86,17 +94,21 @@ public class MasterCodeController {
     }
 
     /**
-     * Get active master codes by code type (cached).
+     * Get active master codes by code type (cached). Conditional GET: the version is derived
+     * from the cached list, so a 304 saves the payload, not the lookup.
      * Requires: PAGE_MASTER_DATA_VIEW or higher
      */
     @GetMapping("/by-type/{codeType}")
-    public ResponseEntity<List<MasterCodeDTO>> getActiveMasterCodesByType(@PathVariable String codeType) {
+    public ResponseEntity<List<MasterCodeDTO>> getActiveMasterCodesByType(@PathVariable String codeType,
+                                                                          WebRequest request) {
         if (!hasPermission("PAGE_MASTER_DATA_VIEW") && !hasPermission("PAGE_MASTER_DATA_EDIT")) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
         List<MasterCodeDTO> result = masterCodeService.getActiveMasterCodesByType(codeType);
-        return ResponseEntity.ok(result);
+        // Same code type URL in every tenant: keep tenants apart
+        ResourceVersion version = ResourceVersion.of(result, MasterCodeDTO::getUpdatedOn).and(TenantContext.getTenantId());
+        return ConditionalGet.respond(request, version, () -> result);
     }
 
     /**
@@ -179,6 +191,18 @@ public class MasterCodeController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Queue a master code file for asynchronous import.
+     * Progress and row errors are available under /api/import-jobs/{jobId}.
+     * Requires: PAGE_MASTER_DATA_EDIT
+     */
+    @PostMapping("/bulk-upload/async")
+    @PreAuthorize("hasAuthority('PAGE_MASTER_DATA_EDIT') or hasAuthority('ROLE_SYSTEM_ADMIN')")
+    public ResponseEntity<ImportJobDTO> bulkUploadMasterCodesAsync(@RequestParam("file") MultipartFile file) {
+        ImportJobDTO result = importJobService.submit(MasterCodeImportHandler.JOB_TYPE, file);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
+    }
+
     /**
      * Refresh cache for master codes (admin only).
      * Requires: ROLE_SYSTEM_ADMIN
@@ -25,6 +25,7 @@ public class BulkUploadResult {
     private int skippedCount;
     
     private List<BulkUploadRowResult> rows = new ArrayList<>();
+    private boolean rowsTruncated; // rows holds only the first rows of a large file
     
     @Data
     @NoArgsConstructor
@@ -0,0 +1,31 @@
+package com.elina.authorization.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for ImportJob entity.
+ * Used for API responses (job status and progress polling).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+    private Long jobId;
+    private Long tenantId;
+    private String jobType;
+    private String status;
+    private String fileName;
+    private Integer processedRows;
+    private Integer createdCount;
+    private Integer updatedCount;
+    private Integer errorCount;
+    private String errorMessage;
+    private LocalDateTime startedOn;
+    private LocalDateTime completedOn;
+    private Long createdBy;
+    private LocalDateTime createdOn;
+}
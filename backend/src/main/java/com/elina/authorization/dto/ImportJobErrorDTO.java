@@ -0,0 +1,16 @@
+package com.elina.authorization.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a row error of an import job.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobErrorDTO {
+    private Integer rowNumber;
+    private String message;
+}
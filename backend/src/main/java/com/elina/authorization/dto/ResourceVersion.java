@@ -0,0 +1,76 @@
+package com.elina.authorization.dto;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Version of a read resource for HTTP conditional GET: row count and latest updated_on of the
+ * rows the response is built from.
+ *
+ * Repositories compute it with an aggregate query (SELECT new ...ResourceVersion(COUNT(x),
+ * MAX(x.updatedOn))), so checking a version does not load the payload. Every insert and update
+ * moves the latest updated_on, and deletes change the count. Versions of several aggregates are
+ * combined with and().
+ */
+public class ResourceVersion {
+
+    private final String token;
+    private final LocalDateTime lastModified;
+
+    public ResourceVersion(Long count, LocalDateTime lastModified) {
+        this(count + "@" + lastModified, lastModified);
+    }
+
+    private ResourceVersion(String token, LocalDateTime lastModified) {
+        this.token = token;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Version of rows already in memory (e.g. a cached list).
+     */
+    public static <T> ResourceVersion of(Collection<T> rows, Function<T, LocalDateTime> updatedOn) {
+        LocalDateTime latest = rows.stream()
+                .map(updatedOn)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        return new ResourceVersion((long) rows.size(), latest);
+    }
+
+    /**
+     * Combined version of this and another aggregate.
+     */
+    public ResourceVersion and(ResourceVersion other) {
+        LocalDateTime latest = lastModified == null || (other.lastModified != null && other.lastModified.isAfter(lastModified))
+                ? other.lastModified : lastModified;
+        return new ResourceVersion(token + "|" + other.token, latest);
+    }
+
+    /**
+     * Version that also depends on a caller-specific value (e.g. the user's authorizations).
+     */
+    public ResourceVersion and(Object scope) {
+        return new ResourceVersion(token + "|" + scope, lastModified);
+    }
+
+    /**
+     * Weak ETag (the representation may be compressed or serialized differently).
+     */
+    public String eTag() {
+        return "W/\"" + DigestUtils.md5DigestAsHex(token.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Latest updated_on as epoch millis, or -1 if there are no rows.
+     */
+    public long lastModifiedMillis() {
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
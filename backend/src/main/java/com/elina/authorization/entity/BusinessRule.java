@@ -1,9 +1,18 @@
 package com.elina.authorization.entity;
 
+import com.elina.authorization.config.EntityCacheConfig;
+import com.elina.authorization.rule.RuleValue;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -18,6 +27,8 @@ import java.time.LocalDateTime;
  * The tenant_id is included in JWT claims for request-level validation.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.BUSINESS_RULE_REGION)
 @Table(name = "business_rules", indexes = {
     @Index(name = "idx_business_rules_tenant_rule_number", columnList = "tenant_id,rule_number", unique = true),
     @Index(name = "idx_business_rules_tenant_control_point", columnList = "tenant_id,control_point"),
@@ -67,6 +78,16 @@ public class BusinessRule {
     @Column(name = "updated_on")
     private LocalDateTime updatedOn;
 
+    /**
+     * Parsed rule_value, set when the rule is loaded into the engine's rule snapshot.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private RuleValue parsedValue;
+
     @PrePersist
     protected void onCreate() {
         if (createdOn == null) {
@@ -82,6 +103,18 @@ public class BusinessRule {
         updatedOn = LocalDateTime.now();
     }
 
+    /**
+     * Typed rule value. Parsed once and reused until rule_value changes.
+     */
+    public RuleValue getParsedValue() {
+        RuleValue value = parsedValue;
+        if (value == null || !value.isParsedFrom(ruleValue)) {
+            value = RuleValue.parse(ruleValue);
+            parsedValue = value;
+        }
+        return value;
+    }
+
     /**
      * Check if rule is applicable (Y) and active.
      */
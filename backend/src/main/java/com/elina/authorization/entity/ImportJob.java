@@ -0,0 +1,96 @@
+package com.elina.authorization.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Import Job entity tracking an asynchronous file import.
+ *
+ * Tenant enforcement: Jobs belong to a specific tenant and are processed with that
+ * tenant set in TenantContext. All queries must include tenant_id filter via TenantAwareRepository.
+ *
+ * Lifecycle: QUEUED -> RUNNING -> COMPLETED / FAILED. Rows are processed in chunks, each
+ * committed with the job's progress; last_committed_row lets a job resume after a crash
+ * without reprocessing committed rows. heartbeat_on is refreshed on every chunk so a
+ * RUNNING job whose worker died can be detected and claimed by another worker.
+ */
+@Entity
+@Table(name = "import_jobs", indexes = {
+    @Index(name = "idx_import_jobs_tenant_created", columnList = "tenant_id,created_on"),
+    @Index(name = "idx_import_jobs_status", columnList = "status")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tenant_id", nullable = false)
+    private Tenant tenant;
+
+    @Column(name = "job_type", nullable = false, length = 50)
+    private String jobType; // e.g. MASTER_CODES
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status = STATUS_QUEUED;
+
+    @Column(name = "file_name", length = 255)
+    private String fileName;
+
+    @Column(name = "processed_rows", nullable = false)
+    private Integer processedRows = 0;
+
+    @Column(name = "created_count", nullable = false)
+    private Integer createdCount = 0;
+
+    @Column(name = "updated_count", nullable = false)
+    private Integer updatedCount = 0;
+
+    @Column(name = "error_count", nullable = false)
+    private Integer errorCount = 0;
+
+    @Column(name = "last_committed_row", nullable = false)
+    private Integer lastCommittedRow = 0;
+
+    @Column(name = "error_message", length = 2000)
+    private String errorMessage;
+
+    @Column(name = "worker_id", length = 100)
+    private String workerId;
+
+    @Column(name = "heartbeat_on")
+    private LocalDateTime heartbeatOn;
+
+    @Column(name = "started_on")
+    private LocalDateTime startedOn;
+
+    @Column(name = "completed_on")
+    private LocalDateTime completedOn;
+
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    @Column(name = "created_on", nullable = false, updatable = false)
+    private LocalDateTime createdOn;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdOn == null) {
+            createdOn = LocalDateTime.now();
+        }
+    }
+}
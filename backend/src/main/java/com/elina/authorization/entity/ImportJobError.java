@@ -0,0 +1,40 @@
+package com.elina.authorization.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Row-level error reported by an import job.
+ *
+ * Tenant enforcement: Errors belong to a specific tenant and job.
+ * All queries must include tenant_id filter via TenantAwareRepository.
+ */
+@Entity
+@Table(name = "import_job_errors", indexes = {
+    @Index(name = "idx_import_job_errors_job_row", columnList = "job_id,row_no")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "error_id")
+    private Long errorId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tenant_id", nullable = false)
+    private Tenant tenant;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "row_no", nullable = false)
+    private Integer rowNumber;
+
+    @Column(name = "message", nullable = false, length = 2000)
+    private String message;
+}
@@ -0,0 +1,28 @@
+package com.elina.authorization.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Uploaded file of an import job.
+ *
+ * Stored separately from ImportJob so that listing and polling jobs never loads file content.
+ * Written and read by job id only, streamed through JDBC (see ImportJobFileContentRepository);
+ * the entity defines the table mapping.
+ */
+@Entity
+@Table(name = "import_job_files")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobFile {
+
+    @Id
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Column(name = "content", columnDefinition = "VARBINARY(MAX)", nullable = false)
+    private byte[] content;
+}
@@ -1,9 +1,12 @@
 package com.elina.authorization.entity;
 
+import com.elina.authorization.config.EntityCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -18,6 +21,8 @@ import java.time.LocalDateTime;
  * for dropdowns, radio buttons, and other selection components.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.MASTER_CODE_REGION)
 @Table(name = "master_codes", indexes = {
     @Index(name = "idx_master_codes_tenant_type", columnList = "tenant_id,code_type"),
     @Index(name = "idx_master_codes_tenant_type_active", columnList = "tenant_id,code_type,activate_flag"),
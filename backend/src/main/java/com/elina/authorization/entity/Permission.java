@@ -1,9 +1,12 @@
 package com.elina.authorization.entity;
 
+import com.elina.authorization.config.EntityCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -14,6 +17,8 @@ import java.time.LocalDateTime;
  * Permissions define specific actions users/roles can perform.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.PERMISSION_REGION)
 @Table(name = "permissions", indexes = {
     @Index(name = "idx_permission_tenant_code", columnList = "tenant_id,code", unique = true)
 })
@@ -1,9 +1,12 @@
 package com.elina.authorization.entity;
 
+import com.elina.authorization.config.EntityCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -14,6 +17,8 @@ import java.time.LocalDateTime;
  * Each tenant has its own set of roles (SYSTEM_ADMIN, SUPERVISOR, END_USER).
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.ROLE_REGION)
 @Table(name = "roles", indexes = {
     @Index(name = "idx_role_tenant_code", columnList = "tenant_id,code", unique = true)
 })
@@ -1,10 +1,13 @@
 package com.elina.authorization.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.elina.authorization.config.EntityCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -16,6 +19,8 @@ import java.time.LocalDateTime;
  * tenant isolation at the application layer.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.TENANT_REGION)
 @Table(name = "tenants")
 @Data
 @NoArgsConstructor
@@ -1,7 +1,10 @@
 package com.elina.authorization.repository;
 
 import com.elina.authorization.entity.BusinessRule;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -21,12 +24,14 @@ public interface BusinessRuleRepository extends TenantAwareRepository<BusinessRu
      * Find business rule by tenant and rule number.
      * Uses SpEL to retrieve tenantId from TenantContext.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT br FROM BusinessRule br WHERE br.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} AND br.ruleNumber = :ruleNumber")
     Optional<BusinessRule> findByRuleNumber(@Param("ruleNumber") Integer ruleNumber);
 
     /**
      * Find all active and applicable business rules for tenant.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT br FROM BusinessRule br WHERE br.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
            "AND br.activateFlag = true AND br.applicability = 'Y'")
     List<BusinessRule> findAllActiveAndApplicable();
@@ -34,6 +39,7 @@ public interface BusinessRuleRepository extends TenantAwareRepository<BusinessRu
     /**
      * Find business rules by control point.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT br FROM BusinessRule br WHERE br.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
            "AND br.controlPoint = :controlPoint AND br.activateFlag = true AND br.applicability = 'Y'")
     List<BusinessRule> findByControlPoint(@Param("controlPoint") String controlPoint);
@@ -0,0 +1,24 @@
+package com.elina.authorization.repository;
+
+import com.elina.authorization.entity.ImportJobError;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for ImportJobError entity with tenant-aware queries.
+ *
+ * Tenant enforcement: All queries automatically filter by tenant_id from TenantContext.
+ */
+@Repository
+public interface ImportJobErrorRepository extends TenantAwareRepository<ImportJobError, Long> {
+
+    /**
+     * Row errors of a job, in row order.
+     */
+    @Query("SELECT e FROM ImportJobError e WHERE e.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND e.jobId = :jobId ORDER BY e.rowNumber, e.errorId")
+    Page<ImportJobError> findByJobId(@Param("jobId") Long jobId, Pageable pageable);
+}
@@ -0,0 +1,79 @@
+package com.elina.authorization.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.InputStream;
+
+/**
+ * Streaming JDBC access to uploaded import job files: written on submit, read by the import
+ * worker.
+ *
+ * The content column is written with setBinaryStream and read with getBinaryStream while the
+ * result set is open, so the file is never materialized as a byte[]. Accessed by job id only:
+ * the job itself is created or claimed (and its tenant resolved) first.
+ *
+ * read must be called outside a transaction: it then holds its own (primary) connection for
+ * the duration of the import, while the caller commits chunks in separate transactions.
+ */
+@Repository
+public class ImportJobFileContentRepository {
+
+    private static final String INSERT_CONTENT_SQL = "INSERT INTO import_job_files (job_id, content) VALUES (?, ?)";
+    private static final String SELECT_CONTENT_SQL = "SELECT content FROM import_job_files WHERE job_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ImportJobFileContentRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Consumer of the file content stream.
+     */
+    @FunctionalInterface
+    public interface ContentReader {
+        void read(InputStream content) throws Exception;
+    }
+
+    /**
+     * Store the file of a job, streaming the content into the column. Joins the caller's transaction.
+     */
+    public void write(Long jobId, InputStream content, long length) {
+        jdbcTemplate.update(INSERT_CONTENT_SQL, ps -> {
+            ps.setLong(1, jobId);
+            ps.setBinaryStream(2, content, length);
+        });
+    }
+
+    /**
+     * Stream the file of a job to the reader.
+     *
+     * @return false if the job has no stored file
+     */
+    public boolean read(Long jobId, ContentReader reader) throws Exception {
+        try {
+            Boolean found = jdbcTemplate.query(SELECT_CONTENT_SQL, rs -> {
+                if (!rs.next()) {
+                    return false;
+                }
+                try (InputStream content = rs.getBinaryStream(1)) {
+                    reader.read(content);
+                } catch (Exception e) {
+                    throw new ReaderException(e);
+                }
+                return true;
+            }, jobId);
+            return Boolean.TRUE.equals(found);
+        } catch (ReaderException e) {
+            // Rethrow the reader's own exception rather than a data access wrapper
+            throw (Exception) e.getCause();
+        }
+    }
+
+    private static final class ReaderException extends RuntimeException {
+        ReaderException(Exception cause) {
+            super(cause);
+        }
+    }
+}
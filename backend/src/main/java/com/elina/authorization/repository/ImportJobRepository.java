@@ -0,0 +1,64 @@
+package com.elina.authorization.repository;
+
+import com.elina.authorization.entity.ImportJob;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for ImportJob entity with tenant-aware queries.
+ *
+ * Tenant enforcement: Queries used by API requests filter by tenant_id from TenantContext.
+ * The worker queries (claim, recovery) run without a request and address jobs by id across
+ * tenants; the worker then sets TenantContext from the claimed job.
+ */
+@Repository
+public interface ImportJobRepository extends TenantAwareRepository<ImportJob, Long> {
+
+    /**
+     * Find import job by ID within current tenant.
+     */
+    @Query("SELECT j FROM ImportJob j WHERE j.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} AND j.jobId = :jobId")
+    Optional<ImportJob> findByIdForTenant(@Param("jobId") Long jobId);
+
+    /**
+     * List import jobs of the current tenant, newest first.
+     */
+    @Query("SELECT j FROM ImportJob j WHERE j.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND (:jobType IS NULL OR j.jobType = :jobType) ORDER BY j.createdOn DESC")
+    Page<ImportJob> findByJobType(@Param("jobType") String jobType, Pageable pageable);
+
+    /**
+     * Atomically claim a job for a worker: a QUEUED job, or a RUNNING job whose worker
+     * stopped sending heartbeats. Returns 1 if this worker now owns the job.
+     */
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = 'RUNNING', j.workerId = :workerId, j.heartbeatOn = :now " +
+           "WHERE j.jobId = :jobId AND (j.status = 'QUEUED' OR (j.status = 'RUNNING' AND j.heartbeatOn < :staleBefore))")
+    int claim(@Param("jobId") Long jobId, @Param("workerId") String workerId,
+              @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * Refresh the heartbeat of the RUNNING jobs this worker still owns.
+     */
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.heartbeatOn = :now " +
+           "WHERE j.jobId IN :jobIds AND j.workerId = :workerId AND j.status = 'RUNNING'")
+    int heartbeat(@Param("jobIds") Collection<Long> jobIds, @Param("workerId") String workerId,
+                  @Param("now") LocalDateTime now);
+
+    /**
+     * Jobs to (re)start: QUEUED jobs not picked up in time and RUNNING jobs with a stale heartbeat.
+     */
+    @Query("SELECT j.jobId FROM ImportJob j WHERE (j.status = 'QUEUED' AND j.createdOn < :staleBefore) " +
+           "OR (j.status = 'RUNNING' AND j.heartbeatOn < :staleBefore) ORDER BY j.jobId")
+    List<Long> findRecoverableJobIds(@Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -0,0 +1,73 @@
+package com.elina.authorization.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch writes for master codes, used by bulk upload.
+ *
+ * Tenant enforcement: tenant_id is passed explicitly by the caller (taken from TenantContext)
+ * and is part of the MERGE match condition, so rows of other tenants are never touched.
+ */
+@Repository
+public class MasterCodeBatchRepository {
+
+    private static final String UPSERT_SQL =
+        "MERGE INTO master_codes AS t " +
+        "USING (VALUES (?, ?, ?, ?)) AS s (tenant_id, code_type, code_value, short_description) " +
+        "ON t.tenant_id = s.tenant_id AND t.code_type = s.code_type AND t.code_value = s.code_value " +
+        "WHEN MATCHED THEN UPDATE SET short_description = s.short_description, activate_flag = 1, " +
+        "updated_by = ?, updated_on = ? " +
+        "WHEN NOT MATCHED THEN INSERT (tenant_id, code_type, code_value, short_description, activate_flag, " +
+        "created_by, created_on, updated_by, updated_on) " +
+        "VALUES (s.tenant_id, s.code_type, s.code_value, s.short_description, 1, ?, ?, ?, ?);";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MasterCodeBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Row to insert or update, keyed by (tenant, code type, code value).
+     */
+    public record UpsertRow(String codeType, String codeValue, String shortDescription) {
+    }
+
+    /**
+     * Insert or update (activate) the given codes in a single JDBC batch.
+     */
+    public void upsert(Long tenantId, Long userId, List<UpsertRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, tenantId);
+            ps.setString(2, row.codeType());
+            ps.setString(3, row.codeValue());
+            ps.setString(4, row.shortDescription());
+            setUserId(ps, 5, userId);
+            ps.setTimestamp(6, now);
+            setUserId(ps, 7, userId);
+            ps.setTimestamp(8, now);
+            setUserId(ps, 9, userId);
+            ps.setTimestamp(10, now);
+        });
+    }
+
+    private void setUserId(PreparedStatement ps, int index, Long userId) throws SQLException {
+        if (userId != null) {
+            ps.setLong(index, userId);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +27,18 @@ public interface MasterCodeRepository extends TenantAwareRepository<MasterCode,
     @Query("SELECT mc FROM MasterCode mc WHERE mc.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} AND mc.codeType = :codeType")
     List<MasterCode> findByCodeType(@Param("codeType") String codeType);
 
+    /**
+     * Find all code values of a code type (existing-key preload for bulk upload).
+     */
+    @Query("SELECT mc.codeValue FROM MasterCode mc WHERE mc.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} AND mc.codeType = :codeType")
+    List<String> findCodeValuesByCodeType(@Param("codeType") String codeType);
+
+    /**
+     * Find which of the given code values already exist for a code type (existing-key check per import chunk).
+     */
+    @Query("SELECT mc.codeValue FROM MasterCode mc WHERE mc.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} AND mc.codeType = :codeType AND mc.codeValue IN :codeValues")
+    List<String> findExistingCodeValues(@Param("codeType") String codeType, @Param("codeValues") Collection<String> codeValues);
+
     /**
      * Find active master codes by tenant and code type.
      */
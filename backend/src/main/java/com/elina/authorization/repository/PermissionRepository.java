@@ -1,7 +1,10 @@
 package com.elina.authorization.repository;
 
 import com.elina.authorization.entity.Permission;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,9 +19,11 @@ import java.util.Optional;
 @Repository
 public interface PermissionRepository extends TenantAwareRepository<Permission, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM Permission p WHERE p.code = :code AND p.tenant.id = :tenantId")
     Optional<Permission> findByCodeAndTenantId(@Param("code") String code, @Param("tenantId") Long tenantId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM Permission p WHERE p.tenant.id = :tenantId AND p.isActive = true")
     List<Permission> findAllActiveByTenantId(@Param("tenantId") Long tenantId);
 
@@ -1,7 +1,10 @@
 package com.elina.authorization.repository;
 
 import com.elina.authorization.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,9 +19,11 @@ import java.util.Optional;
 @Repository
 public interface RoleRepository extends TenantAwareRepository<Role, Long> {
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT r FROM Role r WHERE r.code = :code AND r.tenant.id = :tenantId")
     Optional<Role> findByCodeAndTenantId(@Param("code") String code, @Param("tenantId") Long tenantId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT r FROM Role r WHERE r.tenant.id = :tenantId AND r.isActive = true")
     List<Role> findAllActiveByTenantId(@Param("tenantId") Long tenantId);
 
@@ -3,6 +3,7 @@ package com.elina.authorization.rule;
 import com.elina.authorization.context.TenantContext;
 import com.elina.authorization.entity.BusinessRule;
 import com.elina.authorization.repository.BusinessRuleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -20,11 +21,16 @@ import java.util.stream.Collectors;
  * - Routes validation requests to appropriate validators
  * - Caches rules for performance
  * - Throws BusinessRuleException when rules are violated
+ * - Records validation latency/outcome and rule cache hits (see BusinessRuleMetrics)
  * 
  * Usage:
  *   BusinessRuleEngine engine = ...;
  *   BusinessRuleContext context = BusinessRuleContext.builder()...build();
  *   engine.validate(101, context); // Validates rule 101
+ * 
+ * Batch usage (rules resolved once, all violations reported):
+ *   BusinessRulePlan plan = engine.compile(List.of(101, 201, 401));
+ *   List<BusinessRuleViolation> violations = plan.collectAll(contexts);
  */
 @Component
 public class BusinessRuleEngine {
@@ -33,6 +39,7 @@ public class BusinessRuleEngine {
 
     private final BusinessRuleRepository businessRuleRepository;
     private final List<BusinessRuleValidator> validators;
+    private final BusinessRuleMetrics metrics;
     
     // Rule registry: ruleNumber -> validator
     private final Map<Integer, BusinessRuleValidator> validatorRegistry = new ConcurrentHashMap<>();
@@ -41,9 +48,11 @@ public class BusinessRuleEngine {
     private final Map<Long, Map<Integer, BusinessRule>> ruleCache = new ConcurrentHashMap<>();
 
     public BusinessRuleEngine(BusinessRuleRepository businessRuleRepository, 
-                             List<BusinessRuleValidator> validators) {
+                             List<BusinessRuleValidator> validators,
+                             MeterRegistry meterRegistry) {
         this.businessRuleRepository = businessRuleRepository;
         this.validators = validators != null ? validators : new ArrayList<>();
+        this.metrics = new BusinessRuleMetrics(meterRegistry);
     }
 
     @PostConstruct
@@ -87,34 +96,48 @@ public class BusinessRuleEngine {
      * @throws BusinessRuleException if the rule is violated
      */
     public void validate(Integer ruleNumber, BusinessRuleContext context) throws BusinessRuleException {
+        BusinessRuleViolation violation = check(ruleNumber, context);
+        if (violation != null) {
+            throw violation.toException();
+        }
+    }
+
+    /**
+     * Check a business rule against the provided context without throwing.
+     * 
+     * @param ruleNumber The rule number to check
+     * @param context The context containing data to validate
+     * @return The violation, or null if the rule passed or does not apply
+     */
+    public BusinessRuleViolation check(Integer ruleNumber, BusinessRuleContext context) {
         BusinessRule rule = getRule(ruleNumber);
         
         if (rule == null) {
             logger.debug("Rule {} not found for tenant {}, skipping validation", 
                 ruleNumber, context.getTenantId());
-            return; // Rule doesn't exist, no validation needed
+            return null; // Rule doesn't exist, no validation needed
         }
 
         if (!rule.isApplicableAndActive()) {
             logger.debug("Rule {} is not applicable or not active, skipping validation", ruleNumber);
-            return; // Rule is not applicable or inactive
+            return null; // Rule is not applicable or inactive
         }
 
         // Get validator for this rule
         BusinessRuleValidator validator = validatorRegistry.get(ruleNumber);
         if (validator == null) {
             logger.warn("No validator found for rule {}. Rule exists but cannot be validated.", ruleNumber);
-            return; // No validator, skip validation
+            return null; // No validator, skip validation
         }
 
-        // Validate
-        try {
-            validator.validate(rule, context);
+        // Validate (callers log violations they report, so only trace here)
+        BusinessRuleViolation violation = metrics.check(validator, rule, context, TenantContext.getTenantId());
+        if (violation == null) {
             logger.debug("Rule {} validation passed", ruleNumber);
-        } catch (BusinessRuleException e) {
-            logger.warn("Rule {} validation failed: {}", ruleNumber, e.getMessage());
-            throw e;
+        } else {
+            logger.debug("Rule {} validation failed", ruleNumber);
         }
+        return violation;
     }
 
     /**
@@ -122,9 +145,44 @@ public class BusinessRuleEngine {
      * Stops at first violation.
      */
     public void validateAll(List<Integer> ruleNumbers, BusinessRuleContext context) throws BusinessRuleException {
+        compile(ruleNumbers).validate(context);
+    }
+
+    /**
+     * Compile a rule plan for the current tenant: each rule and its validator is resolved once
+     * and the plan can then be executed against many contexts.
+     * Rules that don't exist, are inactive or have no validator are left out of the plan.
+     */
+    public BusinessRulePlan compile(List<Integer> ruleNumbers) {
+        Long tenantId = TenantContext.getTenantId();
+        List<BusinessRulePlan.Step> steps = new ArrayList<>();
         for (Integer ruleNumber : ruleNumbers) {
-            validate(ruleNumber, context);
+            BusinessRule rule = getRule(ruleNumber);
+            if (rule == null || !rule.isApplicableAndActive()) {
+                logger.debug("Rule {} not found or not active for tenant {}, not part of plan", ruleNumber, tenantId);
+                continue;
+            }
+            BusinessRuleValidator validator = validatorRegistry.get(ruleNumber);
+            if (validator == null) {
+                logger.warn("No validator found for rule {}. Rule exists but cannot be validated.", ruleNumber);
+                continue;
+            }
+            steps.add(new BusinessRulePlan.Step(rule, validator));
+        }
+        return new BusinessRulePlan(tenantId, steps, metrics);
+    }
+
+    /**
+     * Check a rule value before it is saved.
+     *
+     * @return An error message, or null if the value is valid (or the rule has no validator)
+     */
+    public String checkRuleValue(Integer ruleNumber, String ruleValue) {
+        BusinessRuleValidator validator = validatorRegistry.get(ruleNumber);
+        if (validator == null) {
+            return null;
         }
+        return validator.checkRuleValue(ruleNumber, RuleValue.parse(ruleValue));
     }
 
     /**
@@ -140,13 +198,16 @@ public class BusinessRuleEngine {
         // Check cache first
         Map<Integer, BusinessRule> tenantRules = ruleCache.get(tenantId);
         if (tenantRules != null && tenantRules.containsKey(ruleNumber)) {
+            metrics.cacheLookup(true, tenantId);
             return tenantRules.get(ruleNumber);
         }
+        metrics.cacheLookup(false, tenantId);
 
         // Load from database
         Optional<BusinessRule> ruleOpt = businessRuleRepository.findByRuleNumber(ruleNumber);
         if (ruleOpt.isPresent()) {
             BusinessRule rule = ruleOpt.get();
+            rule.getParsedValue(); // Parse rule value once for the snapshot
             // Update cache
             ruleCache.computeIfAbsent(tenantId, k -> new ConcurrentHashMap<>()).put(ruleNumber, rule);
             return rule;
@@ -190,6 +251,7 @@ public class BusinessRuleEngine {
         // Update cache
         Map<Integer, BusinessRule> cache = new ConcurrentHashMap<>();
         for (BusinessRule rule : rules) {
+            rule.getParsedValue();
             cache.put(rule.getRuleNumber(), rule);
         }
         ruleCache.put(tenantId, cache);
@@ -1,20 +1,40 @@
 package com.elina.authorization.rule;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Exception thrown when a business rule validation fails.
  * 
  * This exception is thrown by rule validators when a business rule is violated.
  * It contains the rule number, message, and hint for the user.
+ * 
+ * When a batch is validated in collect-all mode, the exception carries every violation;
+ * rule number, message and hint are then those of the first violation.
  */
 public class BusinessRuleException extends RuntimeException {
 
     private final Integer ruleNumber;
     private final String hint;
+    private final List<BusinessRuleViolation> violations;
 
     public BusinessRuleException(Integer ruleNumber, String message, String hint) {
         super(message);
         this.ruleNumber = ruleNumber;
         this.hint = hint;
+        this.violations = Collections.emptyList();
+    }
+
+    /**
+     * Create an exception reporting all violations of a batch (must not be empty).
+     */
+    public BusinessRuleException(List<BusinessRuleViolation> violations) {
+        super(violations.size() == 1
+            ? violations.get(0).getMessage()
+            : violations.size() + " business rule violations. First: " + violations.get(0).getMessage());
+        this.ruleNumber = violations.get(0).getRuleNumber();
+        this.hint = violations.get(0).getHint();
+        this.violations = List.copyOf(violations);
     }
 
     public BusinessRuleException(Integer ruleNumber, String message) {
@@ -29,6 +49,13 @@ public class BusinessRuleException extends RuntimeException {
         return hint;
     }
 
+    /**
+     * All violations when raised from collect-all validation, otherwise empty.
+     */
+    public List<BusinessRuleViolation> getViolations() {
+        return violations;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
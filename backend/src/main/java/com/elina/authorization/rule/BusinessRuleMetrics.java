@@ -0,0 +1,88 @@
+package com.elina.authorization.rule;
+
+import com.elina.authorization.config.TenantMetrics;
+import com.elina.authorization.entity.BusinessRule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the business rule engine:
+ * - business.rules.validation: validator latency per rule, outcome=pass|fail
+ * - business.rules.cache: rule cache lookups, result=hit|miss
+ * Both are tagged with the tenant.
+ *
+ * Meters are registered on first use per tenant (and rule) and reused afterwards, so an
+ * evaluation does not go through the meter registry.
+ */
+final class BusinessRuleMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    /** Tenant -> rule number -> {pass, fail} timers */
+    private final Map<Object, Map<Integer, Timer[]>> validationTimers = new ConcurrentHashMap<>();
+
+    /** Tenant -> {hit, miss} counters */
+    private final Map<Object, Counter[]> cacheCounters = new ConcurrentHashMap<>();
+
+    BusinessRuleMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Run a validator and record its latency and outcome.
+     */
+    BusinessRuleViolation check(BusinessRuleValidator validator, BusinessRule rule, BusinessRuleContext context,
+                                Long tenantId) {
+        long start = System.nanoTime();
+        BusinessRuleViolation violation = validator.check(rule, context);
+        Timer[] timers = validationTimers(rule.getRuleNumber(), tenantId);
+        timers[violation == null ? 0 : 1].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return violation;
+    }
+
+    void cacheLookup(boolean hit, Long tenantId) {
+        Object tenantKey = tenantId != null ? tenantId : TenantMetrics.NO_TENANT;
+        Counter[] counters = cacheCounters.get(tenantKey);
+        if (counters == null) {
+            counters = cacheCounters.computeIfAbsent(tenantKey, key -> new Counter[] {
+                cacheCounter("hit", tenantId), cacheCounter("miss", tenantId)});
+        }
+        counters[hit ? 0 : 1].increment();
+    }
+
+    private Timer[] validationTimers(Integer ruleNumber, Long tenantId) {
+        Object tenantKey = tenantId != null ? tenantId : TenantMetrics.NO_TENANT;
+        Map<Integer, Timer[]> byRule = validationTimers.get(tenantKey);
+        if (byRule == null) {
+            byRule = validationTimers.computeIfAbsent(tenantKey, key -> new ConcurrentHashMap<>());
+        }
+        Timer[] timers = byRule.get(ruleNumber);
+        if (timers == null) {
+            timers = byRule.computeIfAbsent(ruleNumber, key -> new Timer[] {
+                validationTimer(ruleNumber, "pass", tenantId), validationTimer(ruleNumber, "fail", tenantId)});
+        }
+        return timers;
+    }
+
+    private Timer validationTimer(Integer ruleNumber, String outcome, Long tenantId) {
+        return Timer.builder("business.rules.validation")
+                .description("Business rule validation")
+                .tag("rule", String.valueOf(ruleNumber))
+                .tag("outcome", outcome)
+                .tag(TenantMetrics.TENANT_TAG, TenantMetrics.tenant(tenantId))
+                .register(meterRegistry);
+    }
+
+    private Counter cacheCounter(String result, Long tenantId) {
+        return Counter.builder("business.rules.cache")
+                .description("Business rule cache lookups")
+                .tag("result", result)
+                .tag(TenantMetrics.TENANT_TAG, TenantMetrics.tenant(tenantId))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,120 @@
+package com.elina.authorization.rule;
+
+import com.elina.authorization.entity.BusinessRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Precompiled set of business rules for one tenant.
+ *
+ * Obtained from BusinessRuleEngine.compile(...): rules and validators are resolved once,
+ * and rules that are missing, inactive or have no validator are dropped at compile time.
+ * The plan is bound to the tenant it was compiled for and keeps the rule snapshot taken
+ * at that moment, so it can be executed against many contexts (e.g. all rows of a bulk
+ * grid save) without further lookups.
+ *
+ * Modes:
+ * - validate(context): fail-fast, throws the first violation (same as validateAll)
+ * - collect(context) / collectAll(contexts): returns every violation; no exception is
+ *   created, so large batches only pay for the violations they actually report
+ *
+ * Logging: the plan is the log site for collected violations. Each violation is logged at
+ * DEBUG (message formatted only when enabled) and collectAll logs one WARN summary per
+ * batch; callers should not log individual violations again. Thrown violations are logged
+ * once by GlobalExceptionHandler.
+ */
+public class BusinessRulePlan {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusinessRulePlan.class);
+
+    private final Long tenantId;
+    private final List<Step> steps;
+    private final BusinessRuleMetrics metrics;
+
+    BusinessRulePlan(Long tenantId, List<Step> steps, BusinessRuleMetrics metrics) {
+        this.tenantId = tenantId;
+        this.steps = Collections.unmodifiableList(steps);
+        this.metrics = metrics;
+    }
+
+    /**
+     * A resolved rule and its validator.
+     */
+    record Step(BusinessRule rule, BusinessRuleValidator validator) {
+    }
+
+    public Long getTenantId() {
+        return tenantId;
+    }
+
+    /**
+     * Rule numbers that will actually be validated (active, applicable, with a validator).
+     */
+    public List<Integer> getRuleNumbers() {
+        return steps.stream().map(step -> step.rule().getRuleNumber()).toList();
+    }
+
+    public boolean isEmpty() {
+        return steps.isEmpty();
+    }
+
+    /**
+     * Validate all rules of the plan, stopping at the first violation.
+     *
+     * @throws BusinessRuleException if a rule is violated
+     */
+    public void validate(BusinessRuleContext context) throws BusinessRuleException {
+        checkTenant(context);
+        for (Step step : steps) {
+            BusinessRuleViolation violation = metrics.check(step.validator(), step.rule(), context, tenantId);
+            if (violation != null) {
+                throw violation.toException();
+            }
+        }
+    }
+
+    /**
+     * Validate all rules of the plan and return every violation.
+     */
+    public List<BusinessRuleViolation> collect(BusinessRuleContext context) {
+        checkTenant(context);
+        List<BusinessRuleViolation> violations = new ArrayList<>();
+        for (Step step : steps) {
+            BusinessRuleViolation violation = metrics.check(step.validator(), step.rule(), context, tenantId);
+            if (violation != null) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Business rule violation: Rule {} - {}", violation.getRuleNumber(), violation.getMessage());
+                }
+                violations.add(violation);
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Validate all rules of the plan against every context and return all violations,
+     * in context order.
+     */
+    public List<BusinessRuleViolation> collectAll(Collection<BusinessRuleContext> contexts) {
+        List<BusinessRuleViolation> violations = new ArrayList<>();
+        for (BusinessRuleContext context : contexts) {
+            violations.addAll(collect(context));
+        }
+        if (!violations.isEmpty()) {
+            logger.warn("{} business rule violations in batch of {} contexts", violations.size(), contexts.size());
+        }
+        return violations;
+    }
+
+    private void checkTenant(BusinessRuleContext context) {
+        if (context.getTenantId() != null && tenantId != null && !tenantId.equals(context.getTenantId())) {
+            throw new IllegalStateException("Business rule plan compiled for tenant " + tenantId
+                + " used for tenant " + context.getTenantId());
+        }
+    }
+}
@@ -4,26 +4,54 @@ import com.elina.authorization.entity.BusinessRule;
 
 /**
  * Interface for business rule validators.
- * 
+ *
  * Each validator implements specific rule validation logic.
  * Validators are registered in BusinessRuleEngine by rule number.
+ *
+ * Validators report violations as values from check(); the engine and rule plans only
+ * turn them into a BusinessRuleException where the caller expects one.
  */
 public interface BusinessRuleValidator {
 
+    /**
+     * Check the business rule against the provided context.
+     *
+     * @param rule The business rule to validate
+     * @param context The context containing data to validate
+     * @return The first violation found, or null if the rule is satisfied
+     */
+    BusinessRuleViolation check(BusinessRule rule, BusinessRuleContext context);
+
     /**
      * Validate the business rule against the provided context.
-     * 
+     *
      * @param rule The business rule to validate
      * @param context The context containing data to validate
      * @throws BusinessRuleException if the rule is violated
      */
-    void validate(BusinessRule rule, BusinessRuleContext context) throws BusinessRuleException;
+    default void validate(BusinessRule rule, BusinessRuleContext context) throws BusinessRuleException {
+        BusinessRuleViolation violation = check(rule, context);
+        if (violation != null) {
+            throw violation.toException();
+        }
+    }
+
+    /**
+     * Check that a rule value can be used by this validator. Called when a rule is saved,
+     * so check() can rely on the parsed value without handling malformed input.
+     *
+     * @param ruleNumber The rule number being saved
+     * @param value The parsed rule value
+     * @return An error message, or null if the value is valid
+     */
+    default String checkRuleValue(int ruleNumber, RuleValue value) {
+        return null;
+    }
 
     /**
      * Get the rule numbers this validator handles.
-     * 
+     *
      * @return Array of rule numbers (e.g., [101, 102])
      */
     int[] getSupportedRuleNumbers();
 }
-
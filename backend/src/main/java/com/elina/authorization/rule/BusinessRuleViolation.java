@@ -0,0 +1,85 @@
+package com.elina.authorization.rule;
+
+import com.elina.authorization.entity.BusinessRule;
+
+import java.util.function.Supplier;
+
+/**
+ * A single business rule violation, as returned by BusinessRuleValidator.check.
+ *
+ * Violations are plain values: no stack trace is captured and the message and hint are only
+ * formatted when first read, so batch validation (imports, grid saves, what-if checks) pays
+ * nothing for violations that are counted or dropped. A BusinessRuleException is only created
+ * at the API boundary (toException, or BusinessRuleException(List) for a batch).
+ *
+ * Keeps the context that was validated so callers can relate the violation back to the
+ * row it came from (e.g. the update date of a day-wise grid row).
+ */
+public class BusinessRuleViolation {
+
+    private final Integer ruleNumber;
+    private final BusinessRuleContext context;
+    private Supplier<String> messageSupplier;
+    private Supplier<String> hintSupplier;
+    private String message;
+    private String hint;
+
+    public BusinessRuleViolation(Integer ruleNumber, String message, String hint, BusinessRuleContext context) {
+        this.ruleNumber = ruleNumber;
+        this.message = message;
+        this.hint = hint;
+        this.context = context;
+    }
+
+    private BusinessRuleViolation(Integer ruleNumber, Supplier<String> message, Supplier<String> hint,
+                                  BusinessRuleContext context) {
+        this.ruleNumber = ruleNumber;
+        this.messageSupplier = message;
+        this.hintSupplier = hint;
+        this.context = context;
+    }
+
+    /**
+     * Create a violation of a rule with lazily formatted message and hint.
+     */
+    public static BusinessRuleViolation of(BusinessRule rule, BusinessRuleContext context,
+                                           Supplier<String> message, Supplier<String> hint) {
+        return new BusinessRuleViolation(rule.getRuleNumber(), message, hint, context);
+    }
+
+    public Integer getRuleNumber() {
+        return ruleNumber;
+    }
+
+    public String getMessage() {
+        if (messageSupplier != null) {
+            message = messageSupplier.get();
+            messageSupplier = null;
+        }
+        return message;
+    }
+
+    public String getHint() {
+        if (hintSupplier != null) {
+            hint = hintSupplier.get();
+            hintSupplier = null;
+        }
+        return hint;
+    }
+
+    public BusinessRuleContext getContext() {
+        return context;
+    }
+
+    /**
+     * Convert to an exception, for callers that report a single violation.
+     */
+    public BusinessRuleException toException() {
+        return new BusinessRuleException(ruleNumber, getMessage(), getHint());
+    }
+
+    @Override
+    public String toString() {
+        return "BusinessRuleViolation[ruleNumber=" + ruleNumber + ", message=" + getMessage() + "]";
+    }
+}
@@ -0,0 +1,131 @@
+package com.elina.authorization.rule;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Objects;
+
+/**
+ * Typed, immutable view of a business rule's rule_value string.
+ *
+ * The raw value is parsed once into every representation it supports (integer, decimal
+ * threshold, ISO date, Y/N flag) when the rule is loaded into the engine's tenant snapshot,
+ * so validators read typed values without parsing or exception handling per check.
+ * Representations the value does not support are null.
+ */
+public final class RuleValue {
+
+    private static final RuleValue EMPTY = new RuleValue(null, null, null, null, null);
+
+    private final String raw;
+    private final Integer intValue;
+    private final BigDecimal decimalValue;
+    private final LocalDate dateValue;
+    private final Boolean flag;
+
+    private RuleValue(String raw, Integer intValue, BigDecimal decimalValue, LocalDate dateValue, Boolean flag) {
+        this.raw = raw;
+        this.intValue = intValue;
+        this.decimalValue = decimalValue;
+        this.dateValue = dateValue;
+        this.flag = flag;
+    }
+
+    /**
+     * Parse a rule value string. Never throws; unparseable representations are left null.
+     */
+    public static RuleValue parse(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return raw == null ? EMPTY : new RuleValue(raw, null, null, null, null);
+        }
+        String value = raw.trim();
+
+        BigDecimal decimalValue = null;
+        Integer intValue = null;
+        try {
+            decimalValue = new BigDecimal(value);
+            if (decimalValue.stripTrailingZeros().scale() <= 0) {
+                intValue = decimalValue.intValueExact();
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            // Not numeric (or out of int range)
+        }
+
+        LocalDate dateValue = null;
+        if (decimalValue == null) {
+            try {
+                dateValue = LocalDate.parse(value);
+            } catch (DateTimeParseException e) {
+                // Not an ISO date
+            }
+        }
+
+        // Flags match the raw value exactly (case-insensitive, not trimmed), as rules have always been read
+        Boolean flag = null;
+        if ("Y".equalsIgnoreCase(raw)) {
+            flag = Boolean.TRUE;
+        } else if ("N".equalsIgnoreCase(raw)) {
+            flag = Boolean.FALSE;
+        }
+
+        return new RuleValue(raw, intValue, decimalValue, dateValue, flag);
+    }
+
+    /**
+     * Original rule_value string.
+     */
+    public String getRaw() {
+        return raw;
+    }
+
+    public boolean isBlank() {
+        return raw == null || raw.isBlank();
+    }
+
+    /**
+     * Whole-number value (e.g. number of days), or null if the value is not an integer.
+     */
+    public Integer getInt() {
+        return intValue;
+    }
+
+    /**
+     * Numeric threshold, or null if the value is not a number.
+     */
+    public BigDecimal getDecimal() {
+        return decimalValue;
+    }
+
+    /**
+     * ISO date (yyyy-MM-dd), or null if the value is not a date.
+     */
+    public LocalDate getDate() {
+        return dateValue;
+    }
+
+    /**
+     * Y/N flag, or null if the value is not a flag.
+     */
+    public Boolean getFlag() {
+        return flag;
+    }
+
+    /**
+     * True only if the value is an affirmative flag (Y).
+     */
+    public boolean isEnabled() {
+        return Boolean.TRUE.equals(flag);
+    }
+
+    /**
+     * Whether this value was parsed from the given raw string.
+     */
+    public boolean isParsedFrom(String value) {
+        return Objects.equals(raw, value);
+    }
+
+    @Override
+    public String toString() {
+        return "RuleValue[" + raw + "]";
+    }
+}
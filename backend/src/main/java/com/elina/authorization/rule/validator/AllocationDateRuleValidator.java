@@ -2,8 +2,8 @@ package com.elina.authorization.rule.validator;
 
 import com.elina.authorization.entity.BusinessRule;
 import com.elina.authorization.rule.BusinessRuleContext;
-import com.elina.authorization.rule.BusinessRuleException;
 import com.elina.authorization.rule.BusinessRuleValidator;
+import com.elina.authorization.rule.BusinessRuleViolation;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
@@ -16,31 +16,28 @@ import java.time.LocalDate;
 public class AllocationDateRuleValidator implements BusinessRuleValidator {
 
     @Override
-    public void validate(BusinessRule rule, BusinessRuleContext context) throws BusinessRuleException {
+    public BusinessRuleViolation check(BusinessRule rule, BusinessRuleContext context) {
         LocalDate allocationStartDate = context.getAllocationStartDate();
         LocalDate allocationEndDate = context.getAllocationEndDate();
 
         if (allocationStartDate != null && allocationEndDate != null) {
             if (allocationEndDate.isBefore(allocationStartDate)) {
-                throw new BusinessRuleException(
-                    rule.getRuleNumber(),
-                    String.format("Allocation end date (%s) cannot be before start date (%s).", 
+                return BusinessRuleViolation.of(rule, context,
+                    () -> String.format("Allocation end date (%s) cannot be before start date (%s).", 
                         allocationEndDate, allocationStartDate),
-                    "Allocation end date must be on or after the start date."
-                );
+                    () -> "Allocation end date must be on or after the start date.");
             }
         }
 
         // Rule 501: Additional validation for allocation dates
         if (rule.getRuleNumber() == 501) {
             if (allocationStartDate == null || allocationEndDate == null) {
-                throw new BusinessRuleException(
-                    rule.getRuleNumber(),
-                    "Allocation start date and end date are required.",
-                    "Please provide both start and end dates for the allocation."
-                );
+                return BusinessRuleViolation.of(rule, context,
+                    () -> "Allocation start date and end date are required.",
+                    () -> "Please provide both start and end dates for the allocation.");
             }
         }
+        return null;
     }
 
     @Override
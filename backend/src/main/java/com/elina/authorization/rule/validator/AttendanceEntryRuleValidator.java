@@ -2,8 +2,8 @@ package com.elina.authorization.rule.validator;
 
 import com.elina.authorization.entity.BusinessRule;
 import com.elina.authorization.rule.BusinessRuleContext;
-import com.elina.authorization.rule.BusinessRuleException;
 import com.elina.authorization.rule.BusinessRuleValidator;
+import com.elina.authorization.rule.BusinessRuleViolation;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
@@ -16,20 +16,19 @@ import java.time.LocalDate;
 public class AttendanceEntryRuleValidator implements BusinessRuleValidator {
 
     @Override
-    public void validate(BusinessRule rule, BusinessRuleContext context) throws BusinessRuleException {
+    public BusinessRuleViolation check(BusinessRule rule, BusinessRuleContext context) {
         LocalDate attendanceDate = context.getAttendanceDate();
         LocalDate today = LocalDate.now();
 
         if (attendanceDate != null) {
             // Rule 204 and 601: Check if attendance date is in the future
             if (attendanceDate.isAfter(today)) {
-                throw new BusinessRuleException(
-                    rule.getRuleNumber(),
-                    String.format("Attendance date (%s) cannot be in the future.", attendanceDate),
-                    "Attendance can only be posted for today or past dates."
-                );
+                return BusinessRuleViolation.of(rule, context,
+                    () -> String.format("Attendance date (%s) cannot be in the future.", attendanceDate),
+                    () -> "Attendance can only be posted for today or past dates.");
             }
         }
+        return null;
     }
 
     @Override
@@ -2,8 +2,9 @@ package com.elina.authorization.rule.validator;
 
 import com.elina.authorization.entity.BusinessRule;
 import com.elina.authorization.rule.BusinessRuleContext;
-import com.elina.authorization.rule.BusinessRuleException;
 import com.elina.authorization.rule.BusinessRuleValidator;
+import com.elina.authorization.rule.BusinessRuleViolation;
+import com.elina.authorization.rule.RuleValue;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
@@ -18,75 +19,82 @@ import java.time.temporal.ChronoUnit;
 public class BackdateRuleValidator implements BusinessRuleValidator {
 
     @Override
-    public void validate(BusinessRule rule, BusinessRuleContext context) throws BusinessRuleException {
+    public BusinessRuleViolation check(BusinessRule rule, BusinessRuleContext context) {
         LocalDate today = LocalDate.now();
         LocalDate updateDate = context.getUpdateDate();
         LocalDate confirmationDate = context.getConfirmationDate();
         LocalDate lockDate = context.getLockDate();
 
         if (updateDate == null && confirmationDate == null) {
-            return; // No date to validate
+            return null; // No date to validate
         }
 
         LocalDate dateToCheck = updateDate != null ? updateDate : confirmationDate;
 
         if (rule.getRuleNumber() == 101) {
             // BACKDATE_ALLOWED_TILL: Check if backdating exceeds allowed days
-            validateBackdateAllowedTill(rule, dateToCheck, today);
+            return checkBackdateAllowedTill(rule, context, dateToCheck, today);
         } else if (rule.getRuleNumber() == 102) {
             // BACKDATE_ALLOWED_AFTER_LOCK: Check if backdating is allowed after lock date
-            validateBackdateAfterLock(rule, dateToCheck, lockDate, today);
+            return checkBackdateAfterLock(rule, context, dateToCheck, lockDate);
         }
+        return null;
     }
 
-    private void validateBackdateAllowedTill(BusinessRule rule, LocalDate dateToCheck, LocalDate today) {
+    private BusinessRuleViolation checkBackdateAllowedTill(BusinessRule rule, BusinessRuleContext context,
+                                                           LocalDate dateToCheck, LocalDate today) {
         if (dateToCheck.isAfter(today)) {
-            throw new BusinessRuleException(
-                rule.getRuleNumber(),
-                "Cannot backdate to a future date: " + dateToCheck,
-                "Update date cannot be in the future."
-            );
+            return BusinessRuleViolation.of(rule, context,
+                () -> "Cannot backdate to a future date: " + dateToCheck,
+                () -> "Update date cannot be in the future.");
         }
 
         if (dateToCheck.isBefore(today)) {
             // This is a backdate - check if it's within allowed limit
-            try {
-                int allowedDays = Integer.parseInt(rule.getRuleValue());
-                long daysDifference = ChronoUnit.DAYS.between(dateToCheck, today);
+            Integer allowedDays = rule.getParsedValue().getInt();
+            if (allowedDays == null) {
+                return BusinessRuleViolation.of(rule, context,
+                    () -> "Invalid rule value for BACKDATE_ALLOWED_TILL: " + rule.getRuleValue(),
+                    () -> "Please contact administrator to configure this rule correctly.");
+            }
 
-                if (daysDifference > allowedDays) {
-                    throw new BusinessRuleException(
-                        rule.getRuleNumber(),
-                        String.format("Backdating is only allowed for %d days. Attempted to backdate by %d days.", 
-                            allowedDays, daysDifference),
-                        String.format("You can only backdate up to %d days from today.", allowedDays)
-                    );
-                }
-            } catch (NumberFormatException e) {
-                throw new BusinessRuleException(
-                    rule.getRuleNumber(),
-                    "Invalid rule value for BACKDATE_ALLOWED_TILL: " + rule.getRuleValue(),
-                    "Please contact administrator to configure this rule correctly."
-                );
+            long daysDifference = ChronoUnit.DAYS.between(dateToCheck, today);
+            if (daysDifference > allowedDays) {
+                return BusinessRuleViolation.of(rule, context,
+                    () -> String.format("Backdating is only allowed for %d days. Attempted to backdate by %d days.",
+                        allowedDays, daysDifference),
+                    () -> String.format("You can only backdate up to %d days from today.", allowedDays));
             }
         }
+        return null;
     }
 
-    private void validateBackdateAfterLock(BusinessRule rule, LocalDate dateToCheck, LocalDate lockDate, LocalDate today) {
+    private BusinessRuleViolation checkBackdateAfterLock(BusinessRule rule, BusinessRuleContext context,
+                                                         LocalDate dateToCheck, LocalDate lockDate) {
         if (lockDate == null) {
-            return; // No lock date, rule doesn't apply
+            return null; // No lock date, rule doesn't apply
         }
 
         if (dateToCheck.isBefore(lockDate)) {
             // Attempting to backdate before lock date
-            if (!"Y".equalsIgnoreCase(rule.getRuleValue())) {
-                throw new BusinessRuleException(
-                    rule.getRuleNumber(),
-                    String.format("Cannot backdate before lock date (%s). Update date: %s", lockDate, dateToCheck),
-                    "Backdating before the lock date is not allowed."
-                );
+            if (!rule.getParsedValue().isEnabled()) {
+                return BusinessRuleViolation.of(rule, context,
+                    () -> String.format("Cannot backdate before lock date (%s). Update date: %s", lockDate, dateToCheck),
+                    () -> "Backdating before the lock date is not allowed.");
             }
         }
+        return null;
+    }
+
+    @Override
+    public String checkRuleValue(int ruleNumber, RuleValue value) {
+        if (ruleNumber == 101 && (value.getInt() == null || value.getInt() < 0)) {
+            return "Rule 101 (BACKDATE_ALLOWED_TILL) value must be a whole number of days, e.g. 7";
+        }
+        if (ruleNumber == 102 && !value.isBlank() && value.getFlag() == null) {
+            return "Rule 102 (BACKDATE_ALLOWED_AFTER_LOCK) value must be Y or N";
+        }
+        return null;
     }
 
     @Override
@@ -2,8 +2,8 @@ package com.elina.authorization.rule.validator;
 
 import com.elina.authorization.entity.BusinessRule;
 import com.elina.authorization.rule.BusinessRuleContext;
-import com.elina.authorization.rule.BusinessRuleException;
 import com.elina.authorization.rule.BusinessRuleValidator;
+import com.elina.authorization.rule.BusinessRuleViolation;
 import org.springframework.stereotype.Component;
 
 /**
@@ -14,28 +14,26 @@ import org.springframework.stereotype.Component;
 public class ConfirmationLockRuleValidator implements BusinessRuleValidator {
 
     @Override
-    public void validate(BusinessRule rule, BusinessRuleContext context) throws BusinessRuleException {
+    public BusinessRuleViolation check(BusinessRule rule, BusinessRuleContext context) {
         if (rule.getRuleNumber() == 301) {
-            validateConfirmationCannotBeOverwritten(rule, context);
+            return checkConfirmationCannotBeOverwritten(rule, context);
         }
+        return null;
     }
 
-    private void validateConfirmationCannotBeOverwritten(BusinessRule rule, BusinessRuleContext context) {
+    private BusinessRuleViolation checkConfirmationCannotBeOverwritten(BusinessRule rule, BusinessRuleContext context) {
         if (Boolean.TRUE.equals(context.getIsConfirmed())) {
-            throw new BusinessRuleException(
-                rule.getRuleNumber(),
-                "Cannot modify confirmed entry. Entry ID: " + context.getEntityId(),
-                "Once an entry is confirmed, it cannot be modified. Please contact administrator if changes are required."
-            );
+            return BusinessRuleViolation.of(rule, context,
+                () -> "Cannot modify confirmed entry. Entry ID: " + context.getEntityId(),
+                () -> "Once an entry is confirmed, it cannot be modified. Please contact administrator if changes are required.");
         }
 
         if (Boolean.TRUE.equals(context.getIsLocked())) {
-            throw new BusinessRuleException(
-                rule.getRuleNumber(),
-                "Cannot modify locked entry. Entry ID: " + context.getEntityId(),
-                "This entry has been locked and cannot be modified."
-            );
+            return BusinessRuleViolation.of(rule, context,
+                () -> "Cannot modify locked entry. Entry ID: " + context.getEntityId(),
+                () -> "This entry has been locked and cannot be modified.");
         }
+        return null;
     }
 
     @Override
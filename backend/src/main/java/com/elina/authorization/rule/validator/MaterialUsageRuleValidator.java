@@ -2,8 +2,8 @@ package com.elina.authorization.rule.validator;
 
 import com.elina.authorization.entity.BusinessRule;
 import com.elina.authorization.rule.BusinessRuleContext;
-import com.elina.authorization.rule.BusinessRuleException;
 import com.elina.authorization.rule.BusinessRuleValidator;
+import com.elina.authorization.rule.BusinessRuleViolation;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -17,30 +17,27 @@ import java.time.LocalDate;
 public class MaterialUsageRuleValidator implements BusinessRuleValidator {
 
     @Override
-    public void validate(BusinessRule rule, BusinessRuleContext context) throws BusinessRuleException {
+    public BusinessRuleViolation check(BusinessRule rule, BusinessRuleContext context) {
         LocalDate materialUsageDate = context.getMaterialUsageDate();
         LocalDate today = LocalDate.now();
 
         if (materialUsageDate != null) {
             // Check if material usage date is in the future
             if (materialUsageDate.isAfter(today)) {
-                throw new BusinessRuleException(
-                    rule.getRuleNumber(),
-                    String.format("Material usage date (%s) cannot be in the future.", materialUsageDate),
-                    "Material usage can only be recorded for today or past dates."
-                );
+                return BusinessRuleViolation.of(rule, context,
+                    () -> String.format("Material usage date (%s) cannot be in the future.", materialUsageDate),
+                    () -> "Material usage can only be recorded for today or past dates.");
             }
         }
 
         // Validate material usage quantity
         BigDecimal updateQty = context.getUpdateQty();
         if (updateQty != null && updateQty.compareTo(BigDecimal.ZERO) < 0) {
-            throw new BusinessRuleException(
-                rule.getRuleNumber(),
-                "Material usage quantity cannot be negative: " + updateQty,
-                "Material usage quantity must be zero or positive."
-            );
+            return BusinessRuleViolation.of(rule, context,
+                () -> "Material usage quantity cannot be negative: " + updateQty,
+                () -> "Material usage quantity must be zero or positive.");
         }
+        return null;
     }
 
     @Override
@@ -2,8 +2,8 @@ package com.elina.authorization.rule.validator;
 
 import com.elina.authorization.entity.BusinessRule;
 import com.elina.authorization.rule.BusinessRuleContext;
-import com.elina.authorization.rule.BusinessRuleException;
 import com.elina.authorization.rule.BusinessRuleValidator;
+import com.elina.authorization.rule.BusinessRuleViolation;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -16,39 +16,42 @@ import java.math.BigDecimal;
 public class PlannedVsActualRuleValidator implements BusinessRuleValidator {
 
     @Override
-    public void validate(BusinessRule rule, BusinessRuleContext context) throws BusinessRuleException {
+    public BusinessRuleViolation check(BusinessRule rule, BusinessRuleContext context) {
         if (rule.getRuleNumber() == 401) {
-            validateDailyUpdateCannotExceedPlannedQty(rule, context);
+            return checkDailyUpdateCannotExceedPlannedQty(rule, context);
         }
+        return null;
     }
 
-    private void validateDailyUpdateCannotExceedPlannedQty(BusinessRule rule, BusinessRuleContext context) {
+    private BusinessRuleViolation checkDailyUpdateCannotExceedPlannedQty(BusinessRule rule, BusinessRuleContext context) {
         BigDecimal plannedQty = context.getPlannedQty();
         BigDecimal dailyUpdateQty = context.getDailyUpdateQty();
         BigDecimal actualQty = context.getActualQty();
         BigDecimal updateQty = context.getUpdateQty();
 
         if (plannedQty == null) {
-            return; // No planned quantity to validate against
+            return null; // No planned quantity to validate against
         }
 
         // Calculate new actual quantity after update
-        BigDecimal newActualQty = actualQty != null ? actualQty : BigDecimal.ZERO;
+        BigDecimal currentQty = actualQty != null ? actualQty : BigDecimal.ZERO;
+        BigDecimal newActualQty;
         if (dailyUpdateQty != null) {
-            newActualQty = newActualQty.add(dailyUpdateQty);
+            newActualQty = currentQty.add(dailyUpdateQty);
         } else if (updateQty != null) {
             newActualQty = updateQty;
+        } else {
+            newActualQty = currentQty;
         }
 
         if (newActualQty.compareTo(plannedQty) > 0) {
-            throw new BusinessRuleException(
-                rule.getRuleNumber(),
-                String.format("Daily update quantity (%.2f) cannot exceed planned quantity (%.2f).", 
+            return BusinessRuleViolation.of(rule, context,
+                () -> String.format("Daily update quantity (%.2f) cannot exceed planned quantity (%.2f).", 
                     newActualQty, plannedQty),
-                String.format("The total actual quantity (%.2f) exceeds the planned quantity (%.2f). " +
-                    "Please adjust the update quantity.", newActualQty, plannedQty)
-            );
+                () -> String.format("The total actual quantity (%.2f) exceeds the planned quantity (%.2f). " +
+                    "Please adjust the update quantity.", newActualQty, plannedQty));
         }
+        return null;
     }
 
     @Override
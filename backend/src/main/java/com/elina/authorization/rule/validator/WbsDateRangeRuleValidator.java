@@ -1,8 +1,8 @@
 package com.elina.authorization.rule.validator;
 
 import com.elina.authorization.rule.BusinessRuleContext;
-import com.elina.authorization.rule.BusinessRuleException;
 import com.elina.authorization.rule.BusinessRuleValidator;
+import com.elina.authorization.rule.BusinessRuleViolation;
 import com.elina.authorization.entity.BusinessRule;
 import org.springframework.stereotype.Component;
 
@@ -16,19 +16,18 @@ import java.time.LocalDate;
 public class WbsDateRangeRuleValidator implements BusinessRuleValidator {
 
     @Override
-    public void validate(BusinessRule rule, BusinessRuleContext context) throws BusinessRuleException {
+    public BusinessRuleViolation check(BusinessRule rule, BusinessRuleContext context) {
         LocalDate wbsStartDate = context.getWbsStartDate();
         LocalDate wbsEndDate = context.getWbsEndDate();
 
         if (wbsStartDate != null && wbsEndDate != null) {
             if (wbsEndDate.isBefore(wbsStartDate)) {
-                throw new BusinessRuleException(
-                    rule.getRuleNumber(),
-                    String.format("WBS end date (%s) cannot be before start date (%s).", wbsEndDate, wbsStartDate),
-                    "WBS end date must be on or after the start date."
-                );
+                return BusinessRuleViolation.of(rule, context,
+                    () -> String.format("WBS end date (%s) cannot be before start date (%s).", wbsEndDate, wbsStartDate),
+                    () -> "WBS end date must be on or after the start date.");
             }
         }
+        return null;
     }
 
     @Override
@@ -1,6 +1,9 @@
 package com.elina.authorization.security;
 
+import com.elina.authorization.config.TenantMetrics;
 import com.elina.authorization.context.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,6 +28,9 @@ import java.util.stream.Collectors;
  * 2. Sets TenantContext (ThreadLocal) for @TenantAware services
  * 3. Sets SecurityContext for Spring Security
  * 4. Clears context after request to prevent memory leaks
+ *
+ * Metrics: token validation and claim extraction are timed as jwt.parse
+ * (outcome=authenticated|rejected); requests without a token are not timed.
  * 
  * To reuse in other systems: Ensure this filter runs after JWT validation
  * and before any @TenantAware service calls. Update to match your JWT claim structure.
@@ -33,9 +39,11 @@ import java.util.stream.Collectors;
 public class TenantFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
+    private final MeterRegistry meterRegistry;
 
-    public TenantFilter(JwtTokenProvider tokenProvider) {
+    public TenantFilter(JwtTokenProvider tokenProvider, MeterRegistry meterRegistry) {
         this.tokenProvider = tokenProvider;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -44,6 +52,8 @@ public class TenantFilter extends OncePerRequestFilter {
 
         try {
             String token = getTokenFromRequest(request);
+            Timer.Sample sample = token != null ? Timer.start(meterRegistry) : null;
+            String outcome = "rejected";
 
             if (token != null && tokenProvider.validateToken(token) && !tokenProvider.isRefreshToken(token)) {
                 // Extract tenant_id from JWT and set TenantContext
@@ -51,6 +61,7 @@ public class TenantFilter extends OncePerRequestFilter {
                 Long tenantId = tokenProvider.getTenantIdFromToken(token);
                 if (tenantId != null) {
                     TenantContext.setTenantId(tenantId);
+                    request.setAttribute(TenantMetrics.TENANT_ATTRIBUTE, tenantId);
 
                     // Set SecurityContext with user authentication
                     Long userId = tokenProvider.getUserIdFromToken(token);
@@ -80,8 +91,15 @@ public class TenantFilter extends OncePerRequestFilter {
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    outcome = "authenticated";
                 }
             }
+            if (sample != null) {
+                sample.stop(Timer.builder("jwt.parse")
+                        .description("JWT validation and claim extraction")
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+            }
 
             filterChain.doFilter(request, response);
 
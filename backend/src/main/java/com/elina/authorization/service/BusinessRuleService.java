@@ -131,6 +131,12 @@ public class BusinessRuleService {
             throw new RuntimeException("Applicability must be Y or N");
         }
 
+        // Validate rule value format once here, so validators never parse malformed values
+        String ruleValueError = businessRuleEngine.checkRuleValue(dto.getRuleNumber(), dto.getRuleValue());
+        if (ruleValueError != null) {
+            throw new RuntimeException(ruleValueError);
+        }
+
         Tenant tenant = tenantRepository.findById(tenantId)
                 .orElseThrow(() -> new RuntimeException("Tenant not found"));
 
@@ -181,6 +187,12 @@ public class BusinessRuleService {
             throw new RuntimeException("Applicability must be Y or N");
         }
 
+        // Validate rule value format once here, so validators never parse malformed values
+        String ruleValueError = businessRuleEngine.checkRuleValue(dto.getRuleNumber(), dto.getRuleValue());
+        if (ruleValueError != null) {
+            throw new RuntimeException(ruleValueError);
+        }
+
         entity.setRuleNumber(dto.getRuleNumber());
         entity.setControlPoint(dto.getControlPoint());
         entity.setApplicability(dto.getApplicability().toUpperCase());
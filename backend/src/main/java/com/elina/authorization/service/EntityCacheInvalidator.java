@@ -0,0 +1,197 @@
+package com.elina.authorization.service;
+
+import com.elina.authorization.config.NearCacheManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Region-level eviction of the Hibernate second-level cache (see EntityCacheConfig).
+ *
+ * Writes through Hibernate keep the cached entities current on their own. Writes that bypass
+ * Hibernate (e.g. the master code JDBC MERGE) evict the region of the entity they touch,
+ * together with the query cache, whose results may refer to the changed rows.
+ *
+ * Inside a transaction, evictions are collected and applied once after commit, so a
+ * concurrent load cannot put the pre-commit state back into the cache. Without a second-level
+ * cache (entity-cache.enabled=false) evictions are no-ops.
+ *
+ * Cross-node invalidation: the regions are local to each node, and Hibernate only updates the
+ * cache of the node that made a change. Committed inserts, updates and deletes of cached
+ * entities, and region evictions, are therefore published on the near-cache invalidation
+ * channel as "{nodeId}|{entityName}|{id}" ("*" as id for the whole region). Other nodes evict
+ * the entity (all cached entities have Long ids) and the query cache, so a revoked role or a
+ * deactivated tenant does not stay in effect there until the region TTL.
+ */
+@Component
+public class EntityCacheInvalidator implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityCacheInvalidator.class);
+    private static final String WHOLE_REGION = "*";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public EntityCacheInvalidator(EntityManagerFactory entityManagerFactory, StringRedisTemplate redisTemplate) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Publish commits of cached entities to the other nodes.
+     */
+    @PostConstruct
+    void registerCommitListener() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        if (!sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()) {
+            return;
+        }
+        CommitPublisher publisher = new CommitPublisher();
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, publisher);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, publisher);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, publisher);
+    }
+
+    /**
+     * Evict all cached instances of the entity and all cached query results.
+     */
+    public void evictRegion(Class<?> entityClass) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictNow(entityClass);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<Class<?>> pending = (Set<Class<?>>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Class<?>> entityClasses = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, entityClasses);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EntityCacheInvalidator.this);
+                    if (status == STATUS_COMMITTED) {
+                        entityClasses.forEach(EntityCacheInvalidator.this::evictNow);
+                    }
+                }
+            });
+            pending = entityClasses;
+        }
+        pending.add(entityClass);
+    }
+
+    private void evictNow(Class<?> entityClass) {
+        try {
+            entityManagerFactory.getCache().evict(entityClass);
+            entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().evictQueryRegions();
+            logger.debug("Evicted second-level cache region of {}", entityClass.getSimpleName());
+        } catch (Exception e) {
+            // Stale entries expire with the region TTL
+            logger.warn("Failed to evict second-level cache region of {}: {}", entityClass.getSimpleName(), e.getMessage());
+        }
+        publish(entityClass.getName(), WHOLE_REGION);
+    }
+
+    private void publish(String entityName, Object id) {
+        try {
+            redisTemplate.convertAndSend(NearCacheManager.INVALIDATION_CHANNEL, nodeId + "|" + entityName + "|" + id);
+        } catch (Exception e) {
+            // Other nodes fall back to the region TTL
+            logger.warn("Failed to publish second-level cache invalidation of {}: {}", entityName, e.getMessage());
+        }
+    }
+
+    /**
+     * Apply an invalidation published by another node. Messages of the near-cache on the same
+     * channel name no cached entity and are ignored.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split("\\|", 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(parts[1]);
+        if (persister == null || !persister.canWriteToCache()) {
+            return;
+        }
+
+        try {
+            if (WHOLE_REGION.equals(parts[2])) {
+                sessionFactory.getCache().evictEntityData(parts[1]);
+            } else {
+                sessionFactory.getCache().evictEntityData(parts[1], Long.valueOf(parts[2]));
+            }
+            sessionFactory.getCache().evictQueryRegions();
+            logger.debug("Applied remote second-level cache invalidation: {} / {}", parts[1], parts[2]);
+        } catch (Exception e) {
+            logger.warn("Failed to apply remote second-level cache invalidation of {}: {}", parts[1], e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes committed changes of entities that have a cache region.
+     */
+    private final class CommitPublisher implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+            PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            publish(event.getPersister().getEntityName(), event.getId());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            publish(event.getPersister().getEntityName(), event.getId());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            publish(event.getPersister().getEntityName(), event.getId());
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return persister.canWriteToCache();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.elina.authorization.service;
+
+import com.elina.authorization.entity.ImportJob;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Extension point of the import job subsystem: one implementation per job type
+ * (master codes today; task updates and plan lines can be added the same way).
+ *
+ * The worker streams the uploaded file through readRows, groups rows into chunks and calls
+ * processChunk for each chunk inside its own transaction, with TenantContext set to the
+ * job's tenant. Implementations must be stateless; everything they need is in the job and rows.
+ */
+public interface ImportJobHandler {
+
+    /**
+     * Job type handled, stored in import_jobs.job_type (e.g. MASTER_CODES).
+     */
+    String getJobType();
+
+    /**
+     * Reject an upload whose file type cannot be read, when the job is submitted.
+     * Throws with a message for the user; the default accepts any file.
+     */
+    default void checkFileName(String fileName) {
+    }
+
+    /**
+     * Stream the rows of the uploaded file in file order. Row numbers must increase
+     * monotonically; they are used to resume a job after its last committed row.
+     */
+    void readRows(InputStream content, String fileName, Consumer<Row> consumer) throws Exception;
+
+    /**
+     * Validate and write one chunk of rows. Invalid rows are reported in the result,
+     * not thrown; an exception fails the job and rolls back the chunk.
+     */
+    ChunkResult processChunk(ImportJob job, List<Row> rows);
+
+    /**
+     * One row of an import file, with values keyed by (lower-case) column name.
+     */
+    record Row(int rowNumber, Map<String, String> values) {
+
+        public String get(String column) {
+            return values.get(column);
+        }
+    }
+
+    /**
+     * Outcome of one processed chunk.
+     */
+    class ChunkResult {
+        private int createdCount;
+        private int updatedCount;
+        private final List<RowError> errors = new ArrayList<>();
+
+        public void created() {
+            createdCount++;
+        }
+
+        public void updated() {
+            updatedCount++;
+        }
+
+        public void error(int rowNumber, String message) {
+            errors.add(new RowError(rowNumber, message));
+        }
+
+        public int getCreatedCount() {
+            return createdCount;
+        }
+
+        public int getUpdatedCount() {
+            return updatedCount;
+        }
+
+        public List<RowError> getErrors() {
+            return errors;
+        }
+    }
+
+    /**
+     * Error for one row of an import file.
+     */
+    record RowError(int rowNumber, String message) {
+    }
+}
@@ -0,0 +1,211 @@
+package com.elina.authorization.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.authorization.dto.ImportJobDTO;
+import com.elina.authorization.dto.ImportJobErrorDTO;
+import com.elina.authorization.entity.ImportJob;
+import com.elina.authorization.entity.Tenant;
+import com.elina.authorization.repository.ImportJobErrorRepository;
+import com.elina.authorization.repository.ImportJobFileContentRepository;
+import com.elina.authorization.repository.ImportJobRepository;
+import com.elina.authorization.repository.TenantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service for asynchronous import jobs.
+ *
+ * Tenant enforcement: All operations automatically filter by tenant_id from TenantContext.
+ * Jobs can only be viewed and resumed within their own tenant.
+ *
+ * Submitting a job streams the uploaded file into the database and stores a QUEUED job record, then hands the job
+ * to ImportJobWorker once the transaction has committed. Progress and row errors are
+ * read from the job record while it runs.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobService.class);
+
+    /** Largest page returned by listJobs and getErrors. */
+    static final int MAX_PAGE_SIZE = 200;
+
+    private final ImportJobRepository jobRepository;
+    private final ImportJobFileContentRepository fileContentRepository;
+    private final ImportJobErrorRepository errorRepository;
+    private final TenantRepository tenantRepository;
+    private final ImportJobWorker worker;
+
+    public ImportJobService(ImportJobRepository jobRepository,
+                            ImportJobFileContentRepository fileContentRepository,
+                            ImportJobErrorRepository errorRepository,
+                            TenantRepository tenantRepository,
+                            ImportJobWorker worker) {
+        this.jobRepository = jobRepository;
+        this.fileContentRepository = fileContentRepository;
+        this.errorRepository = errorRepository;
+        this.tenantRepository = tenantRepository;
+        this.worker = worker;
+    }
+
+    /**
+     * Get current user ID from SecurityContext.
+     */
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Long) {
+            return (Long) authentication.getPrincipal();
+        }
+        return null;
+    }
+
+    /**
+     * Convert entity to DTO.
+     */
+    private ImportJobDTO toDTO(ImportJob entity) {
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.setJobId(entity.getJobId());
+        dto.setTenantId(entity.getTenant().getId());
+        dto.setJobType(entity.getJobType());
+        dto.setStatus(entity.getStatus());
+        dto.setFileName(entity.getFileName());
+        dto.setProcessedRows(entity.getProcessedRows());
+        dto.setCreatedCount(entity.getCreatedCount());
+        dto.setUpdatedCount(entity.getUpdatedCount());
+        dto.setErrorCount(entity.getErrorCount());
+        dto.setErrorMessage(entity.getErrorMessage());
+        dto.setStartedOn(entity.getStartedOn());
+        dto.setCompletedOn(entity.getCompletedOn());
+        dto.setCreatedBy(entity.getCreatedBy());
+        dto.setCreatedOn(entity.getCreatedOn());
+        return dto;
+    }
+
+    /**
+     * Store an uploaded file and queue it for asynchronous import.
+     */
+    @Transactional
+    public ImportJobDTO submit(String jobType, MultipartFile file) {
+        Long tenantId = TenantContext.getTenantId();
+        if (tenantId == null) {
+            throw new IllegalStateException("TenantContext not set");
+        }
+        if (!worker.supports(jobType)) {
+            throw new RuntimeException("Unsupported import type: " + jobType);
+        }
+        if (file.getOriginalFilename() == null) {
+            throw new RuntimeException("File name is required");
+        }
+        worker.checkFileName(jobType, file.getOriginalFilename());
+
+        Tenant tenant = tenantRepository.findById(tenantId)
+                .orElseThrow(() -> new RuntimeException("Tenant not found"));
+
+        ImportJob job = new ImportJob();
+        job.setTenant(tenant);
+        job.setJobType(jobType);
+        job.setStatus(ImportJob.STATUS_QUEUED);
+        job.setFileName(file.getOriginalFilename());
+        job.setCreatedBy(getCurrentUserId());
+        ImportJob saved = jobRepository.save(job);
+
+        try (InputStream content = file.getInputStream()) {
+            fileContentRepository.write(saved.getJobId(), content, file.getSize());
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading uploaded file: " + e.getMessage(), e);
+        }
+
+        submitAfterCommit(saved.getJobId());
+        logger.info("Queued {} import job {} ({}) for tenant {}", jobType, saved.getJobId(), saved.getFileName(), tenantId);
+        return toDTO(saved);
+    }
+
+    /**
+     * Page request with the size clamped to 1..MAX_PAGE_SIZE.
+     */
+    private static PageRequest pageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Get an import job with its progress.
+     */
+    @Transactional(readOnly = true)
+    public ImportJobDTO getJob(Long jobId) {
+        return toDTO(findJob(jobId));
+    }
+
+    /**
+     * List import jobs of the tenant, newest first.
+     */
+    @Transactional(readOnly = true)
+    public Page<ImportJobDTO> listJobs(String jobType, int page, int size) {
+        return jobRepository.findByJobType(jobType, pageRequest(page, size)).map(this::toDTO);
+    }
+
+    /**
+     * Get row errors of an import job, paginated in row order.
+     */
+    @Transactional(readOnly = true)
+    public Page<ImportJobErrorDTO> getErrors(Long jobId, int page, int size) {
+        findJob(jobId);
+        return errorRepository.findByJobId(jobId, pageRequest(page, size))
+                .map(error -> new ImportJobErrorDTO(error.getRowNumber(), error.getMessage()));
+    }
+
+    /**
+     * Re-queue a failed job. Processing continues after the last committed row.
+     * Only the user who submitted the job or a system admin can resume it.
+     */
+    @Transactional
+    public ImportJobDTO resume(Long jobId, boolean isSystemAdmin) {
+        ImportJob job = findJob(jobId);
+        Long userId = getCurrentUserId();
+        if (!isSystemAdmin && (userId == null || !userId.equals(job.getCreatedBy()))) {
+            throw new AccessDeniedException("Only the submitter can resume this import job");
+        }
+        if (!ImportJob.STATUS_FAILED.equals(job.getStatus())) {
+            throw new RuntimeException("Only failed import jobs can be resumed (status: " + job.getStatus() + ")");
+        }
+
+        job.setStatus(ImportJob.STATUS_QUEUED);
+        job.setErrorMessage(null);
+        job.setCompletedOn(null);
+        ImportJob saved = jobRepository.save(job);
+
+        submitAfterCommit(jobId);
+        logger.info("Resuming import job {} after row {}", jobId, job.getLastCommittedRow());
+        return toDTO(saved);
+    }
+
+    private ImportJob findJob(Long jobId) {
+        return jobRepository.findByIdForTenant(jobId)
+                .orElseThrow(() -> new RuntimeException("Import job not found"));
+    }
+
+    private void submitAfterCommit(Long jobId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            worker.submit(jobId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                worker.submit(jobId);
+            }
+        });
+    }
+}
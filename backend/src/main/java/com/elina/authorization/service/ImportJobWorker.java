@@ -0,0 +1,265 @@
+package com.elina.authorization.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.authorization.entity.ImportJob;
+import com.elina.authorization.entity.ImportJobError;
+import com.elina.authorization.repository.ImportJobErrorRepository;
+import com.elina.authorization.repository.ImportJobFileContentRepository;
+import com.elina.authorization.repository.ImportJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Executes import jobs on the import worker pool.
+ *
+ * A worker first claims the job (atomic status update), then streams the stored file from the
+ * database (JDBC binary stream, never loaded as a whole) through the job type's ImportJobHandler. Every chunk of import.jobs.chunk-size rows is processed and
+ * committed in its own transaction together with the job's progress, so no HTTP thread or
+ * long-lived transaction is held and a crash loses at most the chunk in flight.
+ * The file read holds one database connection per running job for the job's duration,
+ * in addition to the connection used by each chunk transaction.
+ *
+ * Heartbeat: while a job runs, a timer refreshes its heartbeat every
+ * import.jobs.heartbeat-interval-ms, independently of chunk progress, so a slow chunk does not
+ * make the job look abandoned. The interval must stay well below import.jobs.stale-after-seconds.
+ *
+ * Recovery: a periodic sweep re-submits QUEUED jobs that were never started (e.g. rejected by a
+ * full pool or lost on shutdown) and RUNNING jobs whose heartbeat is older than
+ * import.jobs.stale-after-seconds (their node stopped). Resumed jobs skip rows up to
+ * last_committed_row.
+ */
+@Component
+public class ImportJobWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobWorker.class);
+    private static final int MAX_MESSAGE_LENGTH = 2000;
+
+    private final ImportJobRepository jobRepository;
+    private final ImportJobFileContentRepository fileContentRepository;
+    private final ImportJobErrorRepository errorRepository;
+    private final Map<String, ImportJobHandler> handlers;
+    private final TaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final String workerId = UUID.randomUUID().toString();
+    private final Set<Long> runningJobIds = ConcurrentHashMap.newKeySet();
+
+    @Value("${import.jobs.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${import.jobs.stale-after-seconds:300}")
+    private int staleAfterSeconds;
+
+    public ImportJobWorker(ImportJobRepository jobRepository,
+                           ImportJobFileContentRepository fileContentRepository,
+                           ImportJobErrorRepository errorRepository,
+                           List<ImportJobHandler> handlers,
+                           @Qualifier("importJobExecutor") TaskExecutor executor,
+                           PlatformTransactionManager transactionManager) {
+        this.jobRepository = jobRepository;
+        this.fileContentRepository = fileContentRepository;
+        this.errorRepository = errorRepository;
+        this.handlers = handlers.stream()
+                .collect(Collectors.toMap(ImportJobHandler::getJobType, Function.identity()));
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Check whether a job type has a handler.
+     */
+    public boolean supports(String jobType) {
+        return handlers.containsKey(jobType);
+    }
+
+    /**
+     * Check the uploaded file name against the job type's handler.
+     */
+    public void checkFileName(String jobType, String fileName) {
+        handlers.get(jobType).checkFileName(fileName);
+    }
+
+    /**
+     * Queue a job on the worker pool. If the pool is saturated the job stays QUEUED
+     * and is picked up by the recovery sweep.
+     */
+    public void submit(Long jobId) {
+        try {
+            executor.execute(() -> run(jobId));
+        } catch (TaskRejectedException e) {
+            logger.warn("Import worker pool is full, job {} stays queued: {}", jobId, e.getMessage());
+        }
+    }
+
+    /**
+     * Re-submit jobs that were never started or whose worker stopped sending heartbeats.
+     */
+    @Scheduled(fixedDelayString = "${import.jobs.recovery-interval-ms:60000}",
+               initialDelayString = "${import.jobs.recovery-initial-delay-ms:30000}")
+    public void recoverStaleJobs() {
+        List<Long> jobIds = transactionTemplate.execute(status ->
+            jobRepository.findRecoverableJobIds(LocalDateTime.now().minusSeconds(staleAfterSeconds)));
+        if (jobIds != null && !jobIds.isEmpty()) {
+            logger.info("Recovering {} import jobs: {}", jobIds.size(), jobIds);
+            jobIds.forEach(this::submit);
+        }
+    }
+
+    /**
+     * Refresh the heartbeat of the jobs running on this node.
+     */
+    @Scheduled(fixedDelayString = "${import.jobs.heartbeat-interval-ms:30000}")
+    public void sendHeartbeats() {
+        if (runningJobIds.isEmpty()) {
+            return;
+        }
+        List<Long> jobIds = new ArrayList<>(runningJobIds);
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                jobRepository.heartbeat(jobIds, workerId, LocalDateTime.now()));
+        } catch (Exception e) {
+            logger.warn("Could not refresh heartbeat of import jobs {}: {}", jobIds, e.getMessage());
+        }
+    }
+
+    /**
+     * Process a job if this worker can claim it.
+     */
+    public void run(Long jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(status ->
+            jobRepository.claim(jobId, workerId, now, now.minusSeconds(staleAfterSeconds)));
+        if (claimed == null || claimed == 0) {
+            return; // Already running elsewhere or finished
+        }
+
+        ImportJob job = transactionTemplate.execute(status -> {
+            ImportJob current = jobRepository.findById(jobId).orElseThrow();
+            if (current.getStartedOn() == null) {
+                current.setStartedOn(now);
+            }
+            current.getTenant().getId(); // Resolve tenant id while the session is open
+            return jobRepository.save(current);
+        });
+
+        runningJobIds.add(jobId);
+        TenantContext.setTenantId(job.getTenant().getId());
+        try {
+            ImportJobHandler handler = handlers.get(job.getJobType());
+            if (handler == null) {
+                throw new IllegalStateException("No import handler for job type: " + job.getJobType());
+            }
+
+            int resumeAfter = job.getLastCommittedRow();
+            if (resumeAfter > 0) {
+                logger.info("Resuming import job {} after row {}", jobId, resumeAfter);
+            }
+
+            List<ImportJobHandler.Row> chunk = new ArrayList<>();
+            boolean found = fileContentRepository.read(jobId, content ->
+                handler.readRows(content, job.getFileName(), row -> {
+                    if (row.rowNumber() <= resumeAfter) {
+                        return; // Committed before the job was interrupted
+                    }
+                    chunk.add(row);
+                    if (chunk.size() >= chunkSize) {
+                        commitChunk(jobId, handler, chunk);
+                        chunk.clear();
+                    }
+                }));
+            if (!found) {
+                throw new IllegalStateException("Import file not found for job " + jobId);
+            }
+            if (!chunk.isEmpty()) {
+                commitChunk(jobId, handler, chunk);
+            }
+
+            finish(jobId, ImportJob.STATUS_COMPLETED, null);
+            logger.info("Import job {} ({}) completed", jobId, job.getJobType());
+        } catch (Exception e) {
+            logger.error("Import job {} failed", jobId, e);
+            finish(jobId, ImportJob.STATUS_FAILED, e.getMessage());
+        } finally {
+            runningJobIds.remove(jobId);
+            TenantContext.clear();
+        }
+    }
+
+    /**
+     * Process one chunk and record its results and the job's progress in a single transaction.
+     */
+    private void commitChunk(Long jobId, ImportJobHandler handler, List<ImportJobHandler.Row> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            ImportJob job = loadOwnedJob(jobId);
+            ImportJobHandler.ChunkResult result = handler.processChunk(job, rows);
+
+            for (ImportJobHandler.RowError rowError : result.getErrors()) {
+                ImportJobError error = new ImportJobError();
+                error.setTenant(job.getTenant());
+                error.setJobId(jobId);
+                error.setRowNumber(rowError.rowNumber());
+                error.setMessage(truncate(rowError.message()));
+                errorRepository.save(error);
+            }
+
+            job.setProcessedRows(job.getProcessedRows() + rows.size());
+            job.setCreatedCount(job.getCreatedCount() + result.getCreatedCount());
+            job.setUpdatedCount(job.getUpdatedCount() + result.getUpdatedCount());
+            job.setErrorCount(job.getErrorCount() + result.getErrors().size());
+            job.setLastCommittedRow(rows.get(rows.size() - 1).rowNumber());
+            job.setHeartbeatOn(LocalDateTime.now());
+            jobRepository.save(job);
+        });
+    }
+
+    private void finish(Long jobId, String status, String errorMessage) {
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                ImportJob job = loadOwnedJob(jobId);
+                job.setStatus(status);
+                job.setErrorMessage(truncate(errorMessage));
+                job.setCompletedOn(LocalDateTime.now());
+                jobRepository.save(job);
+            });
+        } catch (Exception e) {
+            logger.warn("Could not record final status {} of import job {}: {}", status, jobId, e.getMessage());
+        }
+    }
+
+    /**
+     * Load the job, making sure this worker still owns it (another worker may have taken
+     * it over after a stale heartbeat).
+     */
+    private ImportJob loadOwnedJob(Long jobId) {
+        ImportJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalStateException("Import job not found: " + jobId));
+        if (!workerId.equals(job.getWorkerId())) {
+            throw new IllegalStateException("Import job " + jobId + " was taken over by another worker");
+        }
+        return job;
+    }
+
+    private String truncate(String message) {
+        if (message == null || message.length() <= MAX_MESSAGE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+}
@@ -0,0 +1,94 @@
+package com.elina.authorization.service;
+
+import com.elina.authorization.config.CacheEvictionSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Targeted invalidation of the master code cache.
+ *
+ * Cache keys follow "master_codes:{tenantId}:{codeType}:{suffix}" (see the @Cacheable methods
+ * of MasterCodeService), so a change to one code type of one tenant only evicts
+ * "master_codes:{tenantId}:{codeType}:*" instead of flushing the cache for every tenant.
+ *
+ * Inside a transaction, evictions are collected and applied once after commit, so a bulk
+ * upload touching many codes of the same type evicts that type only once.
+ */
+@Component
+public class MasterCodeCacheInvalidator {
+
+    static final String CACHE_NAME = "masterCodes";
+    private static final String KEY_PREFIX = "master_codes:";
+
+    private static final Logger logger = LoggerFactory.getLogger(MasterCodeCacheInvalidator.class);
+
+    private final CacheManager cacheManager;
+
+    public MasterCodeCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Evict all cached entries of one code type for a tenant.
+     */
+    public void evictCodeType(Long tenantId, String codeType) {
+        evict(KEY_PREFIX + tenantId + ":" + codeType + ":");
+    }
+
+    /**
+     * Clear the master code cache for all tenants (administrative refresh).
+     */
+    public void evictAll() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void evict(String prefix) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictNow(prefix);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> prefixes = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, prefixes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(MasterCodeCacheInvalidator.this);
+                    if (status == STATUS_COMMITTED) {
+                        prefixes.forEach(MasterCodeCacheInvalidator.this::evictNow);
+                    }
+                }
+            });
+            pending = prefixes;
+        }
+        pending.add(prefix);
+    }
+
+    private void evictNow(String prefix) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        try {
+            CacheEvictionSupport.evictByPrefix(cache, prefix);
+            logger.debug("Evicted master code cache entries: {}*", prefix);
+        } catch (Exception e) {
+            // Same tolerance as the Redis cache manager: stale entries expire with the TTL
+            logger.warn("Failed to evict master code cache entries {}*: {}", prefix, e.getMessage());
+        }
+    }
+}
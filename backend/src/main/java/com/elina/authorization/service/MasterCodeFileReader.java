@@ -0,0 +1,176 @@
+package com.elina.authorization.service;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+
+/**
+ * Streaming readers for master code upload files.
+ *
+ * Rows are handed to a RowHandler as they are read, so memory use does not grow with
+ * the file size: CSV records are parsed one at a time and Excel sheets are read with
+ * POI's event API (XSSFReader / SAX) instead of loading the whole workbook.
+ *
+ * Expected columns: code_type, code_value, short_description (header row, case-insensitive).
+ */
+final class MasterCodeFileReader {
+
+    @FunctionalInterface
+    interface RowHandler {
+        void row(int rowNumber, String codeType, String codeValue, String shortDescription);
+    }
+
+    private MasterCodeFileReader() {
+    }
+
+    /**
+     * Reject file types that cannot be read, before any row is processed. Legacy Excel 97-2003
+     * (.xls) files are binary (BIFF) workbooks that the streaming .xlsx reader cannot open.
+     */
+    static void checkFileName(String fileName) {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".xls")) {
+            throw new RuntimeException("Excel 97-2003 (.xls) files are not supported. "
+                + "Save the file as Excel Workbook (.xlsx) or CSV and upload it again");
+        }
+        if (!name.endsWith(".csv") && !name.endsWith(".xlsx")) {
+            throw new RuntimeException("Unsupported file format. Please use CSV or Excel (.xlsx)");
+        }
+    }
+
+    /**
+     * Stream a CSV or .xlsx file, chosen by file name.
+     */
+    static void read(InputStream inputStream, String fileName, RowHandler handler) throws Exception {
+        checkFileName(fileName);
+        if (fileName.toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            readCsv(inputStream, handler);
+        } else {
+            readExcel(inputStream, handler);
+        }
+    }
+
+    /**
+     * Stream a CSV file. Row numbers are 1-based file lines, the header being row 1.
+     */
+    static void readCsv(InputStream inputStream, RowHandler handler) throws Exception {
+        try (CSVParser parser = new CSVParser(
+                new InputStreamReader(inputStream, StandardCharsets.UTF_8),
+                CSVFormat.DEFAULT.builder()
+                    .setHeader()
+                    .setSkipHeaderRecord(true)
+                    .setIgnoreHeaderCase(true)
+                    .setTrim(true)
+                    .build())) {
+
+            int rowNumber = 1;
+            for (CSVRecord record : parser) {
+                rowNumber++;
+                handler.row(rowNumber, record.get("code_type"), record.get("code_value"), record.get("short_description"));
+            }
+        }
+    }
+
+    /**
+     * Stream the first sheet of an Excel (.xlsx) file. Row numbers are 1-based sheet rows.
+     */
+    static void readExcel(InputStream inputStream, RowHandler handler) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(inputStream)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new RuntimeException("Excel file must have a header row");
+            }
+
+            SheetHandler sheetHandler = new SheetHandler(handler);
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(),
+                new ReadOnlySharedStringsTable(pkg), sheetHandler, new DataFormatter(), false));
+
+            try (InputStream sheet = sheets.next()) {
+                parser.parse(new InputSource(sheet));
+            }
+
+            if (!sheetHandler.headerSeen) {
+                throw new RuntimeException("Excel file must have a header row");
+            }
+        }
+    }
+
+    /**
+     * Collects the cells of one row at a time and resolves columns from the header row.
+     */
+    private static class SheetHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final RowHandler handler;
+        private boolean headerSeen;
+        private int codeTypeIdx = -1;
+        private int codeValueIdx = -1;
+        private int shortDescIdx = -1;
+
+        private String codeType;
+        private String codeValue;
+        private String shortDescription;
+
+        SheetHandler(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            codeType = null;
+            codeValue = null;
+            shortDescription = null;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (cellReference == null || formattedValue == null) {
+                return;
+            }
+            int col = new CellReference(cellReference).getCol();
+            String value = formattedValue.trim();
+
+            if (!headerSeen) {
+                String header = value.toLowerCase();
+                if (header.equals("code_type")) codeTypeIdx = col;
+                else if (header.equals("code_value")) codeValueIdx = col;
+                else if (header.equals("short_description")) shortDescIdx = col;
+                // long_description column is optional and not used in validation
+                return;
+            }
+
+            if (col == codeTypeIdx) codeType = value;
+            else if (col == codeValueIdx) codeValue = value;
+            else if (col == shortDescIdx) shortDescription = value;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!headerSeen) {
+                headerSeen = true;
+                if (codeTypeIdx == -1 || codeValueIdx == -1) {
+                    throw new RuntimeException("Excel file must have 'code_type' and 'code_value' columns");
+                }
+                return;
+            }
+            handler.row(rowNum + 1, codeType, codeValue, shortDescription);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.elina.authorization.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.authorization.entity.ImportJob;
+import com.elina.authorization.entity.MasterCode;
+import com.elina.authorization.repository.MasterCodeBatchRepository;
+import com.elina.authorization.repository.MasterCodeRepository;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Import job handler for master code files (CSV or Excel, same format as the synchronous bulk upload).
+ *
+ * Each chunk checks existing keys with one query per code type, writes valid rows with a
+ * batched MERGE and evicts the touched code types (and the MasterCode second-level cache
+ * region) after the chunk commits.
+ */
+@Component
+public class MasterCodeImportHandler implements ImportJobHandler {
+
+    public static final String JOB_TYPE = "MASTER_CODES";
+
+    private final MasterCodeRepository masterCodeRepository;
+    private final MasterCodeBatchRepository masterCodeBatchRepository;
+    private final MasterCodeCacheInvalidator cacheInvalidator;
+    private final EntityCacheInvalidator entityCacheInvalidator;
+
+    public MasterCodeImportHandler(MasterCodeRepository masterCodeRepository,
+                                   MasterCodeBatchRepository masterCodeBatchRepository,
+                                   MasterCodeCacheInvalidator cacheInvalidator,
+                                   EntityCacheInvalidator entityCacheInvalidator) {
+        this.masterCodeRepository = masterCodeRepository;
+        this.masterCodeBatchRepository = masterCodeBatchRepository;
+        this.cacheInvalidator = cacheInvalidator;
+        this.entityCacheInvalidator = entityCacheInvalidator;
+    }
+
+    @Override
+    public String getJobType() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public void readRows(InputStream content, String fileName, Consumer<Row> consumer) throws Exception {
+        MasterCodeFileReader.RowHandler handler = (rowNumber, codeType, codeValue, shortDescription) -> {
+            Map<String, String> values = new HashMap<>();
+            values.put("code_type", codeType);
+            values.put("code_value", codeValue);
+            values.put("short_description", shortDescription);
+            consumer.accept(new Row(rowNumber, values));
+        };
+
+        MasterCodeFileReader.read(content, fileName, handler);
+    }
+
+    @Override
+    public void checkFileName(String fileName) {
+        MasterCodeFileReader.checkFileName(fileName);
+    }
+
+    @Override
+    public ChunkResult processChunk(ImportJob job, List<Row> rows) {
+        ChunkResult result = new ChunkResult();
+
+        List<Row> validRows = new ArrayList<>();
+        Map<String, Set<String>> valuesByType = new LinkedHashMap<>();
+        for (Row row : rows) {
+            List<String> errors = MasterCodeService.validateRow(
+                row.get("code_type"), row.get("code_value"), row.get("short_description"));
+            if (!errors.isEmpty()) {
+                result.error(row.rowNumber(), String.join("; ", errors));
+                continue;
+            }
+            validRows.add(row);
+            valuesByType.computeIfAbsent(row.get("code_type"), type -> new HashSet<>()).add(row.get("code_value"));
+        }
+
+        Map<String, Set<String>> existingByType = new HashMap<>();
+        valuesByType.forEach((codeType, values) ->
+            existingByType.put(codeType, new HashSet<>(masterCodeRepository.findExistingCodeValues(codeType, values))));
+
+        List<MasterCodeBatchRepository.UpsertRow> upserts = new ArrayList<>();
+        for (Row row : validRows) {
+            // Later rows with the same key update the code created by an earlier row
+            if (existingByType.get(row.get("code_type")).add(row.get("code_value"))) {
+                result.created();
+            } else {
+                result.updated();
+            }
+            upserts.add(new MasterCodeBatchRepository.UpsertRow(
+                row.get("code_type"), row.get("code_value"), row.get("short_description")));
+        }
+
+        Long tenantId = TenantContext.getTenantId();
+        masterCodeBatchRepository.upsert(tenantId, job.getCreatedBy(), upserts);
+        valuesByType.keySet().forEach(codeType -> cacheInvalidator.evictCodeType(tenantId, codeType));
+        entityCacheInvalidator.evictRegion(MasterCode.class);
+        return result;
+    }
+}
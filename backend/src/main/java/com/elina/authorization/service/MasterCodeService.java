@@ -1,5 +1,6 @@
 package com.elina.authorization.service;
 
+import com.elina.authorization.config.PrimaryCacheLoader;
 import com.elina.authorization.context.TenantContext;
 import com.elina.authorization.dto.BulkUploadResult;
 import com.elina.authorization.dto.MasterCodeCountDTO;
@@ -7,17 +8,12 @@ import com.elina.authorization.dto.MasterCodeCreateDTO;
 import com.elina.authorization.dto.MasterCodeDTO;
 import com.elina.authorization.entity.MasterCode;
 import com.elina.authorization.entity.Tenant;
+import com.elina.authorization.repository.MasterCodeBatchRepository;
 import com.elina.authorization.repository.MasterCodeRepository;
 import com.elina.authorization.repository.TenantRepository;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -28,12 +24,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -43,7 +39,11 @@ import java.util.stream.Collectors;
  * from TenantContext. Master codes can only be managed within their own tenant.
  * 
  * Caching: Master codes are cached in Redis with tenant and code type scoping.
- * Cache is invalidated on create/update/delete operations.
+ * Create/update/delete operations evict only the affected tenant and code type
+ * (see MasterCodeCacheInvalidator). Bulk uploads write through JDBC and also evict the
+ * MasterCode entity region of the second-level cache. Concurrent cache misses for the same key are
+ * coalesced into a single load (sync = true). Cached entries are loaded from the primary (see
+ * PrimaryCacheLoader), so an evicted code type is not refilled from a lagging read replica.
  */
 @Service
 public class MasterCodeService {
@@ -53,6 +53,10 @@ public class MasterCodeService {
 
     private final MasterCodeRepository masterCodeRepository;
     private final TenantRepository tenantRepository;
+    private final MasterCodeBatchRepository masterCodeBatchRepository;
+    private final MasterCodeCacheInvalidator cacheInvalidator;
+    private final EntityCacheInvalidator entityCacheInvalidator;
+    private final PrimaryCacheLoader primaryCacheLoader;
 
     @Value("${master-data.cache.enabled:true}")
     private boolean cacheEnabled;
@@ -60,9 +64,23 @@ public class MasterCodeService {
     @Value("${master-data.cache.ttl-minutes:30}")
     private int cacheTtlMinutes;
 
-    public MasterCodeService(MasterCodeRepository masterCodeRepository, TenantRepository tenantRepository) {
+    @Value("${master-data.bulk-upload.batch-size:1000}")
+    private int bulkUploadBatchSize;
+
+    @Value("${master-data.bulk-upload.max-result-rows:1000}")
+    private int bulkUploadMaxResultRows;
+
+    public MasterCodeService(MasterCodeRepository masterCodeRepository, TenantRepository tenantRepository,
+                             MasterCodeBatchRepository masterCodeBatchRepository,
+                             MasterCodeCacheInvalidator cacheInvalidator,
+                             EntityCacheInvalidator entityCacheInvalidator,
+                             PrimaryCacheLoader primaryCacheLoader) {
         this.masterCodeRepository = masterCodeRepository;
         this.tenantRepository = tenantRepository;
+        this.masterCodeBatchRepository = masterCodeBatchRepository;
+        this.cacheInvalidator = cacheInvalidator;
+        this.entityCacheInvalidator = entityCacheInvalidator;
+        this.primaryCacheLoader = primaryCacheLoader;
     }
 
     /**
@@ -131,22 +149,24 @@ public class MasterCodeService {
      * Get master code by code type and value.
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "masterCodes", key = "'master_codes:' + T(com.elina.authorization.context.TenantContext).getTenantId() + ':' + #codeType + ':' + #codeValue")
+    @Cacheable(value = "masterCodes", key = "'master_codes:' + T(com.elina.authorization.context.TenantContext).getTenantId() + ':' + #codeType + ':' + #codeValue", sync = true)
     public MasterCodeDTO getMasterCodeByTypeAndValue(String codeType, String codeValue) {
-        Long tenantId = TenantContext.getTenantId();
-        MasterCode entity = masterCodeRepository.findByCodeTypeAndCodeValue(codeType, codeValue)
-                .orElseThrow(() -> new RuntimeException("Master code not found"));
-        return toDTO(entity);
+        return primaryCacheLoader.load(() -> {
+            MasterCode entity = masterCodeRepository.findByCodeTypeAndCodeValue(codeType, codeValue)
+                    .orElseThrow(() -> new RuntimeException("Master code not found"));
+            return toDTO(entity);
+        });
     }
 
     /**
      * Get all active master codes by code type (cached).
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "masterCodes", key = "'master_codes:' + T(com.elina.authorization.context.TenantContext).getTenantId() + ':' + #codeType + ':active'")
+    @Cacheable(value = "masterCodes", key = "'master_codes:' + T(com.elina.authorization.context.TenantContext).getTenantId() + ':' + #codeType + ':active'", sync = true)
     public List<MasterCodeDTO> getActiveMasterCodesByType(String codeType) {
-        List<MasterCode> entities = masterCodeRepository.findActiveByCodeType(codeType);
-        return entities.stream().map(this::toDTO).collect(Collectors.toList());
+        return primaryCacheLoader.load(() -> masterCodeRepository.findActiveByCodeType(codeType).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -166,7 +186,6 @@ public class MasterCodeService {
      * Create a new master code.
      */
     @Transactional
-    @CacheEvict(value = "masterCodes", allEntries = true)
     public MasterCodeDTO createMasterCode(MasterCodeCreateDTO dto) {
         Long tenantId = TenantContext.getTenantId();
         Long userId = getCurrentUserId();
@@ -195,6 +214,7 @@ public class MasterCodeService {
         entity.setUpdatedBy(userId);
 
         MasterCode saved = masterCodeRepository.save(entity);
+        cacheInvalidator.evictCodeType(tenantId, dto.getCodeType());
         logger.info("Created master code: {} / {} for tenant {}", dto.getCodeType(), dto.getCodeValue(), tenantId);
         return toDTO(saved);
     }
@@ -203,7 +223,6 @@ public class MasterCodeService {
      * Update an existing master code.
      */
     @Transactional
-    @CacheEvict(value = "masterCodes", allEntries = true)
     public MasterCodeDTO updateMasterCode(Long id, MasterCodeCreateDTO dto) {
         Long tenantId = TenantContext.getTenantId();
         Long userId = getCurrentUserId();
@@ -227,6 +246,7 @@ public class MasterCodeService {
             throw new RuntimeException("Short description is required for code type: " + dto.getCodeType());
         }
 
+        String previousCodeType = entity.getCodeType();
         entity.setCodeType(dto.getCodeType());
         entity.setCodeValue(dto.getCodeValue());
         entity.setShortDescription(dto.getShortDescription());
@@ -235,6 +255,8 @@ public class MasterCodeService {
         entity.setUpdatedBy(userId);
 
         MasterCode saved = masterCodeRepository.save(entity);
+        cacheInvalidator.evictCodeType(tenantId, previousCodeType);
+        cacheInvalidator.evictCodeType(tenantId, dto.getCodeType());
         logger.info("Updated master code: {} / {} for tenant {}", dto.getCodeType(), dto.getCodeValue(), tenantId);
         return toDTO(saved);
     }
@@ -243,7 +265,6 @@ public class MasterCodeService {
      * Delete a master code.
      */
     @Transactional
-    @CacheEvict(value = "masterCodes", allEntries = true)
     public void deleteMasterCode(Long id) {
         Long tenantId = TenantContext.getTenantId();
 
@@ -256,6 +277,7 @@ public class MasterCodeService {
         }
 
         masterCodeRepository.delete(entity);
+        cacheInvalidator.evictCodeType(tenantId, entity.getCodeType());
         logger.info("Deleted master code: {} for tenant {}", id, tenantId);
     }
 
@@ -269,9 +291,14 @@ public class MasterCodeService {
 
     /**
      * Bulk upload master codes from CSV or Excel file.
+     *
+     * The file is streamed row by row. Existing code values are preloaded with one query
+     * per code type, valid rows are written with batched MERGE statements of
+     * master-data.bulk-upload.batch-size rows, and each touched code type is evicted from
+     * the cache once after commit. At most master-data.bulk-upload.max-result-rows row
+     * results are returned; counts always cover the whole file.
      */
     @Transactional
-    @CacheEvict(value = "masterCodes", allEntries = true)
     public BulkUploadResult bulkUploadMasterCodes(MultipartFile file, boolean dryRun) {
         Long tenantId = TenantContext.getTenantId();
         Long userId = getCurrentUserId();
@@ -284,76 +311,68 @@ public class MasterCodeService {
             if (filename == null) {
                 throw new RuntimeException("File name is required");
             }
+            MasterCodeFileReader.checkFileName(filename);
 
-            List<BulkUploadResult.BulkUploadRowResult> rows = new ArrayList<>();
+            Map<String, Set<String>> existingValuesByType = new HashMap<>();
+            List<MasterCodeBatchRepository.UpsertRow> batch = new ArrayList<>();
 
-            if (filename.endsWith(".csv")) {
-                rows = parseCSV(file.getInputStream(), tenantId, userId);
-            } else if (filename.endsWith(".xlsx") || filename.endsWith(".xls")) {
-                rows = parseExcel(file.getInputStream(), tenantId, userId);
-            } else {
-                throw new RuntimeException("Unsupported file format. Please use CSV or Excel (.xlsx, .xls)");
-            }
-
-            result.setTotalRows(rows.size());
-            result.setValidRows((int) rows.stream().filter(r -> r.isValid()).count());
-            result.setInvalidRows((int) rows.stream().filter(r -> !r.isValid()).count());
-
-            if (!dryRun) {
-                // Actually create/update codes
-                int created = 0;
-                int updated = 0;
-                int skipped = 0;
-
-                for (BulkUploadResult.BulkUploadRowResult row : rows) {
-                    if (!row.isValid()) {
-                        skipped++;
-                        continue;
-                    }
-
-                    try {
-                        MasterCodeCreateDTO dto = new MasterCodeCreateDTO();
-                        dto.setCodeType(row.getCodeType());
-                        dto.setCodeValue(row.getCodeValue());
-                        dto.setShortDescription(row.getShortDescription());
-                        dto.setActivateFlag(true);
-
-                        Optional<MasterCode> existing = masterCodeRepository.findByCodeTypeAndCodeValue(
-                            row.getCodeType(), row.getCodeValue());
-
-                        if (existing.isPresent()) {
-                            updateMasterCode(existing.get().getCodeId(), dto);
-                            updated++;
-                            row.setAction("UPDATE");
+            MasterCodeFileReader.RowHandler handler = (rowNumber, codeType, codeValue, shortDescription) -> {
+                BulkUploadResult.BulkUploadRowResult row = new BulkUploadResult.BulkUploadRowResult();
+                row.setRowNumber(rowNumber);
+                row.setCodeType(codeType);
+                row.setCodeValue(codeValue);
+                row.setShortDescription(shortDescription);
+                row.setErrors(validateRow(codeType, codeValue, shortDescription));
+                row.setValid(row.getErrors().isEmpty());
+
+                result.setTotalRows(result.getTotalRows() + 1);
+                if (row.isValid()) {
+                    result.setValidRows(result.getValidRows() + 1);
+                    // Later rows with the same key update the code created by an earlier row
+                    Set<String> existing = existingValuesByType.computeIfAbsent(codeType,
+                        type -> new HashSet<>(masterCodeRepository.findCodeValuesByCodeType(type)));
+                    boolean created = existing.add(codeValue);
+                    row.setAction(created ? "CREATE" : "UPDATE");
+
+                    if (!dryRun) {
+                        if (created) {
+                            result.setCreatedCount(result.getCreatedCount() + 1);
                         } else {
-                            createMasterCode(dto);
-                            created++;
-                            row.setAction("CREATE");
+                            result.setUpdatedCount(result.getUpdatedCount() + 1);
+                        }
+                        batch.add(new MasterCodeBatchRepository.UpsertRow(codeType, codeValue, shortDescription));
+                        if (batch.size() >= bulkUploadBatchSize) {
+                            masterCodeBatchRepository.upsert(tenantId, userId, batch);
+                            batch.clear();
                         }
-                    } catch (Exception e) {
-                        row.setValid(false);
-                        row.getErrors().add(e.getMessage());
-                        skipped++;
                     }
-                }
-
-                result.setCreatedCount(created);
-                result.setUpdatedCount(updated);
-                result.setSkippedCount(skipped);
-            } else {
-                // Dry run - just validate
-                for (BulkUploadResult.BulkUploadRowResult row : rows) {
-                    if (row.isValid()) {
-                        Optional<MasterCode> existing = masterCodeRepository.findByCodeTypeAndCodeValue(
-                            row.getCodeType(), row.getCodeValue());
-                        row.setAction(existing.isPresent() ? "UPDATE" : "CREATE");
-                    } else {
+                } else {
+                    result.setInvalidRows(result.getInvalidRows() + 1);
+                    if (dryRun) {
                         row.setAction("SKIP");
+                    } else {
+                        result.setSkippedCount(result.getSkippedCount() + 1);
                     }
                 }
+
+                if (result.getRows().size() < bulkUploadMaxResultRows) {
+                    result.getRows().add(row);
+                } else {
+                    result.setRowsTruncated(true);
+                }
+            };
+
+            MasterCodeFileReader.read(file.getInputStream(), filename, handler);
+
+            if (!dryRun) {
+                masterCodeBatchRepository.upsert(tenantId, userId, batch);
+                existingValuesByType.keySet().forEach(codeType -> cacheInvalidator.evictCodeType(tenantId, codeType));
+                // The MERGE bypasses Hibernate, so cached MasterCode entities may be stale
+                entityCacheInvalidator.evictRegion(MasterCode.class);
+                logger.info("Bulk upload for tenant {}: {} created, {} updated, {} skipped",
+                    tenantId, result.getCreatedCount(), result.getUpdatedCount(), result.getSkippedCount());
             }
 
-            result.setRows(rows);
             return result;
 
         } catch (Exception e) {
@@ -363,163 +382,40 @@ public class MasterCodeService {
     }
 
     /**
-     * Parse CSV file.
+     * Validate one upload row.
      */
-    private List<BulkUploadResult.BulkUploadRowResult> parseCSV(InputStream inputStream, Long tenantId, Long userId) throws Exception {
-        List<BulkUploadResult.BulkUploadRowResult> rows = new ArrayList<>();
-
-            try (CSVParser parser = new CSVParser(
-                new InputStreamReader(inputStream, StandardCharsets.UTF_8),
-                CSVFormat.DEFAULT.builder()
-                    .setHeader()
-                    .setSkipHeaderRecord(true)
-                    .setIgnoreHeaderCase(true)
-                    .setTrim(true)
-                    .build())) {
-
-            int rowNumber = 1;
-            for (CSVRecord record : parser) {
-                rowNumber++;
-                BulkUploadResult.BulkUploadRowResult row = new BulkUploadResult.BulkUploadRowResult();
-                row.setRowNumber(rowNumber);
-
-                String codeType = record.get("code_type");
-                String codeValue = record.get("code_value");
-                String shortDescription = record.get("short_description");
-                // longDescription is available but not used in validation - can be used in future
-                // String longDescription = record.get("long_description");
-
-                row.setCodeType(codeType);
-                row.setCodeValue(codeValue);
-                row.setShortDescription(shortDescription);
-
-                // Validate
-                List<String> errors = new ArrayList<>();
-                if (codeType == null || codeType.trim().isEmpty()) {
-                    errors.add("code_type is required");
-                }
-                if (codeValue == null || codeValue.trim().isEmpty()) {
-                    errors.add("code_value is required");
-                }
-                if (isCriticalCodeType(codeType) && (shortDescription == null || shortDescription.trim().isEmpty())) {
-                    errors.add("short_description is required for code type: " + codeType);
-                }
-
-                row.setErrors(errors);
-                row.setValid(errors.isEmpty());
-                rows.add(row);
-            }
+    static List<String> validateRow(String codeType, String codeValue, String shortDescription) {
+        List<String> errors = new ArrayList<>();
+        if (codeType == null || codeType.trim().isEmpty()) {
+            errors.add("code_type is required");
         }
-
-        return rows;
-    }
-
-    /**
-     * Parse Excel file.
-     */
-    private List<BulkUploadResult.BulkUploadRowResult> parseExcel(InputStream inputStream, Long tenantId, Long userId) throws Exception {
-        List<BulkUploadResult.BulkUploadRowResult> rows = new ArrayList<>();
-
-        try (Workbook workbook = new XSSFWorkbook(inputStream)) {
-            Sheet sheet = workbook.getSheetAt(0);
-            Row headerRow = sheet.getRow(0);
-
-            if (headerRow == null) {
-                throw new RuntimeException("Excel file must have a header row");
-            }
-
-            // Find column indices
-            int codeTypeIdx = -1, codeValueIdx = -1, shortDescIdx = -1;
-            for (int i = 0; i < headerRow.getLastCellNum(); i++) {
-                Cell cell = headerRow.getCell(i);
-                if (cell != null) {
-                    String header = cell.getStringCellValue().trim().toLowerCase();
-                    if (header.equals("code_type")) codeTypeIdx = i;
-                    else if (header.equals("code_value")) codeValueIdx = i;
-                    else if (header.equals("short_description")) shortDescIdx = i;
-                    // long_description column is optional and not used in validation
-                }
-            }
-
-            if (codeTypeIdx == -1 || codeValueIdx == -1) {
-                throw new RuntimeException("Excel file must have 'code_type' and 'code_value' columns");
-            }
-
-            // Process data rows
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
-
-                BulkUploadResult.BulkUploadRowResult result = new BulkUploadResult.BulkUploadRowResult();
-                result.setRowNumber(i + 1);
-
-                String codeType = getCellValue(row.getCell(codeTypeIdx));
-                String codeValue = getCellValue(row.getCell(codeValueIdx));
-                String shortDescription = shortDescIdx >= 0 ? getCellValue(row.getCell(shortDescIdx)) : null;
-                // longDescription is available but not used in validation - can be used in future
-                // String longDescription = longDescIdx >= 0 ? getCellValue(row.getCell(longDescIdx)) : null;
-
-                result.setCodeType(codeType);
-                result.setCodeValue(codeValue);
-                result.setShortDescription(shortDescription);
-
-                // Validate
-                List<String> errors = new ArrayList<>();
-                if (codeType == null || codeType.trim().isEmpty()) {
-                    errors.add("code_type is required");
-                }
-                if (codeValue == null || codeValue.trim().isEmpty()) {
-                    errors.add("code_value is required");
-                }
-                if (isCriticalCodeType(codeType) && (shortDescription == null || shortDescription.trim().isEmpty())) {
-                    errors.add("short_description is required for code type: " + codeType);
-                }
-
-                result.setErrors(errors);
-                result.setValid(errors.isEmpty());
-                rows.add(result);
-            }
+        if (codeValue == null || codeValue.trim().isEmpty()) {
+            errors.add("code_value is required");
         }
-
-        return rows;
-    }
-
-    /**
-     * Get cell value as string.
-     */
-    private String getCellValue(Cell cell) {
-        if (cell == null) return null;
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue().trim();
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getDateCellValue().toString();
-                } else {
-                    return String.valueOf((long) cell.getNumericCellValue());
-                }
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            case FORMULA:
-                return cell.getCellFormula();
-            default:
-                return null;
+        if (isCriticalCodeType(codeType) && (shortDescription == null || shortDescription.trim().isEmpty())) {
+            errors.add("short_description is required for code type: " + codeType);
         }
+        return errors;
     }
 
     /**
      * Check if code type is critical (requires short description).
      */
-    private boolean isCriticalCodeType(String codeType) {
+    private static boolean isCriticalCodeType(String codeType) {
         if (codeType == null) return false;
         return codeType.equals("WORK_CENTER") || codeType.equals("COST_CENTER");
     }
 
     /**
-     * Refresh cache for a specific code type or all codes.
+     * Refresh cache for a specific code type of the current tenant, or all codes.
      */
-    @CacheEvict(value = "masterCodes", allEntries = true)
     public void refreshCache(String codeType) {
+        if (codeType != null) {
+            cacheInvalidator.evictCodeType(TenantContext.getTenantId(), codeType);
+        } else {
+            cacheInvalidator.evictAll();
+            entityCacheInvalidator.evictRegion(MasterCode.class);
+        }
         logger.info("Cache refreshed for code type: {}", codeType != null ? codeType : "ALL");
     }
 }
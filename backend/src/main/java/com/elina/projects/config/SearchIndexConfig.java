@@ -0,0 +1,27 @@
+package com.elina.projects.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Background pool that builds the per-tenant search indexes (see SearchIndexService).
+ */
+@Configuration
+public class SearchIndexConfig {
+
+    @Value("${search.index.builder-threads:1}")
+    private int builderThreads;
+
+    @Bean(name = "searchIndexExecutor")
+    public ThreadPoolTaskExecutor searchIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(builderThreads);
+        executor.setMaxPoolSize(builderThreads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("search-index-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,98 @@
+package com.elina.projects.config;
+
+import com.elina.projects.entity.SearchNames;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+import liquibase.structure.core.Column;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Liquibase change that fills search_name of existing rows through SearchNames.normalize,
+ * so backfilled values match exactly what the entities write (inner whitespace collapsed,
+ * NULL for blank names). Plain SQL cannot express the whitespace collapsing portably.
+ *
+ * Parameters: tableName, idColumn and nameColumn (the column search_name is derived from).
+ */
+public class SearchNameBackfillChange implements CustomTaskChange {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private String tableName;
+    private String idColumn;
+    private String nameColumn;
+    private int updatedRows;
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public void setIdColumn(String idColumn) {
+        this.idColumn = idColumn;
+    }
+
+    public void setNameColumn(String nameColumn) {
+        this.nameColumn = nameColumn;
+    }
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        String table = database.escapeTableName(database.getDefaultCatalogName(), database.getDefaultSchemaName(), tableName);
+        String id = database.escapeObjectName(idColumn, Column.class);
+        String name = database.escapeObjectName(nameColumn, Column.class);
+        String searchName = database.escapeObjectName("search_name", Column.class);
+
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try (Statement query = connection.createStatement();
+             ResultSet rows = query.executeQuery("SELECT " + id + ", " + name + " FROM " + table);
+             PreparedStatement update = connection.prepareStatement(
+                 "UPDATE " + table + " SET " + searchName + " = ? WHERE " + id + " = ?")) {
+            int pending = 0;
+            while (rows.next()) {
+                update.setString(1, SearchNames.normalize(rows.getString(2)));
+                update.setLong(2, rows.getLong(1));
+                update.addBatch();
+                updatedRows++;
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new CustomChangeException("Failed to backfill search_name of " + tableName, e);
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Backfilled search_name of " + updatedRows + " rows in " + tableName;
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = new ValidationErrors();
+        errors.checkRequiredField("tableName", tableName);
+        errors.checkRequiredField("idColumn", idColumn);
+        errors.checkRequiredField("nameColumn", nameColumn);
+        return errors;
+    }
+}
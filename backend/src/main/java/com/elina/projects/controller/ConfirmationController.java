@@ -1,5 +1,6 @@
 package com.elina.projects.controller;
 
+import com.elina.projects.dto.ConfirmationCascadeResultDTO;
 import com.elina.projects.dto.ConfirmationCreateDTO;
 import com.elina.projects.dto.ConfirmationDTO;
 import com.elina.projects.service.ConfirmationService;
@@ -38,5 +39,15 @@ public class ConfirmationController {
         ConfirmationDTO result = confirmationService.confirmEntity(dto);
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
-}
 
+    /**
+     * Confirm a WBS together with all descendant WBS and tasks (e.g. month-end closing).
+     * Requires: PAGE_PROJECTS_EDIT
+     */
+    @PostMapping("/cascade")
+    @PreAuthorize("hasAuthority('PAGE_PROJECTS_EDIT') or hasAuthority('ROLE_SYSTEM_ADMIN')")
+    public ResponseEntity<ConfirmationCascadeResultDTO> confirmSubtree(@Valid @RequestBody ConfirmationCreateDTO dto) {
+        ConfirmationCascadeResultDTO result = confirmationService.confirmSubtree(dto);
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,109 @@
+package com.elina.projects.controller;
+
+import com.elina.projects.service.ExportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * Streaming CSV / XLSX exports (format=csv or format=xlsx).
+ *
+ * Tenant enforcement: Exports only contain rows of the tenant from TenantContext.
+ *
+ * Authorization: Task update and plan exports require PAGE_PROJECTS_VIEW or higher
+ * permission. Audit log exports require ROLE_SYSTEM_ADMIN.
+ */
+@RestController
+@RequestMapping("/api/exports")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Check if user has required permission.
+     */
+    private boolean hasPermission(String permission) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) return false;
+
+        return authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals(permission) ||
+                             a.getAuthority().equals("ROLE_SYSTEM_ADMIN"));
+    }
+
+    /**
+     * Export day-wise task updates.
+     * Requires: PAGE_TASK_UPDATE_VIEW or PAGE_PROJECTS_VIEW
+     */
+    @GetMapping("/task-updates")
+    public ResponseEntity<StreamingResponseBody> exportTaskUpdates(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long taskId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!hasPermission("PAGE_TASK_UPDATE_VIEW") && !hasPermission("PAGE_PROJECTS_VIEW")
+            && !hasPermission("PAGE_PROJECTS_EDIT")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return toResponse(exportService.exportTaskUpdates(format, projectId, taskId, from, to));
+    }
+
+    /**
+     * Export plan lines of the active plan versions (currentOnly=false for all versions,
+     * archived ones included).
+     * Requires: PAGE_PROJECTS_VIEW or higher
+     */
+    @GetMapping("/plan-lines")
+    public ResponseEntity<StreamingResponseBody> exportPlanLines(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long taskId,
+            @RequestParam(defaultValue = "true") boolean currentOnly,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!hasPermission("PAGE_PROJECTS_VIEW") && !hasPermission("PAGE_PROJECTS_EDIT")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return toResponse(exportService.exportPlanLines(format, projectId, taskId, currentOnly, from, to));
+    }
+
+    /**
+     * Export audit log entries.
+     * Requires: ROLE_SYSTEM_ADMIN
+     */
+    @GetMapping("/audit-logs")
+    @PreAuthorize("hasAuthority('ROLE_SYSTEM_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String tableName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return toResponse(exportService.exportAuditLogs(format, tableName, from, to));
+    }
+
+    private ResponseEntity<StreamingResponseBody> toResponse(ExportService.Export export) {
+        StreamingResponseBody body = export.body()::writeTo;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(export.fileName()).build().toString())
+                .contentType(MediaType.parseMediaType(export.contentType()))
+                .body(body);
+    }
+}
@@ -1,5 +1,7 @@
 package com.elina.projects.controller;
 
+import com.elina.authorization.config.SqlBudget;
+import com.elina.authorization.controller.ConditionalGet;
 import com.elina.projects.dto.*;
 import com.elina.projects.service.PlanService;
 import jakarta.validation.Valid;
@@ -9,8 +11,11 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Plan Version management controller with tenant-aware CRUD operations.
@@ -48,6 +53,7 @@ public class PlanController {
      * Requires: PAGE_PROJECTS_VIEW or higher
      */
     @GetMapping("/task/{taskId}")
+    @SqlBudget(10)
     public ResponseEntity<List<PlanVersionDTO>> listPlanVersions(@PathVariable Long taskId) {
         if (!hasPermission("PAGE_PROJECTS_VIEW") && !hasPermission("PAGE_PROJECTS_EDIT")) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
@@ -72,17 +78,17 @@ public class PlanController {
     }
 
     /**
-     * Get plan lines for a version.
+     * Get plan lines for a version (conditional GET: 304 while the lines are unchanged).
      * Requires: PAGE_PROJECTS_VIEW or higher
      */
     @GetMapping("/{id}/lines")
-    public ResponseEntity<List<PlanLineDTO>> getPlanLines(@PathVariable Long id) {
+    @SqlBudget(10)
+    public ResponseEntity<List<PlanLineDTO>> getPlanLines(@PathVariable Long id, WebRequest request) {
         if (!hasPermission("PAGE_PROJECTS_VIEW") && !hasPermission("PAGE_PROJECTS_EDIT")) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        List<PlanLineDTO> result = planService.getPlanLines(id);
-        return ResponseEntity.ok(result);
+        return ConditionalGet.respond(request, planService.getPlanLinesVersion(id), () -> planService.getPlanLines(id));
     }
 
     /**
@@ -96,6 +102,17 @@ public class PlanController {
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
 
+    /**
+     * Dry-run validation of a new plan version: returns pass/fail per line without saving.
+     * Requires: PAGE_PROJECTS_EDIT
+     */
+    @PostMapping("/validate")
+    @PreAuthorize("hasAuthority('PAGE_PROJECTS_EDIT') or hasAuthority('ROLE_SYSTEM_ADMIN')")
+    public ResponseEntity<BulkValidationResultDTO> validatePlanVersion(@Valid @RequestBody PlanVersionCreateDTO dto) {
+        BulkValidationResultDTO result = planService.validatePlanVersion(dto);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Set a plan version as active.
      * Requires: PAGE_PROJECTS_EDIT
@@ -168,11 +185,26 @@ public class PlanController {
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
 
+    /**
+     * Archive plan versions of a task that fall outside the retention policy.
+     * Requires: PAGE_PROJECTS_EDIT
+     */
+    @PostMapping("/task/{taskId}/archive")
+    @PreAuthorize("hasAuthority('PAGE_PROJECTS_EDIT') or hasAuthority('ROLE_SYSTEM_ADMIN')")
+    public ResponseEntity<Map<String, Object>> applyRetentionPolicy(@PathVariable Long taskId) {
+        int archived = planService.applyRetentionPolicy(taskId);
+        Map<String, Object> response = new HashMap<>();
+        response.put("taskId", taskId);
+        response.put("archivedCount", archived);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Compare two plan versions.
      * Requires: PAGE_PROJECTS_VIEW or higher
      */
     @GetMapping("/compare/{versionId1}/{versionId2}")
+    @SqlBudget(15)
     public ResponseEntity<PlanVersionComparisonDTO> comparePlanVersions(
             @PathVariable Long versionId1,
             @PathVariable Long versionId2) {
@@ -0,0 +1,119 @@
+package com.elina.projects.controller;
+
+import com.elina.projects.dto.ProgressBreakdownDTO;
+import com.elina.projects.dto.ProgressPointDTO;
+import com.elina.projects.service.ProgressFactService;
+import com.elina.projects.service.ProgressReportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progress reports (S-curve, planned vs actual by period and WBS, variance ranking) over
+ * the daily progress facts.
+ *
+ * Tenant enforcement: Reports only cover the tenant from TenantContext.
+ *
+ * Authorization: Reports require PAGE_PROJECTS_VIEW or higher permission.
+ * Rebuilding the facts requires ROLE_SYSTEM_ADMIN.
+ */
+@RestController
+@RequestMapping("/api/reports/progress")
+public class ProgressReportController {
+
+    private final ProgressReportService progressReportService;
+    private final ProgressFactService progressFactService;
+
+    public ProgressReportController(ProgressReportService progressReportService,
+                                    ProgressFactService progressFactService) {
+        this.progressReportService = progressReportService;
+        this.progressFactService = progressFactService;
+    }
+
+    /**
+     * Check if user has required permission.
+     */
+    private boolean hasPermission(String permission) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) return false;
+
+        return authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals(permission) ||
+                             a.getAuthority().equals("ROLE_SYSTEM_ADMIN"));
+    }
+
+    /**
+     * Planned vs actual per day, week or month with cumulative totals (S-curve).
+     * Without projectId the whole tenant is reported.
+     * Requires: PAGE_PROJECTS_VIEW or higher
+     */
+    @GetMapping("/periods")
+    public ResponseEntity<List<ProgressPointDTO>> getProgressByPeriod(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "WEEK") String interval) {
+        if (!hasPermission("PAGE_PROJECTS_VIEW") && !hasPermission("PAGE_PROJECTS_EDIT")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        List<ProgressPointDTO> result = progressReportService.getProgressByPeriod(projectId, from, to, interval);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Planned vs actual of the child WBS of a WBS (or the root WBS of a project), each
+     * including its subtree.
+     * Requires: PAGE_PROJECTS_VIEW or higher
+     */
+    @GetMapping("/wbs")
+    public ResponseEntity<List<ProgressBreakdownDTO>> getWbsBreakdown(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long parentWbsId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!hasPermission("PAGE_PROJECTS_VIEW") && !hasPermission("PAGE_PROJECTS_EDIT")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        List<ProgressBreakdownDTO> result = progressReportService.getWbsBreakdown(projectId, parentWbsId, from, to);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Projects, WBS or tasks furthest behind plan as of a date.
+     * Requires: PAGE_PROJECTS_VIEW or higher
+     */
+    @GetMapping("/variance")
+    public ResponseEntity<List<ProgressBreakdownDTO>> getVarianceRanking(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "TASK") String groupBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @RequestParam(required = false) Integer limit) {
+        if (!hasPermission("PAGE_PROJECTS_VIEW") && !hasPermission("PAGE_PROJECTS_EDIT")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        List<ProgressBreakdownDTO> result = progressReportService.getVarianceRanking(projectId, groupBy, asOf, limit);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Rewrite all progress facts of the tenant from plans and task updates.
+     * Requires: ROLE_SYSTEM_ADMIN
+     */
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasAuthority('ROLE_SYSTEM_ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildFacts() {
+        int rows = progressFactService.rebuildTenant();
+        return ResponseEntity.ok(Map.of("factCount", rows));
+    }
+}
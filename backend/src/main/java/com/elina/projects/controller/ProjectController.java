@@ -1,5 +1,6 @@
 package com.elina.projects.controller;
 
+import com.elina.projects.dto.CursorPageDTO;
 import com.elina.projects.dto.ProjectCreateDTO;
 import com.elina.projects.dto.ProjectDTO;
 import com.elina.projects.dto.ProjectDetailsDTO;
@@ -63,6 +64,31 @@ public class ProjectController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * List projects with keyset pagination. Pass nextCursor of a page to get the next one.
+     * size must be at least 1 (400 otherwise) and is capped at CursorPageDTO.MAX_SIZE.
+     * Requires: PAGE_PROJECTS_VIEW or higher
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<ProjectDTO>> listProjectsAfter(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false, defaultValue = "false") Boolean activeOnly,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false, defaultValue = "false") boolean includeTotal) {
+        
+        if (!hasPermission("PAGE_PROJECTS_VIEW") && !hasPermission("PAGE_PROJECTS_EDIT")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        if (size < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        CursorPageDTO<ProjectDTO> result = projectService.listProjectsAfter(search, activeOnly, cursor, size, includeTotal);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Get project by ID.
      * Requires: PAGE_PROJECTS_VIEW or higher
@@ -0,0 +1,67 @@
+package com.elina.projects.controller;
+
+import com.elina.projects.dto.SearchResultDTO;
+import com.elina.projects.service.SearchIndexService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Typeahead search over tasks, WBS and projects.
+ * 
+ * Tenant enforcement: Results are limited to the tenant from TenantContext.
+ * 
+ * Authorization: Requires PAGE_PROJECTS_VIEW or higher permission.
+ */
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchIndexService searchIndexService;
+
+    public SearchController(SearchIndexService searchIndexService) {
+        this.searchIndexService = searchIndexService;
+    }
+
+    /**
+     * Check if user has required permission.
+     */
+    private boolean hasPermission(String permission) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) return false;
+        
+        return authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals(permission) || 
+                             a.getAuthority().equals("ROLE_SYSTEM_ADMIN"));
+    }
+
+    /**
+     * Ranked matches for a typeahead query. Every word of the query must be the start of a
+     * word of the code or name.
+     * Requires: PAGE_PROJECTS_VIEW or higher
+     *
+     * @param types Comma-separated entity types (TASK, WBS, PROJECT); all when omitted
+     */
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<SearchResultDTO>> typeahead(
+            @RequestParam String q,
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(required = false, defaultValue = "10") int limit) {
+
+        if (!hasPermission("PAGE_PROJECTS_VIEW") && !hasPermission("PAGE_PROJECTS_EDIT")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        Set<String> entityTypes = types != null
+                ? types.stream().map(String::trim).map(String::toUpperCase).collect(Collectors.toSet())
+                : Set.of();
+        List<SearchResultDTO> result = searchIndexService.typeahead(q, entityTypes, limit);
+        return ResponseEntity.ok(result);
+    }
+}
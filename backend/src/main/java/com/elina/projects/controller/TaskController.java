@@ -1,5 +1,7 @@
 package com.elina.projects.controller;
 
+import com.elina.authorization.controller.ConditionalGet;
+import com.elina.projects.dto.CursorPageDTO;
 import com.elina.projects.dto.TaskCreateDTO;
 import com.elina.projects.dto.TaskDTO;
 import com.elina.projects.dto.TaskDetailsDTO;
@@ -12,6 +14,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -67,6 +70,33 @@ public class TaskController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * List tasks with keyset pagination. Pass nextCursor of a page to get the next one.
+     * size must be at least 1 (400 otherwise) and is capped at CursorPageDTO.MAX_SIZE.
+     * Requires: PAGE_PROJECTS_VIEW or higher
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDTO<TaskDTO>> listTasksAfter(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) Long wbsId,
+            @RequestParam(required = false, defaultValue = "false") Boolean activeOnly,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") int size,
+            @RequestParam(required = false, defaultValue = "false") boolean includeTotal) {
+        
+        if (!hasPermission("PAGE_PROJECTS_VIEW") && !hasPermission("PAGE_PROJECTS_EDIT")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        if (size < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        CursorPageDTO<TaskDTO> result = taskService.listTasksAfter(projectId, wbsId, activeOnly, search, cursor, size, includeTotal);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Get all tasks for a WBS.
      * Requires: PAGE_PROJECTS_VIEW or higher
@@ -96,17 +126,16 @@ public class TaskController {
     }
 
     /**
-     * Get task details with plan versions and updates.
+     * Get task details with plan versions and updates (conditional GET: 304 while unchanged).
      * Requires: PAGE_PROJECTS_VIEW or higher
      */
     @GetMapping("/{id}/details")
-    public ResponseEntity<TaskDetailsDTO> getTaskDetails(@PathVariable Long id) {
+    public ResponseEntity<TaskDetailsDTO> getTaskDetails(@PathVariable Long id, WebRequest request) {
         if (!hasPermission("PAGE_PROJECTS_VIEW") && !hasPermission("PAGE_PROJECTS_EDIT")) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        TaskDetailsDTO result = taskService.getTaskDetails(id);
-        return ResponseEntity.ok(result);
+        return ConditionalGet.respond(request, taskService.getTaskDetailsVersion(id), () -> taskService.getTaskDetails(id));
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.elina.projects.controller;
 
+import com.elina.authorization.config.SqlBudget;
 import com.elina.projects.dto.*;
 import com.elina.projects.service.TaskUpdateService;
 import jakarta.validation.Valid;
@@ -50,6 +51,7 @@ public class TaskUpdateController {
      * Requires: PAGE_TASK_UPDATE_VIEW or PAGE_PROJECTS_VIEW
      */
     @GetMapping("/task/{taskId}")
+    @SqlBudget(20)
     public ResponseEntity<List<TaskUpdateDayWiseDTO>> getUpdatesForTask(@PathVariable Long taskId) {
         if (!hasPermission("PAGE_TASK_UPDATE_VIEW") && !hasPermission("PAGE_PROJECTS_VIEW") 
             && !hasPermission("PAGE_PROJECTS_EDIT")) {
@@ -60,11 +62,67 @@ public class TaskUpdateController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Columnar variant of getUpdatesForTask (one array per field instead of one object per day).
+     * Requires: PAGE_TASK_UPDATE_VIEW or PAGE_PROJECTS_VIEW
+     */
+    @GetMapping(value = "/task/{taskId}", params = "format=columnar")
+    @SqlBudget(20)
+    public ResponseEntity<TaskUpdateDayWiseColumnsDTO> getUpdatesForTaskColumnar(@PathVariable Long taskId) {
+        if (!hasPermission("PAGE_TASK_UPDATE_VIEW") && !hasPermission("PAGE_PROJECTS_VIEW") 
+            && !hasPermission("PAGE_PROJECTS_EDIT")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        List<TaskUpdateDayWiseDTO> rows = taskUpdateService.getUpdatesForTask(taskId);
+        return ResponseEntity.ok(TaskUpdateDayWiseColumnsDTO.of(rows));
+    }
+
+    /**
+     * Get one window of the day-wise grid for a task. Without from/to, a default window
+     * around today is returned; the response carries the bounds of the adjacent windows.
+     * Requires: PAGE_TASK_UPDATE_VIEW or PAGE_PROJECTS_VIEW
+     */
+    @GetMapping("/task/{taskId}/window")
+    @SqlBudget(20)
+    public ResponseEntity<TaskUpdateWindowDTO> getUpdatesForTaskWindow(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!hasPermission("PAGE_TASK_UPDATE_VIEW") && !hasPermission("PAGE_PROJECTS_VIEW") 
+            && !hasPermission("PAGE_PROJECTS_EDIT")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        TaskUpdateWindowDTO result = taskUpdateService.getUpdatesForTaskWindow(taskId, from, to);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Columnar variant of getUpdatesForTaskWindow: the window's rows are returned as columns.
+     * Requires: PAGE_TASK_UPDATE_VIEW or PAGE_PROJECTS_VIEW
+     */
+    @GetMapping(value = "/task/{taskId}/window", params = "format=columnar")
+    @SqlBudget(20)
+    public ResponseEntity<TaskUpdateWindowDTO> getUpdatesForTaskWindowColumnar(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!hasPermission("PAGE_TASK_UPDATE_VIEW") && !hasPermission("PAGE_PROJECTS_VIEW") 
+            && !hasPermission("PAGE_PROJECTS_EDIT")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        TaskUpdateWindowDTO result = taskUpdateService.getUpdatesForTaskWindow(taskId, from, to);
+        return ResponseEntity.ok(result.toColumnar());
+    }
+
     /**
      * List task updates for a task (legacy endpoint - returns simple DTOs).
      * Requires: PAGE_TASK_UPDATE_VIEW or PAGE_PROJECTS_VIEW
      */
     @GetMapping("/task/{taskId}/list")
+    @SqlBudget(10)
     public ResponseEntity<List<TaskUpdateDTO>> getTaskUpdates(@PathVariable Long taskId) {
         if (!hasPermission("PAGE_TASK_UPDATE_VIEW") && !hasPermission("PAGE_PROJECTS_VIEW") 
             && !hasPermission("PAGE_PROJECTS_EDIT")) {
@@ -90,6 +148,21 @@ public class TaskUpdateController {
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
 
+    /**
+     * Dry-run validation of a day-wise grid: returns pass/fail per row without saving.
+     * Requires: PAGE_TASK_UPDATE_EDIT or PAGE_PROJECTS_EDIT
+     */
+    @PostMapping("/task/{taskId}/validate")
+    @PreAuthorize("hasAuthority('PAGE_TASK_UPDATE_EDIT') or hasAuthority('PAGE_PROJECTS_EDIT') or hasAuthority('ROLE_SYSTEM_ADMIN')")
+    public ResponseEntity<BulkValidationResultDTO> validateDayWise(
+            @PathVariable Long taskId,
+            @Valid @RequestBody TaskUpdateBulkDTO bulkDTO) {
+        // Ensure taskId in path matches DTO
+        bulkDTO.setTaskId(taskId);
+        BulkValidationResultDTO result = taskUpdateService.validateDayWise(bulkDTO);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Create or update a single day-wise task update (legacy endpoint).
      * Requires: PAGE_TASK_UPDATE_EDIT or PAGE_PROJECTS_EDIT
@@ -117,6 +190,7 @@ public class TaskUpdateController {
      * Requires: PAGE_TASK_UPDATE_VIEW or PAGE_PROJECTS_VIEW
      */
     @GetMapping("/task/{taskId}/summary")
+    @SqlBudget(10)
     public ResponseEntity<List<TaskUpdateSummaryDTO>> getDailySummary(
             @PathVariable Long taskId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
@@ -1,5 +1,7 @@
 package com.elina.projects.controller;
 
+import com.elina.authorization.config.SqlBudget;
+import com.elina.authorization.controller.ConditionalGet;
 import com.elina.projects.dto.WbsCreateDTO;
 import com.elina.projects.dto.WbsDTO;
 import com.elina.projects.service.WbsService;
@@ -10,6 +12,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -45,17 +48,18 @@ public class WbsController {
     }
 
     /**
-     * Get WBS hierarchy for a project.
+     * Get WBS hierarchy for a project (conditional GET: 304 while the hierarchy is unchanged).
      * Requires: PAGE_PROJECTS_VIEW or higher
      */
     @GetMapping("/project/{projectId}/hierarchy")
-    public ResponseEntity<List<WbsDTO>> getWbsHierarchy(@PathVariable Long projectId) {
+    @SqlBudget(10)
+    public ResponseEntity<List<WbsDTO>> getWbsHierarchy(@PathVariable Long projectId, WebRequest request) {
         if (!hasPermission("PAGE_PROJECTS_VIEW") && !hasPermission("PAGE_PROJECTS_EDIT")) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
-        List<WbsDTO> result = wbsService.getWbsHierarchy(projectId);
-        return ResponseEntity.ok(result);
+        return ConditionalGet.respond(request, wbsService.getWbsHierarchyVersion(projectId),
+                () -> wbsService.getWbsHierarchy(projectId));
     }
 
     /**
@@ -86,6 +90,36 @@ public class WbsController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Get a WBS and all its descendants.
+     * Requires: PAGE_PROJECTS_VIEW or higher
+     */
+    @GetMapping("/{id}/subtree")
+    @SqlBudget(10)
+    public ResponseEntity<List<WbsDTO>> getWbsSubtree(@PathVariable Long id) {
+        if (!hasPermission("PAGE_PROJECTS_VIEW") && !hasPermission("PAGE_PROJECTS_EDIT")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        List<WbsDTO> result = wbsService.getWbsSubtree(id);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Get the ancestors of a WBS, root first.
+     * Requires: PAGE_PROJECTS_VIEW or higher
+     */
+    @GetMapping("/{id}/ancestors")
+    @SqlBudget(10)
+    public ResponseEntity<List<WbsDTO>> getWbsAncestors(@PathVariable Long id) {
+        if (!hasPermission("PAGE_PROJECTS_VIEW") && !hasPermission("PAGE_PROJECTS_EDIT")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        List<WbsDTO> result = wbsService.getWbsAncestors(id);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * Create a new WBS.
      * Requires: PAGE_PROJECTS_EDIT
@@ -0,0 +1,78 @@
+package com.elina.projects.dto;
+
+import com.elina.authorization.rule.BusinessRuleViolation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for dry-run (what-if) validation of a bulk payload.
+ * Returned by the validate endpoints for day-wise grids and plan line sets;
+ * nothing is written when it is produced.
+ * 
+ * Each row of the payload gets a RowResultDTO in request order. Violations that
+ * don't belong to a single row (e.g. Rule 402 on the plan version date) are
+ * reported in violations.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkValidationResultDTO {
+
+    private boolean valid = true;
+    private int rowCount;
+    private int invalidRowCount;
+    private List<ViolationDTO> violations = new ArrayList<>();
+    private List<RowResultDTO> rows = new ArrayList<>();
+
+    /**
+     * Add the result of one row, in request order.
+     */
+    public void addRow(LocalDate date, List<BusinessRuleViolation> rowViolations) {
+        RowResultDTO row = new RowResultDTO(rows.size(), date, rowViolations.isEmpty(), new ArrayList<>());
+        for (BusinessRuleViolation violation : rowViolations) {
+            row.getViolations().add(ViolationDTO.from(violation));
+        }
+        rows.add(row);
+        rowCount++;
+        if (!row.isValid()) {
+            invalidRowCount++;
+            valid = false;
+        }
+    }
+
+    /**
+     * Add a violation that is not tied to a row.
+     */
+    public void addViolation(BusinessRuleViolation violation) {
+        violations.add(ViolationDTO.from(violation));
+        valid = false;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowResultDTO {
+        private int rowIndex;
+        private LocalDate date;
+        private boolean valid;
+        private List<ViolationDTO> violations;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ViolationDTO {
+        private Integer ruleNumber;
+        private String message;
+        private String hint;
+
+        public static ViolationDTO from(BusinessRuleViolation violation) {
+            return new ViolationDTO(violation.getRuleNumber(), violation.getMessage(), violation.getHint());
+        }
+    }
+}
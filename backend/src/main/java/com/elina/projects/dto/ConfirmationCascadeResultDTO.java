@@ -0,0 +1,23 @@
+package com.elina.projects.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for the result of a cascading WBS confirmation.
+ * Used for API responses.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConfirmationCascadeResultDTO {
+    private Long wbsId;
+    private LocalDate confirmationDate;
+    private int wbsLocked;
+    private int tasksLocked;
+    private int confirmationsCreated;
+    private int confirmationsAdvanced;
+}
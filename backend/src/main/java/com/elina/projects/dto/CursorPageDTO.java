@@ -0,0 +1,82 @@
+package com.elina.projects.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset (seek) paginated listing.
+ *
+ * Instead of a page number the client passes back nextCursor, an opaque token for the sort
+ * key of the last row, and the next page starts right after that key. Each page is then an
+ * index seek, however deep the client has paged. totalElements is only filled when the
+ * client asks for it, as counting costs a scan of all matching rows.
+ */
+@Data
+@NoArgsConstructor
+public class CursorPageDTO<T> {
+    public static final int MAX_SIZE = 200;
+
+    private List<T> content;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor; // Null on the last page
+    private Long totalElements; // Null unless requested
+
+    /**
+     * Build a page from rows fetched with a limit of size + 1; the extra row only tells
+     * whether another page exists.
+     */
+    public static <E, T> CursorPageDTO<T> of(List<E> rows, int size, Function<E, String> sortKey,
+                                             Function<E, T> mapper, Long totalElements) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        CursorPageDTO<T> page = new CursorPageDTO<>();
+        List<E> pageRows = rows.size() > size ? rows.subList(0, size) : rows;
+        page.setContent(pageRows.stream().map(mapper).collect(Collectors.toList()));
+        page.setSize(size);
+        page.setHasMore(rows.size() > size);
+        if (page.isHasMore()) {
+            page.setNextCursor(encodeCursor(sortKey.apply(pageRows.get(pageRows.size() - 1))));
+        }
+        page.setTotalElements(totalElements);
+        return page;
+    }
+
+    /**
+     * Cap a requested page size at MAX_SIZE. Sizes below 1 are rejected.
+     */
+    public static int clampSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * Encode a sort key as an opaque cursor.
+     */
+    public static String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor back to its sort key; null or blank means the first page.
+     */
+    public static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
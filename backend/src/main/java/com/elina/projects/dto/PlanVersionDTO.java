@@ -23,6 +23,7 @@ public class PlanVersionDTO {
     private String description;
     private Boolean isActive;
     private Boolean activateFlag;
+    private Boolean isArchived;
     private Long createdBy;
     private LocalDateTime createdOn;
     private Long updatedBy;
@@ -0,0 +1,21 @@
+package com.elina.projects.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for planned vs actual of one project, WBS or task.
+ */
+@Data
+@NoArgsConstructor
+public class ProgressBreakdownDTO {
+    private String entityType; // PROJECT, WBS or TASK
+    private Long entityId;
+    private String code;
+    private String name;
+    private BigDecimal plannedQty;
+    private BigDecimal actualQty;
+    private BigDecimal variance; // actualQty - plannedQty
+}
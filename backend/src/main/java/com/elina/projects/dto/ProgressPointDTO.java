@@ -0,0 +1,25 @@
+package com.elina.projects.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for one period of a progress report (day, week or month).
+ * Cumulative quantities include everything before the period, so a series of points
+ * plots directly as an S-curve.
+ */
+@Data
+@NoArgsConstructor
+public class ProgressPointDTO {
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private BigDecimal plannedQty;
+    private BigDecimal actualQty;
+    private BigDecimal variance; // actualQty - plannedQty
+    private BigDecimal cumulativePlannedQty;
+    private BigDecimal cumulativeActualQty;
+    private BigDecimal cumulativeVariance; // cumulativeActualQty - cumulativePlannedQty
+}
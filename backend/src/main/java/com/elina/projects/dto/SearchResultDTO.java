@@ -0,0 +1,19 @@
+package com.elina.projects.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Typeahead search result: a task, WBS or project.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+    private String entityType; // TASK, WBS or PROJECT
+    private Long entityId;
+    private Long projectId;
+    private String code;
+    private String name;
+}
@@ -0,0 +1,42 @@
+package com.elina.projects.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Columnar form of day-wise grid rows (format=columnar on the grid endpoints).
+ * Entry i of every array belongs to the same day: instead of one object per day with repeated
+ * field names, the payload holds one array per field.
+ */
+@Data
+@NoArgsConstructor
+public class TaskUpdateDayWiseColumnsDTO {
+    private List<LocalDate> updateDate = new ArrayList<>();
+    private List<BigDecimal> planQty = new ArrayList<>();
+    private List<BigDecimal> actualQty = new ArrayList<>();
+    private List<BigDecimal> variance = new ArrayList<>();
+    private List<Long> updateId = new ArrayList<>();
+    private List<String> remarks = new ArrayList<>();
+    private List<Boolean> isLocked = new ArrayList<>();
+    private List<Boolean> canEdit = new ArrayList<>();
+
+    public static TaskUpdateDayWiseColumnsDTO of(List<TaskUpdateDayWiseDTO> rows) {
+        TaskUpdateDayWiseColumnsDTO columns = new TaskUpdateDayWiseColumnsDTO();
+        for (TaskUpdateDayWiseDTO row : rows) {
+            columns.updateDate.add(row.getUpdateDate());
+            columns.planQty.add(row.getPlanQty());
+            columns.actualQty.add(row.getActualQty());
+            columns.variance.add(row.getVariance());
+            columns.updateId.add(row.getUpdateId());
+            columns.remarks.add(row.getRemarks());
+            columns.isLocked.add(row.getIsLocked());
+            columns.canEdit.add(row.getCanEdit());
+        }
+        return columns;
+    }
+}
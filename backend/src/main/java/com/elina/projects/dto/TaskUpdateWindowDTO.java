@@ -0,0 +1,45 @@
+package com.elina.projects.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data Transfer Object for one window of the day-wise grid.
+ * Rows cover windowStart..windowEnd only; the previous/next bounds are the windows
+ * adjacent to this one (null when this window already starts/ends at the task bounds).
+ * With format=columnar, the rows are returned as columns instead.
+ */
+@Data
+@NoArgsConstructor
+public class TaskUpdateWindowDTO {
+    private Long taskId;
+    private LocalDate taskStartDate;
+    private LocalDate taskEndDate;
+    private LocalDate lockDate;
+    private LocalDate windowStart;
+    private LocalDate windowEnd;
+    private LocalDate previousWindowStart;
+    private LocalDate previousWindowEnd;
+    private LocalDate nextWindowStart;
+    private LocalDate nextWindowEnd;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<TaskUpdateDayWiseDTO> rows;
+    // Set instead of rows for format=columnar
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private TaskUpdateDayWiseColumnsDTO columns;
+
+    /**
+     * Replace the rows by their columnar form.
+     */
+    public TaskUpdateWindowDTO toColumnar() {
+        if (rows != null) {
+            columns = TaskUpdateDayWiseColumnsDTO.of(rows);
+            rows = null;
+        }
+        return this;
+    }
+}
@@ -46,5 +46,19 @@ public class WbsDTO {
     
     // For hierarchical display
     private List<WbsDTO> children = new ArrayList<>();
+
+    /**
+     * All columns without children; used by the JPQL constructor projection in WbsRepository.
+     */
+    public WbsDTO(Long wbsId, Long tenantId, Long projectId, Long parentWbsId, String wbsCode, String wbsName,
+                  String description, LocalDate startDate, LocalDate endDate, Integer level, String workCenter,
+                  String costCenter, BigDecimal plannedQty, BigDecimal actualQty, String status, Boolean isConfirmed,
+                  LocalDateTime confirmedOn, Long confirmedBy, Boolean isLocked, LocalDate lockDate,
+                  Boolean activateFlag, Long createdBy, LocalDateTime createdOn, Long updatedBy,
+                  LocalDateTime updatedOn) {
+        this(wbsId, tenantId, projectId, parentWbsId, wbsCode, wbsName, description, startDate, endDate, level,
+            workCenter, costCenter, plannedQty, actualQty, status, isConfirmed, confirmedOn, confirmedBy, isLocked,
+            lockDate, activateFlag, createdBy, createdOn, updatedBy, updatedOn, new ArrayList<>());
+    }
 }
 
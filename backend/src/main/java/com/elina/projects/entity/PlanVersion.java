@@ -17,6 +17,9 @@ import java.time.LocalDateTime;
  * 
  * Business rules:
  * - Plan version date cannot be in future (Rule 402)
+ * 
+ * Archival: when is_archived is set, the version's plan lines live in
+ * plan_version_archives (see PlanVersionArchiveService) instead of plan_lines.
  */
 @Entity
 @Table(name = "plan_versions", indexes = {
@@ -59,6 +62,9 @@ public class PlanVersion {
     @Column(name = "activate_flag", nullable = false)
     private Boolean activateFlag = true;
 
+    @Column(name = "is_archived", nullable = false)
+    private Boolean isArchived = false;
+
     @Column(name = "created_by")
     private Long createdBy;
 
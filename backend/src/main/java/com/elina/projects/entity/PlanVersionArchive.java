@@ -0,0 +1,73 @@
+package com.elina.projects.entity;
+
+import com.elina.authorization.entity.Tenant;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Plan Version Archive entity holding the compacted plan lines of an archived plan version.
+ *
+ * Tenant enforcement: Archives belong to a specific tenant and task.
+ * All queries must include tenant_id filter via TenantAwareRepository.
+ *
+ * Storage format: payload is a gzip-compressed, columnar encoding of the version's lines.
+ * Archives of a task form a chain - a record with base_archive_id stores only the
+ * differences against its base record; a record without one is a full snapshot.
+ */
+@Entity
+@Table(name = "plan_version_archives", indexes = {
+    @Index(name = "idx_plan_version_archives_tenant_task", columnList = "tenant_id,task_id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_plan_version_archives_version", columnNames = {"plan_version_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanVersionArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "archive_id")
+    private Long archiveId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tenant_id", nullable = false)
+    private Tenant tenant;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", nullable = false)
+    private Task task;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "plan_version_id", nullable = false)
+    private PlanVersion planVersion;
+
+    @Column(name = "base_archive_id")
+    private Long baseArchiveId; // null = full snapshot
+
+    @Column(name = "chain_depth", nullable = false)
+    private Integer chainDepth = 0;
+
+    @Column(name = "line_count", nullable = false)
+    private Integer lineCount = 0;
+
+    @Column(name = "payload", columnDefinition = "VARBINARY(MAX)", nullable = false)
+    private byte[] payload;
+
+    @Column(name = "archived_by")
+    private Long archivedBy;
+
+    @Column(name = "archived_on", nullable = false, updatable = false)
+    private LocalDateTime archivedOn;
+
+    @PrePersist
+    protected void onCreate() {
+        if (archivedOn == null) {
+            archivedOn = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.elina.projects.entity;
+
+import com.elina.authorization.entity.Tenant;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress Daily Fact entity: planned and actual quantity of one task on one day.
+ *
+ * Tenant enforcement: Facts belong to a specific tenant and task.
+ * All queries must include tenant_id filter.
+ *
+ * Facts are derived data, rewritten per task by ProgressFactService whenever task updates or
+ * the task's current plan change: planned_qty comes from the active plan version's lines
+ * (falling back to the update's own planned_qty), actual_qty from active task updates.
+ * project_id and wbs_id are copied from the task so reports group without joining tasks.
+ */
+@Entity
+@Table(name = "progress_daily_facts", indexes = {
+    @Index(name = "idx_progress_daily_facts_project_date", columnList = "tenant_id,project_id,fact_date"),
+    @Index(name = "idx_progress_daily_facts_wbs_date", columnList = "tenant_id,wbs_id,fact_date"),
+    @Index(name = "idx_progress_daily_facts_date", columnList = "tenant_id,fact_date")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_progress_daily_facts_task_date", columnNames = {"tenant_id", "task_id", "fact_date"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProgressDailyFact {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "fact_id")
+    private Long factId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tenant_id", nullable = false)
+    private Tenant tenant;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "wbs_id", nullable = false)
+    private Wbs wbs;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", nullable = false)
+    private Task task;
+
+    @Column(name = "fact_date", nullable = false)
+    private LocalDate factDate;
+
+    @Column(name = "planned_qty", precision = 18, scale = 2, nullable = false)
+    private BigDecimal plannedQty = BigDecimal.ZERO;
+
+    @Column(name = "actual_qty", precision = 18, scale = 2, nullable = false)
+    private BigDecimal actualQty = BigDecimal.ZERO;
+
+    @Column(name = "refreshed_on", nullable = false)
+    private LocalDateTime refreshedOn;
+}
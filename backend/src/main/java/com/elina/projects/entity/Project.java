@@ -1,10 +1,13 @@
 package com.elina.projects.entity;
 
+import com.elina.authorization.config.EntityCacheConfig;
 import com.elina.authorization.entity.Tenant;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -21,10 +24,14 @@ import java.time.LocalDateTime;
  * - Project end_date must be after start_date (Rule 202)
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.PROJECT_REGION)
+@EntityListeners(SearchIndexEntityListener.class)
 @Table(name = "projects", indexes = {
     @Index(name = "idx_projects_tenant_id", columnList = "tenant_id"),
     @Index(name = "idx_projects_tenant_code", columnList = "tenant_id,project_code", unique = true),
-    @Index(name = "idx_projects_tenant_active", columnList = "tenant_id,activate_flag")
+    @Index(name = "idx_projects_tenant_active", columnList = "tenant_id,activate_flag"),
+    @Index(name = "idx_projects_tenant_search_name", columnList = "tenant_id,search_name")
 })
 @Data
 @NoArgsConstructor
@@ -46,6 +53,9 @@ public class Project {
     @Column(name = "project_name", nullable = false, length = 200)
     private String projectName;
 
+    @Column(name = "search_name", length = 200)
+    private String searchName; // Normalized project_name for indexed prefix search (see SearchNames)
+
     @Column(name = "description", columnDefinition = "NVARCHAR(MAX)")
     private String description;
 
@@ -81,11 +91,13 @@ public class Project {
         if (updatedOn == null) {
             updatedOn = LocalDateTime.now();
         }
+        searchName = SearchNames.normalize(projectName);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedOn = LocalDateTime.now();
+        searchName = SearchNames.normalize(projectName);
     }
 }
 
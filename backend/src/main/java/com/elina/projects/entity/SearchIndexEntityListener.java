@@ -0,0 +1,39 @@
+package com.elina.projects.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA listener on Task, Wbs and Project that publishes entity changes for the search index
+ * (handled by SearchIndexService), so the entities do not depend on the service layer.
+ *
+ * Hibernate creates the listener through Spring's bean container, which injects the
+ * publisher. Events are delivered synchronously, inside the flushing transaction.
+ */
+public class SearchIndexEntityListener {
+
+    /**
+     * A task, WBS or project was saved or removed.
+     */
+    public record EntityChanged(Object entity, boolean removed) {
+    }
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SearchIndexEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        eventPublisher.publishEvent(new EntityChanged(entity, false));
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        eventPublisher.publishEvent(new EntityChanged(entity, true));
+    }
+}
@@ -0,0 +1,50 @@
+package com.elina.projects.entity;
+
+import java.util.Locale;
+
+/**
+ * Normalization of names for indexed search.
+ *
+ * Names are stored trimmed, with inner whitespace collapsed and upper-cased, so that
+ * "  Pour  concrete" and "pour concrete" both become "POUR CONCRETE". Searches normalize the
+ * term the same way and match it as a prefix, which can seek on a (tenant_id, search_name)
+ * index instead of scanning every row of the tenant.
+ */
+public final class SearchNames {
+
+    /** Escape character used in LIKE patterns built by prefixPattern. */
+    public static final char LIKE_ESCAPE = '!';
+
+    private SearchNames() {
+    }
+
+    /**
+     * Normalized form of a name, or null for a blank name.
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = value.trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * LIKE pattern matching names that start with the normalized search term, with LIKE
+     * wildcards in the term escaped. Returns null for a blank term (no filter).
+     */
+    public static String prefixPattern(String search) {
+        String normalized = normalize(search);
+        if (normalized == null) {
+            return null;
+        }
+        StringBuilder pattern = new StringBuilder(normalized.length() + 1);
+        for (char c : normalized.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_' || c == '[') {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
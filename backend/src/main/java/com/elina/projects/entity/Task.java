@@ -24,11 +24,13 @@ import java.time.LocalDateTime;
  * - Confirmed tasks cannot be modified (Rule 301)
  */
 @Entity
+@EntityListeners(SearchIndexEntityListener.class)
 @Table(name = "tasks", indexes = {
     @Index(name = "idx_tasks_tenant_id", columnList = "tenant_id"),
     @Index(name = "idx_tasks_wbs_id", columnList = "tenant_id,wbs_id"),
     @Index(name = "idx_tasks_tenant_code", columnList = "tenant_id,task_code", unique = true),
-    @Index(name = "idx_tasks_tenant_active", columnList = "tenant_id,activate_flag")
+    @Index(name = "idx_tasks_tenant_active", columnList = "tenant_id,activate_flag"),
+    @Index(name = "idx_tasks_tenant_search_name", columnList = "tenant_id,search_name")
 })
 @Data
 @NoArgsConstructor
@@ -58,6 +60,9 @@ public class Task {
     @Column(name = "task_name", nullable = false, length = 200)
     private String taskName;
 
+    @Column(name = "search_name", length = 200)
+    private String searchName; // Normalized task_name for indexed prefix search (see SearchNames)
+
     @Column(name = "description", columnDefinition = "NVARCHAR(MAX)")
     private String description;
 
@@ -117,11 +122,13 @@ public class Task {
         if (updatedOn == null) {
             updatedOn = LocalDateTime.now();
         }
+        searchName = SearchNames.normalize(taskName);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedOn = LocalDateTime.now();
+        searchName = SearchNames.normalize(taskName);
     }
 }
 
@@ -10,7 +10,9 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * WBS (Work Breakdown Structure) entity with hierarchical support.
@@ -23,14 +25,22 @@ import java.util.List;
  * - WBS start_date cannot be before parent WBS start_date
  * - WBS end_date cannot be after parent WBS end_date
  * - Confirmed WBS cannot be modified (Rule 301)
+ *
+ * Hierarchy: besides parent_wbs_id, every WBS stores its materialized path, the ids from the
+ * root down to itself (e.g. "/1/5/9/"). Subtrees are a prefix match on (tenant_id, path) and
+ * ancestors are read from the path, so neither needs recursion. The path is maintained by
+ * WbsService on create and move.
  */
 @Entity
+@EntityListeners(SearchIndexEntityListener.class)
 @Table(name = "wbs", indexes = {
     @Index(name = "idx_wbs_tenant_id", columnList = "tenant_id"),
     @Index(name = "idx_wbs_project_id", columnList = "tenant_id,project_id"),
     @Index(name = "idx_wbs_parent_id", columnList = "tenant_id,parent_wbs_id"),
     @Index(name = "idx_wbs_tenant_code", columnList = "tenant_id,wbs_code", unique = true),
-    @Index(name = "idx_wbs_tenant_active", columnList = "tenant_id,activate_flag")
+    @Index(name = "idx_wbs_tenant_active", columnList = "tenant_id,activate_flag"),
+    @Index(name = "idx_wbs_tenant_path", columnList = "tenant_id,path"),
+    @Index(name = "idx_wbs_tenant_search_name", columnList = "tenant_id,search_name")
 })
 @Data
 @NoArgsConstructor
@@ -63,6 +73,9 @@ public class Wbs {
     @Column(name = "wbs_name", nullable = false, length = 200)
     private String wbsName;
 
+    @Column(name = "search_name", length = 200)
+    private String searchName; // Normalized wbs_name for indexed prefix search (see SearchNames)
+
     @Column(name = "description", columnDefinition = "NVARCHAR(MAX)")
     private String description;
 
@@ -75,6 +88,9 @@ public class Wbs {
     @Column(name = "level", nullable = false)
     private Integer level = 1; // Hierarchy level (1 = root, 2 = child, etc.)
 
+    @Column(name = "path", length = 850)
+    private String path; // Materialized path of WBS ids from the root, e.g. "/1/5/9/"
+
     @Column(name = "work_center", length = 50)
     private String workCenter; // For authorization filtering
 
@@ -128,6 +144,7 @@ public class Wbs {
         if (updatedOn == null) {
             updatedOn = LocalDateTime.now();
         }
+        searchName = SearchNames.normalize(wbsName);
         // Calculate level based on parent
         if (parentWbs != null) {
             level = parentWbs.getLevel() + 1;
@@ -139,6 +156,7 @@ public class Wbs {
     @PreUpdate
     protected void onUpdate() {
         updatedOn = LocalDateTime.now();
+        searchName = SearchNames.normalize(wbsName);
         // Recalculate level if parent changed
         if (parentWbs != null) {
             level = parentWbs.getLevel() + 1;
@@ -146,5 +164,37 @@ public class Wbs {
             level = 1;
         }
     }
-}
 
+    /**
+     * Ids from the root down to this WBS (inclusive). Rows without a path yet fall back to
+     * walking the parent chain.
+     */
+    public List<Long> getPathIds() {
+        if (path != null) {
+            return Arrays.stream(path.split("/"))
+                    .filter(part -> !part.isEmpty())
+                    .map(Long::valueOf)
+                    .collect(Collectors.toList());
+        }
+        List<Long> ids = parentWbs != null ? parentWbs.getPathIds() : new ArrayList<>();
+        ids.add(wbsId);
+        return ids;
+    }
+
+    /**
+     * The stored path, or the path built from the parent chain for rows without one yet.
+     */
+    public String resolvePath() {
+        if (path != null) {
+            return path;
+        }
+        return getPathIds().stream().map(String::valueOf).collect(Collectors.joining("/", "/", "/"));
+    }
+
+    /**
+     * Materialized path of a WBS with the given id placed under the given parent (null for a root).
+     */
+    public static String childPath(Wbs parent, Long wbsId) {
+        return (parent != null ? parent.resolvePath() : "/") + wbsId + "/";
+    }
+}
@@ -0,0 +1,128 @@
+package com.elina.projects.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Set-based confirmation locking over the WBS hierarchy, using the materialized WBS path
+ * (see Wbs): a subtree is a prefix match on wbs.path, ancestors are the ids in the path.
+ *
+ * - confirmSubtree: locks a WBS, all descendant WBS and their tasks up to a date in four
+ *   statements, however large the subtree is
+ * - findEffectiveLockDate: latest confirmation date of an entity and its ancestor WBS in
+ *   one query
+ *
+ * Tenant enforcement: tenant_id is passed explicitly by the caller (taken from TenantContext)
+ * and constrains every table in every statement, so rows of other tenants are never touched.
+ */
+@Repository
+public class ConfirmationLockRepository {
+
+    private static final String SUBTREE =
+        "(SELECT wbs_id FROM wbs WHERE tenant_id = ? AND path LIKE ?)";
+
+    private static final String LOCK_WBS_SQL =
+        "UPDATE wbs SET is_confirmed = 1, confirmed_on = ?, confirmed_by = ?, is_locked = 1, " +
+        "lock_date = CASE WHEN lock_date IS NULL OR lock_date < ? THEN ? ELSE lock_date END, " +
+        "updated_by = ?, updated_on = ? " +
+        "WHERE tenant_id = ? AND path LIKE ?";
+
+    private static final String LOCK_TASKS_SQL =
+        "UPDATE tasks SET is_confirmed = 1, confirmed_on = ?, confirmed_by = ?, is_locked = 1, " +
+        "lock_date = CASE WHEN lock_date IS NULL OR lock_date < ? THEN ? ELSE lock_date END, " +
+        "updated_by = ?, updated_on = ? " +
+        "WHERE tenant_id = ? AND wbs_id IN " + SUBTREE;
+
+    // Existing confirmations are only ever moved forward
+    private static final String ADVANCE_CONFIRMATIONS_SQL =
+        "UPDATE confirmations SET confirmation_date = ?, confirmed_by = ?, confirmed_on = ?, remarks = ? " +
+        "WHERE tenant_id = ? AND confirmation_date < ? AND (" +
+        "(entity_type = 'WBS' AND entity_id IN " + SUBTREE + ") OR " +
+        "(entity_type = 'TASK' AND entity_id IN (SELECT task_id FROM tasks WHERE tenant_id = ? " +
+        "AND wbs_id IN " + SUBTREE + ")))";
+
+    private static final String INSERT_CONFIRMATIONS_SQL =
+        "INSERT INTO confirmations (tenant_id, entity_type, entity_id, confirmation_date, confirmed_by, " +
+        "confirmed_on, remarks, created_by, created_on) " +
+        "SELECT ?, e.entity_type, e.entity_id, ?, ?, ?, ?, ?, ? FROM (" +
+        "SELECT 'WBS' AS entity_type, w.wbs_id AS entity_id FROM wbs w WHERE w.tenant_id = ? AND w.path LIKE ? " +
+        "UNION ALL " +
+        "SELECT 'TASK', t.task_id FROM tasks t WHERE t.tenant_id = ? AND t.wbs_id IN " + SUBTREE +
+        ") e WHERE NOT EXISTS (SELECT 1 FROM confirmations c WHERE c.tenant_id = ? " +
+        "AND c.entity_type = e.entity_type AND c.entity_id = e.entity_id)";
+
+    private static final String LOCK_DATE_SQL =
+        "SELECT MAX(confirmation_date) FROM confirmations WHERE tenant_id = :tenantId AND (" +
+        "(entity_type = 'WBS' AND entity_id IN (:wbsIds)) OR (entity_type = 'TASK' AND entity_id = :taskId))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public ConfirmationLockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Rows touched by a subtree confirmation.
+     */
+    public record SubtreeLockResult(int wbsLocked, int tasksLocked, int confirmationsCreated,
+                                    int confirmationsAdvanced) {
+    }
+
+    /**
+     * Confirm a WBS and everything below it up to the given date: WBS and tasks are flagged
+     * confirmed and locked, missing confirmation records are created and earlier ones are
+     * moved forward to the new date. Lock dates are never moved back.
+     *
+     * @param rootPath Materialized path of the root WBS, e.g. "/1/5/"
+     */
+    public SubtreeLockResult confirmSubtree(Long tenantId, String rootPath, LocalDate confirmationDate,
+                                            Long userId, String remarks) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Date date = Date.valueOf(confirmationDate);
+        String pathPrefix = rootPath + "%";
+
+        int wbsLocked = jdbcTemplate.update(LOCK_WBS_SQL,
+            now, userId, date, date, userId, now,
+            tenantId, pathPrefix);
+        int tasksLocked = jdbcTemplate.update(LOCK_TASKS_SQL,
+            now, userId, date, date, userId, now,
+            tenantId, tenantId, pathPrefix);
+        int advanced = jdbcTemplate.update(ADVANCE_CONFIRMATIONS_SQL,
+            date, userId, now, remarks,
+            tenantId, date,
+            tenantId, pathPrefix,
+            tenantId, tenantId, pathPrefix);
+        int created = jdbcTemplate.update(INSERT_CONFIRMATIONS_SQL,
+            tenantId, date, userId, now, remarks, userId, now,
+            tenantId, pathPrefix,
+            tenantId, tenantId, pathPrefix,
+            tenantId);
+
+        return new SubtreeLockResult(wbsLocked, tasksLocked, created, advanced);
+    }
+
+    /**
+     * Latest confirmation date of the given WBS (a WBS and its ancestors) and optionally a
+     * task, or null if none is confirmed.
+     *
+     * @param taskId Task whose own confirmation also counts, or null for a WBS lookup
+     */
+    public LocalDate findEffectiveLockDate(Long tenantId, Collection<Long> wbsIds, Long taskId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("tenantId", tenantId)
+            .addValue("wbsIds", wbsIds)
+            .addValue("taskId", taskId);
+        Date date = namedJdbcTemplate.queryForObject(LOCK_DATE_SQL, params, Date.class);
+        return date != null ? date.toLocalDate() : null;
+    }
+}
@@ -0,0 +1,233 @@
+package com.elina.projects.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams export rows (task updates, plan lines, audit logs) straight from a forward-only,
+ * read-only result set to a RowSink.
+ *
+ * Rows are fetched from the database in batches of export.fetch-size and handed over one at a
+ * time, so memory use does not depend on the number of rows exported. Column names of each
+ * query are the export headers.
+ *
+ * Tenant enforcement: tenant_id is passed explicitly because exports are written on a
+ * background thread without TenantContext.
+ */
+@Repository
+public class ExportRepository {
+
+    private static final String TASK_UPDATES_SQL =
+        "SELECT p.project_code, w.wbs_code, t.task_code, t.task_name, tu.update_date, tu.planned_qty, " +
+        "tu.actual_qty, tu.daily_update_qty, tu.remarks, tu.updated_on " +
+        "FROM task_updates tu " +
+        "JOIN tasks t ON t.task_id = tu.task_id " +
+        "JOIN wbs w ON w.wbs_id = t.wbs_id " +
+        "JOIN projects p ON p.project_id = t.project_id " +
+        "WHERE tu.tenant_id = :tenantId AND tu.activate_flag = 1";
+
+    private static final String PLAN_LINES_SQL =
+        "SELECT p.project_code, t.task_code, t.task_name, pv.version_no, pv.is_active, pl.line_number, " +
+        "pl.work_date, pl.planned_qty, pl.description " +
+        "FROM plan_lines pl " +
+        "JOIN plan_versions pv ON pv.plan_version_id = pl.plan_version_id " +
+        "JOIN tasks t ON t.task_id = pl.task_id " +
+        "JOIN projects p ON p.project_id = t.project_id " +
+        "WHERE pl.tenant_id = :tenantId AND pl.activate_flag = 1 AND pv.activate_flag = 1";
+
+    private static final String ARCHIVED_PLAN_VERSIONS_SQL =
+        "SELECT pv.task_id, pv.plan_version_id, p.project_code, t.task_code, t.task_name, pv.version_no " +
+        "FROM plan_versions pv " +
+        "JOIN tasks t ON t.task_id = pv.task_id " +
+        "JOIN projects p ON p.project_id = t.project_id " +
+        "WHERE pv.tenant_id = :tenantId AND pv.activate_flag = 1 AND pv.is_archived = 1";
+
+    private static final String AUDIT_LOGS_SQL =
+        "SELECT table_name, record_id, action_type, changed_by, changed_on, old_data, new_data " +
+        "FROM audit_logs WHERE tenant_id = :tenantId";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public ExportRepository(JdbcTemplate jdbcTemplate,
+                            @Value("${export.fetch-size:1000}") int fetchSize) {
+        // Own template: the fetch size only applies to export queries
+        JdbcTemplate exportTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        exportTemplate.setFetchSize(fetchSize);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(exportTemplate);
+    }
+
+    /**
+     * Receives the columns of an export and then its rows in order.
+     * Date values arrive as LocalDate, timestamps as LocalDateTime.
+     */
+    public interface RowSink {
+        void columns(List<String> names);
+
+        void row(Object[] values);
+    }
+
+    /**
+     * An archived plan version with the task columns of the plan line export.
+     */
+    public record ArchivedPlanVersion(Long taskId, Long planVersionId, String projectCode, String taskCode,
+                                      String taskName, Integer versionNo) {
+    }
+
+    /**
+     * Active task updates, ordered by task and date.
+     *
+     * @param projectId Project scope, or null for all projects
+     * @param taskId Task scope, or null for all tasks
+     * @param fromDate First update date (inclusive), or null
+     * @param toDate Last update date (inclusive), or null
+     * @return Number of rows exported
+     */
+    public long streamTaskUpdates(Long tenantId, Long projectId, Long taskId, LocalDate fromDate, LocalDate toDate,
+                                  RowSink sink) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", tenantId);
+        StringBuilder sql = new StringBuilder(TASK_UPDATES_SQL);
+        if (projectId != null) {
+            sql.append(" AND t.project_id = :projectId");
+            params.addValue("projectId", projectId);
+        }
+        if (taskId != null) {
+            sql.append(" AND tu.task_id = :taskId");
+            params.addValue("taskId", taskId);
+        }
+        appendDateRange(sql, "tu.update_date", fromDate, toDate, params);
+        sql.append(" ORDER BY tu.task_id, tu.update_date");
+        return stream(sql.toString(), params, sink);
+    }
+
+    /**
+     * Active plan lines, ordered by task, version and date. Lines of archived versions are
+     * kept in the plan version archive and are not included (see findArchivedPlanVersions).
+     *
+     * @param currentOnly Only lines of each task's active plan version
+     * @return Number of rows exported
+     */
+    public long streamPlanLines(Long tenantId, Long projectId, Long taskId, boolean currentOnly,
+                                LocalDate fromDate, LocalDate toDate, RowSink sink) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", tenantId);
+        StringBuilder sql = new StringBuilder(PLAN_LINES_SQL);
+        if (currentOnly) {
+            sql.append(" AND pv.is_active = 1");
+        }
+        if (projectId != null) {
+            sql.append(" AND t.project_id = :projectId");
+            params.addValue("projectId", projectId);
+        }
+        if (taskId != null) {
+            sql.append(" AND pl.task_id = :taskId");
+            params.addValue("taskId", taskId);
+        }
+        appendDateRange(sql, "pl.work_date", fromDate, toDate, params);
+        sql.append(" ORDER BY pl.task_id, pv.version_no, pl.work_date, pl.line_number");
+        return stream(sql.toString(), params, sink);
+    }
+
+    /**
+     * Active archived plan versions, ordered by task and version. Their lines are read through
+     * PlanVersionArchiveService.
+     *
+     * @param projectId Project scope, or null for all projects
+     * @param taskId Task scope, or null for all tasks
+     */
+    public List<ArchivedPlanVersion> findArchivedPlanVersions(Long tenantId, Long projectId, Long taskId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", tenantId);
+        StringBuilder sql = new StringBuilder(ARCHIVED_PLAN_VERSIONS_SQL);
+        if (projectId != null) {
+            sql.append(" AND t.project_id = :projectId");
+            params.addValue("projectId", projectId);
+        }
+        if (taskId != null) {
+            sql.append(" AND pv.task_id = :taskId");
+            params.addValue("taskId", taskId);
+        }
+        sql.append(" ORDER BY pv.task_id, pv.version_no");
+        return namedJdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new ArchivedPlanVersion(
+            rs.getLong("task_id"), rs.getLong("plan_version_id"), rs.getString("project_code"),
+            rs.getString("task_code"), rs.getString("task_name"), rs.getInt("version_no")));
+    }
+
+    /**
+     * Audit log entries, oldest first.
+     *
+     * @param tableName Audited table, or null for all
+     * @param fromDate First day of changes (inclusive), or null
+     * @param toDate Last day of changes (inclusive), or null
+     * @return Number of rows exported
+     */
+    public long streamAuditLogs(Long tenantId, String tableName, LocalDate fromDate, LocalDate toDate, RowSink sink) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", tenantId);
+        StringBuilder sql = new StringBuilder(AUDIT_LOGS_SQL);
+        if (tableName != null) {
+            sql.append(" AND table_name = :tableName");
+            params.addValue("tableName", tableName);
+        }
+        if (fromDate != null) {
+            sql.append(" AND changed_on >= :fromTime");
+            params.addValue("fromTime", Timestamp.valueOf(fromDate.atStartOfDay()));
+        }
+        if (toDate != null) {
+            sql.append(" AND changed_on < :toTime");
+            params.addValue("toTime", Timestamp.valueOf(toDate.plusDays(1).atStartOfDay()));
+        }
+        sql.append(" ORDER BY changed_on, audit_id");
+        return stream(sql.toString(), params, sink);
+    }
+
+    private long stream(String sql, MapSqlParameterSource params, RowSink sink) {
+        ResultSetExtractor<Long> extractor = rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            List<String> names = new ArrayList<>(columnCount);
+            for (int i = 1; i <= columnCount; i++) {
+                names.add(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT));
+            }
+            sink.columns(names);
+
+            long rows = 0;
+            while (rs.next()) {
+                Object[] values = new Object[columnCount];
+                for (int i = 1; i <= columnCount; i++) {
+                    Object value = rs.getObject(i);
+                    if (value instanceof Timestamp timestamp) {
+                        value = timestamp.toLocalDateTime();
+                    } else if (value instanceof Date date) {
+                        value = date.toLocalDate();
+                    }
+                    values[i - 1] = value;
+                }
+                sink.row(values);
+                rows++;
+            }
+            return rows;
+        };
+        return namedJdbcTemplate.query(sql, params, extractor);
+    }
+
+    private static void appendDateRange(StringBuilder sql, String column, LocalDate fromDate, LocalDate toDate,
+                                        MapSqlParameterSource params) {
+        if (fromDate != null) {
+            sql.append(" AND ").append(column).append(" >= :fromDate");
+            params.addValue("fromDate", Date.valueOf(fromDate));
+        }
+        if (toDate != null) {
+            sql.append(" AND ").append(column).append(" <= :toDate");
+            params.addValue("toDate", Date.valueOf(toDate));
+        }
+    }
+}
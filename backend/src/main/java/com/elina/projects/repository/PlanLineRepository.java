@@ -1,11 +1,15 @@
 package com.elina.projects.repository;
 
+import com.elina.authorization.dto.ResourceVersion;
 import com.elina.authorization.repository.TenantAwareRepository;
+import com.elina.projects.dto.PlanLineDTO;
 import com.elina.projects.entity.PlanLine;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -25,6 +29,34 @@ public interface PlanLineRepository extends TenantAwareRepository<PlanLine, Long
            "ORDER BY pl.workDate, pl.lineNumber")
     List<PlanLine> findByPlanVersionId(@Param("planVersionId") Long planVersionId, @Param("activeOnly") Boolean activeOnly);
 
+    /**
+     * Plan lines of a plan version as DTOs (read-only, no managed entities).
+     */
+    @Query("SELECT new com.elina.projects.dto.PlanLineDTO(pl.planLineId, pl.tenant.id, pl.planVersion.planVersionId, " +
+           "pl.task.taskId, pl.lineNumber, pl.workDate, pl.plannedQty, pl.description, pl.activateFlag, " +
+           "pl.createdBy, pl.createdOn, pl.updatedBy, pl.updatedOn) " +
+           "FROM PlanLine pl WHERE pl.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND pl.planVersion.planVersionId = :planVersionId " +
+           "AND (:activeOnly IS NULL OR :activeOnly = false OR pl.activateFlag = true) " +
+           "ORDER BY pl.workDate, pl.lineNumber")
+    List<PlanLineDTO> findDTOsByPlanVersionId(@Param("planVersionId") Long planVersionId, @Param("activeOnly") Boolean activeOnly);
+
+    /**
+     * Find plan lines of a plan version within a date range (inclusive).
+     * Served by idx_plan_lines_version_work_date.
+     */
+    @Query("SELECT pl FROM PlanLine pl WHERE pl.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND pl.planVersion.planVersionId = :planVersionId " +
+           "AND pl.workDate >= :startDate AND pl.workDate <= :endDate " +
+           "AND (:activeOnly IS NULL OR :activeOnly = false OR pl.activateFlag = true) " +
+           "ORDER BY pl.workDate, pl.lineNumber")
+    List<PlanLine> findByPlanVersionIdAndDateRange(
+        @Param("planVersionId") Long planVersionId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("activeOnly") Boolean activeOnly
+    );
+
     /**
      * Find all plan lines for a task (across all versions).
      */
@@ -37,8 +69,16 @@ public interface PlanLineRepository extends TenantAwareRepository<PlanLine, Long
     /**
      * Delete all plan lines for a plan version.
      */
+    @Modifying(flushAutomatically = true)
     @Query("DELETE FROM PlanLine pl WHERE pl.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
            "AND pl.planVersion.planVersionId = :planVersionId")
     void deleteByPlanVersionId(@Param("planVersionId") Long planVersionId);
-}
 
+    /**
+     * Version of a plan version's lines for conditional GET.
+     */
+    @Query("SELECT new com.elina.authorization.dto.ResourceVersion(COUNT(pl), MAX(pl.updatedOn)) FROM PlanLine pl " +
+           "WHERE pl.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND pl.planVersion.planVersionId = :planVersionId")
+    ResourceVersion findVersionByPlanVersionId(@Param("planVersionId") Long planVersionId);
+}
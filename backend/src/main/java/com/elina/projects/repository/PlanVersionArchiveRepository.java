@@ -0,0 +1,33 @@
+package com.elina.projects.repository;
+
+import com.elina.authorization.repository.TenantAwareRepository;
+import com.elina.projects.entity.PlanVersionArchive;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for PlanVersionArchive entity with tenant-aware queries.
+ *
+ * Tenant enforcement: All queries automatically filter by tenant_id from TenantContext.
+ */
+@Repository
+public interface PlanVersionArchiveRepository extends TenantAwareRepository<PlanVersionArchive, Long> {
+
+    /**
+     * Find the archive chain for a task, in archival order.
+     */
+    @Query("SELECT a FROM PlanVersionArchive a WHERE a.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND a.task.taskId = :taskId ORDER BY a.archiveId")
+    List<PlanVersionArchive> findByTaskId(@Param("taskId") Long taskId);
+
+    /**
+     * Find the archive record of a plan version.
+     */
+    @Query("SELECT a FROM PlanVersionArchive a WHERE a.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND a.planVersion.planVersionId = :planVersionId")
+    Optional<PlanVersionArchive> findByPlanVersionId(@Param("planVersionId") Long planVersionId);
+}
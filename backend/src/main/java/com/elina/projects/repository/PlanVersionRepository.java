@@ -1,11 +1,15 @@
 package com.elina.projects.repository;
 
+import com.elina.authorization.dto.ResourceVersion;
 import com.elina.authorization.repository.TenantAwareRepository;
+import com.elina.projects.dto.PlanVersionDTO;
 import com.elina.projects.entity.PlanVersion;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +30,18 @@ public interface PlanVersionRepository extends TenantAwareRepository<PlanVersion
            "ORDER BY pv.versionNo DESC")
     List<PlanVersion> findByTaskId(@Param("taskId") Long taskId, @Param("activeOnly") Boolean activeOnly);
 
+    /**
+     * Plan versions of a task as DTOs (read-only, no managed entities), version number descending.
+     */
+    @Query("SELECT new com.elina.projects.dto.PlanVersionDTO(pv.planVersionId, pv.tenant.id, pv.task.taskId, pv.versionNo, " +
+           "pv.versionDate, pv.description, pv.isActive, pv.activateFlag, pv.isArchived, " +
+           "pv.createdBy, pv.createdOn, pv.updatedBy, pv.updatedOn) " +
+           "FROM PlanVersion pv WHERE pv.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND pv.task.taskId = :taskId " +
+           "AND (:activeOnly IS NULL OR :activeOnly = false OR pv.activateFlag = true) " +
+           "ORDER BY pv.versionNo DESC")
+    List<PlanVersionDTO> findDTOsByTaskId(@Param("taskId") Long taskId, @Param("activeOnly") Boolean activeOnly);
+
     /**
      * Find current plan version for a task.
      */
@@ -46,5 +62,37 @@ public interface PlanVersionRepository extends TenantAwareRepository<PlanVersion
     @Query("SELECT MAX(pv.versionNo) FROM PlanVersion pv WHERE pv.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
            "AND pv.task.taskId = :taskId")
     Integer findMaxVersionNoByTaskId(@Param("taskId") Long taskId);
-}
 
+    /**
+     * Count plan versions the retention policy would archive: not archived, not active, dated after
+     * the confirmation date, and either at least keepLast versions behind the newest or created
+     * before the age cutoff. A version number at least keepLast below the newest is a necessary
+     * condition for being outside the last N, so the count is a cheap pre-check for the full policy.
+     */
+    @Query("SELECT COUNT(pv) FROM PlanVersion pv WHERE pv.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND pv.task.taskId = :taskId AND pv.isArchived = false AND pv.isActive = false " +
+           "AND (:confirmedThrough IS NULL OR pv.versionDate > :confirmedThrough) " +
+           "AND ((:keepLast > 0 AND pv.versionNo <= (SELECT MAX(p2.versionNo) FROM PlanVersion p2 " +
+           "WHERE p2.tenant.id = pv.tenant.id AND p2.task.taskId = :taskId) - :keepLast) " +
+           "OR (:ageCutoff IS NOT NULL AND pv.createdOn < :ageCutoff))")
+    long countRetentionCandidates(@Param("taskId") Long taskId,
+                                  @Param("confirmedThrough") LocalDate confirmedThrough,
+                                  @Param("keepLast") int keepLast,
+                                  @Param("ageCutoff") LocalDateTime ageCutoff);
+
+    /**
+     * Version of a single plan version row (count 0 if it does not exist) for conditional GET.
+     */
+    @Query("SELECT new com.elina.authorization.dto.ResourceVersion(COUNT(pv), MAX(pv.updatedOn)) FROM PlanVersion pv " +
+           "WHERE pv.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND pv.planVersionId = :planVersionId")
+    ResourceVersion findVersionById(@Param("planVersionId") Long planVersionId);
+
+    /**
+     * Version of a task's plan versions for conditional GET.
+     */
+    @Query("SELECT new com.elina.authorization.dto.ResourceVersion(COUNT(pv), MAX(pv.updatedOn)) FROM PlanVersion pv " +
+           "WHERE pv.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND pv.task.taskId = :taskId")
+    ResourceVersion findVersionByTaskId(@Param("taskId") Long taskId);
+}
@@ -0,0 +1,251 @@
+package com.elina.projects.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains and queries the daily progress fact table (progress_daily_facts, see ProgressDailyFact).
+ *
+ * - refreshTasks / refreshTenant: rewrite the facts of some tasks (or a whole tenant) from
+ *   plan lines of the active plan version and active task updates, in two set-based statements
+ * - findDailyTotals / findTotalsBefore / findWbsTotals / findVarianceRanking: report queries
+ *   answered with GROUP BY over the fact table
+ *
+ * Tenant enforcement: tenant_id is passed explicitly by the caller (taken from TenantContext)
+ * and constrains every table in every statement.
+ */
+@Repository
+public class ProgressFactRepository {
+
+    private static final String DELETE_TASKS_SQL =
+        "DELETE FROM progress_daily_facts WHERE tenant_id = :tenantId AND task_id IN (:taskIds)";
+
+    private static final String DELETE_TENANT_SQL =
+        "DELETE FROM progress_daily_facts WHERE tenant_id = :tenantId";
+
+    private static final String INSERT_TASKS_SQL = insertSql(true);
+
+    private static final String INSERT_TENANT_SQL = insertSql(false);
+
+    private static final String WBS_TOTALS_SQL =
+        "SELECT r.wbs_id AS id, r.wbs_code AS code, r.wbs_name AS name, " +
+        "COALESCE(SUM(f.planned_qty), 0) AS planned_qty, COALESCE(SUM(f.actual_qty), 0) AS actual_qty " +
+        "FROM wbs r " +
+        "LEFT JOIN wbs w ON w.tenant_id = r.tenant_id AND w.path LIKE CONCAT(r.path, '%') " +
+        "LEFT JOIN progress_daily_facts f ON f.tenant_id = w.tenant_id AND f.wbs_id = w.wbs_id%s " +
+        "WHERE r.tenant_id = :tenantId AND r.activate_flag = 1 AND %s " +
+        "GROUP BY r.wbs_id, r.wbs_code, r.wbs_name " +
+        "ORDER BY r.wbs_code";
+
+    private static final String VARIANCE_SQL =
+        "SELECT f.%1$s AS id, e.%3$s AS code, e.%4$s AS name, " +
+        "SUM(f.planned_qty) AS planned_qty, SUM(f.actual_qty) AS actual_qty " +
+        "FROM progress_daily_facts f JOIN %2$s e ON e.%1$s = f.%1$s " +
+        "WHERE f.tenant_id = :tenantId AND f.fact_date <= :asOf%5$s " +
+        "GROUP BY f.%1$s, e.%3$s, e.%4$s " +
+        "ORDER BY SUM(f.actual_qty) - SUM(f.planned_qty), e.%3$s " +
+        "OFFSET 0 ROWS FETCH NEXT :limit ROWS ONLY";
+
+    private static final RowMapper<DailyTotal> DAILY_TOTAL_MAPPER = (rs, rowNum) -> new DailyTotal(
+        rs.getDate("fact_date").toLocalDate(),
+        rs.getBigDecimal("planned_qty"),
+        rs.getBigDecimal("actual_qty"));
+
+    private static final RowMapper<GroupTotal> GROUP_TOTAL_MAPPER = (rs, rowNum) -> new GroupTotal(
+        rs.getLong("id"),
+        rs.getString("code"),
+        rs.getString("name"),
+        rs.getBigDecimal("planned_qty"),
+        rs.getBigDecimal("actual_qty"));
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public ProgressFactRepository(JdbcTemplate jdbcTemplate) {
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    /**
+     * Planned and actual quantity of one day, summed over the report scope.
+     */
+    public record DailyTotal(LocalDate date, BigDecimal plannedQty, BigDecimal actualQty) {
+    }
+
+    /**
+     * Planned and actual quantity of one project, WBS or task.
+     */
+    public record GroupTotal(Long id, String code, String name, BigDecimal plannedQty, BigDecimal actualQty) {
+    }
+
+    /**
+     * Grouping level of a variance ranking: fact column, entity table and its code/name columns.
+     */
+    public enum Dimension {
+        PROJECT("project_id", "projects", "project_code", "project_name"),
+        WBS("wbs_id", "wbs", "wbs_code", "wbs_name"),
+        TASK("task_id", "tasks", "task_code", "task_name");
+
+        private final String idColumn;
+        private final String table;
+        private final String codeColumn;
+        private final String nameColumn;
+
+        Dimension(String idColumn, String table, String codeColumn, String nameColumn) {
+            this.idColumn = idColumn;
+            this.table = table;
+            this.codeColumn = codeColumn;
+            this.nameColumn = nameColumn;
+        }
+    }
+
+    /**
+     * Rewrite the facts of the given tasks. Inactive tasks end up without facts.
+     *
+     * @return Number of fact rows written
+     */
+    public int refreshTasks(Long tenantId, Collection<Long> taskIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("tenantId", tenantId)
+            .addValue("taskIds", taskIds)
+            .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        namedJdbcTemplate.update(DELETE_TASKS_SQL, params);
+        return namedJdbcTemplate.update(INSERT_TASKS_SQL, params);
+    }
+
+    /**
+     * Rewrite all facts of a tenant.
+     *
+     * @return Number of fact rows written
+     */
+    public int refreshTenant(Long tenantId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("tenantId", tenantId)
+            .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        namedJdbcTemplate.update(DELETE_TENANT_SQL, params);
+        return namedJdbcTemplate.update(INSERT_TENANT_SQL, params);
+    }
+
+    /**
+     * Planned and actual totals per day, ordered by date.
+     *
+     * @param projectId Project scope, or null for the whole tenant
+     * @param fromDate First day (inclusive), or null for no lower bound
+     * @param toDate Last day (inclusive), or null for no upper bound
+     */
+    public List<DailyTotal> findDailyTotals(Long tenantId, Long projectId, LocalDate fromDate, LocalDate toDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", tenantId);
+        String sql = "SELECT fact_date, SUM(planned_qty) AS planned_qty, SUM(actual_qty) AS actual_qty " +
+            "FROM progress_daily_facts WHERE tenant_id = :tenantId" +
+            scope("", projectId, fromDate, toDate, params) +
+            " GROUP BY fact_date ORDER BY fact_date";
+        return namedJdbcTemplate.query(sql, params, DAILY_TOTAL_MAPPER);
+    }
+
+    /**
+     * Planned and actual totals of all days before a date (opening balance of a cumulative report).
+     */
+    public DailyTotal findTotalsBefore(Long tenantId, Long projectId, LocalDate date) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", tenantId)
+            .addValue("beforeDate", Date.valueOf(date));
+        String sql = "SELECT COALESCE(SUM(planned_qty), 0) AS planned_qty, COALESCE(SUM(actual_qty), 0) AS actual_qty " +
+            "FROM progress_daily_facts WHERE tenant_id = :tenantId AND fact_date < :beforeDate" +
+            scope("", projectId, null, null, params);
+        return namedJdbcTemplate.queryForObject(sql, params, (rs, rowNum) ->
+            new DailyTotal(date, rs.getBigDecimal("planned_qty"), rs.getBigDecimal("actual_qty")));
+    }
+
+    /**
+     * Planned and actual totals of each child WBS, including everything below it.
+     * Children are those of parentWbsId, or the root WBS of projectId when no parent is given.
+     */
+    public List<GroupTotal> findWbsTotals(Long tenantId, Long projectId, Long parentWbsId,
+                                          LocalDate fromDate, LocalDate toDate) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", tenantId);
+        String children;
+        if (parentWbsId != null) {
+            children = "r.parent_wbs_id = :parentWbsId";
+            params.addValue("parentWbsId", parentWbsId);
+        } else {
+            children = "r.project_id = :projectId AND r.parent_wbs_id IS NULL";
+            params.addValue("projectId", projectId);
+        }
+        String sql = String.format(WBS_TOTALS_SQL, scope("f.", null, fromDate, toDate, params), children);
+        return namedJdbcTemplate.query(sql, params, GROUP_TOTAL_MAPPER);
+    }
+
+    /**
+     * Projects, WBS or tasks ordered by variance (actual - planned) up to a date, furthest
+     * behind plan first.
+     *
+     * @param projectId Project scope, or null for the whole tenant
+     */
+    public List<GroupTotal> findVarianceRanking(Long tenantId, Long projectId, Dimension dimension,
+                                                LocalDate asOf, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource("tenantId", tenantId)
+            .addValue("asOf", Date.valueOf(asOf))
+            .addValue("limit", limit);
+        String sql = String.format(VARIANCE_SQL, dimension.idColumn, dimension.table,
+            dimension.codeColumn, dimension.nameColumn, scope("f.", projectId, null, null, params));
+        return namedJdbcTemplate.query(sql, params, GROUP_TOTAL_MAPPER);
+    }
+
+    /**
+     * Optional project and date predicates; only the bounds that are set are added, so each
+     * report can use the matching (tenant_id, project_id, fact_date) or (tenant_id, fact_date) index.
+     */
+    private static String scope(String alias, Long projectId, LocalDate fromDate, LocalDate toDate,
+                                MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder();
+        if (projectId != null) {
+            sql.append(" AND ").append(alias).append("project_id = :projectId");
+            params.addValue("projectId", projectId);
+        }
+        if (fromDate != null) {
+            sql.append(" AND ").append(alias).append("fact_date >= :fromDate");
+            params.addValue("fromDate", Date.valueOf(fromDate));
+        }
+        if (toDate != null) {
+            sql.append(" AND ").append(alias).append("fact_date <= :toDate");
+            params.addValue("toDate", Date.valueOf(toDate));
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Facts of a task and day: planned from the active plan version's lines, or from the
+     * update's own planned_qty when the plan has no line for that day; actual from active updates.
+     */
+    private static String insertSql(boolean selectedTasks) {
+        return "INSERT INTO progress_daily_facts (tenant_id, project_id, wbs_id, task_id, fact_date, " +
+            "planned_qty, actual_qty, refreshed_on) " +
+            "SELECT t.tenant_id, t.project_id, t.wbs_id, t.task_id, d.fact_date, " +
+            "COALESCE(SUM(d.line_qty), SUM(d.update_planned_qty), 0), COALESCE(SUM(d.actual_qty), 0), :now " +
+            "FROM tasks t JOIN (" +
+            "SELECT pl.task_id, pl.work_date AS fact_date, pl.planned_qty AS line_qty, " +
+            "CAST(NULL AS DECIMAL(18,2)) AS update_planned_qty, CAST(NULL AS DECIMAL(18,2)) AS actual_qty " +
+            "FROM plan_lines pl JOIN plan_versions pv ON pv.plan_version_id = pl.plan_version_id " +
+            "WHERE pl.tenant_id = :tenantId" + taskFilter(selectedTasks, "pl") +
+            " AND pv.is_active = 1 AND pv.activate_flag = 1 AND pl.activate_flag = 1 " +
+            "UNION ALL " +
+            "SELECT tu.task_id, tu.update_date, NULL, tu.planned_qty, tu.actual_qty " +
+            "FROM task_updates tu WHERE tu.tenant_id = :tenantId" + taskFilter(selectedTasks, "tu") +
+            " AND tu.activate_flag = 1" +
+            ") d ON d.task_id = t.task_id " +
+            "WHERE t.tenant_id = :tenantId" + taskFilter(selectedTasks, "t") + " AND t.activate_flag = 1 " +
+            "GROUP BY t.tenant_id, t.project_id, t.wbs_id, t.task_id, d.fact_date";
+    }
+
+    private static String taskFilter(boolean selectedTasks, String alias) {
+        return selectedTasks ? " AND " + alias + ".task_id IN (:taskIds)" : "";
+    }
+}
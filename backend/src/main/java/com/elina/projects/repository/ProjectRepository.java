@@ -1,10 +1,14 @@
 package com.elina.projects.repository;
 
 import com.elina.authorization.repository.TenantAwareRepository;
+import com.elina.projects.dto.ProjectDTO;
 import com.elina.projects.entity.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -19,31 +23,87 @@ import java.util.Optional;
  */
 @Repository
 public interface ProjectRepository extends TenantAwareRepository<Project, Long> {
+
+    /**
+     * Constructor projection of ProjectDTO (list endpoints read DTOs instead of managed entities).
+     */
+    String PROJECT_DTO_SELECT = "SELECT new com.elina.projects.dto.ProjectDTO(p.projectId, p.tenant.id, p.projectCode, " +
+            "p.projectName, p.description, p.startDate, p.endDate, p.status, p.activateFlag, " +
+            "p.createdBy, p.createdOn, p.updatedBy, p.updatedOn) FROM Project p ";
     
     /**
      * Find project by tenant and project code.
      * Uses SpEL to retrieve tenantId from TenantContext.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM Project p WHERE p.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} AND p.projectCode = :projectCode")
     Optional<Project> findByProjectCode(@Param("projectCode") String projectCode);
 
     /**
      * Find all active projects for tenant with pagination and filtering.
      */
-    @Query("SELECT p FROM Project p WHERE p.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+    @Query(value = PROJECT_DTO_SELECT + "WHERE p.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
            "AND (:activeOnly IS NULL OR :activeOnly = false OR p.activateFlag = true) " +
            "AND (:search IS NULL OR LOWER(p.projectCode) LIKE LOWER(CONCAT('%', :search, '%')) " +
            "OR LOWER(p.projectName) LIKE LOWER(CONCAT('%', :search, '%'))) " +
-           "ORDER BY p.projectCode")
-    Page<Project> findWithFilters(
+           "ORDER BY p.projectCode",
+           countQuery = "SELECT COUNT(p) FROM Project p WHERE p.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND (:activeOnly IS NULL OR :activeOnly = false OR p.activateFlag = true) " +
+           "AND (:search IS NULL OR LOWER(p.projectCode) LIKE LOWER(CONCAT('%', :search, '%')) " +
+           "OR LOWER(p.projectName) LIKE LOWER(CONCAT('%', :search, '%')))")
+    Page<ProjectDTO> findDTOsWithFilters(
         @Param("activeOnly") Boolean activeOnly,
         @Param("search") String search,
         Pageable pageable
     );
 
+    /**
+     * Find the next page of projects after a project code (keyset pagination, see CursorPageDTO).
+     * Pass a limit of page size + 1 and no offset; no count query is run. The search is a
+     * prefix pattern from SearchNames matched against the code and the normalized name.
+     */
+    @Query("SELECT p FROM Project p WHERE p.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND (:activeOnly IS NULL OR :activeOnly = false OR p.activateFlag = true) " +
+           "AND (:searchPrefix IS NULL OR p.projectCode LIKE :searchPrefix ESCAPE '!' OR p.searchName LIKE :searchPrefix ESCAPE '!') " +
+           "AND (:afterProjectCode IS NULL OR p.projectCode > :afterProjectCode) " +
+           "ORDER BY p.projectCode")
+    List<Project> findPageAfter(
+        @Param("activeOnly") Boolean activeOnly,
+        @Param("searchPrefix") String searchPrefix,
+        @Param("afterProjectCode") String afterProjectCode,
+        Pageable limit
+    );
+
+    /**
+     * Same as findPageAfter, as DTOs (list endpoints).
+     */
+    @Query(PROJECT_DTO_SELECT + "WHERE p.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND (:activeOnly IS NULL OR :activeOnly = false OR p.activateFlag = true) " +
+           "AND (:searchPrefix IS NULL OR p.projectCode LIKE :searchPrefix ESCAPE '!' OR p.searchName LIKE :searchPrefix ESCAPE '!') " +
+           "AND (:afterProjectCode IS NULL OR p.projectCode > :afterProjectCode) " +
+           "ORDER BY p.projectCode")
+    List<ProjectDTO> findDTOPageAfter(
+        @Param("activeOnly") Boolean activeOnly,
+        @Param("searchPrefix") String searchPrefix,
+        @Param("afterProjectCode") String afterProjectCode,
+        Pageable limit
+    );
+
+    /**
+     * Count projects matching the keyset listing filters.
+     */
+    @Query("SELECT COUNT(p) FROM Project p WHERE p.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND (:activeOnly IS NULL OR :activeOnly = false OR p.activateFlag = true) " +
+           "AND (:searchPrefix IS NULL OR p.projectCode LIKE :searchPrefix ESCAPE '!' OR p.searchName LIKE :searchPrefix ESCAPE '!')")
+    long countWithPrefix(
+        @Param("activeOnly") Boolean activeOnly,
+        @Param("searchPrefix") String searchPrefix
+    );
+
     /**
      * Find all active projects for tenant.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM Project p WHERE p.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
            "AND p.activateFlag = true ORDER BY p.projectCode")
     List<Project> findAllActive();
@@ -0,0 +1,59 @@
+package com.elina.projects.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Loads the searchable fields of all active tasks, WBS and projects of a tenant in one
+ * query, to build the in-process search index (see SearchIndexService).
+ *
+ * Tenant enforcement: tenant_id is passed explicitly because loading runs on a background
+ * thread without TenantContext.
+ */
+@Repository
+public class SearchIndexRepository {
+
+    private static final String DOCUMENTS_SQL =
+        "SELECT 'PROJECT' AS entity_type, project_id AS entity_id, project_id, project_code AS code, " +
+        "project_name AS name, NULL AS work_center, NULL AS cost_center " +
+        "FROM projects WHERE tenant_id = ? AND activate_flag = 1 " +
+        "UNION ALL " +
+        "SELECT 'WBS', wbs_id, project_id, wbs_code, wbs_name, work_center, cost_center " +
+        "FROM wbs WHERE tenant_id = ? AND activate_flag = 1 " +
+        "UNION ALL " +
+        "SELECT 'TASK', task_id, project_id, task_code, task_name, NULL, NULL " +
+        "FROM tasks WHERE tenant_id = ? AND activate_flag = 1";
+
+    private static final RowMapper<SearchDocument> DOCUMENT_MAPPER = (rs, rowNum) -> new SearchDocument(
+        rs.getString("entity_type"),
+        rs.getLong("entity_id"),
+        rs.getLong("project_id"),
+        rs.getString("code"),
+        rs.getString("name"),
+        rs.getString("work_center"),
+        rs.getString("cost_center"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchIndexRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Searchable fields of a task, WBS or project. Work center and cost center are only set
+     * for WBS, whose visibility depends on user authorizations.
+     */
+    public record SearchDocument(String entityType, Long entityId, Long projectId, String code, String name,
+                                 String workCenter, String costCenter) {
+    }
+
+    /**
+     * All active tasks, WBS and projects of a tenant.
+     */
+    public List<SearchDocument> findDocuments(Long tenantId) {
+        return jdbcTemplate.query(DOCUMENTS_SQL, DOCUMENT_MAPPER, tenantId, tenantId, tenantId);
+    }
+}
@@ -1,6 +1,8 @@
 package com.elina.projects.repository;
 
+import com.elina.authorization.dto.ResourceVersion;
 import com.elina.authorization.repository.TenantAwareRepository;
+import com.elina.projects.dto.TaskDTO;
 import com.elina.projects.entity.Task;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,6 +21,14 @@ import java.util.Optional;
  */
 @Repository
 public interface TaskRepository extends TenantAwareRepository<Task, Long> {
+
+    /**
+     * Constructor projection of TaskDTO (list endpoints read DTOs instead of managed entities).
+     */
+    String TASK_DTO_SELECT = "SELECT new com.elina.projects.dto.TaskDTO(t.taskId, t.tenant.id, t.project.projectId, " +
+            "t.wbs.wbsId, t.taskCode, t.taskName, t.description, t.startDate, t.endDate, t.plannedQty, t.actualQty, " +
+            "t.unit, t.status, t.isConfirmed, t.confirmedOn, t.confirmedBy, t.isLocked, t.lockDate, t.activateFlag, " +
+            "t.createdBy, t.createdOn, t.updatedBy, t.updatedOn) FROM Task t ";
     
     /**
      * Find task by tenant and task code.
@@ -29,11 +39,11 @@ public interface TaskRepository extends TenantAwareRepository<Task, Long> {
     /**
      * Find all tasks for a WBS.
      */
-    @Query("SELECT t FROM Task t WHERE t.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+    @Query(TASK_DTO_SELECT + "WHERE t.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
            "AND t.wbs.wbsId = :wbsId " +
            "AND (:activeOnly IS NULL OR :activeOnly = false OR t.activateFlag = true) " +
            "ORDER BY t.taskCode")
-    List<Task> findByWbsId(@Param("wbsId") Long wbsId, @Param("activeOnly") Boolean activeOnly);
+    List<TaskDTO> findDTOsByWbsId(@Param("wbsId") Long wbsId, @Param("activeOnly") Boolean activeOnly);
 
     /**
      * Find all tasks for a project.
@@ -47,14 +57,20 @@ public interface TaskRepository extends TenantAwareRepository<Task, Long> {
     /**
      * Find tasks with pagination and filtering.
      */
-    @Query("SELECT t FROM Task t WHERE t.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+    @Query(value = TASK_DTO_SELECT + "WHERE t.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
            "AND (:projectId IS NULL OR t.project.projectId = :projectId) " +
            "AND (:wbsId IS NULL OR t.wbs.wbsId = :wbsId) " +
            "AND (:activeOnly IS NULL OR :activeOnly = false OR t.activateFlag = true) " +
            "AND (:search IS NULL OR LOWER(t.taskCode) LIKE LOWER(CONCAT('%', :search, '%')) " +
            "OR LOWER(t.taskName) LIKE LOWER(CONCAT('%', :search, '%'))) " +
-           "ORDER BY t.taskCode")
-    Page<Task> findWithFilters(
+           "ORDER BY t.taskCode",
+           countQuery = "SELECT COUNT(t) FROM Task t WHERE t.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND (:projectId IS NULL OR t.project.projectId = :projectId) " +
+           "AND (:wbsId IS NULL OR t.wbs.wbsId = :wbsId) " +
+           "AND (:activeOnly IS NULL OR :activeOnly = false OR t.activateFlag = true) " +
+           "AND (:search IS NULL OR LOWER(t.taskCode) LIKE LOWER(CONCAT('%', :search, '%')) " +
+           "OR LOWER(t.taskName) LIKE LOWER(CONCAT('%', :search, '%')))")
+    Page<TaskDTO> findDTOsWithFilters(
         @Param("projectId") Long projectId,
         @Param("wbsId") Long wbsId,
         @Param("activeOnly") Boolean activeOnly,
@@ -62,10 +78,72 @@ public interface TaskRepository extends TenantAwareRepository<Task, Long> {
         Pageable pageable
     );
 
+    /**
+     * Find the next page of tasks after a task code (keyset pagination, see CursorPageDTO).
+     * Pass a limit of page size + 1 and no offset; no count query is run. The search is a
+     * prefix pattern from SearchNames matched against the code and the normalized name.
+     */
+    @Query("SELECT t FROM Task t WHERE t.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND (:projectId IS NULL OR t.project.projectId = :projectId) " +
+           "AND (:wbsId IS NULL OR t.wbs.wbsId = :wbsId) " +
+           "AND (:activeOnly IS NULL OR :activeOnly = false OR t.activateFlag = true) " +
+           "AND (:searchPrefix IS NULL OR t.taskCode LIKE :searchPrefix ESCAPE '!' OR t.searchName LIKE :searchPrefix ESCAPE '!') " +
+           "AND (:afterTaskCode IS NULL OR t.taskCode > :afterTaskCode) " +
+           "ORDER BY t.taskCode")
+    List<Task> findPageAfter(
+        @Param("projectId") Long projectId,
+        @Param("wbsId") Long wbsId,
+        @Param("activeOnly") Boolean activeOnly,
+        @Param("searchPrefix") String searchPrefix,
+        @Param("afterTaskCode") String afterTaskCode,
+        Pageable limit
+    );
+
+    /**
+     * Same as findPageAfter, as DTOs (list endpoints).
+     */
+    @Query(TASK_DTO_SELECT + "WHERE t.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND (:projectId IS NULL OR t.project.projectId = :projectId) " +
+           "AND (:wbsId IS NULL OR t.wbs.wbsId = :wbsId) " +
+           "AND (:activeOnly IS NULL OR :activeOnly = false OR t.activateFlag = true) " +
+           "AND (:searchPrefix IS NULL OR t.taskCode LIKE :searchPrefix ESCAPE '!' OR t.searchName LIKE :searchPrefix ESCAPE '!') " +
+           "AND (:afterTaskCode IS NULL OR t.taskCode > :afterTaskCode) " +
+           "ORDER BY t.taskCode")
+    List<TaskDTO> findDTOPageAfter(
+        @Param("projectId") Long projectId,
+        @Param("wbsId") Long wbsId,
+        @Param("activeOnly") Boolean activeOnly,
+        @Param("searchPrefix") String searchPrefix,
+        @Param("afterTaskCode") String afterTaskCode,
+        Pageable limit
+    );
+
+    /**
+     * Count tasks matching the keyset listing filters.
+     */
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND (:projectId IS NULL OR t.project.projectId = :projectId) " +
+           "AND (:wbsId IS NULL OR t.wbs.wbsId = :wbsId) " +
+           "AND (:activeOnly IS NULL OR :activeOnly = false OR t.activateFlag = true) " +
+           "AND (:searchPrefix IS NULL OR t.taskCode LIKE :searchPrefix ESCAPE '!' OR t.searchName LIKE :searchPrefix ESCAPE '!')")
+    long countWithPrefix(
+        @Param("projectId") Long projectId,
+        @Param("wbsId") Long wbsId,
+        @Param("activeOnly") Boolean activeOnly,
+        @Param("searchPrefix") String searchPrefix
+    );
+
     /**
      * Check if task code exists for tenant.
      */
     @Query("SELECT COUNT(t) > 0 FROM Task t WHERE t.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} AND t.taskCode = :taskCode")
     boolean existsByTaskCode(@Param("taskCode") String taskCode);
-}
 
+    /**
+     * Version of a single task row (count 0 if it does not exist) for conditional GET.
+     */
+    @Query("SELECT new com.elina.authorization.dto.ResourceVersion(COUNT(t), MAX(t.updatedOn)) FROM Task t " +
+           "WHERE t.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND t.taskId = :taskId")
+    ResourceVersion findVersionById(@Param("taskId") Long taskId);
+}
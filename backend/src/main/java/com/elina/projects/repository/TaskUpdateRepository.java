@@ -1,7 +1,10 @@
 package com.elina.projects.repository;
 
+import com.elina.authorization.dto.ResourceVersion;
 import com.elina.authorization.repository.TenantAwareRepository;
+import com.elina.projects.dto.TaskUpdateDTO;
 import com.elina.projects.entity.TaskUpdate;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -37,6 +40,20 @@ public interface TaskUpdateRepository extends TenantAwareRepository<TaskUpdate,
            "ORDER BY tu.updateDate DESC")
     List<TaskUpdate> findByTaskId(@Param("taskId") Long taskId, @Param("activeOnly") Boolean activeOnly);
 
+    /**
+     * Task updates of a task as DTOs (read-only, no managed entities), date descending.
+     * Pass Pageable.unpaged() for all rows or a page request for the most recent ones.
+     */
+    @Query("SELECT new com.elina.projects.dto.TaskUpdateDTO(tu.updateId, tu.tenant.id, tu.task.taskId, tu.updateDate, " +
+           "tu.plannedQty, tu.actualQty, tu.dailyUpdateQty, tu.remarks, tu.activateFlag, " +
+           "tu.createdBy, tu.createdOn, tu.updatedBy, tu.updatedOn) " +
+           "FROM TaskUpdate tu WHERE tu.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND tu.task.taskId = :taskId " +
+           "AND (:activeOnly IS NULL OR :activeOnly = false OR tu.activateFlag = true) " +
+           "ORDER BY tu.updateDate DESC")
+    List<TaskUpdateDTO> findDTOsByTaskId(@Param("taskId") Long taskId, @Param("activeOnly") Boolean activeOnly,
+                                         Pageable limit);
+
     /**
      * Find task updates within a date range.
      */
@@ -77,5 +94,12 @@ public interface TaskUpdateRepository extends TenantAwareRepository<TaskUpdate,
            "AND (:activeOnly IS NULL OR :activeOnly = false OR tu.activateFlag = true) " +
            "ORDER BY tu.updateDate DESC")
     List<TaskUpdate> findForTenant(@Param("activeOnly") Boolean activeOnly);
-}
 
+    /**
+     * Version of a task's updates for conditional GET.
+     */
+    @Query("SELECT new com.elina.authorization.dto.ResourceVersion(COUNT(tu), MAX(tu.updatedOn)) FROM TaskUpdate tu " +
+           "WHERE tu.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND tu.task.taskId = :taskId")
+    ResourceVersion findVersionByTaskId(@Param("taskId") Long taskId);
+}
@@ -1,11 +1,16 @@
 package com.elina.projects.repository;
 
+import com.elina.authorization.dto.ResourceVersion;
 import com.elina.authorization.repository.TenantAwareRepository;
+import com.elina.projects.dto.WbsDTO;
 import com.elina.projects.entity.Wbs;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,9 +19,21 @@ import java.util.Optional;
  * 
  * Tenant enforcement: All queries automatically filter by tenant_id from TenantContext.
  * This ensures WBS from one tenant cannot access WBS from another tenant.
+ *
+ * Hierarchy queries use the materialized path (see Wbs): a subtree is a single prefix
+ * match on idx_wbs_tenant_path, ancestors a single primary key lookup of the path ids.
  */
 @Repository
 public interface WbsRepository extends TenantAwareRepository<Wbs, Long> {
+
+    /**
+     * Constructor projection of WbsDTO. The parent is left-joined so root WBS are kept.
+     */
+    String WBS_DTO_SELECT = "SELECT new com.elina.projects.dto.WbsDTO(w.wbsId, w.tenant.id, w.project.projectId, " +
+            "parent.wbsId, w.wbsCode, w.wbsName, w.description, w.startDate, w.endDate, w.level, w.workCenter, " +
+            "w.costCenter, w.plannedQty, w.actualQty, w.status, w.isConfirmed, w.confirmedOn, w.confirmedBy, " +
+            "w.isLocked, w.lockDate, w.activateFlag, w.createdBy, w.createdOn, w.updatedBy, w.updatedOn) " +
+            "FROM Wbs w LEFT JOIN w.parentWbs parent ";
     
     /**
      * Find WBS by tenant and WBS code.
@@ -34,22 +51,13 @@ public interface WbsRepository extends TenantAwareRepository<Wbs, Long> {
     List<Wbs> findByProjectId(@Param("projectId") Long projectId, @Param("activeOnly") Boolean activeOnly);
 
     /**
-     * Find root WBS (no parent) for a project.
-     */
-    @Query("SELECT w FROM Wbs w WHERE w.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
-           "AND w.project.projectId = :projectId AND w.parentWbs IS NULL " +
-           "AND (:activeOnly IS NULL OR :activeOnly = false OR w.activateFlag = true) " +
-           "ORDER BY w.wbsCode")
-    List<Wbs> findRootWbsByProjectId(@Param("projectId") Long projectId, @Param("activeOnly") Boolean activeOnly);
-
-    /**
-     * Find child WBS for a parent WBS.
+     * All WBS of a project as DTOs (read-only, no managed entities), parents before children.
      */
-    @Query("SELECT w FROM Wbs w WHERE w.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
-           "AND w.parentWbs.wbsId = :parentWbsId " +
+    @Query(WBS_DTO_SELECT + "WHERE w.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND w.project.projectId = :projectId " +
            "AND (:activeOnly IS NULL OR :activeOnly = false OR w.activateFlag = true) " +
-           "ORDER BY w.wbsCode")
-    List<Wbs> findByParentWbsId(@Param("parentWbsId") Long parentWbsId, @Param("activeOnly") Boolean activeOnly);
+           "ORDER BY w.level, w.wbsCode")
+    List<WbsDTO> findDTOsByProjectId(@Param("projectId") Long projectId, @Param("activeOnly") Boolean activeOnly);
 
     /**
      * Check if WBS code exists for tenant.
@@ -65,5 +73,48 @@ public interface WbsRepository extends TenantAwareRepository<Wbs, Long> {
            "AND (:costCenter IS NULL OR w.costCenter = :costCenter) " +
            "AND w.activateFlag = true")
     List<Wbs> findByWorkCenterAndCostCenter(@Param("workCenter") String workCenter, @Param("costCenter") String costCenter);
-}
 
+    /**
+     * Find active WBS whose code or normalized name starts with a SearchNames prefix pattern.
+     */
+    @Query("SELECT w FROM Wbs w WHERE w.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND w.activateFlag = true " +
+           "AND (w.wbsCode LIKE :searchPrefix ESCAPE '!' OR w.searchName LIKE :searchPrefix ESCAPE '!') " +
+           "ORDER BY w.wbsCode")
+    List<Wbs> findBySearchPrefix(@Param("searchPrefix") String searchPrefix, Pageable limit);
+
+    /**
+     * A WBS and all its descendants as DTOs, parents before children.
+     */
+    @Query(WBS_DTO_SELECT + "WHERE w.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND w.path LIKE CONCAT(:path, '%') " +
+           "AND (:activeOnly IS NULL OR :activeOnly = false OR w.activateFlag = true) " +
+           "ORDER BY w.level, w.wbsCode")
+    List<WbsDTO> findDTOSubtree(@Param("path") String path, @Param("activeOnly") Boolean activeOnly);
+
+    /**
+     * Find WBS by ids ordered root first, used to load the ancestors listed in a path.
+     */
+    @Query("SELECT w FROM Wbs w WHERE w.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND w.wbsId IN :wbsIds ORDER BY w.level")
+    List<Wbs> findByWbsIdsOrderByLevel(@Param("wbsIds") Collection<Long> wbsIds);
+
+    /**
+     * Re-root all WBS below oldPath under newPath and shift their level, in one statement.
+     * Used after a move; the moved WBS itself must already carry its new path.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Wbs w SET w.path = CONCAT(:newPath, SUBSTRING(w.path, :suffixStart)), w.level = w.level + :levelDelta " +
+           "WHERE w.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND w.path LIKE CONCAT(:oldPath, '%')")
+    int moveDescendantPaths(@Param("oldPath") String oldPath, @Param("newPath") String newPath,
+                            @Param("suffixStart") int suffixStart, @Param("levelDelta") int levelDelta);
+
+    /**
+     * Version of a project's WBS (all rows, so deactivations count) for conditional GET.
+     */
+    @Query("SELECT new com.elina.authorization.dto.ResourceVersion(COUNT(w), MAX(w.updatedOn)) FROM Wbs w " +
+           "WHERE w.tenant.id = :#{T(com.elina.authorization.context.TenantContext).getTenantId()} " +
+           "AND w.project.projectId = :projectId")
+    ResourceVersion findVersionByProjectId(@Param("projectId") Long projectId);
+}
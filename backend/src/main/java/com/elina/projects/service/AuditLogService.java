@@ -1,11 +1,14 @@
 package com.elina.projects.service;
 
+import com.elina.authorization.config.TenantMetrics;
 import com.elina.authorization.context.TenantContext;
 import com.elina.authorization.entity.Tenant;
 import com.elina.authorization.repository.TenantRepository;
 import com.elina.projects.entity.AuditLog;
 import com.elina.projects.repository.AuditLogRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
@@ -22,6 +25,8 @@ import java.util.Map;
  * Tenant enforcement: All audit logs are scoped to tenant.
  * This service writes structured audit entries for complex operations.
  * Database triggers also write audit logs automatically for simple CRUD operations.
+ *
+ * Metrics: writes are timed as audit.log.write (tags table, outcome, tenant).
  */
 @Service
 public class AuditLogService {
@@ -31,13 +36,16 @@ public class AuditLogService {
     private final AuditLogRepository auditLogRepository;
     private final TenantRepository tenantRepository;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
 
     public AuditLogService(AuditLogRepository auditLogRepository, 
                           TenantRepository tenantRepository,
-                          ObjectMapper objectMapper) {
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry) {
         this.auditLogRepository = auditLogRepository;
         this.tenantRepository = tenantRepository;
         this.objectMapper = objectMapper != null ? objectMapper : new ObjectMapper();
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -63,12 +71,15 @@ public class AuditLogService {
     @Transactional
     public void writeAuditLog(String tableName, Long recordId, String actionType, 
                              Map<String, Object> oldData, Map<String, Object> newData) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        Long tenantId = TenantContext.getTenantId();
         try {
-            Long tenantId = TenantContext.getTenantId();
             Long userId = getCurrentUserId();
 
             if (tenantId == null) {
                 logger.warn("TenantContext not set, skipping audit log");
+                outcome = "skipped";
                 return;
             }
 
@@ -92,12 +103,20 @@ public class AuditLogService {
             }
 
             auditLogRepository.save(auditLog);
+            outcome = "success";
             logger.debug("Audit log written: {} {} on {}.{}", actionType, recordId, tableName, recordId);
 
         } catch (Exception e) {
             // Don't fail the transaction if audit logging fails
             logger.error("Failed to write audit log: {} {} on {}.{}", 
                 actionType, recordId, tableName, recordId, e);
+        } finally {
+            sample.stop(Timer.builder("audit.log.write")
+                    .description("Audit log entry writes")
+                    .tag("table", String.valueOf(tableName))
+                    .tag("outcome", outcome)
+                    .tag(TenantMetrics.TENANT_TAG, TenantMetrics.tenant(tenantId))
+                    .register(meterRegistry));
         }
     }
 
@@ -0,0 +1,132 @@
+package com.elina.projects.service;
+
+import com.elina.authorization.config.CacheEvictionSupport;
+import com.elina.authorization.config.PrimaryCacheLoader;
+import com.elina.authorization.context.TenantContext;
+import com.elina.projects.entity.Task;
+import com.elina.projects.entity.Wbs;
+import com.elina.projects.repository.ConfirmationLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * Resolves and caches the effective confirmation lock date of a task or WBS.
+ *
+ * The effective lock date is the latest confirmation date of the entity itself and of
+ * every ancestor WBS (a confirmed WBS locks all WBS and tasks below it). Dates on or
+ * before the lock date cannot be updated.
+ *
+ * Cache keys follow "confirmation_locks:{tenantId}:{entityType}:{entityId}". Entries are
+ * populated on first access with a single query over the ancestor ids taken from the WBS
+ * path (see ConfirmationLockRepository). "No lock" is cached as an empty string because the cache
+ * does not store nulls.
+ *
+ * A confirmation changes the effective lock of a whole subtree, so evictTenant drops all
+ * entries of the tenant (after commit when called inside a transaction). Confirmations are
+ * rare compared to the lock checks done on every grid load and save. Entries are loaded
+ * from the primary (see PrimaryCacheLoader), so a grid load on a lagging read replica cannot
+ * cache the lock state from before a confirmation.
+ */
+@Component
+public class ConfirmationLockResolver {
+
+    static final String CACHE_NAME = "confirmationLocks";
+    private static final String KEY_PREFIX = "confirmation_locks:";
+    private static final String NO_LOCK = "";
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfirmationLockResolver.class);
+
+    private final ConfirmationLockRepository confirmationLockRepository;
+    private final CacheManager cacheManager;
+    private final PrimaryCacheLoader primaryCacheLoader;
+
+    public ConfirmationLockResolver(ConfirmationLockRepository confirmationLockRepository, CacheManager cacheManager,
+                                    PrimaryCacheLoader primaryCacheLoader) {
+        this.confirmationLockRepository = confirmationLockRepository;
+        this.cacheManager = cacheManager;
+        this.primaryCacheLoader = primaryCacheLoader;
+    }
+
+    /**
+     * Effective lock date of a task: its own confirmation and those of its WBS ancestors.
+     *
+     * @return The lock date, or null if the task is not locked
+     */
+    public LocalDate getLockDate(Task task) {
+        Long tenantId = TenantContext.getTenantId();
+        return cached("TASK", task.getTaskId(),
+            () -> confirmationLockRepository.findEffectiveLockDate(tenantId, task.getWbs().getPathIds(), task.getTaskId()));
+    }
+
+    /**
+     * Effective lock date of a WBS: its own confirmation and those of its ancestors.
+     *
+     * @return The lock date, or null if the WBS is not locked
+     */
+    public LocalDate getLockDate(Wbs wbs) {
+        Long tenantId = TenantContext.getTenantId();
+        return cached("WBS", wbs.getWbsId(),
+            () -> confirmationLockRepository.findEffectiveLockDate(tenantId, wbs.getPathIds(), null));
+    }
+
+    /**
+     * Drop all cached lock dates of a tenant. Inside a transaction, eviction happens after commit.
+     */
+    public void evictTenant(Long tenantId) {
+        String prefix = KEY_PREFIX + tenantId + ":";
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictNow(prefix);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictNow(prefix);
+            }
+        });
+    }
+
+    private LocalDate cached(String entityType, Long entityId, Supplier<LocalDate> loader) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return loader.get();
+        }
+        String key = KEY_PREFIX + TenantContext.getTenantId() + ":" + entityType + ":" + entityId;
+        String value;
+        try {
+            value = cache.get(key, () -> format(primaryCacheLoader.load(loader)));
+        } catch (Cache.ValueRetrievalException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } catch (RuntimeException e) {
+            // Same tolerance as the Redis cache manager: resolve from the database when the cache is down
+            logger.warn("Failed to read confirmation lock cache for {} {}: {}", entityType, entityId, e.getMessage());
+            return loader.get();
+        }
+        return value == null || NO_LOCK.equals(value) ? null : LocalDate.parse(value);
+    }
+
+    private static String format(LocalDate lockDate) {
+        return lockDate != null ? lockDate.toString() : NO_LOCK;
+    }
+
+    private void evictNow(String prefix) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        try {
+            CacheEvictionSupport.evictByPrefix(cache, prefix);
+            logger.debug("Evicted confirmation lock cache entries: {}*", prefix);
+        } catch (Exception e) {
+            logger.warn("Failed to evict confirmation lock cache entries {}*: {}", prefix, e.getMessage());
+        }
+    }
+}
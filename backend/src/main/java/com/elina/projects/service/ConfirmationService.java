@@ -6,6 +6,7 @@ import com.elina.authorization.repository.TenantRepository;
 import com.elina.authorization.rule.BusinessRuleContext;
 import com.elina.authorization.rule.BusinessRuleEngine;
 import com.elina.authorization.rule.BusinessRuleException;
+import com.elina.projects.dto.ConfirmationCascadeResultDTO;
 import com.elina.projects.dto.ConfirmationCreateDTO;
 import com.elina.projects.dto.ConfirmationDTO;
 import com.elina.projects.entity.Confirmation;
@@ -20,6 +21,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -32,6 +34,9 @@ import java.util.Map;
  * 
  * Business rules validated:
  * - Rule 301: CONFIRMATION_CANNOT_BE_OVERWRITTEN - Entity must not be already confirmed
+ * 
+ * Cascading confirmation (confirmSubtree) locks a WBS with all descendant WBS and tasks
+ * in a few set-based statements (see ConfirmationLockRepository), e.g. for month-end closing.
  */
 @Service
 public class ConfirmationService {
@@ -44,19 +49,25 @@ public class ConfirmationService {
     private final TenantRepository tenantRepository;
     private final BusinessRuleEngine businessRuleEngine;
     private final AuditLogService auditLogService;
+    private final ConfirmationLockResolver confirmationLockResolver;
+    private final ConfirmationLockRepository confirmationLockRepository;
 
     public ConfirmationService(ConfirmationRepository confirmationRepository,
                               WbsRepository wbsRepository,
                               TaskRepository taskRepository,
                               TenantRepository tenantRepository,
                               BusinessRuleEngine businessRuleEngine,
-                              AuditLogService auditLogService) {
+                              AuditLogService auditLogService,
+                              ConfirmationLockResolver confirmationLockResolver,
+                              ConfirmationLockRepository confirmationLockRepository) {
         this.confirmationRepository = confirmationRepository;
         this.wbsRepository = wbsRepository;
         this.taskRepository = taskRepository;
         this.tenantRepository = tenantRepository;
         this.businessRuleEngine = businessRuleEngine;
         this.auditLogService = auditLogService;
+        this.confirmationLockResolver = confirmationLockResolver;
+        this.confirmationLockRepository = confirmationLockRepository;
     }
 
     /**
@@ -169,9 +180,78 @@ public class ConfirmationService {
         newData.put("entityId", saved.getEntityId());
         newData.put("confirmationDate", saved.getConfirmationDate());
         auditLogService.writeAuditLog("confirmations", saved.getConfirmationId(), "INSERT", null, newData);
+
+        // Lock dates of the entity and everything below it have changed
+        confirmationLockResolver.evictTenant(tenantId);
         
         logger.info("Confirmed {} {} for tenant {}", dto.getEntityType(), dto.getEntityId(), tenantId);
         return toDTO(saved);
     }
-}
 
+    /**
+     * Confirm a WBS and its entire subtree (descendant WBS and their tasks) up to a date.
+     * Existing confirmations in the subtree are moved forward to the new date, never back.
+     * 
+     * Rule 301 is checked against the root: confirming through a date that is already
+     * locked (directly or by an ancestor) would overwrite an existing confirmation.
+     */
+    @Transactional
+    public ConfirmationCascadeResultDTO confirmSubtree(ConfirmationCreateDTO dto) {
+        Long tenantId = TenantContext.getTenantId();
+        Long userId = getCurrentUserId();
+
+        if (!"WBS".equals(dto.getEntityType())) {
+            throw new RuntimeException("Cascading confirmation is only supported for WBS, not " + dto.getEntityType());
+        }
+
+        Wbs wbs = wbsRepository.findById(dto.getEntityId())
+                .orElseThrow(() -> new NotFoundException("WBS not found"));
+        
+        if (!wbs.getTenant().getId().equals(tenantId)) {
+            throw new NotFoundException("WBS not found");
+        }
+
+        LocalDate lockDate = confirmationLockResolver.getLockDate(wbs);
+        if (lockDate != null && !dto.getConfirmationDate().isAfter(lockDate)) {
+            BusinessRuleContext context = BusinessRuleContext.builder()
+                    .tenantId(tenantId)
+                    .userId(userId)
+                    .entityType("CONFIRMATION")
+                    .entityId(dto.getEntityId())
+                    .confirmationDate(dto.getConfirmationDate())
+                    .lockDate(lockDate)
+                    .isConfirmed(true)
+                    .build();
+
+            // Validate Rule 301: CONFIRMATION_CANNOT_BE_OVERWRITTEN
+            try {
+                businessRuleEngine.validate(301, context);
+            } catch (BusinessRuleException e) {
+                logger.warn("Business rule violation: Rule {} - {}", e.getRuleNumber(), e.getMessage());
+                throw e;
+            }
+        }
+
+        ConfirmationLockRepository.SubtreeLockResult result = confirmationLockRepository.confirmSubtree(
+            tenantId, wbs.resolvePath(), dto.getConfirmationDate(), userId, dto.getRemarks());
+
+        // Write audit log
+        Map<String, Object> newData = new HashMap<>();
+        newData.put("entityType", "WBS");
+        newData.put("entityId", dto.getEntityId());
+        newData.put("confirmationDate", dto.getConfirmationDate());
+        newData.put("cascade", true);
+        newData.put("wbsLocked", result.wbsLocked());
+        newData.put("tasksLocked", result.tasksLocked());
+        auditLogService.writeAuditLog("wbs", dto.getEntityId(), "UPDATE", null, newData);
+
+        // Lock dates of the whole subtree have changed
+        confirmationLockResolver.evictTenant(tenantId);
+
+        logger.info("Confirmed WBS subtree {} through {} for tenant {}: {} WBS, {} tasks, {} confirmations created, {} advanced",
+            dto.getEntityId(), dto.getConfirmationDate(), tenantId, result.wbsLocked(), result.tasksLocked(),
+            result.confirmationsCreated(), result.confirmationsAdvanced());
+        return new ConfirmationCascadeResultDTO(dto.getEntityId(), dto.getConfirmationDate(),
+            result.wbsLocked(), result.tasksLocked(), result.confirmationsCreated(), result.confirmationsAdvanced());
+    }
+}
@@ -0,0 +1,201 @@
+package com.elina.projects.service;
+
+import com.elina.projects.repository.ExportRepository;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Streaming writers for export files.
+ *
+ * Rows are written as they arrive, so memory use does not grow with the export size: CSV
+ * records go straight to the output stream and Excel sheets are written with POI's
+ * SXSSFWorkbook, which keeps only a window of rows in memory and spills older rows to a
+ * compressed temporary file. Sheets roll over before Excel's row limit.
+ *
+ * CSV text starting with =, +, - or @ is prefixed with a quote so spreadsheet programs do not
+ * evaluate it as a formula (XLSX text cells are never evaluated).
+ */
+final class ExportFileWriter {
+
+    // Excel row limit, header row included
+    static final int MAX_SHEET_ROWS = 1_048_576;
+    // Excel cell text limit
+    static final int MAX_CELL_LENGTH = 32_767;
+
+    /**
+     * Row sink that produces a file: finish completes the file, close releases resources
+     * (also when the export failed half way).
+     */
+    interface RowWriter extends ExportRepository.RowSink, Closeable {
+        void finish() throws IOException;
+    }
+
+    private ExportFileWriter() {
+    }
+
+    static RowWriter csv(OutputStream outputStream) throws IOException {
+        return new CsvRowWriter(outputStream);
+    }
+
+    static RowWriter xlsx(OutputStream outputStream, String sheetName, int windowRows) {
+        return new XlsxRowWriter(outputStream, sheetName, windowRows);
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final CSVPrinter printer;
+
+        CsvRowWriter(OutputStream outputStream) throws IOException {
+            this.printer = new CSVPrinter(
+                new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)),
+                CSVFormat.DEFAULT);
+        }
+
+        @Override
+        public void columns(List<String> names) {
+            try {
+                printer.printRecord(names);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void row(Object[] values) {
+            try {
+                for (Object value : values) {
+                    printer.print(format(value));
+                }
+                printer.println();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            printer.flush();
+        }
+
+        @Override
+        public void close() {
+            // The output stream belongs to the caller
+        }
+
+        private static String format(Object value) {
+            if (value == null) {
+                return "";
+            }
+            if (value instanceof BigDecimal decimal) {
+                return decimal.toPlainString();
+            }
+            String text = value.toString();
+            if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+                return "'" + text;
+            }
+            return text;
+        }
+    }
+
+    private static final class XlsxRowWriter implements RowWriter {
+
+        private final OutputStream outputStream;
+        private final String sheetName;
+        private final SXSSFWorkbook workbook;
+        private final CellStyle dateStyle;
+        private final CellStyle dateTimeStyle;
+        private List<String> columns;
+        private Sheet sheet;
+        private int sheetCount;
+        private int rowIndex;
+
+        XlsxRowWriter(OutputStream outputStream, String sheetName, int windowRows) {
+            this.outputStream = outputStream;
+            this.sheetName = sheetName;
+            this.workbook = new SXSSFWorkbook(windowRows);
+            this.workbook.setCompressTempFiles(true);
+            short dateFormat = workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd");
+            short dateTimeFormat = workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss");
+            this.dateStyle = workbook.createCellStyle();
+            this.dateStyle.setDataFormat(dateFormat);
+            this.dateTimeStyle = workbook.createCellStyle();
+            this.dateTimeStyle.setDataFormat(dateTimeFormat);
+        }
+
+        @Override
+        public void columns(List<String> names) {
+            this.columns = names;
+            newSheet();
+        }
+
+        @Override
+        public void row(Object[] values) {
+            if (rowIndex >= MAX_SHEET_ROWS) {
+                newSheet();
+            }
+            Row row = sheet.createRow(rowIndex++);
+            for (int i = 0; i < values.length; i++) {
+                setValue(row.createCell(i), values[i]);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            workbook.write(outputStream);
+            outputStream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            workbook.dispose();
+            workbook.close();
+        }
+
+        private void newSheet() {
+            sheetCount++;
+            sheet = workbook.createSheet(sheetCount == 1 ? sheetName : sheetName + " " + sheetCount);
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < columns.size(); i++) {
+                header.createCell(i).setCellValue(columns.get(i));
+            }
+            rowIndex = 1;
+        }
+
+        private void setValue(Cell cell, Object value) {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof Number number) {
+                cell.setCellValue(number.doubleValue());
+            } else if (value instanceof Boolean bool) {
+                cell.setCellValue(bool);
+            } else if (value instanceof LocalDateTime dateTime) {
+                cell.setCellValue(dateTime);
+                cell.setCellStyle(dateTimeStyle);
+            } else if (value instanceof LocalDate date) {
+                cell.setCellValue(date);
+                cell.setCellStyle(dateStyle);
+            } else {
+                String text = value.toString();
+                cell.setCellValue(text.length() > MAX_CELL_LENGTH ? text.substring(0, MAX_CELL_LENGTH) : text);
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.elina.projects.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.projects.entity.PlanLine;
+import com.elina.projects.repository.ExportRepository;
+import com.elina.projects.repository.ExportRepository.ArchivedPlanVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Streaming exports of task updates, plan lines and audit logs as CSV or XLSX.
+ *
+ * An export is prepared on the request thread (arguments checked, tenant captured) and
+ * written later by the web layer straight to the response: rows are read with a forward-only
+ * cursor (see ExportRepository) and written as they arrive (see ExportFileWriter), so memory
+ * use stays constant however many rows are exported. Archived plan versions are the exception:
+ * their lines are decoded one task at a time (see PlanVersionArchiveService).
+ *
+ * Tenant enforcement: the tenant is taken from TenantContext when the export is prepared,
+ * because the export body runs on another thread.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    /**
+     * File format of an export.
+     */
+    public enum ExportFormat {
+        CSV("text/csv", "csv"),
+        XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+    }
+
+    /**
+     * Writes the export file to a stream.
+     */
+    @FunctionalInterface
+    public interface ExportBody {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    /**
+     * A prepared export: file name, content type and the body that writes it.
+     */
+    public record Export(String fileName, String contentType, ExportBody body) {
+    }
+
+    private static final Comparator<PlanLine> BY_DATE = Comparator
+            .comparing(PlanLine::getWorkDate)
+            .thenComparing(PlanLine::getLineNumber);
+
+    private final ExportRepository exportRepository;
+    private final PlanVersionArchiveService planVersionArchiveService;
+
+    @Value("${export.xlsx-window-rows:100}")
+    private int xlsxWindowRows = 100;
+
+    public ExportService(ExportRepository exportRepository, PlanVersionArchiveService planVersionArchiveService) {
+        this.exportRepository = exportRepository;
+        this.planVersionArchiveService = planVersionArchiveService;
+    }
+
+    /**
+     * Day-wise task updates, optionally limited to a project, task and date range.
+     */
+    public Export exportTaskUpdates(String format, Long projectId, Long taskId, LocalDate fromDate, LocalDate toDate) {
+        validateRange(fromDate, toDate);
+        Long tenantId = TenantContext.getTenantId();
+        return prepare("task-updates", format, sink ->
+            exportRepository.streamTaskUpdates(tenantId, projectId, taskId, fromDate, toDate, sink));
+    }
+
+    /**
+     * Plan lines of the active plan versions (or of all versions, archived ones included),
+     * optionally limited to a project, task and date range. Lines of archived versions follow
+     * the others, ordered by task, version and date.
+     */
+    public Export exportPlanLines(String format, Long projectId, Long taskId, boolean currentOnly,
+                                  LocalDate fromDate, LocalDate toDate) {
+        validateRange(fromDate, toDate);
+        Long tenantId = TenantContext.getTenantId();
+        return prepare("plan-lines", format, sink -> {
+            long rows = exportRepository.streamPlanLines(tenantId, projectId, taskId, currentOnly, fromDate, toDate, sink);
+            return currentOnly ? rows : rows + writeArchivedPlanLines(tenantId, projectId, taskId, fromDate, toDate, sink);
+        });
+    }
+
+    /**
+     * Audit log entries, optionally limited to one table and a range of days.
+     */
+    public Export exportAuditLogs(String format, String tableName, LocalDate fromDate, LocalDate toDate) {
+        validateRange(fromDate, toDate);
+        Long tenantId = TenantContext.getTenantId();
+        return prepare("audit-logs", format, sink ->
+            exportRepository.streamAuditLogs(tenantId, tableName, fromDate, toDate, sink));
+    }
+
+    /**
+     * Write the active lines of archived plan versions in the columns of the plan line export.
+     * Archive reads are tenant-filtered from TenantContext, which the export thread does not have.
+     */
+    private long writeArchivedPlanLines(Long tenantId, Long projectId, Long taskId, LocalDate fromDate,
+                                        LocalDate toDate, ExportRepository.RowSink sink) {
+        List<ArchivedPlanVersion> versions = exportRepository.findArchivedPlanVersions(tenantId, projectId, taskId);
+        if (versions.isEmpty()) {
+            return 0;
+        }
+
+        Long previousTenantId = TenantContext.getTenantId();
+        TenantContext.setTenantId(tenantId);
+        try {
+            long rows = 0;
+            Long linesTaskId = null;
+            Map<Long, List<PlanLine>> linesByVersion = Map.of();
+            for (ArchivedPlanVersion version : versions) {
+                if (!version.taskId().equals(linesTaskId)) {
+                    linesTaskId = version.taskId();
+                    linesByVersion = planVersionArchiveService.loadArchivedLinesByVersion(linesTaskId);
+                }
+                List<PlanLine> lines = linesByVersion.getOrDefault(version.planVersionId(), List.of()).stream()
+                        .filter(line -> !Boolean.FALSE.equals(line.getActivateFlag()))
+                        .filter(line -> (fromDate == null || !line.getWorkDate().isBefore(fromDate))
+                            && (toDate == null || !line.getWorkDate().isAfter(toDate)))
+                        .sorted(BY_DATE)
+                        .toList();
+                for (PlanLine line : lines) {
+                    // Archived versions are never the active one
+                    sink.row(new Object[] {version.projectCode(), version.taskCode(), version.taskName(),
+                        version.versionNo(), false, line.getLineNumber(), line.getWorkDate(),
+                        line.getPlannedQty(), line.getDescription()});
+                    rows++;
+                }
+            }
+            return rows;
+        } finally {
+            if (previousTenantId != null) {
+                TenantContext.setTenantId(previousTenantId);
+            } else {
+                TenantContext.clear();
+            }
+        }
+    }
+
+    private Export prepare(String dataset, String format, ToLongFunction<ExportRepository.RowSink> query) {
+        ExportFormat exportFormat = parseFormat(format);
+        String fileName = dataset + "-" + LocalDate.now() + "." + exportFormat.extension;
+
+        return new Export(fileName, exportFormat.contentType, outputStream -> {
+            long start = System.currentTimeMillis();
+            try (ExportFileWriter.RowWriter writer = exportFormat == ExportFormat.CSV
+                    ? ExportFileWriter.csv(outputStream)
+                    : ExportFileWriter.xlsx(outputStream, dataset, xlsxWindowRows)) {
+                long rows = query.applyAsLong(writer);
+                writer.finish();
+                logger.info("Exported {} {} rows as {} in {} ms", rows, dataset, exportFormat,
+                    System.currentTimeMillis() - start);
+            } catch (UncheckedIOException e) {
+                // Typically the client went away
+                throw e.getCause();
+            }
+        });
+    }
+
+    private static ExportFormat parseFormat(String format) {
+        if (format == null || format.isBlank()) {
+            return ExportFormat.CSV;
+        }
+        try {
+            return ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported export format: " + format);
+        }
+    }
+
+    private static void validateRange(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new RuntimeException("From date cannot be after to date");
+        }
+    }
+}
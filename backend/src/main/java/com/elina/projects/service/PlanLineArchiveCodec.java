@@ -0,0 +1,165 @@
+package com.elina.projects.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact storage format for archived plan lines.
+ *
+ * Lines are written column-wise (dates, quantities, line numbers, descriptions) with
+ * dates stored as day gaps from the previous date, then gzip-compressed. A frame is
+ * either a full snapshot (no base) or a delta against a base list of lines: only new or
+ * changed lines are written, plus the dates that were removed.
+ */
+final class PlanLineArchiveCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private PlanLineArchiveCodec() {
+    }
+
+    /**
+     * Archived state of a single plan line.
+     */
+    record LineState(LocalDate workDate, BigDecimal plannedQty, Integer lineNumber, String description, boolean active) {
+
+        boolean sameAs(LineState other) {
+            return other != null
+                    && plannedQty.compareTo(other.plannedQty) == 0
+                    && Objects.equals(lineNumber, other.lineNumber)
+                    && Objects.equals(description, other.description)
+                    && active == other.active;
+        }
+    }
+
+    /**
+     * Serialized frame. Short field names keep the JSON small before compression.
+     * d: date gaps of upserted lines (first entry is an epoch day), q: quantities,
+     * n: line numbers, s: descriptions, i: indexes of inactive upserted lines,
+     * x: date gaps of removed lines (first entry is an epoch day).
+     */
+    record Frame(long[] d, String[] q, int[] n, String[] s, int[] i, long[] x) {
+    }
+
+    /**
+     * Encode lines, as a delta against base when base is not null.
+     */
+    static byte[] encode(List<LineState> lines, List<LineState> base) {
+        Map<LocalDate, LineState> baseByDate = base != null ? byDate(base) : Collections.emptyMap();
+        Map<LocalDate, LineState> linesByDate = byDate(lines);
+
+        List<LineState> upserts = new ArrayList<>();
+        for (LineState line : linesByDate.values()) {
+            if (!line.sameAs(baseByDate.get(line.workDate()))) {
+                upserts.add(line);
+            }
+        }
+        List<LocalDate> removed = new ArrayList<>();
+        for (LocalDate date : baseByDate.keySet()) {
+            if (!linesByDate.containsKey(date)) {
+                removed.add(date);
+            }
+        }
+
+        int size = upserts.size();
+        String[] qtys = new String[size];
+        int[] lineNumbers = new int[size];
+        String[] descriptions = new String[size];
+        List<Integer> inactive = new ArrayList<>();
+        List<LocalDate> dates = new ArrayList<>(size);
+        for (int idx = 0; idx < size; idx++) {
+            LineState line = upserts.get(idx);
+            dates.add(line.workDate());
+            qtys[idx] = line.plannedQty().toPlainString();
+            lineNumbers[idx] = line.lineNumber() != null ? line.lineNumber() : 0;
+            descriptions[idx] = line.description();
+            if (!line.active()) {
+                inactive.add(idx);
+            }
+        }
+
+        Frame frame = new Frame(toGaps(dates), qtys, lineNumbers, descriptions,
+                inactive.stream().mapToInt(Integer::intValue).toArray(), toGaps(removed));
+        return compress(frame);
+    }
+
+    /**
+     * Decode a frame, applying it on top of base when the frame is a delta.
+     */
+    static List<LineState> decode(byte[] payload, List<LineState> base) {
+        Frame frame = decompress(payload);
+        Map<LocalDate, LineState> result = base != null ? byDate(base) : new TreeMap<>();
+
+        for (LocalDate date : fromGaps(frame.x())) {
+            result.remove(date);
+        }
+
+        Set<Integer> inactive = new HashSet<>();
+        for (int idx : frame.i()) {
+            inactive.add(idx);
+        }
+        List<LocalDate> dates = fromGaps(frame.d());
+        for (int idx = 0; idx < dates.size(); idx++) {
+            LocalDate date = dates.get(idx);
+            result.put(date, new LineState(date, new BigDecimal(frame.q()[idx]), frame.n()[idx],
+                    frame.s()[idx], !inactive.contains(idx)));
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    private static Map<LocalDate, LineState> byDate(List<LineState> lines) {
+        Map<LocalDate, LineState> map = new TreeMap<>();
+        for (LineState line : lines) {
+            map.putIfAbsent(line.workDate(), line);
+        }
+        return map;
+    }
+
+    private static long[] toGaps(List<LocalDate> sortedDates) {
+        long[] gaps = new long[sortedDates.size()];
+        long previous = 0;
+        for (int idx = 0; idx < gaps.length; idx++) {
+            long epochDay = sortedDates.get(idx).toEpochDay();
+            gaps[idx] = epochDay - previous;
+            previous = epochDay;
+        }
+        return gaps;
+    }
+
+    private static List<LocalDate> fromGaps(long[] gaps) {
+        List<LocalDate> dates = new ArrayList<>(gaps.length);
+        long epochDay = 0;
+        for (long gap : gaps) {
+            epochDay += gap;
+            dates.add(LocalDate.ofEpochDay(epochDay));
+        }
+        return dates;
+    }
+
+    private static byte[] compress(Frame frame) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            MAPPER.writeValue(gzip, frame);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode archived plan lines", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Frame decompress(byte[] payload) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return MAPPER.readValue(gzip, Frame.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode archived plan lines", e);
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.elina.projects.service;
 
 import com.elina.authorization.context.TenantContext;
+import com.elina.authorization.dto.ResourceVersion;
 import com.elina.authorization.entity.Tenant;
 import com.elina.authorization.repository.TenantRepository;
 import com.elina.authorization.rule.BusinessRuleContext;
 import com.elina.authorization.rule.BusinessRuleEngine;
 import com.elina.authorization.rule.BusinessRuleException;
+import com.elina.authorization.rule.BusinessRulePlan;
+import com.elina.authorization.rule.BusinessRuleViolation;
 import com.elina.projects.dto.*;
 import com.elina.projects.entity.PlanLine;
 import com.elina.projects.entity.PlanVersion;
@@ -20,6 +23,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +38,9 @@ import java.util.stream.Collectors;
  * 
  * Business rules validated:
  * - Rule 402: PLAN_VERSION_DATE_VALIDATION - Plan version date cannot be in future
+ * 
+ * Version history: old versions are archived by PlanVersionArchiveService after each new
+ * version is created, and restored transparently when an archived version is used again.
  */
 @Service
 public class PlanService {
@@ -44,24 +51,30 @@ public class PlanService {
     private final PlanLineRepository planLineRepository;
     private final TaskRepository taskRepository;
     private final TenantRepository tenantRepository;
-    private final ConfirmationRepository confirmationRepository;
+    private final ConfirmationLockResolver confirmationLockResolver;
     private final BusinessRuleEngine businessRuleEngine;
     private final AuditLogService auditLogService;
+    private final PlanVersionArchiveService planVersionArchiveService;
+    private final ProgressFactService progressFactService;
 
     public PlanService(PlanVersionRepository planVersionRepository,
                       PlanLineRepository planLineRepository,
                       TaskRepository taskRepository,
                       TenantRepository tenantRepository,
-                      ConfirmationRepository confirmationRepository,
+                      ConfirmationLockResolver confirmationLockResolver,
                       BusinessRuleEngine businessRuleEngine,
-                      AuditLogService auditLogService) {
+                      AuditLogService auditLogService,
+                      PlanVersionArchiveService planVersionArchiveService,
+                      ProgressFactService progressFactService) {
         this.planVersionRepository = planVersionRepository;
         this.planLineRepository = planLineRepository;
         this.taskRepository = taskRepository;
         this.tenantRepository = tenantRepository;
-        this.confirmationRepository = confirmationRepository;
+        this.confirmationLockResolver = confirmationLockResolver;
         this.businessRuleEngine = businessRuleEngine;
         this.auditLogService = auditLogService;
+        this.planVersionArchiveService = planVersionArchiveService;
+        this.progressFactService = progressFactService;
     }
 
     /**
@@ -88,6 +101,7 @@ public class PlanService {
         dto.setDescription(entity.getDescription());
         dto.setIsActive(entity.getIsActive());
         dto.setActivateFlag(entity.getActivateFlag());
+        dto.setIsArchived(entity.getIsArchived());
         dto.setCreatedBy(entity.getCreatedBy());
         dto.setCreatedOn(entity.getCreatedOn());
         dto.setUpdatedBy(entity.getUpdatedBy());
@@ -116,6 +130,27 @@ public class PlanService {
         return dto;
     }
 
+    /**
+     * Load plan lines for a version, decoding them from the archive if the version is archived.
+     */
+    private List<PlanLine> loadPlanLines(PlanVersion version, Boolean activeOnly) {
+        if (Boolean.TRUE.equals(version.getIsArchived())) {
+            return planVersionArchiveService.loadArchivedLines(version).stream()
+                    .filter(line -> !Boolean.TRUE.equals(activeOnly) || Boolean.TRUE.equals(line.getActivateFlag()))
+                    .collect(Collectors.toList());
+        }
+        return planLineRepository.findByPlanVersionId(version.getPlanVersionId(), activeOnly);
+    }
+
+    /**
+     * Restore an archived version's lines before it is activated or edited.
+     */
+    private void restoreIfArchived(PlanVersion version) {
+        if (Boolean.TRUE.equals(version.getIsArchived())) {
+            planVersionArchiveService.restoreVersion(version);
+        }
+    }
+
     /**
      * List plan versions for a task.
      */
@@ -130,8 +165,7 @@ public class PlanService {
             throw new NotFoundException("Task not found");
         }
 
-        List<PlanVersion> versions = planVersionRepository.findByTaskId(taskId, true);
-        return versions.stream().map(this::toDTO).collect(Collectors.toList());
+        return planVersionRepository.findDTOsByTaskId(taskId, true);
     }
 
     /**
@@ -151,6 +185,15 @@ public class PlanService {
         return toDTO(version);
     }
 
+    /**
+     * Version of a plan version's lines (the version row and its lines) for conditional GET.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getPlanLinesVersion(Long planVersionId) {
+        return planVersionRepository.findVersionById(planVersionId)
+                .and(planLineRepository.findVersionByPlanVersionId(planVersionId));
+    }
+
     /**
      * Get plan lines for a version.
      */
@@ -165,8 +208,11 @@ public class PlanService {
             throw new NotFoundException("Plan version not found");
         }
 
-        List<PlanLine> lines = planLineRepository.findByPlanVersionId(planVersionId, true);
-        return lines.stream().map(this::toLineDTO).collect(Collectors.toList());
+        if (Boolean.TRUE.equals(version.getIsArchived())) {
+            List<PlanLine> lines = loadPlanLines(version, true);
+            return lines.stream().map(this::toLineDTO).collect(Collectors.toList());
+        }
+        return planLineRepository.findDTOsByPlanVersionId(planVersionId, true);
     }
 
     /**
@@ -311,12 +357,97 @@ public class PlanService {
         newData.put("versionDate", saved.getVersionDate());
         newData.put("lineCount", dto.getLines().size());
         auditLogService.writeAuditLog("PLAN_VERSION", saved.getPlanVersionId(), "INSERT", null, newData);
+
+        progressFactService.taskChanged(task.getTaskId());
+
+        // Archive versions that fall outside the retention policy
+        planVersionArchiveService.applyRetentionPolicyIfDue(task);
         
         logger.info("Created plan version: {} for task {} for tenant {}", 
             saved.getVersionNo(), dto.getTaskId(), tenantId);
         return toDTO(saved);
     }
 
+    /**
+     * Dry-run validation of a new plan version: runs the same checks as createPlanVersion
+     * (task date range, Rules 101 and 201, non-negative quantity per line, Rule 402 on the
+     * version date) and reports pass/fail per line instead of stopping at the first error.
+     * Nothing is written.
+     * 
+     * @return Per-line validation result in request order; Rule 402 is reported at version level
+     */
+    @Transactional(readOnly = true)
+    public BulkValidationResultDTO validatePlanVersion(PlanVersionCreateDTO dto) {
+        Long tenantId = TenantContext.getTenantId();
+        Long userId = getCurrentUserId();
+
+        Task task = taskRepository.findById(dto.getTaskId())
+                .orElseThrow(() -> new NotFoundException("Task not found"));
+        
+        if (!task.getTenant().getId().equals(tenantId)) {
+            throw new NotFoundException("Task not found");
+        }
+
+        // Resolve the rules once for the whole line set
+        BusinessRulePlan backdatePlan = businessRuleEngine.compile(List.of(101));
+        BusinessRulePlan futurePlan = businessRuleEngine.compile(List.of(201));
+        BusinessRulePlan versionPlan = businessRuleEngine.compile(List.of(402));
+
+        BulkValidationResultDTO result = new BulkValidationResultDTO();
+        LocalDate today = LocalDate.now();
+        for (PlanLineCreateDTO lineDto : dto.getLines()) {
+            LocalDate workDate = lineDto.getWorkDate() != null ? lineDto.getWorkDate() : lineDto.getPlannedDate();
+            List<BusinessRuleViolation> lineViolations = new ArrayList<>();
+            BusinessRuleContext context = BusinessRuleContext.builder()
+                    .tenantId(tenantId)
+                    .userId(userId)
+                    .entityType("PLAN_LINE")
+                    .entityId(dto.getTaskId())
+                    .updateDate(workDate)
+                    .build();
+
+            if (workDate != null) {
+                if (task.getStartDate() != null && task.getEndDate() != null
+                        && (workDate.isBefore(task.getStartDate()) || workDate.isAfter(task.getEndDate()))) {
+                    lineViolations.add(new BusinessRuleViolation(202,
+                        "Plan line date must be within task date range",
+                        "Task date range: " + task.getStartDate() + " to " + task.getEndDate(), context));
+                } else {
+                    // Rule 101: BACKDATE_ALLOWED_TILL
+                    lineViolations.addAll(backdatePlan.collect(context));
+                    // Rule 201: START_DATE_CANNOT_BE_IN_FUTURE
+                    if (workDate.isAfter(today)) {
+                        lineViolations.addAll(futurePlan.collect(context));
+                    }
+                }
+            }
+
+            if (lineDto.getPlannedQty() != null && lineDto.getPlannedQty().signum() < 0) {
+                lineViolations.add(new BusinessRuleViolation(202,
+                    "Planned quantity cannot be negative",
+                    "Please enter a valid positive quantity", context));
+            }
+
+            result.addRow(workDate, lineViolations);
+        }
+
+        // Rule 402: PLAN_VERSION_DATE_VALIDATION
+        BusinessRuleContext versionContext = BusinessRuleContext.builder()
+                .tenantId(tenantId)
+                .userId(userId)
+                .entityType("PLAN_VERSION")
+                .entityId(dto.getTaskId())
+                .planVersionDate(dto.getVersionDate())
+                .build();
+        for (BusinessRuleViolation violation : versionPlan.collect(versionContext)) {
+            result.addViolation(violation);
+        }
+
+        logger.debug("Dry-run validated {} plan lines for task {} for tenant {}: {} invalid",
+            result.getRowCount(), dto.getTaskId(), tenantId, result.getInvalidRowCount());
+        return result;
+    }
+
     /**
      * Revert to a plan version (validate business rules on revert).
      */
@@ -356,9 +487,13 @@ public class PlanService {
             planVersionRepository.save(prevVersion);
         }
 
+        // Lazily restore archived lines
+        restoreIfArchived(version);
+
         // Set this version as active
         version.setIsActive(true);
         PlanVersion saved = planVersionRepository.save(version);
+        progressFactService.taskChanged(saved.getTask().getTaskId());
         
         // Write audit log
         Map<String, Object> newData = new HashMap<>();
@@ -406,10 +541,14 @@ public class PlanService {
             planVersionRepository.save(prevVersion);
         }
 
+        // Lazily restore archived lines
+        restoreIfArchived(version);
+
         // Set this version as active
         version.setIsActive(true);
         version.setUpdatedBy(userId);
         PlanVersion saved = planVersionRepository.save(version);
+        progressFactService.taskChanged(saved.getTask().getTaskId());
         
         // Write audit log
         Map<String, Object> oldData = new HashMap<>();
@@ -499,6 +638,9 @@ public class PlanService {
             }
         }
 
+        // Lazily restore archived lines
+        restoreIfArchived(version);
+
         // Get existing lines
         List<PlanLine> existingLines = planLineRepository.findByPlanVersionId(planVersionId, null);
         Map<LocalDate, PlanLine> existingByDate = existingLines.stream()
@@ -536,6 +678,8 @@ public class PlanService {
             }
         }
 
+        progressFactService.taskChanged(task.getTaskId());
+
         // Write audit log
         Map<String, Object> newData = new HashMap<>();
         newData.put("lineCount", lines.size());
@@ -563,29 +707,36 @@ public class PlanService {
 
         Task task = version.getTask();
         
-        // Check if task is confirmed
-        boolean taskConfirmed = confirmationRepository.existsByEntityTypeAndEntityId("TASK", task.getTaskId());
+        // Check if task is confirmed (directly or through an ancestor WBS)
+        boolean taskConfirmed = confirmationLockResolver.getLockDate(task) != null;
         if (taskConfirmed) {
             throw new BusinessRuleException(301, 
                 "Cannot delete plan version. Task is already confirmed.", 
                 "Confirmations must be removed before deleting plan versions");
         }
 
-        // Delete plan lines first
-        List<PlanLine> lines = planLineRepository.findByPlanVersionId(planVersionId, null);
-        for (PlanLine line : lines) {
-            planLineRepository.delete(line);
+        // Delete plan lines first (archived versions keep their lines in the archive)
+        int lineCount;
+        if (Boolean.TRUE.equals(version.getIsArchived())) {
+            lineCount = planVersionArchiveService.discardArchive(version);
+        } else {
+            List<PlanLine> lines = planLineRepository.findByPlanVersionId(planVersionId, null);
+            for (PlanLine line : lines) {
+                planLineRepository.delete(line);
+            }
+            lineCount = lines.size();
         }
 
         // Write audit log before deletion
         Map<String, Object> oldData = new HashMap<>();
         oldData.put("versionNo", version.getVersionNo());
         oldData.put("taskId", task.getTaskId());
-        oldData.put("lineCount", lines.size());
+        oldData.put("lineCount", lineCount);
         auditLogService.writeAuditLog("PLAN_VERSION", planVersionId, "DELETE", oldData, null);
 
         // Delete plan version
         planVersionRepository.delete(version);
+        progressFactService.taskChanged(task.getTaskId());
         
         logger.info("Deleted plan version {} for task {} for tenant {}", 
             version.getVersionNo(), task.getTaskId(), tenantId);
@@ -815,6 +966,25 @@ public class PlanService {
         return lines;
     }
 
+    /**
+     * Apply the plan version retention policy to a task on demand.
+     *
+     * @return number of versions archived
+     */
+    @Transactional
+    public int applyRetentionPolicy(Long taskId) {
+        Long tenantId = TenantContext.getTenantId();
+
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new NotFoundException("Task not found"));
+
+        if (!task.getTenant().getId().equals(tenantId)) {
+            throw new NotFoundException("Task not found");
+        }
+
+        return planVersionArchiveService.applyRetentionPolicy(task);
+    }
+
     /**
      * Compare two plan versions and return comparison details.
      */
@@ -832,8 +1002,8 @@ public class PlanService {
         }
 
         // Get plan lines for both versions
-        List<PlanLine> lines1 = planLineRepository.findByPlanVersionId(planVersionId1, true);
-        List<PlanLine> lines2 = planLineRepository.findByPlanVersionId(planVersionId2, true);
+        List<PlanLine> lines1 = loadPlanLines(version1, true);
+        List<PlanLine> lines2 = loadPlanLines(version2, true);
 
         // Build comparison
         Map<LocalDate, java.math.BigDecimal> qtyMap1 = lines1.stream()
@@ -0,0 +1,333 @@
+package com.elina.projects.service;
+
+import com.elina.projects.entity.PlanLine;
+import com.elina.projects.entity.PlanVersion;
+import com.elina.projects.entity.PlanVersionArchive;
+import com.elina.projects.entity.Task;
+import com.elina.projects.repository.PlanLineRepository;
+import com.elina.projects.repository.PlanVersionArchiveRepository;
+import com.elina.projects.repository.PlanVersionRepository;
+import com.elina.projects.service.PlanLineArchiveCodec.LineState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Retention policy engine for plan version history.
+ *
+ * Tenant enforcement: All operations automatically filter by tenant_id from TenantContext.
+ *
+ * Policy: after a new plan version is created (once a count query shows a version has
+ * crossed the threshold), versions beyond the last N
+ * (plan.retention.keep-last) or older than X days (plan.retention.max-age-days) have their
+ * plan lines moved into plan_version_archives. The version header row is kept (flagged
+ * is_archived) so version numbers and listings are unchanged. The active version and
+ * versions dated on or before the task's effective lock date (its own confirmation or that of
+ * an ancestor WBS, see ConfirmationLockResolver) are never archived.
+ *
+ * Archived lines are delta-encoded against the previously archived version of the task,
+ * with a full snapshot every plan.retention.keyframe-interval records to bound restore cost.
+ * Lines are restored lazily when an archived version is reverted to, activated or edited.
+ */
+@Service
+public class PlanVersionArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlanVersionArchiveService.class);
+
+    private final PlanVersionRepository planVersionRepository;
+    private final PlanLineRepository planLineRepository;
+    private final PlanVersionArchiveRepository archiveRepository;
+    private final ConfirmationLockResolver confirmationLockResolver;
+
+    @Value("${plan.retention.enabled:true}")
+    private boolean retentionEnabled;
+
+    @Value("${plan.retention.keep-last:20}")
+    private int keepLast;
+
+    @Value("${plan.retention.max-age-days:0}")
+    private int maxAgeDays;
+
+    @Value("${plan.retention.keyframe-interval:10}")
+    private int keyframeInterval;
+
+    public PlanVersionArchiveService(PlanVersionRepository planVersionRepository,
+                                     PlanLineRepository planLineRepository,
+                                     PlanVersionArchiveRepository archiveRepository,
+                                     ConfirmationLockResolver confirmationLockResolver) {
+        this.planVersionRepository = planVersionRepository;
+        this.planLineRepository = planLineRepository;
+        this.archiveRepository = archiveRepository;
+        this.confirmationLockResolver = confirmationLockResolver;
+    }
+
+    /**
+     * Get current user ID from SecurityContext.
+     */
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Long) {
+            return (Long) authentication.getPrincipal();
+        }
+        return null;
+    }
+
+    private boolean isRetentionActive() {
+        return retentionEnabled && (keepLast > 0 || maxAgeDays > 0);
+    }
+
+    /**
+     * Apply the retention policy after a version is created, but only when a version has crossed
+     * the threshold. The check is a single count query, so the common case (nothing to archive)
+     * neither loads the task's versions nor touches the archive chain.
+     *
+     * @return number of versions archived
+     */
+    @Transactional
+    public int applyRetentionPolicyIfDue(Task task) {
+        if (!isRetentionActive()) {
+            return 0;
+        }
+        LocalDateTime ageCutoff = maxAgeDays > 0 ? LocalDateTime.now().minusDays(maxAgeDays) : null;
+        LocalDate confirmedThrough = confirmationLockResolver.getLockDate(task);
+        if (planVersionRepository.countRetentionCandidates(task.getTaskId(), confirmedThrough, keepLast, ageCutoff) == 0) {
+            return 0;
+        }
+        return applyRetentionPolicy(task);
+    }
+
+    /**
+     * Apply the retention policy to a task's plan versions.
+     *
+     * @return number of versions archived
+     */
+    @Transactional
+    public int applyRetentionPolicy(Task task) {
+        if (!isRetentionActive()) {
+            return 0;
+        }
+
+        Long taskId = task.getTaskId();
+        // Ordered by version number descending
+        List<PlanVersion> versions = planVersionRepository.findByTaskId(taskId, null);
+        LocalDate confirmedThrough = confirmationLockResolver.getLockDate(task);
+        LocalDateTime ageCutoff = maxAgeDays > 0 ? LocalDateTime.now().minusDays(maxAgeDays) : null;
+
+        List<PlanVersion> candidates = new ArrayList<>();
+        for (int i = 0; i < versions.size(); i++) {
+            PlanVersion version = versions.get(i);
+            if (Boolean.TRUE.equals(version.getIsArchived()) || Boolean.TRUE.equals(version.getIsActive())) {
+                continue;
+            }
+            if (confirmedThrough != null && !version.getVersionDate().isAfter(confirmedThrough)) {
+                continue; // Plan of record for a confirmed period
+            }
+            boolean beyondLastN = keepLast > 0 && i >= keepLast;
+            boolean expired = ageCutoff != null && version.getCreatedOn() != null
+                    && version.getCreatedOn().isBefore(ageCutoff);
+            if (beyondLastN || expired) {
+                candidates.add(version);
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        // Archive oldest first so the delta chain follows version order
+        Collections.reverse(candidates);
+        List<PlanVersionArchive> chain = archiveRepository.findByTaskId(taskId);
+        Map<Long, PlanVersionArchive> chainById = indexById(chain);
+        PlanVersionArchive latest = chain.isEmpty() ? null : chain.get(chain.size() - 1);
+        // The latest record is only decoded if the next record is a delta against it
+        List<LineState> latestLines = latest != null && !isKeyframeDue(latest) ? resolve(latest, chainById) : null;
+
+        for (PlanVersion version : candidates) {
+            List<LineState> lines = toStates(planLineRepository.findByPlanVersionId(version.getPlanVersionId(), null));
+            latest = writeArchive(version, lines, latest, latestLines);
+            latestLines = lines;
+
+            planLineRepository.deleteByPlanVersionId(version.getPlanVersionId());
+            version.setIsArchived(true);
+            planVersionRepository.save(version);
+        }
+
+        logger.info("Archived {} plan versions for task {}", candidates.size(), taskId);
+        return candidates.size();
+    }
+
+    /**
+     * Load the lines of an archived plan version without restoring them.
+     * Returned lines are transient (not persisted) and have no plan_line_id.
+     */
+    @Transactional(readOnly = true)
+    public List<PlanLine> loadArchivedLines(PlanVersion version) {
+        PlanVersionArchive archive = findArchive(version);
+        Map<Long, PlanVersionArchive> chainById = indexById(archiveRepository.findByTaskId(version.getTask().getTaskId()));
+        return resolve(archive, chainById).stream()
+                .map(state -> toLine(version, state))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Load the lines of all archived versions of a task without restoring them, reading the
+     * task's archive chain once. Returned lines are transient, as in loadArchivedLines.
+     *
+     * @return lines by plan_version_id
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, List<PlanLine>> loadArchivedLinesByVersion(Long taskId) {
+        // Versions first, so the archives' version references resolve from the session
+        planVersionRepository.findByTaskId(taskId, null);
+        List<PlanVersionArchive> chain = archiveRepository.findByTaskId(taskId);
+        Map<Long, PlanVersionArchive> chainById = indexById(chain);
+
+        Map<Long, List<PlanLine>> linesByVersion = new HashMap<>();
+        for (PlanVersionArchive archive : chain) {
+            PlanVersion version = archive.getPlanVersion();
+            linesByVersion.put(version.getPlanVersionId(), resolve(archive, chainById).stream()
+                    .map(state -> toLine(version, state))
+                    .collect(Collectors.toList()));
+        }
+        return linesByVersion;
+    }
+
+    /**
+     * Move an archived version's lines back into plan_lines.
+     */
+    @Transactional
+    public void restoreVersion(PlanVersion version) {
+        PlanVersionArchive archive = findArchive(version);
+        Map<Long, PlanVersionArchive> chainById = indexById(archiveRepository.findByTaskId(version.getTask().getTaskId()));
+        List<LineState> lines = resolve(archive, chainById);
+
+        detach(archive, chainById);
+
+        for (LineState state : lines) {
+            planLineRepository.save(toLine(version, state));
+        }
+        version.setIsArchived(false);
+        planVersionRepository.save(version);
+
+        logger.info("Restored {} archived plan lines for version {} of task {}",
+            lines.size(), version.getVersionNo(), version.getTask().getTaskId());
+    }
+
+    /**
+     * Drop the archive of a version that is being deleted.
+     *
+     * @return number of plan lines the archive held
+     */
+    @Transactional
+    public int discardArchive(PlanVersion version) {
+        return archiveRepository.findByPlanVersionId(version.getPlanVersionId())
+                .map(archive -> {
+                    detach(archive, indexById(archiveRepository.findByTaskId(version.getTask().getTaskId())));
+                    return archive.getLineCount() != null ? archive.getLineCount() : 0;
+                })
+                .orElse(0);
+    }
+
+    private boolean isKeyframeDue(PlanVersionArchive base) {
+        return base == null || base.getChainDepth() + 1 >= keyframeInterval;
+    }
+
+    /**
+     * Persist an archive record, as a delta against the latest record unless a keyframe is due.
+     */
+    private PlanVersionArchive writeArchive(PlanVersion version, List<LineState> lines,
+                                            PlanVersionArchive base, List<LineState> baseLines) {
+        boolean keyframe = isKeyframeDue(base);
+
+        PlanVersionArchive archive = new PlanVersionArchive();
+        archive.setTenant(version.getTenant());
+        archive.setTask(version.getTask());
+        archive.setPlanVersion(version);
+        archive.setBaseArchiveId(keyframe ? null : base.getArchiveId());
+        archive.setChainDepth(keyframe ? 0 : base.getChainDepth() + 1);
+        archive.setLineCount(lines.size());
+        archive.setPayload(PlanLineArchiveCodec.encode(lines, keyframe ? null : baseLines));
+        archive.setArchivedBy(getCurrentUserId());
+        return archiveRepository.save(archive);
+    }
+
+    /**
+     * Remove an archive record from its chain. Records that were encoded against it
+     * are rewritten as full snapshots first so they stay decodable.
+     */
+    private void detach(PlanVersionArchive archive, Map<Long, PlanVersionArchive> chainById) {
+        for (PlanVersionArchive dependent : chainById.values()) {
+            if (archive.getArchiveId().equals(dependent.getBaseArchiveId())) {
+                List<LineState> lines = resolve(dependent, chainById);
+                dependent.setPayload(PlanLineArchiveCodec.encode(lines, null));
+                dependent.setBaseArchiveId(null);
+                dependent.setChainDepth(0);
+                archiveRepository.save(dependent);
+            }
+        }
+        archiveRepository.delete(archive);
+    }
+
+    /**
+     * Decode an archive record by replaying its chain from the nearest full snapshot.
+     */
+    private List<LineState> resolve(PlanVersionArchive archive, Map<Long, PlanVersionArchive> chainById) {
+        Deque<PlanVersionArchive> deltas = new ArrayDeque<>();
+        PlanVersionArchive current = archive;
+        while (current.getBaseArchiveId() != null) {
+            deltas.push(current);
+            current = chainById.get(current.getBaseArchiveId());
+            if (current == null) {
+                throw new IllegalStateException("Plan archive chain is broken for archive " + archive.getArchiveId());
+            }
+        }
+
+        List<LineState> lines = PlanLineArchiveCodec.decode(current.getPayload(), null);
+        while (!deltas.isEmpty()) {
+            lines = PlanLineArchiveCodec.decode(deltas.pop().getPayload(), lines);
+        }
+        return lines;
+    }
+
+    private PlanVersionArchive findArchive(PlanVersion version) {
+        return archiveRepository.findByPlanVersionId(version.getPlanVersionId())
+                .orElseThrow(() -> new IllegalStateException(
+                    "Archive not found for plan version " + version.getPlanVersionId()));
+    }
+
+    private Map<Long, PlanVersionArchive> indexById(List<PlanVersionArchive> chain) {
+        return chain.stream().collect(Collectors.toMap(PlanVersionArchive::getArchiveId, Function.identity()));
+    }
+
+    private List<LineState> toStates(List<PlanLine> lines) {
+        return lines.stream()
+                .map(line -> new LineState(line.getWorkDate(), line.getPlannedQty(), line.getLineNumber(),
+                    line.getDescription(), !Boolean.FALSE.equals(line.getActivateFlag())))
+                .collect(Collectors.toList());
+    }
+
+    private PlanLine toLine(PlanVersion version, LineState state) {
+        PlanLine line = new PlanLine();
+        line.setTenant(version.getTenant());
+        line.setPlanVersion(version);
+        line.setTask(version.getTask());
+        line.setLineNumber(state.lineNumber());
+        line.setWorkDate(state.workDate());
+        line.setPlannedQty(state.plannedQty());
+        line.setDescription(state.description());
+        line.setActivateFlag(state.active());
+        line.setCreatedBy(version.getCreatedBy());
+        line.setUpdatedBy(version.getUpdatedBy());
+        return line;
+    }
+}
@@ -0,0 +1,100 @@
+package com.elina.projects.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.projects.repository.ProgressFactRepository;
+import com.elina.projects.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the daily progress facts (see ProgressDailyFact) in step with task updates and plans.
+ *
+ * Writers call taskChanged for every task whose updates, current plan version, plan lines or
+ * active flag they change. Inside a transaction, tasks are collected and their facts are
+ * rewritten once just before commit (after flushing pending entity changes), so a bulk grid
+ * save or a new plan version refreshes each task once and the facts commit or roll back
+ * together with the change. Outside a transaction the facts are rewritten immediately.
+ *
+ * rebuildTenant rewrites every fact of the current tenant (administrative repair).
+ */
+@Service
+public class ProgressFactService {
+
+    // Keeps the IN list well below the SQL Server parameter limit
+    private static final int REFRESH_BATCH_SIZE = 500;
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgressFactService.class);
+
+    private final ProgressFactRepository progressFactRepository;
+    private final TaskRepository taskRepository;
+
+    public ProgressFactService(ProgressFactRepository progressFactRepository, TaskRepository taskRepository) {
+        this.progressFactRepository = progressFactRepository;
+        this.taskRepository = taskRepository;
+    }
+
+    /**
+     * Mark a task's facts as stale; they are rewritten before the current transaction commits.
+     */
+    public void taskChanged(Long taskId) {
+        Long tenantId = TenantContext.getTenantId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(tenantId, Set.of(taskId));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> taskIds = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(this, taskIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // Pending updates and plan lines must be in the database before facts are derived
+                    taskRepository.flush();
+                    refresh(tenantId, taskIds);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ProgressFactService.this);
+                }
+            });
+            pending = taskIds;
+        }
+        pending.add(taskId);
+    }
+
+    /**
+     * Rewrite all progress facts of the current tenant.
+     *
+     * @return Number of fact rows written
+     */
+    @Transactional
+    public int rebuildTenant() {
+        Long tenantId = TenantContext.getTenantId();
+        int rows = progressFactRepository.refreshTenant(tenantId);
+        logger.info("Rebuilt {} progress facts for tenant {}", rows, tenantId);
+        return rows;
+    }
+
+    private void refresh(Long tenantId, Set<Long> taskIds) {
+        List<Long> ids = new ArrayList<>(taskIds);
+        int rows = 0;
+        for (int start = 0; start < ids.size(); start += REFRESH_BATCH_SIZE) {
+            rows += progressFactRepository.refreshTasks(tenantId,
+                ids.subList(start, Math.min(start + REFRESH_BATCH_SIZE, ids.size())));
+        }
+        logger.debug("Refreshed {} progress facts of {} tasks for tenant {}", rows, ids.size(), tenantId);
+    }
+}
@@ -0,0 +1,189 @@
+package com.elina.projects.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.projects.dto.ProgressBreakdownDTO;
+import com.elina.projects.dto.ProgressPointDTO;
+import com.elina.projects.repository.ProgressFactRepository;
+import com.elina.projects.repository.ProgressFactRepository.DailyTotal;
+import com.elina.projects.repository.ProgressFactRepository.Dimension;
+import com.elina.projects.repository.ProgressFactRepository.GroupTotal;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Tenant-wide progress reports answered from the daily progress facts (see ProgressFactService)
+ * with GROUP BY queries, instead of loading task updates into memory.
+ *
+ * - getProgressByPeriod: planned vs actual per day, week (Monday start) or month, with cumulative
+ *   totals for S-curves
+ * - getWbsBreakdown: planned vs actual of each child WBS including its subtree
+ * - getVarianceRanking: projects, WBS or tasks furthest behind plan up to a date
+ *
+ * Tenant enforcement: all queries are constrained to the tenant from TenantContext. A project
+ * or WBS of another tenant yields an empty report.
+ */
+@Service
+public class ProgressReportService {
+
+    static final int DEFAULT_RANKING_LIMIT = 20;
+    static final int MAX_RANKING_LIMIT = 100;
+
+    /**
+     * Period length of a progress report.
+     */
+    public enum Interval {
+        DAY, WEEK, MONTH
+    }
+
+    private final ProgressFactRepository progressFactRepository;
+
+    public ProgressReportService(ProgressFactRepository progressFactRepository) {
+        this.progressFactRepository = progressFactRepository;
+    }
+
+    /**
+     * Planned vs actual per period. Periods without any plan or update are omitted.
+     *
+     * @param projectId Project scope, or null for the whole tenant
+     * @param fromDate First day (inclusive), or null for the earliest fact
+     * @param toDate Last day (inclusive), or null for the latest fact
+     * @param interval DAY, WEEK or MONTH (default WEEK)
+     */
+    @Transactional(readOnly = true)
+    public List<ProgressPointDTO> getProgressByPeriod(Long projectId, LocalDate fromDate, LocalDate toDate,
+                                                      String interval) {
+        validateRange(fromDate, toDate);
+        Interval periodInterval = parse(Interval.class, interval, Interval.WEEK);
+        Long tenantId = TenantContext.getTenantId();
+
+        BigDecimal cumulativePlanned = BigDecimal.ZERO;
+        BigDecimal cumulativeActual = BigDecimal.ZERO;
+        if (fromDate != null) {
+            DailyTotal opening = progressFactRepository.findTotalsBefore(tenantId, projectId, fromDate);
+            cumulativePlanned = opening.plannedQty();
+            cumulativeActual = opening.actualQty();
+        }
+
+        List<ProgressPointDTO> points = new ArrayList<>();
+        ProgressPointDTO current = null;
+        for (DailyTotal day : progressFactRepository.findDailyTotals(tenantId, projectId, fromDate, toDate)) {
+            LocalDate periodStart = periodStart(day.date(), periodInterval);
+            if (current == null || !current.getPeriodStart().equals(periodStart)) {
+                current = newPoint(periodStart, periodEnd(periodStart, periodInterval));
+                points.add(current);
+            }
+            cumulativePlanned = cumulativePlanned.add(day.plannedQty());
+            cumulativeActual = cumulativeActual.add(day.actualQty());
+            current.setPlannedQty(current.getPlannedQty().add(day.plannedQty()));
+            current.setActualQty(current.getActualQty().add(day.actualQty()));
+            current.setVariance(current.getActualQty().subtract(current.getPlannedQty()));
+            current.setCumulativePlannedQty(cumulativePlanned);
+            current.setCumulativeActualQty(cumulativeActual);
+            current.setCumulativeVariance(cumulativeActual.subtract(cumulativePlanned));
+        }
+        return points;
+    }
+
+    /**
+     * Planned vs actual of each child WBS (its whole subtree), ordered by WBS code.
+     *
+     * @param projectId Project whose root WBS are reported (when parentWbsId is null)
+     * @param parentWbsId WBS whose children are reported
+     */
+    @Transactional(readOnly = true)
+    public List<ProgressBreakdownDTO> getWbsBreakdown(Long projectId, Long parentWbsId,
+                                                      LocalDate fromDate, LocalDate toDate) {
+        if (projectId == null && parentWbsId == null) {
+            throw new RuntimeException("Either projectId or parentWbsId is required");
+        }
+        validateRange(fromDate, toDate);
+        Long tenantId = TenantContext.getTenantId();
+
+        return progressFactRepository.findWbsTotals(tenantId, projectId, parentWbsId, fromDate, toDate).stream()
+                .map(total -> toBreakdown(Dimension.WBS, total))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Projects, WBS or tasks with the largest shortfall (actual - planned) up to a date.
+     *
+     * @param projectId Project scope, or null for the whole tenant
+     * @param groupBy PROJECT, WBS or TASK (default TASK)
+     * @param asOf Last day counted (default today)
+     * @param limit Number of entries (default 20, at most 100)
+     */
+    @Transactional(readOnly = true)
+    public List<ProgressBreakdownDTO> getVarianceRanking(Long projectId, String groupBy, LocalDate asOf, Integer limit) {
+        Dimension dimension = parse(Dimension.class, groupBy, Dimension.TASK);
+        int size = limit != null ? Math.max(1, Math.min(limit, MAX_RANKING_LIMIT)) : DEFAULT_RANKING_LIMIT;
+        Long tenantId = TenantContext.getTenantId();
+
+        return progressFactRepository.findVarianceRanking(tenantId, projectId, dimension,
+                    asOf != null ? asOf : LocalDate.now(), size).stream()
+                .map(total -> toBreakdown(dimension, total))
+                .collect(Collectors.toList());
+    }
+
+    static LocalDate periodStart(LocalDate date, Interval interval) {
+        return switch (interval) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate periodEnd(LocalDate periodStart, Interval interval) {
+        return switch (interval) {
+            case DAY -> periodStart;
+            case WEEK -> periodStart.plusDays(6);
+            case MONTH -> periodStart.with(TemporalAdjusters.lastDayOfMonth());
+        };
+    }
+
+    private static ProgressPointDTO newPoint(LocalDate periodStart, LocalDate periodEnd) {
+        ProgressPointDTO point = new ProgressPointDTO();
+        point.setPeriodStart(periodStart);
+        point.setPeriodEnd(periodEnd);
+        point.setPlannedQty(BigDecimal.ZERO);
+        point.setActualQty(BigDecimal.ZERO);
+        return point;
+    }
+
+    private static ProgressBreakdownDTO toBreakdown(Dimension dimension, GroupTotal total) {
+        ProgressBreakdownDTO dto = new ProgressBreakdownDTO();
+        dto.setEntityType(dimension.name());
+        dto.setEntityId(total.id());
+        dto.setCode(total.code());
+        dto.setName(total.name());
+        dto.setPlannedQty(total.plannedQty());
+        dto.setActualQty(total.actualQty());
+        dto.setVariance(total.actualQty().subtract(total.plannedQty()));
+        return dto;
+    }
+
+    private static void validateRange(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new RuntimeException("From date cannot be after to date");
+        }
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value, E defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported value: " + value);
+        }
+    }
+}
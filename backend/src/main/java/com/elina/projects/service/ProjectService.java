@@ -6,10 +6,13 @@ import com.elina.authorization.repository.TenantRepository;
 import com.elina.authorization.rule.BusinessRuleContext;
 import com.elina.authorization.rule.BusinessRuleEngine;
 import com.elina.authorization.rule.BusinessRuleException;
+import com.elina.projects.dto.CursorPageDTO;
 import com.elina.projects.dto.ProjectCreateDTO;
 import com.elina.projects.dto.ProjectDTO;
 import com.elina.projects.dto.ProjectDetailsDTO;
+import com.elina.projects.dto.WbsDTO;
 import com.elina.projects.entity.Project;
+import com.elina.projects.entity.SearchNames;
 import com.elina.projects.exception.NotFoundException;
 import com.elina.projects.repository.ProjectRepository;
 import com.elina.projects.repository.WbsRepository;
@@ -23,9 +26,11 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -104,8 +109,29 @@ public class ProjectService {
         }
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<Project> entities = projectRepository.findWithFilters(activeOnly, search, pageable);
-        return entities.map(this::toDTO);
+        return projectRepository.findDTOsWithFilters(activeOnly, search, pageable);
+    }
+
+    /**
+     * List projects with keyset pagination: the page after the cursor, ordered by project code.
+     * Search is a case-insensitive prefix match on project code or name. The total count is
+     * only computed when includeTotal is set (typically for the first page).
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProjectDTO> listProjectsAfter(String search, Boolean activeOnly, String cursor, int size,
+                                                       boolean includeTotal) {
+        Long tenantId = TenantContext.getTenantId();
+        if (tenantId == null) {
+            throw new IllegalStateException("TenantContext not set");
+        }
+
+        int pageSize = CursorPageDTO.clampSize(size);
+        String afterProjectCode = CursorPageDTO.decodeCursor(cursor);
+        String searchPrefix = SearchNames.prefixPattern(search);
+        List<ProjectDTO> rows = projectRepository.findDTOPageAfter(activeOnly, searchPrefix, afterProjectCode,
+            PageRequest.of(0, pageSize + 1));
+        Long total = includeTotal ? projectRepository.countWithPrefix(activeOnly, searchPrefix) : null;
+        return CursorPageDTO.of(rows, pageSize, ProjectDTO::getProjectCode, Function.identity(), total);
     }
 
     /**
@@ -132,8 +158,8 @@ public class ProjectService {
     public ProjectDetailsDTO getProjectDetails(Long projectId) {
         ProjectDTO project = getProject(projectId);
         
-        // Get WBS count
-        List<com.elina.projects.entity.Wbs> wbsList = wbsRepository.findByProjectId(projectId, true);
+        // Load the whole project once and assemble the WBS tree in memory
+        List<WbsDTO> wbsList = wbsRepository.findDTOsByProjectId(projectId, true);
         int wbsCount = wbsList.size();
         
         // Calculate totals (simplified - would need task aggregation)
@@ -141,11 +167,17 @@ public class ProjectService {
         java.math.BigDecimal totalActualQty = java.math.BigDecimal.ZERO;
         int taskCount = 0;
         
-        // Build WBS hierarchy
-        List<com.elina.projects.dto.WbsDTO> rootWbs = wbsRepository.findRootWbsByProjectId(projectId, true)
-                .stream()
-                .map(this::buildWbsHierarchy)
-                .collect(Collectors.toList());
+        // Build WBS hierarchy (rows are ordered by level and code, so children stay in code order)
+        Map<Long, List<WbsDTO>> childrenByParent = new HashMap<>();
+        List<WbsDTO> rootWbs = new ArrayList<>();
+        for (WbsDTO wbs : wbsList) {
+            if (wbs.getParentWbsId() == null) {
+                rootWbs.add(wbs);
+            } else {
+                childrenByParent.computeIfAbsent(wbs.getParentWbsId(), k -> new ArrayList<>()).add(wbs);
+            }
+        }
+        rootWbs.forEach(wbs -> buildWbsHierarchy(wbs, childrenByParent));
         
         ProjectDetailsDTO details = new ProjectDetailsDTO();
         details.setProject(project);
@@ -159,51 +191,14 @@ public class ProjectService {
     }
 
     /**
-     * Build WBS hierarchy recursively.
+     * Build WBS hierarchy recursively from the preloaded children.
      */
-    private com.elina.projects.dto.WbsDTO buildWbsHierarchy(com.elina.projects.entity.Wbs wbs) {
-        com.elina.projects.dto.WbsDTO dto = toWbsDTO(wbs);
-        
-        List<com.elina.projects.entity.Wbs> children = wbsRepository.findByParentWbsId(wbs.getWbsId(), true);
-        List<com.elina.projects.dto.WbsDTO> childDtos = children.stream()
-                .map(this::buildWbsHierarchy)
-                .collect(Collectors.toList());
-        
-        dto.setChildren(childDtos);
-        return dto;
-    }
-
-    /**
-     * Convert WBS entity to DTO (helper method).
-     */
-    private com.elina.projects.dto.WbsDTO toWbsDTO(com.elina.projects.entity.Wbs entity) {
-        com.elina.projects.dto.WbsDTO dto = new com.elina.projects.dto.WbsDTO();
-        dto.setWbsId(entity.getWbsId());
-        dto.setTenantId(entity.getTenant().getId());
-        dto.setProjectId(entity.getProject().getProjectId());
-        dto.setParentWbsId(entity.getParentWbs() != null ? entity.getParentWbs().getWbsId() : null);
-        dto.setWbsCode(entity.getWbsCode());
-        dto.setWbsName(entity.getWbsName());
-        dto.setDescription(entity.getDescription());
-        dto.setStartDate(entity.getStartDate());
-        dto.setEndDate(entity.getEndDate());
-        dto.setLevel(entity.getLevel());
-        dto.setWorkCenter(entity.getWorkCenter());
-        dto.setCostCenter(entity.getCostCenter());
-        dto.setPlannedQty(entity.getPlannedQty());
-        dto.setActualQty(entity.getActualQty());
-        dto.setStatus(entity.getStatus());
-        dto.setIsConfirmed(entity.getIsConfirmed());
-        dto.setConfirmedOn(entity.getConfirmedOn());
-        dto.setConfirmedBy(entity.getConfirmedBy());
-        dto.setIsLocked(entity.getIsLocked());
-        dto.setLockDate(entity.getLockDate());
-        dto.setActivateFlag(entity.getActivateFlag());
-        dto.setCreatedBy(entity.getCreatedBy());
-        dto.setCreatedOn(entity.getCreatedOn());
-        dto.setUpdatedBy(entity.getUpdatedBy());
-        dto.setUpdatedOn(entity.getUpdatedOn());
-        return dto;
+    private void buildWbsHierarchy(WbsDTO dto, Map<Long, List<WbsDTO>> childrenByParent) {
+        List<WbsDTO> children = childrenByParent.get(dto.getWbsId());
+        if (children != null) {
+            children.forEach(child -> buildWbsHierarchy(child, childrenByParent));
+            dto.setChildren(children);
+        }
     }
 
     /**
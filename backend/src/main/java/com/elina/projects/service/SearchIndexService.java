@@ -0,0 +1,365 @@
+package com.elina.projects.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.authorization.entity.UserAuthorization;
+import com.elina.authorization.service.UserAuthorizationService;
+import com.elina.projects.dto.SearchResultDTO;
+import com.elina.projects.entity.Project;
+import com.elina.projects.entity.SearchIndexEntityListener.EntityChanged;
+import com.elina.projects.entity.SearchNames;
+import com.elina.projects.entity.Task;
+import com.elina.projects.entity.Wbs;
+import com.elina.projects.repository.ProjectRepository;
+import com.elina.projects.repository.SearchIndexRepository;
+import com.elina.projects.repository.SearchIndexRepository.SearchDocument;
+import com.elina.projects.repository.TaskRepository;
+import com.elina.projects.repository.WbsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Typeahead search over tasks, WBS and projects, served from an in-process inverted index
+ * per tenant (see TenantSearchIndex).
+ *
+ * Lifecycle:
+ * - A tenant's index is built in the background on its first search; until it is ready the
+ *   search falls back to the database (prefix match on the indexed code and search_name
+ *   columns).
+ * - Entity changes (published by SearchIndexEntityListener) are applied after commit, so the node that
+ *   made a change sees it immediately. Other nodes pick it up when their index is rebuilt,
+ *   after refresh-seconds.
+ * - At most max-tenants indexes are kept; the least recently searched one is dropped first.
+ *
+ * Tenant enforcement: each tenant has its own index, selected from TenantContext.
+ * WBS results are filtered by the user's work center/cost center authorizations, as in
+ * WbsService.
+ */
+@Service
+public class SearchIndexService {
+
+    static final String TASK = "TASK";
+    static final String WBS = "WBS";
+    static final String PROJECT = "PROJECT";
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    private static final Comparator<SearchDocument> BY_CODE = Comparator
+            .comparingInt((SearchDocument d) -> d.code().length())
+            .thenComparing(SearchDocument::code);
+
+    private final SearchIndexRepository searchIndexRepository;
+    private final TaskRepository taskRepository;
+    private final WbsRepository wbsRepository;
+    private final ProjectRepository projectRepository;
+    private final UserAuthorizationService userAuthorizationService;
+    private final TaskExecutor executor;
+
+    private final Map<Long, TenantSearchIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<Long, TenantSearchIndex> building = new ConcurrentHashMap<>();
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${search.index.max-tenants:200}")
+    private int maxTenants = 200;
+
+    @Value("${search.index.refresh-seconds:300}")
+    private long refreshSeconds = 300;
+
+    @Value("${search.index.max-results:50}")
+    private int maxResults = 50;
+
+    public SearchIndexService(SearchIndexRepository searchIndexRepository,
+                              TaskRepository taskRepository,
+                              WbsRepository wbsRepository,
+                              ProjectRepository projectRepository,
+                              UserAuthorizationService userAuthorizationService,
+                              @Qualifier("searchIndexExecutor") TaskExecutor executor) {
+        this.searchIndexRepository = searchIndexRepository;
+        this.taskRepository = taskRepository;
+        this.wbsRepository = wbsRepository;
+        this.projectRepository = projectRepository;
+        this.userAuthorizationService = userAuthorizationService;
+        this.executor = executor;
+    }
+
+    /**
+     * Get current user ID from SecurityContext.
+     */
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Long) {
+            return (Long) authentication.getPrincipal();
+        }
+        return null;
+    }
+
+    /**
+     * Best matches for a typeahead query.
+     *
+     * @param entityTypes TASK, WBS and/or PROJECT; empty for all
+     */
+    @Transactional(readOnly = true)
+    public List<SearchResultDTO> typeahead(String query, Set<String> entityTypes, int limit) {
+        Long tenantId = TenantContext.getTenantId();
+        if (tenantId == null) {
+            throw new IllegalStateException("TenantContext not set");
+        }
+
+        int max = Math.max(1, Math.min(limit, maxResults));
+        Predicate<SearchDocument> visible = new WbsVisibility(getCurrentUserId());
+
+        TenantSearchIndex index = enabled ? indexes.get(tenantId) : null;
+        if (enabled && (index == null || isStale(index))) {
+            scheduleBuild(tenantId);
+        }
+
+        List<SearchDocument> documents = index != null
+                ? index.search(query, entityTypes, visible, max)
+                : searchDatabase(query, entityTypes, visible, max);
+        return documents.stream()
+                .map(d -> new SearchResultDTO(d.entityType(), d.entityId(), d.projectId(), d.code(), d.name()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Cold tenant fallback: prefix match of the whole query on code or normalized name.
+     */
+    private List<SearchDocument> searchDatabase(String query, Set<String> entityTypes,
+                                                Predicate<SearchDocument> visible, int limit) {
+        String searchPrefix = SearchNames.prefixPattern(query);
+        if (searchPrefix == null) {
+            return List.of();
+        }
+
+        PageRequest page = PageRequest.of(0, limit);
+        List<SearchDocument> documents = new ArrayList<>();
+        if (includes(entityTypes, PROJECT)) {
+            projectRepository.findPageAfter(true, searchPrefix, null, page)
+                    .forEach(p -> documents.add(toDocument(p)));
+        }
+        if (includes(entityTypes, WBS)) {
+            wbsRepository.findBySearchPrefix(searchPrefix, page)
+                    .forEach(w -> documents.add(toDocument(w)));
+        }
+        if (includes(entityTypes, TASK)) {
+            taskRepository.findPageAfter(null, null, true, searchPrefix, null, page)
+                    .forEach(t -> documents.add(toDocument(t)));
+        }
+
+        return documents.stream()
+                .filter(visible)
+                .sorted(Comparator.comparingInt((SearchDocument d) -> TenantSearchIndex.rank(d, query)).thenComparing(BY_CODE))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private static boolean includes(Set<String> entityTypes, String entityType) {
+        return entityTypes.isEmpty() || entityTypes.contains(entityType);
+    }
+
+    private boolean isStale(TenantSearchIndex index) {
+        return System.currentTimeMillis() - index.getBuiltAt() > refreshSeconds * 1000;
+    }
+
+    /**
+     * Build (or rebuild) a tenant's index in the background unless a build is already running.
+     */
+    private void scheduleBuild(Long tenantId) {
+        TenantSearchIndex fresh = new TenantSearchIndex();
+        if (building.putIfAbsent(tenantId, fresh) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> build(tenantId, fresh));
+        } catch (TaskRejectedException e) {
+            building.remove(tenantId, fresh);
+            logger.warn("Search index build for tenant {} rejected: {}", tenantId, e.getMessage());
+        }
+    }
+
+    private void build(Long tenantId, TenantSearchIndex fresh) {
+        try {
+            long start = System.currentTimeMillis();
+            fresh.load(searchIndexRepository.findDocuments(tenantId));
+            indexes.put(tenantId, fresh);
+            evictLeastRecentlyUsed();
+            logger.info("Built search index for tenant {}: {} entries in {} ms",
+                tenantId, fresh.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.warn("Failed to build search index for tenant {}: {}", tenantId, e.getMessage());
+        } finally {
+            building.remove(tenantId, fresh);
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        while (indexes.size() > maxTenants) {
+            indexes.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().getLastAccess()))
+                    .ifPresent(e -> indexes.remove(e.getKey(), e.getValue()));
+        }
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChanged event) {
+        if (event.removed()) {
+            entityRemoved(event.entity());
+        } else {
+            entitySaved(event.entity());
+        }
+    }
+
+    /**
+     * Record a saved task, WBS or project; deactivated entities leave the index.
+     */
+    void entitySaved(Object entity) {
+        if (entity instanceof Task task) {
+            changed(task.getTenant().getId(), TASK, task.getTaskId(), task.getActivateFlag(), () -> toDocument(task));
+        } else if (entity instanceof Wbs wbs) {
+            changed(wbs.getTenant().getId(), WBS, wbs.getWbsId(), wbs.getActivateFlag(), () -> toDocument(wbs));
+        } else if (entity instanceof Project project) {
+            changed(project.getTenant().getId(), PROJECT, project.getProjectId(), project.getActivateFlag(),
+                () -> toDocument(project));
+        }
+    }
+
+    /**
+     * Record a deleted task, WBS or project.
+     */
+    void entityRemoved(Object entity) {
+        if (entity instanceof Task task) {
+            changed(task.getTenant().getId(), TASK, task.getTaskId(), false, null);
+        } else if (entity instanceof Wbs wbs) {
+            changed(wbs.getTenant().getId(), WBS, wbs.getWbsId(), false, null);
+        } else if (entity instanceof Project project) {
+            changed(project.getTenant().getId(), PROJECT, project.getProjectId(), false, null);
+        }
+    }
+
+    private void changed(Long tenantId, String entityType, Long entityId, Boolean active,
+                         Supplier<SearchDocument> document) {
+        if (!enabled || tenantId == null || (!indexes.containsKey(tenantId) && !building.containsKey(tenantId))) {
+            return;
+        }
+        // Read the fields now, while the entity is still attached
+        SearchDocument snapshot = Boolean.TRUE.equals(active) ? document.get() : null;
+        afterCommit(() -> apply(tenantId, index -> {
+            if (snapshot != null) {
+                index.apply(snapshot);
+            } else {
+                index.remove(entityType, entityId);
+            }
+        }));
+    }
+
+    private void apply(Long tenantId, Consumer<TenantSearchIndex> change) {
+        TenantSearchIndex live = indexes.get(tenantId);
+        TenantSearchIndex pending = building.get(tenantId);
+        if (live != null) {
+            change.accept(live);
+        }
+        if (pending != null && pending != live) {
+            change.accept(pending);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Runnable> pending = (List<Runnable>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Runnable> actions = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, actions);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SearchIndexService.this);
+                    if (status == STATUS_COMMITTED) {
+                        actions.forEach(Runnable::run);
+                    }
+                }
+            });
+            pending = actions;
+        }
+        pending.add(action);
+    }
+
+    private static SearchDocument toDocument(Task task) {
+        return new SearchDocument(TASK, task.getTaskId(), task.getProject().getProjectId(),
+            task.getTaskCode(), task.getTaskName(), null, null);
+    }
+
+    private static SearchDocument toDocument(Wbs wbs) {
+        return new SearchDocument(WBS, wbs.getWbsId(), wbs.getProject().getProjectId(),
+            wbs.getWbsCode(), wbs.getWbsName(), wbs.getWorkCenter(), wbs.getCostCenter());
+    }
+
+    private static SearchDocument toDocument(Project project) {
+        return new SearchDocument(PROJECT, project.getProjectId(), project.getProjectId(),
+            project.getProjectCode(), project.getProjectName(), null, null);
+    }
+
+    /**
+     * Hides WBS the user is not authorized for (same rule as WbsService). Authorizations are
+     * only loaded once a restricted WBS shows up among the matches.
+     */
+    private class WbsVisibility implements Predicate<SearchDocument> {
+
+        private final Long userId;
+        private List<UserAuthorization> authorizations;
+
+        WbsVisibility(Long userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean test(SearchDocument document) {
+            if (!WBS.equals(document.entityType())
+                    || (document.workCenter() == null && document.costCenter() == null)) {
+                return true;
+            }
+            if (authorizations == null) {
+                try {
+                    authorizations = userAuthorizationService.findByUserId(userId);
+                } catch (Exception e) {
+                    logger.warn("Error checking user authorization", e);
+                    authorizations = List.of();
+                }
+            }
+            return authorizations.stream()
+                    .filter(ua -> ua.getIsAllowed() != null && ua.getIsAllowed())
+                    .anyMatch(ua -> ("WORK_CENTER".equals(ua.getResourceType())
+                                        && document.workCenter() != null && document.workCenter().equals(ua.getResourceId()))
+                                 || ("COST_CENTER".equals(ua.getResourceType())
+                                        && document.costCenter() != null && document.costCenter().equals(ua.getResourceId())));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.elina.projects.service;
 
 import com.elina.authorization.context.TenantContext;
+import com.elina.authorization.dto.ResourceVersion;
 import com.elina.authorization.entity.Tenant;
 import com.elina.authorization.repository.TenantRepository;
 import com.elina.authorization.rule.BusinessRuleContext;
@@ -8,6 +9,7 @@ import com.elina.authorization.rule.BusinessRuleEngine;
 import com.elina.authorization.rule.BusinessRuleException;
 import com.elina.projects.dto.*;
 import com.elina.projects.entity.Project;
+import com.elina.projects.entity.SearchNames;
 import com.elina.projects.entity.Task;
 import com.elina.projects.entity.Wbs;
 import com.elina.projects.exception.NotFoundException;
@@ -25,7 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * Service for task management with tenant-aware operations and business rule validation.
@@ -51,6 +53,7 @@ public class TaskService {
     private final PlanVersionRepository planVersionRepository;
     private final BusinessRuleEngine businessRuleEngine;
     private final AuditLogService auditLogService;
+    private final ProgressFactService progressFactService;
 
     public TaskService(TaskRepository taskRepository,
                       WbsRepository wbsRepository,
@@ -59,7 +62,8 @@ public class TaskService {
                       TaskUpdateRepository taskUpdateRepository,
                       PlanVersionRepository planVersionRepository,
                       BusinessRuleEngine businessRuleEngine,
-                      AuditLogService auditLogService) {
+                      AuditLogService auditLogService,
+                      ProgressFactService progressFactService) {
         this.taskRepository = taskRepository;
         this.wbsRepository = wbsRepository;
         this.projectRepository = projectRepository;
@@ -68,6 +72,7 @@ public class TaskService {
         this.planVersionRepository = planVersionRepository;
         this.businessRuleEngine = businessRuleEngine;
         this.auditLogService = auditLogService;
+        this.progressFactService = progressFactService;
     }
 
     /**
@@ -123,8 +128,29 @@ public class TaskService {
         }
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<Task> entities = taskRepository.findWithFilters(projectId, wbsId, activeOnly, search, pageable);
-        return entities.map(this::toDTO);
+        return taskRepository.findDTOsWithFilters(projectId, wbsId, activeOnly, search, pageable);
+    }
+
+    /**
+     * List tasks with keyset pagination: the page after the cursor, ordered by task code.
+     * Search is a case-insensitive prefix match on task code or name. The total count is
+     * only computed when includeTotal is set (typically for the first page).
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<TaskDTO> listTasksAfter(Long projectId, Long wbsId, Boolean activeOnly, String search,
+                                                String cursor, int size, boolean includeTotal) {
+        Long tenantId = TenantContext.getTenantId();
+        if (tenantId == null) {
+            throw new IllegalStateException("TenantContext not set");
+        }
+
+        int pageSize = CursorPageDTO.clampSize(size);
+        String afterTaskCode = CursorPageDTO.decodeCursor(cursor);
+        String searchPrefix = SearchNames.prefixPattern(search);
+        List<TaskDTO> rows = taskRepository.findDTOPageAfter(projectId, wbsId, activeOnly, searchPrefix, afterTaskCode,
+            PageRequest.of(0, pageSize + 1));
+        Long total = includeTotal ? taskRepository.countWithPrefix(projectId, wbsId, activeOnly, searchPrefix) : null;
+        return CursorPageDTO.of(rows, pageSize, TaskDTO::getTaskCode, Function.identity(), total);
     }
 
     /**
@@ -144,6 +170,16 @@ public class TaskService {
         return toDTO(entity);
     }
 
+    /**
+     * Version of the task details (task row, plan versions, task updates) for conditional GET.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getTaskDetailsVersion(Long taskId) {
+        return taskRepository.findVersionById(taskId)
+                .and(planVersionRepository.findVersionByTaskId(taskId))
+                .and(taskUpdateRepository.findVersionByTaskId(taskId));
+    }
+
     /**
      * Get task details with plan versions and updates.
      */
@@ -152,10 +188,7 @@ public class TaskService {
         TaskDTO task = getTask(taskId);
         
         // Get plan versions
-        List<PlanVersionDTO> planVersions = planVersionRepository.findByTaskId(taskId, true)
-                .stream()
-                .map(this::toPlanVersionDTO)
-                .collect(Collectors.toList());
+        List<PlanVersionDTO> planVersions = planVersionRepository.findDTOsByTaskId(taskId, true);
         
         // Get current plan version
         PlanVersionDTO currentPlanVersion = planVersionRepository.findCurrentByTaskId(taskId)
@@ -163,11 +196,7 @@ public class TaskService {
                 .orElse(null);
         
         // Get recent updates
-        List<TaskUpdateDTO> recentUpdates = taskUpdateRepository.findByTaskId(taskId, true)
-                .stream()
-                .limit(10)
-                .map(this::toTaskUpdateDTO)
-                .collect(Collectors.toList());
+        List<TaskUpdateDTO> recentUpdates = taskUpdateRepository.findDTOsByTaskId(taskId, true, PageRequest.of(0, 10));
         
         TaskDetailsDTO details = new TaskDetailsDTO();
         details.setTask(task);
@@ -192,27 +221,7 @@ public class TaskService {
         dto.setDescription(entity.getDescription());
         dto.setIsActive(entity.getIsActive());
         dto.setActivateFlag(entity.getActivateFlag());
-        dto.setCreatedBy(entity.getCreatedBy());
-        dto.setCreatedOn(entity.getCreatedOn());
-        dto.setUpdatedBy(entity.getUpdatedBy());
-        dto.setUpdatedOn(entity.getUpdatedOn());
-        return dto;
-    }
-
-    /**
-     * Convert TaskUpdate entity to DTO.
-     */
-    private TaskUpdateDTO toTaskUpdateDTO(com.elina.projects.entity.TaskUpdate entity) {
-        TaskUpdateDTO dto = new TaskUpdateDTO();
-        dto.setUpdateId(entity.getUpdateId());
-        dto.setTenantId(entity.getTenant().getId());
-        dto.setTaskId(entity.getTask().getTaskId());
-        dto.setUpdateDate(entity.getUpdateDate());
-        dto.setPlannedQty(entity.getPlannedQty());
-        dto.setActualQty(entity.getActualQty());
-        dto.setDailyUpdateQty(entity.getDailyUpdateQty());
-        dto.setRemarks(entity.getRemarks());
-        dto.setActivateFlag(entity.getActivateFlag());
+        dto.setIsArchived(entity.getIsArchived());
         dto.setCreatedBy(entity.getCreatedBy());
         dto.setCreatedOn(entity.getCreatedOn());
         dto.setUpdatedBy(entity.getUpdatedBy());
@@ -234,8 +243,7 @@ public class TaskService {
             throw new NotFoundException("WBS not found");
         }
 
-        List<Task> tasks = taskRepository.findByWbsId(wbsId, true);
-        return tasks.stream().map(this::toDTO).collect(Collectors.toList());
+        return taskRepository.findDTOsByWbsId(wbsId, true);
     }
 
     /**
@@ -463,6 +471,7 @@ public class TaskService {
         entity.setUpdatedBy(userId);
 
         Task saved = taskRepository.save(entity);
+        progressFactService.taskChanged(saved.getTaskId());
         
         // Write audit log
         Map<String, Object> newData = new HashMap<>();
@@ -500,6 +509,7 @@ public class TaskService {
 
         entity.setActivateFlag(false);
         taskRepository.save(entity);
+        progressFactService.taskChanged(id);
         
         // Write audit log
         auditLogService.writeAuditLog("tasks", id, "DELETE", oldData, null);
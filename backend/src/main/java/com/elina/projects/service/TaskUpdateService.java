@@ -4,12 +4,16 @@ import com.elina.authorization.context.TenantContext;
 import com.elina.authorization.rule.BusinessRuleContext;
 import com.elina.authorization.rule.BusinessRuleEngine;
 import com.elina.authorization.rule.BusinessRuleException;
+import com.elina.authorization.rule.BusinessRulePlan;
+import com.elina.authorization.rule.BusinessRuleViolation;
 import com.elina.projects.dto.*;
 import com.elina.projects.entity.*;
 import com.elina.projects.exception.NotFoundException;
 import com.elina.projects.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -17,7 +21,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -31,34 +37,49 @@ import java.util.stream.Collectors;
  * - Rule 201: START_DATE_CANNOT_BE_IN_FUTURE - Update date cannot be in future
  * - Rule 401: DAILY_UPDATE_CANNOT_EXCEED_PLANNED_QTY - Daily update qty cannot exceed planned_qty
  * - Rule 102: Update date cannot be after lock date if backdate not allowed
+ * 
+ * validateDayWise runs the same checks as a bulk save without writing, so the grid
+ * can be checked while data is being entered.
  */
 @Service
 public class TaskUpdateService {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskUpdateService.class);
 
+    // Default grid window opens one week before today
+    private static final long DEFAULT_WINDOW_DAYS_BEFORE_TODAY = 7;
+
+    @Value("${task-updates.grid.default-window-days:28}")
+    private int defaultWindowDays = 28;
+
+    @Value("${task-updates.grid.max-window-days:366}")
+    private int maxWindowDays = 366;
+
     private final TaskUpdateRepository taskUpdateRepository;
     private final TaskRepository taskRepository;
     private final PlanLineRepository planLineRepository;
     private final PlanVersionRepository planVersionRepository;
-    private final ConfirmationRepository confirmationRepository;
+    private final ConfirmationLockResolver confirmationLockResolver;
     private final BusinessRuleEngine businessRuleEngine;
     private final AuditLogService auditLogService;
+    private final ProgressFactService progressFactService;
 
     public TaskUpdateService(TaskUpdateRepository taskUpdateRepository,
                             TaskRepository taskRepository,
                             PlanLineRepository planLineRepository,
                             PlanVersionRepository planVersionRepository,
-                            ConfirmationRepository confirmationRepository,
+                            ConfirmationLockResolver confirmationLockResolver,
                             BusinessRuleEngine businessRuleEngine,
-                            AuditLogService auditLogService) {
+                            AuditLogService auditLogService,
+                            ProgressFactService progressFactService) {
         this.taskUpdateRepository = taskUpdateRepository;
         this.taskRepository = taskRepository;
         this.planLineRepository = planLineRepository;
         this.planVersionRepository = planVersionRepository;
-        this.confirmationRepository = confirmationRepository;
+        this.confirmationLockResolver = confirmationLockResolver;
         this.businessRuleEngine = businessRuleEngine;
         this.auditLogService = auditLogService;
+        this.progressFactService = progressFactService;
     }
 
     /**
@@ -107,8 +128,7 @@ public class TaskUpdateService {
             throw new NotFoundException("Task not found");
         }
 
-        List<TaskUpdate> updates = taskUpdateRepository.findByTaskId(taskId, true);
-        return updates.stream().map(this::toDTO).collect(Collectors.toList());
+        return taskUpdateRepository.findDTOsByTaskId(taskId, true, Pageable.unpaged());
     }
 
     /**
@@ -127,6 +147,28 @@ public class TaskUpdateService {
             throw new NotFoundException("Task not found");
         }
 
+        // Effective confirmation lock (task, its WBS and ancestor WBS), as for grid saves
+        LocalDate lockDate = confirmationLockResolver.getLockDate(task);
+
+        if (lockDate != null && !dto.getUpdateDate().isAfter(lockDate)) {
+            // Check Rule 102: BACKDATE_ALLOWED_AFTER_LOCK
+            BusinessRuleContext lockContext = BusinessRuleContext.builder()
+                    .tenantId(tenantId)
+                    .userId(userId)
+                    .entityType("TASK_UPDATE")
+                    .entityId(task.getTaskId())
+                    .updateDate(dto.getUpdateDate())
+                    .confirmationDate(lockDate)
+                    .build();
+
+            try {
+                businessRuleEngine.validate(102, lockContext);
+            } catch (BusinessRuleException e) {
+                throw new BusinessRuleException(102,
+                    "Cannot update date " + dto.getUpdateDate() + " - date is locked by confirmation. " + e.getMessage());
+            }
+        }
+
         // Check if update already exists for this date
         TaskUpdate existingUpdate = taskUpdateRepository.findByTaskIdAndUpdateDate(dto.getTaskId(), dto.getUpdateDate())
                 .orElse(null);
@@ -154,23 +196,17 @@ public class TaskUpdateService {
                 .actualQty(dto.getActualQty())
                 .dailyUpdateQty(dailyUpdateQty)
                 .taskStartDate(task.getStartDate())
-                .lockDate(task.getLockDate())
+                .lockDate(lockDate)
                 .isConfirmed(task.getIsConfirmed())
                 .build();
 
         // Validate business rules BEFORE proceeding with update
         // Rules validated: 101 (BACKDATE_ALLOWED_TILL), 201 (START_DATE_CANNOT_BE_IN_FUTURE), 401 (DAILY_UPDATE_CANNOT_EXCEED_PLANNED_QTY)
-        try {
-            businessRuleEngine.validateAll(
-                Arrays.asList(101, 201, 401), // Rules to validate
-                context
-            );
-        } catch (BusinessRuleException e) {
-            // Log the violation
-            logger.warn("Business rule violation: Rule {} - {}", e.getRuleNumber(), e.getMessage());
-            // Re-throw - GlobalExceptionHandler will handle it
-            throw e;
-        }
+        // A violation propagates to GlobalExceptionHandler, which logs it
+        businessRuleEngine.validateAll(
+            Arrays.asList(101, 201, 401), // Rules to validate
+            context
+        );
 
         // If we get here, all rules passed - proceed with update
         TaskUpdate entity = existingUpdate != null ? existingUpdate : new TaskUpdate();
@@ -196,6 +232,7 @@ public class TaskUpdateService {
         BigDecimal totalActualQty = taskUpdateRepository.getTotalActualQtyByTaskId(dto.getTaskId());
         task.setActualQty(totalActualQty);
         taskRepository.save(task);
+        progressFactService.taskChanged(task.getTaskId());
         
         // Write audit log
         Map<String, Object> newData = new HashMap<>();
@@ -250,64 +287,184 @@ public class TaskUpdateService {
         Map<LocalDate, TaskUpdate> updateMap = existingUpdates.stream()
                 .collect(Collectors.toMap(TaskUpdate::getUpdateDate, u -> u));
 
-        // Get confirmation lock for WBS (if exists)
-        Confirmation wbsConfirmation = task.getWbs() != null 
-            ? confirmationRepository.findByEntityTypeAndEntityId("WBS", task.getWbs().getWbsId()).orElse(null)
-            : null;
-        LocalDate lockDate = wbsConfirmation != null ? wbsConfirmation.getConfirmationDate() : null;
+        // Effective confirmation lock (task, its WBS and ancestor WBS)
+        LocalDate lockDate = confirmationLockResolver.getLockDate(task);
 
-        // Build unified list
-        List<TaskUpdateDayWiseDTO> result = new ArrayList<>();
-        
         // Get date range from task
         LocalDate startDate = task.getStartDate();
         LocalDate endDate = task.getEndDate();
-        
+
         if (startDate != null && endDate != null) {
             // Generate entries for all dates in task range
-            LocalDate currentDate = startDate;
-            while (!currentDate.isAfter(endDate)) {
-                TaskUpdate existingUpdate = updateMap.get(currentDate);
-                BigDecimal planQty = planQtyMap.getOrDefault(currentDate, 
-                    existingUpdate != null ? existingUpdate.getPlannedQty() : null);
-                BigDecimal actualQty = existingUpdate != null ? existingUpdate.getActualQty() : BigDecimal.ZERO;
-                
-                TaskUpdateDayWiseDTO dto = new TaskUpdateDayWiseDTO(currentDate, planQty, actualQty);
-                dto.setUpdateId(existingUpdate != null ? existingUpdate.getUpdateId() : null);
-                dto.setRemarks(existingUpdate != null ? existingUpdate.getRemarks() : null);
-                
-                // Check if date is locked
-                boolean isLocked = lockDate != null && !currentDate.isAfter(lockDate);
-                dto.setIsLocked(isLocked);
-                dto.setCanEdit(!isLocked); // Can edit if not locked
-                
-                result.add(dto);
-                currentDate = currentDate.plusDays(1);
+            return buildDayWiseRows(startDate, endDate, planQtyMap, updateMap, lockDate);
+        }
+        // If no date range, just return existing updates
+        return existingUpdates.stream()
+                .map(update -> toDayWiseRow(update.getUpdateDate(), Map.of(), update, lockDate))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get one window of the day-wise grid for a task.
+     * Only plan lines and updates inside the window are loaded (range queries), so the
+     * cost depends on the window size and not on the task duration.
+     *
+     * Window resolution:
+     * - no bounds: default-window-days starting one week before today (today clamped into the task range)
+     * - one bound: default-window-days from/up to that bound
+     * - the window is clipped to the task start/end; windows larger than max-window-days are rejected
+     *
+     * The response carries the bounds of the adjacent windows so the grid can page
+     * backwards and forwards without knowing the task range.
+     *
+     * @param taskId Task ID
+     * @param from First day of the window (optional)
+     * @param to Last day of the window (optional)
+     * @return Rows of the window plus adjacent window bounds
+     */
+    @Transactional(readOnly = true)
+    public TaskUpdateWindowDTO getUpdatesForTaskWindow(Long taskId, LocalDate from, LocalDate to) {
+        Long tenantId = TenantContext.getTenantId();
+
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new NotFoundException("Task not found"));
+
+        if (!task.getTenant().getId().equals(tenantId)) {
+            throw new NotFoundException("Task not found");
+        }
+
+        LocalDate taskStart = task.getStartDate();
+        LocalDate taskEnd = task.getEndDate();
+
+        if (from == null && to == null) {
+            LocalDate anchor = clamp(LocalDate.now(), taskStart, taskEnd);
+            from = anchor.minusDays(DEFAULT_WINDOW_DAYS_BEFORE_TODAY);
+            to = from.plusDays(defaultWindowDays - 1L);
+        } else if (to == null) {
+            to = from.plusDays(defaultWindowDays - 1L);
+        } else if (from == null) {
+            from = to.minusDays(defaultWindowDays - 1L);
+        }
+        if (to.isBefore(from)) {
+            throw new RuntimeException("Window end cannot be before window start");
+        }
+        long windowDays = ChronoUnit.DAYS.between(from, to) + 1;
+        if (windowDays > maxWindowDays) {
+            throw new RuntimeException("Window cannot exceed " + maxWindowDays + " days");
+        }
+
+        // Clip to the task range
+        if (taskStart != null && from.isBefore(taskStart)) {
+            from = taskStart;
+        }
+        if (taskEnd != null && to.isAfter(taskEnd)) {
+            to = taskEnd;
+        }
+
+        LocalDate lockDate = confirmationLockResolver.getLockDate(task);
+
+        TaskUpdateWindowDTO window = new TaskUpdateWindowDTO();
+        window.setTaskId(taskId);
+        window.setTaskStartDate(taskStart);
+        window.setTaskEndDate(taskEnd);
+        window.setLockDate(lockDate);
+        window.setWindowStart(from);
+        window.setWindowEnd(to);
+
+        if (to.isBefore(from)) {
+            // Requested window lies entirely outside the task range
+            window.setRows(List.of());
+            return window;
+        }
+
+        List<TaskUpdate> updates = taskUpdateRepository.findByTaskIdAndDateRange(taskId, from, to, true);
+
+        if (taskStart != null && taskEnd != null) {
+            Map<LocalDate, BigDecimal> planQtyMap = new HashMap<>();
+            PlanVersion activePlanVersion = planVersionRepository.findCurrentByTaskId(taskId).orElse(null);
+            if (activePlanVersion != null) {
+                for (PlanLine planLine : planLineRepository.findByPlanVersionIdAndDateRange(
+                        activePlanVersion.getPlanVersionId(), from, to, true)) {
+                    planQtyMap.put(planLine.getWorkDate(), planLine.getPlannedQty());
+                }
             }
+            Map<LocalDate, TaskUpdate> updateMap = updates.stream()
+                    .collect(Collectors.toMap(TaskUpdate::getUpdateDate, u -> u));
+            window.setRows(buildDayWiseRows(from, to, planQtyMap, updateMap, lockDate));
         } else {
-            // If no date range, just return existing updates
-            for (TaskUpdate update : existingUpdates) {
-                TaskUpdateDayWiseDTO dto = new TaskUpdateDayWiseDTO(
-                    update.getUpdateDate(), 
-                    update.getPlannedQty(), 
-                    update.getActualQty());
-                dto.setUpdateId(update.getUpdateId());
-                dto.setRemarks(update.getRemarks());
-                
-                boolean isLocked = lockDate != null && !update.getUpdateDate().isAfter(lockDate);
-                dto.setIsLocked(isLocked);
-                dto.setCanEdit(!isLocked);
-                
-                result.add(dto);
-            }
+            // No task range: existing updates of the window only
+            window.setRows(updates.stream()
+                    .sorted(Comparator.comparing(TaskUpdate::getUpdateDate))
+                    .map(update -> toDayWiseRow(update.getUpdateDate(), Map.of(), update, lockDate))
+                    .collect(Collectors.toList()));
+        }
+
+        // Adjacent windows keep the requested size, clipped to the task range
+        if (taskStart == null || from.isAfter(taskStart)) {
+            LocalDate previousEnd = from.minusDays(1);
+            window.setPreviousWindowEnd(previousEnd);
+            window.setPreviousWindowStart(clamp(previousEnd.minusDays(windowDays - 1), taskStart, null));
+        }
+        if (taskEnd == null || to.isBefore(taskEnd)) {
+            LocalDate nextStart = to.plusDays(1);
+            window.setNextWindowStart(nextStart);
+            window.setNextWindowEnd(clamp(nextStart.plusDays(windowDays - 1), null, taskEnd));
         }
+        return window;
+    }
 
+    /**
+     * One row per day from startDate to endDate (inclusive).
+     */
+    private List<TaskUpdateDayWiseDTO> buildDayWiseRows(LocalDate startDate, LocalDate endDate,
+                                                        Map<LocalDate, BigDecimal> planQtyMap,
+                                                        Map<LocalDate, TaskUpdate> updateMap,
+                                                        LocalDate lockDate) {
+        List<TaskUpdateDayWiseDTO> result = new ArrayList<>();
+        LocalDate currentDate = startDate;
+        while (!currentDate.isAfter(endDate)) {
+            result.add(toDayWiseRow(currentDate, planQtyMap, updateMap.get(currentDate), lockDate));
+            currentDate = currentDate.plusDays(1);
+        }
         return result;
     }
 
+    /**
+     * Merge the plan quantity and existing update (if any) of a day into a grid row.
+     */
+    private TaskUpdateDayWiseDTO toDayWiseRow(LocalDate date, Map<LocalDate, BigDecimal> planQtyMap,
+                                              TaskUpdate existingUpdate, LocalDate lockDate) {
+        BigDecimal planQty = planQtyMap.getOrDefault(date,
+            existingUpdate != null ? existingUpdate.getPlannedQty() : null);
+        BigDecimal actualQty = existingUpdate != null ? existingUpdate.getActualQty() : BigDecimal.ZERO;
+
+        TaskUpdateDayWiseDTO dto = new TaskUpdateDayWiseDTO(date, planQty, actualQty);
+        dto.setUpdateId(existingUpdate != null ? existingUpdate.getUpdateId() : null);
+        dto.setRemarks(existingUpdate != null ? existingUpdate.getRemarks() : null);
+
+        // Check if date is locked
+        boolean isLocked = lockDate != null && !date.isAfter(lockDate);
+        dto.setIsLocked(isLocked);
+        dto.setCanEdit(!isLocked); // Can edit if not locked
+        return dto;
+    }
+
+    private static LocalDate clamp(LocalDate date, LocalDate min, LocalDate max) {
+        if (min != null && date.isBefore(min)) {
+            return min;
+        }
+        if (max != null && date.isAfter(max)) {
+            return max;
+        }
+        return date;
+    }
+
     /**
      * Save or update multiple day-wise updates in bulk.
-     * Validates business rules for each entry.
+     * Validates business rules for each entry with rule plans compiled once per request;
+     * existing updates are loaded with one range query, as in the dry-run.
+     * All rows are validated before anything is saved; if any row fails, a single
+     * BusinessRuleException listing every violation is thrown.
      * 
      * @param bulkDTO Bulk update DTO containing task ID and list of day-wise updates
      * @return List of saved/updated task update DTOs
@@ -324,83 +481,37 @@ public class TaskUpdateService {
             throw new NotFoundException("Task not found");
         }
 
-        // Get confirmation lock for WBS
-        Confirmation wbsConfirmation = task.getWbs() != null 
-            ? confirmationRepository.findByEntityTypeAndEntityId("WBS", task.getWbs().getWbsId()).orElse(null)
-            : null;
-        LocalDate lockDate = wbsConfirmation != null ? wbsConfirmation.getConfirmationDate() : null;
+        // Effective confirmation lock (task, its WBS and ancestor WBS)
+        LocalDate lockDate = confirmationLockResolver.getLockDate(task);
 
-        List<TaskUpdateDTO> results = new ArrayList<>();
+        // Resolve the rules once for the whole grid
+        BusinessRulePlan lockPlan = businessRuleEngine.compile(List.of(102));
+        BusinessRulePlan updatePlan = businessRuleEngine.compile(List.of(101, 201, 401));
 
-        for (TaskUpdateBulkDTO.DayWiseUpdateDTO dayUpdate : bulkDTO.getUpdates()) {
-            // Validate update date is within task range
-            if (task.getStartDate() != null && dayUpdate.getUpdateDate().isBefore(task.getStartDate())) {
-                throw new BusinessRuleException(null, 
-                    "Update date " + dayUpdate.getUpdateDate() + " is before task start date " + task.getStartDate());
-            }
-            if (task.getEndDate() != null && dayUpdate.getUpdateDate().isAfter(task.getEndDate())) {
-                throw new BusinessRuleException(null, 
-                    "Update date " + dayUpdate.getUpdateDate() + " is after task end date " + task.getEndDate());
-            }
+        // Phase 1: validate every row and collect all violations before saving anything
+        List<BusinessRuleViolation> violations = new ArrayList<>();
+        List<DayWiseRow> rows = new ArrayList<>();
 
-            // Check if date is locked
-            if (lockDate != null && !dayUpdate.getUpdateDate().isAfter(lockDate)) {
-                // Check Rule 102: BACKDATE_ALLOWED_AFTER_LOCK
-                BusinessRuleContext lockContext = BusinessRuleContext.builder()
-                        .tenantId(tenantId)
-                        .userId(userId)
-                        .entityType("TASK_UPDATE")
-                        .entityId(bulkDTO.getTaskId())
-                        .updateDate(dayUpdate.getUpdateDate())
-                        .confirmationDate(lockDate)
-                        .build();
-                
-                try {
-                    businessRuleEngine.validate(102, lockContext);
-                } catch (BusinessRuleException e) {
-                    logger.warn("Update blocked for locked date {}: Rule {} - {}", 
-                        dayUpdate.getUpdateDate(), e.getRuleNumber(), e.getMessage());
-                    throw new BusinessRuleException(102, 
-                        "Cannot update date " + dayUpdate.getUpdateDate() + " - date is locked by confirmation. " + e.getMessage());
-                }
-            }
+        // Existing updates covering the grid, loaded in one query (same rows the dry-run sees)
+        Map<LocalDate, TaskUpdate> existingUpdates = loadExistingUpdates(bulkDTO);
 
-            // Get existing update if any
-            TaskUpdate existingUpdate = taskUpdateRepository.findByTaskIdAndUpdateDate(
-                bulkDTO.getTaskId(), dayUpdate.getUpdateDate()).orElse(null);
+        for (TaskUpdateBulkDTO.DayWiseUpdateDTO dayUpdate : bulkDTO.getUpdates()) {
+            DayWiseRow row = checkDayWiseRow(task, lockDate, userId, dayUpdate, lockPlan, updatePlan,
+                existingUpdates::get);
+            violations.addAll(row.violations());
+            rows.add(row);
+        }
 
-            // Calculate daily update qty
-            BigDecimal dailyUpdateQty = BigDecimal.ZERO;
-            if (existingUpdate != null) {
-                dailyUpdateQty = dayUpdate.getActualQty().subtract(existingUpdate.getActualQty());
-            } else {
-                dailyUpdateQty = dayUpdate.getActualQty();
-            }
+        if (!violations.isEmpty()) {
+            throw new BusinessRuleException(violations);
+        }
 
-            // Build context for business rule validation
-            BusinessRuleContext context = BusinessRuleContext.builder()
-                    .tenantId(tenantId)
-                    .userId(userId)
-                    .entityType("TASK_UPDATE")
-                    .entityId(bulkDTO.getTaskId())
-                    .updateDate(dayUpdate.getUpdateDate())
-                    .plannedQty(dayUpdate.getPlanQty() != null ? dayUpdate.getPlanQty() : task.getPlannedQty())
-                    .actualQty(dayUpdate.getActualQty())
-                    .dailyUpdateQty(dailyUpdateQty)
-                    .taskStartDate(task.getStartDate())
-                    .taskEndDate(task.getEndDate())
-                    .lockDate(lockDate)
-                    .isConfirmed(task.getIsConfirmed())
-                    .build();
+        // Phase 2: all rows are valid, save them
+        List<TaskUpdateDTO> results = new ArrayList<>();
 
-            // Validate business rules
-            try {
-                businessRuleEngine.validateAll(Arrays.asList(101, 201, 401), context);
-            } catch (BusinessRuleException e) {
-                logger.warn("Business rule violation for date {}: Rule {} - {}", 
-                    dayUpdate.getUpdateDate(), e.getRuleNumber(), e.getMessage());
-                throw e;
-            }
+        for (DayWiseRow row : rows) {
+            TaskUpdateBulkDTO.DayWiseUpdateDTO dayUpdate = row.dayUpdate();
+            TaskUpdate existingUpdate = row.existingUpdate();
 
             // Save or update
             TaskUpdate entity = existingUpdate != null ? existingUpdate : new TaskUpdate();
@@ -414,7 +525,7 @@ public class TaskUpdateService {
             entity.setUpdateDate(dayUpdate.getUpdateDate());
             entity.setPlannedQty(dayUpdate.getPlanQty() != null ? dayUpdate.getPlanQty() : task.getPlannedQty());
             entity.setActualQty(dayUpdate.getActualQty());
-            entity.setDailyUpdateQty(dailyUpdateQty);
+            entity.setDailyUpdateQty(row.dailyUpdateQty());
             entity.setRemarks(dayUpdate.getRemarks());
             entity.setActivateFlag(true);
             entity.setUpdatedBy(userId);
@@ -438,12 +549,161 @@ public class TaskUpdateService {
         BigDecimal totalActualQty = taskUpdateRepository.getTotalActualQtyByTaskId(bulkDTO.getTaskId());
         task.setActualQty(totalActualQty);
         taskRepository.save(task);
+        progressFactService.taskChanged(task.getTaskId());
 
         logger.info("Bulk saved {} day-wise updates for task {} for tenant {}", 
             results.size(), bulkDTO.getTaskId(), tenantId);
         return results;
     }
 
+    /**
+     * Dry-run validation of a day-wise grid: runs the same checks as saveOrUpdateDayWise
+     * (date range, Rule 102 lock, Rules 101, 201, 401) and reports pass/fail per row.
+     * Nothing is written.
+     * 
+     * Task, confirmation lock and existing updates are loaded once up front, so the
+     * number of queries does not grow with the size of the grid.
+     * 
+     * @param bulkDTO Bulk update DTO containing task ID and list of day-wise updates
+     * @return Per-row validation result, in request order
+     */
+    @Transactional(readOnly = true)
+    public BulkValidationResultDTO validateDayWise(TaskUpdateBulkDTO bulkDTO) {
+        Long tenantId = TenantContext.getTenantId();
+        Long userId = getCurrentUserId();
+
+        Task task = taskRepository.findById(bulkDTO.getTaskId())
+                .orElseThrow(() -> new NotFoundException("Task not found"));
+        
+        if (!task.getTenant().getId().equals(tenantId)) {
+            throw new NotFoundException("Task not found");
+        }
+
+        // Effective confirmation lock (task, its WBS and ancestor WBS)
+        LocalDate lockDate = confirmationLockResolver.getLockDate(task);
+
+        // Preload existing updates covering the grid in one query
+        Map<LocalDate, TaskUpdate> existingUpdates = loadExistingUpdates(bulkDTO);
+
+        BusinessRulePlan lockPlan = businessRuleEngine.compile(List.of(102));
+        BusinessRulePlan updatePlan = businessRuleEngine.compile(List.of(101, 201, 401));
+
+        BulkValidationResultDTO result = new BulkValidationResultDTO();
+        for (TaskUpdateBulkDTO.DayWiseUpdateDTO dayUpdate : bulkDTO.getUpdates()) {
+            DayWiseRow row = checkDayWiseRow(task, lockDate, userId, dayUpdate, lockPlan, updatePlan,
+                existingUpdates::get);
+            result.addRow(dayUpdate.getUpdateDate(), row.violations());
+        }
+
+        logger.debug("Dry-run validated {} day-wise updates for task {} for tenant {}: {} invalid",
+            result.getRowCount(), bulkDTO.getTaskId(), tenantId, result.getInvalidRowCount());
+        return result;
+    }
+
+    /**
+     * Load the task's existing updates (active or not, as the unique key covers both) between
+     * the first and last date of a grid, keyed by date. Shared by the save and dry-run paths.
+     */
+    private Map<LocalDate, TaskUpdate> loadExistingUpdates(TaskUpdateBulkDTO bulkDTO) {
+        Map<LocalDate, TaskUpdate> existingUpdates = new HashMap<>();
+        LocalDate fromDate = bulkDTO.getUpdates().stream().map(TaskUpdateBulkDTO.DayWiseUpdateDTO::getUpdateDate)
+                .min(LocalDate::compareTo).orElse(null);
+        LocalDate toDate = bulkDTO.getUpdates().stream().map(TaskUpdateBulkDTO.DayWiseUpdateDTO::getUpdateDate)
+                .max(LocalDate::compareTo).orElse(null);
+        if (fromDate != null) {
+            for (TaskUpdate update : taskUpdateRepository.findByTaskIdAndDateRange(
+                    bulkDTO.getTaskId(), fromDate, toDate, false)) {
+                existingUpdates.put(update.getUpdateDate(), update);
+            }
+        }
+        return existingUpdates;
+    }
+
+    /**
+     * Validate one day-wise row against the task date range, the confirmation lock and
+     * the compiled update rules. Shared by the save and dry-run paths.
+     * 
+     * @param existingLookup Resolves the existing update for a date (null if none);
+     *                       only called once the date and lock checks have passed
+     */
+    private DayWiseRow checkDayWiseRow(Task task, LocalDate lockDate, Long userId,
+                                       TaskUpdateBulkDTO.DayWiseUpdateDTO dayUpdate,
+                                       BusinessRulePlan lockPlan, BusinessRulePlan updatePlan,
+                                       Function<LocalDate, TaskUpdate> existingLookup) {
+        Long tenantId = TenantContext.getTenantId();
+        BusinessRuleContext dateContext = BusinessRuleContext.builder()
+                .tenantId(tenantId)
+                .entityType("TASK_UPDATE")
+                .entityId(task.getTaskId())
+                .updateDate(dayUpdate.getUpdateDate())
+                .build();
+
+        // Validate update date is within task range
+        if (task.getStartDate() != null && dayUpdate.getUpdateDate().isBefore(task.getStartDate())) {
+            return DayWiseRow.rejected(dayUpdate, new BusinessRuleViolation(null,
+                "Update date " + dayUpdate.getUpdateDate() + " is before task start date " + task.getStartDate(),
+                null, dateContext));
+        }
+        if (task.getEndDate() != null && dayUpdate.getUpdateDate().isAfter(task.getEndDate())) {
+            return DayWiseRow.rejected(dayUpdate, new BusinessRuleViolation(null,
+                "Update date " + dayUpdate.getUpdateDate() + " is after task end date " + task.getEndDate(),
+                null, dateContext));
+        }
+
+        // Check if date is locked
+        if (lockDate != null && !dayUpdate.getUpdateDate().isAfter(lockDate)) {
+            // Check Rule 102: BACKDATE_ALLOWED_AFTER_LOCK
+            BusinessRuleContext lockContext = BusinessRuleContext.builder()
+                    .tenantId(tenantId)
+                    .userId(userId)
+                    .entityType("TASK_UPDATE")
+                    .entityId(task.getTaskId())
+                    .updateDate(dayUpdate.getUpdateDate())
+                    .confirmationDate(lockDate)
+                    .build();
+
+            List<BusinessRuleViolation> lockViolations = lockPlan.collect(lockContext);
+            if (!lockViolations.isEmpty()) {
+                BusinessRuleViolation lockViolation = lockViolations.get(0);
+                return DayWiseRow.rejected(dayUpdate, new BusinessRuleViolation(102,
+                    "Cannot update date " + dayUpdate.getUpdateDate() + " - date is locked by confirmation. " + lockViolation.getMessage(),
+                    lockViolation.getHint(), lockContext));
+            }
+        }
+
+        // Get existing update if any
+        TaskUpdate existingUpdate = existingLookup.apply(dayUpdate.getUpdateDate());
+
+        // Calculate daily update qty
+        BigDecimal dailyUpdateQty;
+        if (existingUpdate != null) {
+            dailyUpdateQty = dayUpdate.getActualQty().subtract(existingUpdate.getActualQty());
+        } else {
+            dailyUpdateQty = dayUpdate.getActualQty();
+        }
+
+        // Build context for business rule validation
+        BusinessRuleContext context = BusinessRuleContext.builder()
+                .tenantId(tenantId)
+                .userId(userId)
+                .entityType("TASK_UPDATE")
+                .entityId(task.getTaskId())
+                .updateDate(dayUpdate.getUpdateDate())
+                .plannedQty(dayUpdate.getPlanQty() != null ? dayUpdate.getPlanQty() : task.getPlannedQty())
+                .actualQty(dayUpdate.getActualQty())
+                .dailyUpdateQty(dailyUpdateQty)
+                .taskStartDate(task.getStartDate())
+                .taskEndDate(task.getEndDate())
+                .lockDate(lockDate)
+                .isConfirmed(task.getIsConfirmed())
+                .build();
+
+        // Validate business rules (violations are logged by the plan and, on save, once by GlobalExceptionHandler)
+        List<BusinessRuleViolation> rowViolations = updatePlan.collect(context);
+
+        return new DayWiseRow(dayUpdate, existingUpdate, dailyUpdateQty, rowViolations);
+    }
+
     /**
      * Delete a task update.
      * Only allowed if no confirmation lock covers update_date and backdate rules permit.
@@ -464,11 +724,8 @@ public class TaskUpdateService {
 
         Task task = update.getTask();
 
-        // Check confirmation lock
-        Confirmation wbsConfirmation = task.getWbs() != null 
-            ? confirmationRepository.findByEntityTypeAndEntityId("WBS", task.getWbs().getWbsId()).orElse(null)
-            : null;
-        LocalDate lockDate = wbsConfirmation != null ? wbsConfirmation.getConfirmationDate() : null;
+        // Effective confirmation lock (task, its WBS and ancestor WBS)
+        LocalDate lockDate = confirmationLockResolver.getLockDate(task);
 
         if (lockDate != null && !update.getUpdateDate().isAfter(lockDate)) {
             // Check Rule 102: BACKDATE_ALLOWED_AFTER_LOCK
@@ -518,6 +775,7 @@ public class TaskUpdateService {
         BigDecimal totalActualQty = taskUpdateRepository.getTotalActualQtyByTaskId(task.getTaskId());
         task.setActualQty(totalActualQty);
         taskRepository.save(task);
+        progressFactService.taskChanged(task.getTaskId());
 
         logger.info("Deleted task update {} for task {} on date {} for tenant {}", 
             updateId, task.getTaskId(), update.getUpdateDate(), tenantId);
@@ -579,5 +837,15 @@ public class TaskUpdateService {
 
         return result;
     }
-}
 
+    /**
+     * A checked day-wise row and its violations; saved only if the whole grid is valid.
+     */
+    private record DayWiseRow(TaskUpdateBulkDTO.DayWiseUpdateDTO dayUpdate, TaskUpdate existingUpdate,
+                              BigDecimal dailyUpdateQty, List<BusinessRuleViolation> violations) {
+
+        static DayWiseRow rejected(TaskUpdateBulkDTO.DayWiseUpdateDTO dayUpdate, BusinessRuleViolation violation) {
+            return new DayWiseRow(dayUpdate, null, null, List.of(violation));
+        }
+    }
+}
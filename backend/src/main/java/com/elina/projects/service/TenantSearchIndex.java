@@ -0,0 +1,285 @@
+package com.elina.projects.service;
+
+import com.elina.projects.entity.SearchNames;
+import com.elina.projects.repository.SearchIndexRepository.SearchDocument;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Inverted index of the tasks, WBS and projects of one tenant (see SearchIndexService).
+ *
+ * Codes and names are normalized (SearchNames) and split into words on non-alphanumeric
+ * characters; every prefix of a word up to MAX_PREFIX characters is a token. A query matches
+ * an entry when each query word is a prefix of one of its words, so "wbs-0" finds "WBS-001"
+ * and "conc pour" finds "Pour concrete". Candidates come from the smallest posting of the
+ * query words (longer words are looked up by their first MAX_PREFIX characters) and are then
+ * verified against all query words.
+ *
+ * Ranking: exact code, then code prefix, then name prefix, then any word prefix; ties go to
+ * the shorter code, then code order.
+ *
+ * Entries applied from change events while the index is being loaded take precedence over
+ * the loaded rows, which may have been read before the change was committed.
+ */
+class TenantSearchIndex {
+
+    static final int MAX_PREFIX = 12;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Entry>> postings = new HashMap<>();
+    private final Set<String> touched = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long builtAt = System.currentTimeMillis();
+    private volatile long lastAccess = builtAt;
+
+    // Identity equality: postings hold the exact Entry instances that are indexed
+    private static final class Entry {
+        private final SearchDocument document;
+        private final String code;
+        private final String name;
+        private final List<String> words;
+
+        private Entry(SearchDocument document, String code, String name, List<String> words) {
+            this.document = document;
+            this.code = code;
+            this.name = name;
+            this.words = words;
+        }
+
+        SearchDocument document() {
+            return document;
+        }
+
+        String code() {
+            return code;
+        }
+
+        String name() {
+            return name;
+        }
+
+        List<String> words() {
+            return words;
+        }
+    }
+
+    private record Match(Entry entry, int rank) {
+    }
+
+    private static final Comparator<Match> BEST_FIRST = Comparator
+            .comparingInt(Match::rank)
+            .thenComparingInt((Match m) -> m.entry().code().length())
+            .thenComparing((Match m) -> m.entry().code());
+
+    /**
+     * Add or replace an entry from a change event.
+     */
+    void apply(SearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            touched.add(key(document.entityType(), document.entityId()));
+            put(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an entry from a change event (deleted or deactivated).
+     */
+    void remove(String entityType, Long entityId) {
+        lock.writeLock().lock();
+        try {
+            String key = key(entityType, entityId);
+            touched.add(key);
+            unindex(entries.remove(key));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Bulk load rows read from the database, skipping entries already set by change events.
+     */
+    void load(List<SearchDocument> documents) {
+        lock.writeLock().lock();
+        try {
+            for (SearchDocument document : documents) {
+                if (!touched.contains(key(document.entityType(), document.entityId()))) {
+                    put(document);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best matches for a query, restricted to the given entity types (all when empty).
+     */
+    List<SearchDocument> search(String query, Set<String> entityTypes, Predicate<SearchDocument> filter, int limit) {
+        lastAccess = System.currentTimeMillis();
+        String normalized = SearchNames.normalize(query);
+        List<String> terms = normalized != null ? words(normalized) : List.of();
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // Copy the matching entries under the lock; the filter may query the database
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<Entry> candidates = null;
+            for (String term : terms) {
+                Set<Entry> posting = postings.get(token(term));
+                if (posting == null) {
+                    return List.of();
+                }
+                if (candidates == null || posting.size() < candidates.size()) {
+                    candidates = posting;
+                }
+            }
+
+            for (Entry entry : candidates) {
+                if ((entityTypes.isEmpty() || entityTypes.contains(entry.document().entityType()))
+                        && matchesAll(entry, terms)) {
+                    matches.add(new Match(entry, rank(entry, normalized)));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Filter best first, so it only runs until `limit` matches pass
+        matches.sort(BEST_FIRST);
+        List<SearchDocument> results = new ArrayList<>();
+        for (Match match : matches) {
+            if (results.size() == limit) {
+                break;
+            }
+            if (filter.test(match.entry().document())) {
+                results.add(match.entry().document());
+            }
+        }
+        return results;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long getBuiltAt() {
+        return builtAt;
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * Rank of an entry for the whole normalized query; lower is better.
+     */
+    static int rank(SearchDocument document, String query) {
+        String normalized = SearchNames.normalize(query);
+        return normalized == null ? 3 : rank(toEntry(document), normalized);
+    }
+
+    private static int rank(Entry entry, String query) {
+        if (entry.code().equals(query)) {
+            return 0;
+        }
+        if (entry.code().startsWith(query)) {
+            return 1;
+        }
+        if (entry.name().startsWith(query)) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private void put(SearchDocument document) {
+        String key = key(document.entityType(), document.entityId());
+        unindex(entries.get(key));
+        Entry entry = toEntry(document);
+        entries.put(key, entry);
+        for (String token : tokens(entry)) {
+            postings.computeIfAbsent(token, t -> new HashSet<>()).add(entry);
+        }
+    }
+
+    private void unindex(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        for (String token : tokens(entry)) {
+            Set<Entry> posting = postings.get(token);
+            if (posting != null) {
+                posting.remove(entry);
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    private static Entry toEntry(SearchDocument document) {
+        String code = SearchNames.normalize(document.code());
+        String name = SearchNames.normalize(document.name());
+        code = code != null ? code : "";
+        name = name != null ? name : "";
+        List<String> words = new ArrayList<>(words(code));
+        words.addAll(words(name));
+        return new Entry(document, code, name, words);
+    }
+
+    private static Set<String> tokens(Entry entry) {
+        Set<String> tokens = new HashSet<>();
+        for (String word : entry.words()) {
+            for (int length = 1; length <= Math.min(word.length(), MAX_PREFIX); length++) {
+                tokens.add(word.substring(0, length));
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean matchesAll(Entry entry, List<String> terms) {
+        for (String term : terms) {
+            if (entry.words().stream().noneMatch(word -> word.startsWith(term))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> words(String normalized) {
+        List<String> words = new ArrayList<>();
+        for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static String token(String term) {
+        return term.length() > MAX_PREFIX ? term.substring(0, MAX_PREFIX) : term;
+    }
+
+    private static String key(String entityType, Long entityId) {
+        return entityType + ":" + entityId;
+    }
+}
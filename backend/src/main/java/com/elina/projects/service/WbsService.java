@@ -1,6 +1,7 @@
 package com.elina.projects.service;
 
 import com.elina.authorization.context.TenantContext;
+import com.elina.authorization.dto.ResourceVersion;
 import com.elina.authorization.entity.Tenant;
 import com.elina.authorization.repository.TenantRepository;
 import com.elina.authorization.rule.BusinessRuleContext;
@@ -21,6 +22,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +35,9 @@ import java.util.stream.Collectors;
  * Tenant enforcement: All operations automatically filter by tenant_id from TenantContext.
  * WBS are tenant-specific and support hierarchical structure.
  * 
+ * Hierarchy: the materialized path of each WBS (see Wbs) is set on create and rewritten for
+ * the whole subtree on move, so subtree and ancestor reads are single queries.
+ * 
  * Business rules validated:
  * - Rule 202: WBS_DATE_RANGE_VALIDATION - WBS end_date cannot be before start_date
  * - Rule 301: CONFIRMATION_CANNOT_BE_OVERWRITTEN - Confirmed WBS cannot be modified
@@ -140,6 +146,32 @@ public class WbsService {
         }
     }
 
+    /**
+     * Version of the WBS hierarchy of a project as seen by the current user: the project's WBS
+     * rows plus the user's work/cost center authorizations, which filter the tree.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getWbsHierarchyVersion(Long projectId) {
+        Long userId = getCurrentUserId();
+        return wbsRepository.findVersionByProjectId(projectId).and(authorizationScope(userId));
+    }
+
+    /**
+     * The user's allowed authorizations, in a stable order.
+     */
+    private String authorizationScope(Long userId) {
+        try {
+            return userId + ":" + userAuthorizationService.findByUserId(userId).stream()
+                .filter(ua -> ua.getIsAllowed() != null && ua.getIsAllowed())
+                .map(ua -> ua.getResourceType() + "=" + ua.getResourceId())
+                .sorted()
+                .collect(Collectors.joining(","));
+        } catch (Exception e) {
+            // isUserAuthorized treats this as "no authorizations" as well
+            return userId + ":-";
+        }
+    }
+
     /**
      * Get WBS hierarchy for a project (with authorization filtering).
      */
@@ -156,32 +188,88 @@ public class WbsService {
             throw new NotFoundException("Project not found");
         }
 
-        // Get root WBS
-        List<Wbs> rootWbs = wbsRepository.findRootWbsByProjectId(projectId, true);
-        
+        // Load the whole project once and assemble the tree in memory
+        List<WbsDTO> wbsList = wbsRepository.findDTOsByProjectId(projectId, true);
+        Map<Long, List<WbsDTO>> childrenByParent = new HashMap<>();
+        List<WbsDTO> rootWbs = new ArrayList<>();
+        for (WbsDTO wbs : wbsList) {
+            if (wbs.getParentWbsId() == null) {
+                rootWbs.add(wbs);
+            } else {
+                childrenByParent.computeIfAbsent(wbs.getParentWbsId(), k -> new ArrayList<>()).add(wbs);
+            }
+        }
+        rootWbs.sort(Comparator.comparing(WbsDTO::getWbsCode));
+
         // Filter by authorization and build hierarchy
         return rootWbs.stream()
                 .filter(wbs -> isUserAuthorized(userId, wbs.getWorkCenter(), wbs.getCostCenter()))
-                .map(wbs -> buildWbsHierarchy(wbs, userId))
+                .map(wbs -> buildWbsHierarchy(wbs, childrenByParent, userId))
                 .collect(Collectors.toList());
     }
 
     /**
-     * Build WBS hierarchy recursively.
+     * Build WBS hierarchy recursively from the preloaded children.
      */
-    private WbsDTO buildWbsHierarchy(Wbs wbs, Long userId) {
-        WbsDTO dto = toDTO(wbs);
-        
-        List<Wbs> children = wbsRepository.findByParentWbsId(wbs.getWbsId(), true);
+    private WbsDTO buildWbsHierarchy(WbsDTO dto, Map<Long, List<WbsDTO>> childrenByParent, Long userId) {
+        List<WbsDTO> children = childrenByParent.getOrDefault(dto.getWbsId(), List.of());
         List<WbsDTO> childDtos = children.stream()
                 .filter(child -> isUserAuthorized(userId, child.getWorkCenter(), child.getCostCenter()))
-                .map(child -> buildWbsHierarchy(child, userId))
+                .map(child -> buildWbsHierarchy(child, childrenByParent, userId))
                 .collect(Collectors.toList());
         
         dto.setChildren(childDtos);
         return dto;
     }
 
+    /**
+     * Get a WBS and all its descendants (flat, parents before children) in one query.
+     */
+    @Transactional(readOnly = true)
+    public List<WbsDTO> getWbsSubtree(Long id) {
+        Long userId = getCurrentUserId();
+        Wbs entity = findAuthorizedWbs(id, userId);
+
+        String path = entity.resolvePath();
+        return wbsRepository.findDTOSubtree(path, true).stream()
+                .filter(wbs -> isUserAuthorized(userId, wbs.getWorkCenter(), wbs.getCostCenter()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the ancestors of a WBS, root first, in one query.
+     * Ancestors the user is not authorized for are left out, as in the hierarchy and subtree.
+     */
+    @Transactional(readOnly = true)
+    public List<WbsDTO> getWbsAncestors(Long id) {
+        Long userId = getCurrentUserId();
+        Wbs entity = findAuthorizedWbs(id, userId);
+
+        List<Long> ancestorIds = entity.getPathIds();
+        ancestorIds.remove(ancestorIds.size() - 1);
+        if (ancestorIds.isEmpty()) {
+            return List.of();
+        }
+        return wbsRepository.findByWbsIdsOrderByLevel(ancestorIds).stream()
+                .filter(wbs -> isUserAuthorized(userId, wbs.getWorkCenter(), wbs.getCostCenter()))
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Load a WBS of the current tenant the user is authorized for.
+     */
+    private Wbs findAuthorizedWbs(Long id, Long userId) {
+        Wbs entity = wbsRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("WBS not found"));
+
+        if (!entity.getTenant().getId().equals(TenantContext.getTenantId())
+                || !isUserAuthorized(userId, entity.getWorkCenter(), entity.getCostCenter())) {
+            throw new NotFoundException("WBS not found"); // Don't reveal existence
+        }
+        return entity;
+    }
+
     /**
      * Get all WBS for a project.
      */
@@ -196,8 +284,7 @@ public class WbsService {
             throw new NotFoundException("Project not found");
         }
 
-        List<Wbs> wbsList = wbsRepository.findByProjectId(projectId, true);
-        return wbsList.stream().map(this::toDTO).collect(Collectors.toList());
+        return wbsRepository.findDTOsByProjectId(projectId, true);
     }
 
     /**
@@ -317,6 +404,8 @@ public class WbsService {
         entity.setUpdatedBy(userId);
 
         Wbs saved = wbsRepository.save(entity);
+        // The path ends with the generated id, so it is set once the row exists
+        saved.setPath(Wbs.childPath(saved.getParentWbs(), saved.getWbsId()));
         
         // Write audit log
         Map<String, Object> newData = new HashMap<>();
@@ -478,15 +567,32 @@ public class WbsService {
             if (!newParent.getTenant().getId().equals(tenantId)) {
                 throw new NotFoundException("Parent WBS not found");
             }
+
+            // A WBS cannot be moved below itself or one of its descendants
+            if (newParent.getPathIds().contains(id)) {
+                throw new RuntimeException("Cannot move WBS " + entity.getWbsCode() + " below itself or one of its descendants");
+            }
         }
 
         // Prepare old data for audit
         Map<String, Object> oldData = new HashMap<>();
         oldData.put("parentWbsId", entity.getParentWbs() != null ? entity.getParentWbs().getWbsId() : null);
 
+        String oldPath = entity.getPath();
+        int oldLevel = entity.getLevel();
+
         entity.setParentWbs(newParent);
+        entity.setPath(Wbs.childPath(newParent, id));
+        entity.setLevel(newParent != null ? newParent.getLevel() + 1 : 1);
 
         Wbs saved = wbsRepository.save(entity);
+
+        // Re-root the whole subtree in one statement
+        if (oldPath != null) {
+            int moved = wbsRepository.moveDescendantPaths(oldPath, saved.getPath(), oldPath.length() + 1,
+                saved.getLevel() - oldLevel);
+            logger.debug("Re-rooted {} descendant WBS of {}", moved, saved.getWbsCode());
+        }
         
         // Write audit log
         Map<String, Object> newData = new HashMap<>();
@@ -0,0 +1,253 @@
+package com.elina.authorization.config;
+
+import com.elina.authorization.context.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NearCacheManager / NearCache.
+ * Uses an in-memory cache manager as the shared (Redis) level.
+ */
+@ExtendWith(MockitoExtension.class)
+class NearCacheManagerTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private ConcurrentMapCacheManager sharedCacheManager;
+    private NearCacheManager nearCacheManager;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        sharedCacheManager = new ConcurrentMapCacheManager();
+        meterRegistry = new SimpleMeterRegistry();
+        nearCacheManager = new NearCacheManager(sharedCacheManager, redisTemplate, 100, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @Test
+    void testGet_ServesFromLocalAfterFirstSharedHit() {
+        Cache shared = sharedCacheManager.getCache("masterCodes");
+        shared.put("master_codes:1:WORK_CENTER:active", "value");
+        Cache cache = nearCacheManager.getCache("masterCodes");
+
+        assertEquals("value", cache.get("master_codes:1:WORK_CENTER:active").get());
+
+        // Local level still answers when the shared level changes underneath
+        shared.evict("master_codes:1:WORK_CENTER:active");
+        assertEquals("value", cache.get("master_codes:1:WORK_CENTER:active").get());
+    }
+
+    @Test
+    void testGet_CountsLocalSharedAndMiss() {
+        sharedCacheManager.getCache("masterCodes").put("key", "value");
+        Cache cache = nearCacheManager.getCache("masterCodes");
+
+        cache.get("key");     // shared
+        cache.get("key");     // local
+        cache.get("missing"); // miss
+
+        assertEquals(1.0, gets("shared"));
+        assertEquals(1.0, gets("local"));
+        assertEquals(1.0, gets("miss"));
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.near.gets").tag("cache", "masterCodes").tag("result", result).counter().count();
+    }
+
+    @Test
+    void testGet_CountsPerTenantWithCountersRegisteredOnce() {
+        Cache cache = nearCacheManager.getCache("masterCodes");
+        try {
+            TenantContext.setTenantId(1L);
+            cache.get("missing");
+            cache.get("missing");
+            TenantContext.setTenantId(2L);
+            cache.get("missing");
+        } finally {
+            TenantContext.clear();
+        }
+
+        assertEquals(2.0, meterRegistry.get("cache.near.gets").tag("result", "miss").tag("tenant", "1").counter().count());
+        assertEquals(1.0, meterRegistry.get("cache.near.gets").tag("result", "miss").tag("tenant", "2").counter().count());
+        // local, shared and miss counters for each of the two tenants
+        assertEquals(6, meterRegistry.find("cache.near.gets").counters().size());
+    }
+
+    @Test
+    void testEvict_ClearsBothLevelsAndPublishes() {
+        Cache cache = nearCacheManager.getCache("masterCodes");
+        cache.put("key", "value");
+
+        cache.evict("key");
+
+        assertNull(cache.get("key"));
+        assertNull(sharedCacheManager.getCache("masterCodes").get("key"));
+        verify(redisTemplate).convertAndSend(eq(NearCacheManager.INVALIDATION_CHANNEL), contains("|masterCodes|key"));
+    }
+
+    @Test
+    void testOnMessage_RemoteEvictDropsLocalEntry() {
+        Cache cache = nearCacheManager.getCache("masterCodes");
+        cache.put("key", "value");
+        sharedCacheManager.getCache("masterCodes").evict("key");
+
+        nearCacheManager.onMessage(new DefaultMessage(
+            NearCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+            "other-node|masterCodes|key".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    void testOnMessage_RemoteClearDropsAllLocalEntries() {
+        Cache cache = nearCacheManager.getCache("masterCodes");
+        cache.put("key1", "value1");
+        cache.put("key2", "value2");
+        sharedCacheManager.getCache("masterCodes").clear();
+
+        nearCacheManager.onMessage(new DefaultMessage(
+            NearCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+            "other-node|masterCodes|*".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertNull(cache.get("key1"));
+        assertNull(cache.get("key2"));
+    }
+
+    @Test
+    void testEvict_PublishFailureDoesNotPropagate() {
+        doThrow(new RuntimeException("Redis down")).when(redisTemplate).convertAndSend(anyString(), anyString());
+        Cache cache = nearCacheManager.getCache("masterCodes");
+        cache.put("key", "value");
+
+        assertDoesNotThrow(() -> cache.evict("key"));
+        assertNull(cache.get("key"));
+    }
+
+    @Test
+    void testEvictByPrefix_EvictsMatchingKeysAndPublishes() {
+        Cache cache = nearCacheManager.getCache("masterCodes");
+        cache.put("master_codes:1:WORK_CENTER:active", "a");
+        cache.put("master_codes:1:COST_CENTER:active", "b");
+
+        CacheEvictionSupport.evictByPrefix(cache, "master_codes:1:WORK_CENTER:");
+
+        assertNull(cache.get("master_codes:1:WORK_CENTER:active"));
+        assertNull(sharedCacheManager.getCache("masterCodes").get("master_codes:1:WORK_CENTER:active"));
+        assertNotNull(cache.get("master_codes:1:COST_CENTER:active"));
+        verify(redisTemplate).convertAndSend(eq(NearCacheManager.INVALIDATION_CHANNEL),
+            endsWith("|masterCodes|master_codes:1:WORK_CENTER:*"));
+    }
+
+    @Test
+    void testOnMessage_RemotePrefixEvictDropsMatchingLocalEntries() {
+        Cache cache = nearCacheManager.getCache("masterCodes");
+        cache.put("master_codes:1:WORK_CENTER:active", "a");
+        cache.put("master_codes:2:WORK_CENTER:active", "b");
+        sharedCacheManager.getCache("masterCodes").clear();
+
+        nearCacheManager.onMessage(new DefaultMessage(
+            NearCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+            "other-node|masterCodes|master_codes:1:*".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertNull(cache.get("master_codes:1:WORK_CENTER:active"));
+        assertEquals("b", cache.get("master_codes:2:WORK_CENTER:active").get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGet_ReturnsCopiesOfMutableValues() {
+        Cache cache = nearCacheManager.getCache("masterCodes");
+        cache.put("key", new ArrayList<>(List.of("a")));
+
+        List<String> first = (List<String>) cache.get("key").get();
+        first.add("b");
+
+        assertEquals(List.of("a"), cache.get("key").get());
+        assertNotSame(first, cache.get("key").get());
+    }
+
+    @Test
+    void testGet_DoesNotStoreValueInvalidatedDuringSharedRead() {
+        CacheManager staleSharedManager = mock(CacheManager.class);
+        Cache staleShared = mock(Cache.class);
+        when(staleSharedManager.getCache("masterCodes")).thenReturn(staleShared);
+        when(staleShared.getName()).thenReturn("masterCodes");
+        NearCacheManager manager = new NearCacheManager(staleSharedManager, redisTemplate, 100,
+            Duration.ofMinutes(1), meterRegistry);
+        Cache cache = manager.getCache("masterCodes");
+
+        // Another node invalidates the key while this node is reading the old value
+        when(staleShared.get("key")).thenAnswer(invocation -> {
+            manager.onMessage(new DefaultMessage(
+                NearCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "other-node|masterCodes|key".getBytes(StandardCharsets.UTF_8)), null);
+            return new SimpleValueWrapper("stale");
+        });
+
+        assertEquals("stale", cache.get("key").get());
+        cache.get("key");
+
+        // Not served from the local level: the second read went to the shared level again
+        verify(staleShared, times(2)).get("key");
+    }
+
+    @Test
+    void testGetWithLoader_CoalescesConcurrentMisses() throws Exception {
+        Cache cache = nearCacheManager.getCache("masterCodes");
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = executor.submit(() -> cache.get("key", () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                releaseLoader.await(5, TimeUnit.SECONDS);
+                return "value";
+            }));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+            Future<String> second = executor.submit(() -> cache.get("key", () -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+            Thread.sleep(50);
+            releaseLoader.countDown();
+
+            assertEquals("value", first.get(5, TimeUnit.SECONDS));
+            assertEquals("value", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+            assertEquals("value", sharedCacheManager.getCache("masterCodes").get("key").get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.elina.authorization.config;
+
+import com.elina.authorization.context.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReplicaRoutingDataSource.
+ *
+ * Tests cover:
+ * - Read-write and non-transactional access use the primary, read-only transactions the replica
+ * - Read-your-writes: a user's reads use the primary after a committed write, other users' do not
+ * - Fallback to the primary when the replica fails, and recovery through the health check
+ * - Connections with explicit credentials taken from the primary
+ * - Cache loads on the primary; no second-level cache puts from sessions on the replica
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new ReplicaRoutingDataSource(primary, replica, Duration.ofMinutes(1), 100, 1, meterRegistry);
+        TenantContext.setTenantId(1L);
+        login(10L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+        TransactionSynchronizationManager.unbindResourceIfPossible(this);
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    private void login(Long userId) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+    }
+
+    private Connection connectionInTransaction(boolean readOnly) throws SQLException {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        return dataSource.getConnection();
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("datasource.routing").tags("target", target, "reason", reason).counter().count();
+    }
+
+    @Test
+    void testRouting_ReadOnlyTransactionUsesReplica() throws SQLException {
+        assertSame(replicaConnection, connectionInTransaction(true));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertSame(primaryConnection, connectionInTransaction(false));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(1.0, routed(ReplicaRoutingDataSource.REPLICA, ReplicaRoutingDataSource.REASON_READ_ONLY));
+        assertEquals(2.0, routed(ReplicaRoutingDataSource.PRIMARY, ReplicaRoutingDataSource.REASON_READ_WRITE));
+        // One counter per reason, reused across checkouts
+        assertEquals(2, meterRegistry.find("datasource.routing").counters().size());
+    }
+
+    @Test
+    void testReadYourWrites_RecentWriterReadsFromPrimary() throws SQLException {
+        connectionInTransaction(false);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertSame(primaryConnection, connectionInTransaction(true));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(1.0, routed(ReplicaRoutingDataSource.PRIMARY, ReplicaRoutingDataSource.REASON_READ_YOUR_WRITES));
+
+        login(11L);
+        assertSame(replicaConnection, connectionInTransaction(true));
+    }
+
+    @Test
+    void testReadYourWrites_RolledBackWriteIsNotTracked() throws SQLException {
+        connectionInTransaction(false);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertSame(replicaConnection, connectionInTransaction(true));
+    }
+
+    @Test
+    void testFallback_ReplicaFailureRoutesToPrimaryUntilHealthy() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertSame(primaryConnection, connectionInTransaction(true));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertFalse(dataSource.isReplicaHealthy());
+
+        assertSame(primaryConnection, connectionInTransaction(true));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(1.0, routed(ReplicaRoutingDataSource.PRIMARY, ReplicaRoutingDataSource.REASON_REPLICA_DOWN));
+
+        doReturn(replicaConnection).when(replica).getConnection();
+        when(replicaConnection.isValid(1)).thenReturn(true);
+        dataSource.checkReplicaHealth();
+
+        assertTrue(dataSource.isReplicaHealthy());
+        assertSame(replicaConnection, connectionInTransaction(true));
+    }
+
+    @Test
+    void testGetConnectionWithCredentials_UsesPrimary() throws SQLException {
+        Connection credentialConnection = mock(Connection.class);
+        when(primary.getConnection("report", "secret")).thenReturn(credentialConnection);
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(credentialConnection, dataSource.getConnection("report", "secret"));
+        verify(replica, never()).getConnection("report", "secret");
+    }
+
+    @Test
+    void testCacheLoad_PrimaryReadsInsideReplicaRoutedRequest() throws SQLException {
+        assertSame(replicaConnection, connectionInTransaction(true));
+        assertFalse(dataSource.readsFromPrimary());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        Connection loaded = dataSource.withPrimaryReads(() -> {
+            try {
+                return connectionInTransaction(true);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertSame(primaryConnection, loaded);
+        assertTrue(dataSource.readsFromPrimary());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertSame(replicaConnection, connectionInTransaction(true));
+        assertEquals(1.0, routed(ReplicaRoutingDataSource.PRIMARY, ReplicaRoutingDataSource.REASON_CACHE_LOAD));
+    }
+
+    @Test
+    void testReplicaRead_SessionDoesNotPutIntoSecondLevelCache() throws SQLException {
+        EntityManager entityManager = mock(EntityManager.class);
+        Session session = mock(Session.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.getCacheMode()).thenReturn(CacheMode.NORMAL);
+        when(session.isOpen()).thenReturn(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        TransactionSynchronizationManager.bindResource(this, new EntityManagerHolder(entityManager));
+        assertSame(replicaConnection, dataSource.getConnection());
+        verify(session).setCacheMode(CacheMode.GET);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        verify(session).setCacheMode(CacheMode.NORMAL);
+    }
+}
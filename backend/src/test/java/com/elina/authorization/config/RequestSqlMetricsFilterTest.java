@@ -0,0 +1,95 @@
+package com.elina.authorization.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RequestSqlMetricsFilter / SqlStatementCounter.
+ *
+ * Tests cover:
+ * - Statement and repeat counts recorded per endpoint and returned as headers
+ * - @SqlBudget violations (statements, repeated SELECT) fail the request
+ * - Requests within budget pass
+ */
+class RequestSqlMetricsFilterTest {
+
+    private static final String SELECT_TASK = "select t1_0.task_id from tasks t1_0 where t1_0.task_id=?";
+    private static final String INSERT_UPDATE = "insert into task_updates (task_id,update_date) values (?,?)";
+
+    private final SqlStatementCounter counter = new SqlStatementCounter();
+    private SimpleMeterRegistry meterRegistry;
+    private RequestSqlMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestSqlMetricsFilter(meterRegistry, 10, true, true);
+    }
+
+    static class BudgetedController {
+        @SqlBudget(value = 3, maxRepeats = 2)
+        public void list() {
+        }
+    }
+
+    private MockHttpServletRequest request() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/things/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/things/{id}");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+            new HandlerMethod(new BudgetedController(), BudgetedController.class.getMethod("list")));
+        return request;
+    }
+
+    private FilterChain chain(String... statements) {
+        return (req, res) -> {
+            for (String sql : statements) {
+                counter.inspect(sql);
+            }
+            res.getWriter().write("[]");
+        };
+    }
+
+    @Test
+    void testWithinBudget_RecordsMetricsAndHeaders() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, chain(SELECT_TASK, SELECT_TASK, INSERT_UPDATE));
+
+        assertEquals("3", response.getHeader(RequestSqlMetricsFilter.STATEMENTS_HEADER));
+        assertEquals("2", response.getHeader(RequestSqlMetricsFilter.MAX_REPEATS_HEADER));
+        assertEquals(3.0, meterRegistry.get(RequestSqlMetricsFilter.STATEMENTS_METRIC)
+            .tags("method", "GET", "uri", "/api/things/{id}").summary().totalAmount());
+        assertNull(SqlStatementCounter.current());
+    }
+
+    @Test
+    void testStatementBudgetExceeded_ShouldThrowException() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+            filter.doFilter(request(), response, chain(SELECT_TASK, INSERT_UPDATE, INSERT_UPDATE, INSERT_UPDATE)));
+
+        assertTrue(exception.getMessage().contains("4 statements, budget 3"));
+        assertEquals(1.0, meterRegistry.get(RequestSqlMetricsFilter.VIOLATIONS_METRIC)
+            .tag("type", "statements").counter().count());
+    }
+
+    @Test
+    void testRepeatedSelect_ShouldThrowException() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+            filter.doFilter(request(), response, chain(SELECT_TASK, SELECT_TASK, SELECT_TASK)));
+
+        assertTrue(exception.getMessage().contains("SELECT executed 3 times"));
+        assertTrue(exception.getMessage().contains(SELECT_TASK));
+    }
+}
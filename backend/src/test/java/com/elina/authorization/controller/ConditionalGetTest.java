@@ -0,0 +1,88 @@
+package com.elina.authorization.controller;
+
+import com.elina.authorization.dto.ResourceVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ConditionalGet / ResourceVersion.
+ *
+ * Tests cover:
+ * - First request returns the body with ETag, Last-Modified and Cache-Control
+ * - Matching If-None-Match returns 304 without loading the body
+ * - Inserts, updates and deletes (count) change the ETag
+ */
+class ConditionalGetTest {
+
+    private static final LocalDateTime UPDATED_ON = LocalDateTime.of(2025, 11, 5, 10, 30);
+
+    private ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/wbs/project/1/hierarchy");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request);
+    }
+
+    @Test
+    void testRespond_WithoutValidatorReturnsBodyAndHeaders() {
+        ResourceVersion version = new ResourceVersion(3L, UPDATED_ON);
+
+        ResponseEntity<List<String>> response = ConditionalGet.respond(request(null), version, () -> List.of("a"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of("a"), response.getBody());
+        assertEquals(version.eTag(), response.getHeaders().getETag());
+        assertTrue(response.getHeaders().getETag().startsWith("W/\""));
+        assertEquals(version.lastModifiedMillis(), response.getHeaders().getLastModified());
+        assertEquals("no-cache, private", response.getHeaders().getCacheControl());
+    }
+
+    @Test
+    void testRespond_MatchingETagReturnsNotModifiedWithoutLoading() {
+        ResourceVersion version = new ResourceVersion(3L, UPDATED_ON).and("10:WORK_CENTER=WC1");
+        AtomicInteger loads = new AtomicInteger();
+
+        ResponseEntity<String> response = ConditionalGet.respond(request("\"other\", " + version.eTag()), version,
+            () -> "body" + loads.incrementAndGet());
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void testVersion_ChangesWithCountTimestampAndScope() {
+        String eTag = new ResourceVersion(3L, UPDATED_ON).eTag();
+
+        assertEquals(eTag, new ResourceVersion(3L, UPDATED_ON).eTag());
+        assertNotEquals(eTag, new ResourceVersion(2L, UPDATED_ON).eTag());
+        assertNotEquals(eTag, new ResourceVersion(3L, UPDATED_ON.plusSeconds(1)).eTag());
+        assertNotEquals(eTag, new ResourceVersion(3L, UPDATED_ON).and(1L).eTag());
+        assertNotEquals(eTag, new ResourceVersion(3L, UPDATED_ON).and(new ResourceVersion(0L, null)).eTag());
+
+        ResponseEntity<String> response = ConditionalGet.respond(request(eTag),
+            new ResourceVersion(4L, UPDATED_ON.plusMinutes(1)), () -> "changed");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void testVersion_CombinesLatestTimestamp() {
+        ResourceVersion combined = new ResourceVersion(1L, UPDATED_ON)
+            .and(new ResourceVersion(0L, null))
+            .and(new ResourceVersion(5L, UPDATED_ON.plusDays(1)));
+
+        assertEquals(new ResourceVersion(1L, UPDATED_ON.plusDays(1)).lastModifiedMillis(), combined.lastModifiedMillis());
+        assertEquals(-1, new ResourceVersion(0L, null).lastModifiedMillis());
+    }
+}
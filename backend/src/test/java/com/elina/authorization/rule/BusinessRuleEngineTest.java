@@ -5,6 +5,7 @@ import com.elina.authorization.entity.BusinessRule;
 import com.elina.authorization.entity.Tenant;
 import com.elina.authorization.repository.BusinessRuleRepository;
 import com.elina.authorization.rule.validator.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,6 +32,7 @@ class BusinessRuleEngineTest {
     private BusinessRuleRepository businessRuleRepository;
 
     private BusinessRuleEngine businessRuleEngine;
+    private SimpleMeterRegistry meterRegistry;
     private Tenant tenant;
     private BusinessRule rule101;
     private BusinessRule rule201;
@@ -101,7 +103,8 @@ class BusinessRuleEngineTest {
             new MaterialUsageRuleValidator()
         );
 
-        businessRuleEngine = new BusinessRuleEngine(businessRuleRepository, validators);
+        meterRegistry = new SimpleMeterRegistry();
+        businessRuleEngine = new BusinessRuleEngine(businessRuleRepository, validators, meterRegistry);
         businessRuleEngine.initialize();
     }
 
@@ -246,5 +249,96 @@ class BusinessRuleEngineTest {
         // Should not throw exception (rule doesn't exist)
         assertDoesNotThrow(() -> businessRuleEngine.validate(999, context));
     }
-}
 
+    @Test
+    void testCompile_SkipsInactiveAndMissingRules() {
+        rule201.setActivateFlag(false);
+        when(businessRuleRepository.findByRuleNumber(101)).thenReturn(Optional.of(rule101));
+        when(businessRuleRepository.findByRuleNumber(201)).thenReturn(Optional.of(rule201));
+        when(businessRuleRepository.findByRuleNumber(999)).thenReturn(Optional.empty());
+
+        BusinessRulePlan plan = businessRuleEngine.compile(List.of(101, 201, 999));
+
+        assertEquals(1L, plan.getTenantId());
+        assertEquals(List.of(101), plan.getRuleNumbers());
+    }
+
+    @Test
+    void testCompiledPlan_CollectAll_ReportsEveryViolation() {
+        when(businessRuleRepository.findByRuleNumber(101)).thenReturn(Optional.of(rule101));
+        when(businessRuleRepository.findByRuleNumber(401)).thenReturn(Optional.of(rule401));
+
+        BusinessRulePlan plan = businessRuleEngine.compile(List.of(101, 401));
+
+        BusinessRuleContext valid = BusinessRuleContext.builder()
+            .tenantId(1L)
+            .updateDate(LocalDate.now().minusDays(1))
+            .plannedQty(new BigDecimal("10.00"))
+            .actualQty(BigDecimal.ZERO)
+            .dailyUpdateQty(new BigDecimal("5.00"))
+            .build();
+        BusinessRuleContext tooOldAndExceeding = BusinessRuleContext.builder()
+            .tenantId(1L)
+            .updateDate(LocalDate.now().minusDays(10)) // Violates rule 101
+            .plannedQty(new BigDecimal("10.00"))
+            .actualQty(BigDecimal.ZERO)
+            .dailyUpdateQty(new BigDecimal("15.00")) // Violates rule 401
+            .build();
+
+        List<BusinessRuleViolation> violations = plan.collectAll(List.of(valid, tooOldAndExceeding, valid));
+
+        assertEquals(2, violations.size());
+        assertEquals(101, violations.get(0).getRuleNumber());
+        assertEquals(401, violations.get(1).getRuleNumber());
+        assertSame(tooOldAndExceeding, violations.get(0).getContext());
+
+        // Rules are resolved at compile time only
+        verify(businessRuleRepository, times(1)).findByRuleNumber(101);
+        verify(businessRuleRepository, times(1)).findByRuleNumber(401);
+
+        // Violations can be raised together
+        BusinessRuleException exception = new BusinessRuleException(violations);
+        assertEquals(101, exception.getRuleNumber());
+        assertEquals(2, exception.getViolations().size());
+    }
+
+    @Test
+    void testCompiledPlan_RejectsOtherTenant() {
+        when(businessRuleRepository.findByRuleNumber(101)).thenReturn(Optional.of(rule101));
+        BusinessRulePlan plan = businessRuleEngine.compile(List.of(101));
+
+        BusinessRuleContext context = BusinessRuleContext.builder()
+            .tenantId(2L)
+            .updateDate(LocalDate.now())
+            .build();
+
+        assertThrows(IllegalStateException.class, () -> plan.collect(context));
+    }
+
+    @Test
+    void testValidate_RecordsValidationAndCacheMetrics() {
+        when(businessRuleRepository.findByRuleNumber(101)).thenReturn(Optional.of(rule101));
+        BusinessRuleContext valid = BusinessRuleContext.builder()
+            .tenantId(1L)
+            .updateDate(LocalDate.now())
+            .build();
+        BusinessRuleContext tooOld = BusinessRuleContext.builder()
+            .tenantId(1L)
+            .updateDate(LocalDate.now().minusDays(10))
+            .build();
+
+        businessRuleEngine.validate(101, valid);
+        businessRuleEngine.validate(101, valid);
+        assertThrows(BusinessRuleException.class, () -> businessRuleEngine.validate(101, tooOld));
+
+        assertEquals(2, meterRegistry.get("business.rules.validation")
+            .tags("rule", "101", "outcome", "pass", "tenant", "1").timer().count());
+        assertEquals(1, meterRegistry.get("business.rules.validation")
+            .tags("rule", "101", "outcome", "fail", "tenant", "1").timer().count());
+        assertEquals(1.0, meterRegistry.get("business.rules.cache").tags("result", "miss").counter().count());
+        assertEquals(2.0, meterRegistry.get("business.rules.cache").tags("result", "hit").counter().count());
+        // Pass/fail timers and hit/miss counters registered once for the rule and tenant
+        assertEquals(2, meterRegistry.find("business.rules.validation").timers().size());
+        assertEquals(2, meterRegistry.find("business.rules.cache").counters().size());
+    }
+}
@@ -0,0 +1,59 @@
+package com.elina.authorization.rule;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RuleValue.
+ */
+class RuleValueTest {
+
+    @Test
+    void testParseInteger() {
+        RuleValue value = RuleValue.parse(" 7 ");
+
+        assertEquals(7, value.getInt());
+        assertEquals(new BigDecimal("7"), value.getDecimal());
+        assertNull(value.getDate());
+        assertNull(value.getFlag());
+    }
+
+    @Test
+    void testParseDecimalThreshold() {
+        RuleValue value = RuleValue.parse("12.5");
+
+        assertNull(value.getInt());
+        assertEquals(new BigDecimal("12.5"), value.getDecimal());
+    }
+
+    @Test
+    void testParseDateAndFlag() {
+        assertEquals(LocalDate.of(2025, 11, 1), RuleValue.parse("2025-11-01").getDate());
+        assertTrue(RuleValue.parse("y").isEnabled());
+        assertEquals(Boolean.FALSE, RuleValue.parse("N").getFlag());
+    }
+
+    @Test
+    void testParseFlag_OnlyAcceptsYOrN() {
+        assertNull(RuleValue.parse("TRUE").getFlag());
+        assertNull(RuleValue.parse("false").getFlag());
+        assertNull(RuleValue.parse(" Y ").getFlag());
+        assertFalse(RuleValue.parse(" Y ").isEnabled());
+    }
+
+    @Test
+    void testParseBlankAndInvalid() {
+        assertTrue(RuleValue.parse(null).isBlank());
+        assertTrue(RuleValue.parse("").isBlank());
+
+        RuleValue invalid = RuleValue.parse("seven");
+        assertFalse(invalid.isBlank());
+        assertNull(invalid.getInt());
+        assertNull(invalid.getDecimal());
+        assertFalse(invalid.isEnabled());
+    }
+}
@@ -4,6 +4,8 @@ import com.elina.authorization.entity.BusinessRule;
 import com.elina.authorization.entity.Tenant;
 import com.elina.authorization.rule.BusinessRuleContext;
 import com.elina.authorization.rule.BusinessRuleException;
+import com.elina.authorization.rule.BusinessRuleViolation;
+import com.elina.authorization.rule.RuleValue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -99,6 +101,40 @@ class BackdateRuleValidatorTest {
         assertTrue(exception.getMessage().contains("Cannot backdate before lock date"));
     }
 
+    @Test
+    void testCheckReturnsViolationWithoutThrowing() {
+        BusinessRuleContext context = BusinessRuleContext.builder()
+            .updateDate(LocalDate.now().minusDays(10))
+            .build();
+
+        BusinessRuleViolation violation = validator.check(rule101, context);
+
+        assertNotNull(violation);
+        assertEquals(101, violation.getRuleNumber());
+        assertSame(context, violation.getContext());
+        assertEquals("Backdating is only allowed for 7 days. Attempted to backdate by 10 days.", violation.getMessage());
+        assertEquals("You can only backdate up to 7 days from today.", violation.getHint());
+    }
+
+    @Test
+    void testCheckWithinLimitReturnsNull() {
+        BusinessRuleContext context = BusinessRuleContext.builder()
+            .updateDate(LocalDate.now().minusDays(3))
+            .build();
+
+        assertNull(validator.check(rule101, context));
+    }
+
+    @Test
+    void testCheckRuleValue() {
+        assertNull(validator.checkRuleValue(101, RuleValue.parse("7")));
+        assertNotNull(validator.checkRuleValue(101, RuleValue.parse("seven")));
+        assertNotNull(validator.checkRuleValue(101, RuleValue.parse("-1")));
+        assertNull(validator.checkRuleValue(102, RuleValue.parse("N")));
+        assertNotNull(validator.checkRuleValue(102, RuleValue.parse("maybe")));
+        assertNotNull(validator.checkRuleValue(102, RuleValue.parse("TRUE")));
+    }
+
     @Test
     void testGetSupportedRuleNumbers() {
         int[] supported = validator.getSupportedRuleNumbers();
@@ -0,0 +1,110 @@
+package com.elina.authorization.service;
+
+import com.elina.authorization.config.NearCacheManager;
+import com.elina.authorization.entity.Role;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EntityCacheInvalidator cross-node invalidation.
+ */
+@ExtendWith(MockitoExtension.class)
+class EntityCacheInvalidatorTest {
+
+    private static final String ROLE = Role.class.getName();
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactoryImplementor sessionFactory;
+
+    @Mock
+    private CacheImplementor cache;
+
+    @Mock
+    private MappingMetamodelImplementor mappingMetamodel;
+
+    @Mock
+    private EntityPersister rolePersister;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private EntityCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        invalidator = new EntityCacheInvalidator(entityManagerFactory, redisTemplate);
+        lenient().when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        lenient().when(sessionFactory.getCache()).thenReturn(cache);
+        lenient().when(sessionFactory.getMappingMetamodel()).thenReturn(mappingMetamodel);
+        lenient().when(mappingMetamodel.findEntityDescriptor(ROLE)).thenReturn(rolePersister);
+        lenient().when(rolePersister.canWriteToCache()).thenReturn(true);
+    }
+
+    private void receive(String body) {
+        invalidator.onMessage(new DefaultMessage(
+            NearCacheManager.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+            body.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    @Test
+    void testOnMessage_RemoteEntityChangeEvictsEntityAndQueries() {
+        receive("other-node|" + ROLE + "|5");
+
+        verify(cache).evictEntityData(ROLE, 5L);
+        verify(cache).evictQueryRegions();
+    }
+
+    @Test
+    void testOnMessage_RemoteRegionEvictionEvictsRegion() {
+        receive("other-node|" + ROLE + "|*");
+
+        verify(cache).evictEntityData(ROLE);
+        verify(cache).evictQueryRegions();
+    }
+
+    @Test
+    void testOnMessage_NearCacheMessageIgnored() {
+        receive("other-node|masterCodes|master_codes:1:*");
+
+        verify(cache, never()).evictEntityData(anyString());
+        verify(cache, never()).evictQueryRegions();
+    }
+
+    @Test
+    void testEvictRegion_PublishesAndIgnoresOwnMessage() {
+        when(entityManagerFactory.getCache()).thenReturn(mock(Cache.class));
+
+        invalidator.evictRegion(Role.class);
+
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(NearCacheManager.INVALIDATION_CHANNEL), published.capture());
+        assertTrue(published.getValue().endsWith("|" + ROLE + "|*"));
+        verify(cache).evictQueryRegions();
+
+        receive(published.getValue());
+
+        verify(cache, never()).evictEntityData(anyString());
+        verify(cache).evictQueryRegions();
+    }
+}
@@ -0,0 +1,109 @@
+package com.elina.authorization.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.authorization.entity.ImportJob;
+import com.elina.authorization.entity.Tenant;
+import com.elina.authorization.repository.ImportJobErrorRepository;
+import com.elina.authorization.repository.ImportJobFileContentRepository;
+import com.elina.authorization.repository.ImportJobRepository;
+import com.elina.authorization.repository.TenantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ImportJobService.
+ * Tests streaming of the uploaded file and page size clamping of the listings.
+ */
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+
+    @Mock
+    private ImportJobRepository jobRepository;
+
+    @Mock
+    private ImportJobFileContentRepository fileContentRepository;
+
+    @Mock
+    private ImportJobErrorRepository errorRepository;
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private ImportJobWorker worker;
+
+    @InjectMocks
+    private ImportJobService importJobService;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void testSubmit_StreamsUploadIntoStorage() throws Exception {
+        Tenant tenant = new Tenant();
+        tenant.setId(1L);
+        InputStream content = new ByteArrayInputStream(new byte[] {1, 2, 3});
+        MultipartFile file = mock(MultipartFile.class);
+        when(file.getOriginalFilename()).thenReturn("codes.xlsx");
+        when(file.getInputStream()).thenReturn(content);
+        when(file.getSize()).thenReturn(3L);
+        when(worker.supports("MASTER_CODES")).thenReturn(true);
+        when(tenantRepository.findById(1L)).thenReturn(Optional.of(tenant));
+        when(jobRepository.save(any(ImportJob.class))).thenAnswer(invocation -> {
+            ImportJob job = invocation.getArgument(0);
+            job.setJobId(10L);
+            return job;
+        });
+
+        importJobService.submit("MASTER_CODES", file);
+
+        verify(fileContentRepository).write(10L, content, 3L);
+        verify(file, never()).getBytes();
+        verify(worker).submit(10L);
+    }
+
+    @Test
+    void testListJobs_ClampsPageSize() {
+        when(jobRepository.findByJobType(eq("MASTER_CODES"), any())).thenReturn(Page.empty());
+
+        importJobService.listJobs("MASTER_CODES", 0, 100_000);
+        importJobService.listJobs("MASTER_CODES", 0, 0);
+
+        verify(jobRepository).findByJobType("MASTER_CODES", PageRequest.of(0, ImportJobService.MAX_PAGE_SIZE));
+        verify(jobRepository).findByJobType("MASTER_CODES", PageRequest.of(0, 1));
+    }
+
+    @Test
+    void testGetErrors_ClampsPageSize() {
+        ImportJob job = new ImportJob();
+        job.setJobId(10L);
+        when(jobRepository.findByIdForTenant(10L)).thenReturn(Optional.of(job));
+        when(errorRepository.findByJobId(eq(10L), any())).thenReturn(Page.empty());
+
+        importJobService.getErrors(10L, 0, 5_000);
+
+        verify(errorRepository).findByJobId(10L, PageRequest.of(0, ImportJobService.MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,202 @@
+package com.elina.authorization.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.authorization.entity.ImportJob;
+import com.elina.authorization.entity.ImportJobError;
+import com.elina.authorization.entity.Tenant;
+import com.elina.authorization.repository.ImportJobErrorRepository;
+import com.elina.authorization.repository.ImportJobFileContentRepository;
+import com.elina.authorization.repository.ImportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ImportJobWorker.
+ * Tests chunked processing, resume after the last committed row and failure handling.
+ */
+@ExtendWith(MockitoExtension.class)
+class ImportJobWorkerTest {
+
+    @Mock
+    private ImportJobRepository jobRepository;
+
+    @Mock
+    private ImportJobFileContentRepository fileContentRepository;
+
+    @Mock
+    private ImportJobErrorRepository errorRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RecordingHandler handler;
+    private ImportJobWorker worker;
+    private ImportJob job;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        handler = new RecordingHandler();
+        worker = new ImportJobWorker(jobRepository, fileContentRepository, errorRepository,
+            List.of(handler), new SyncTaskExecutor(), transactionManager);
+        ReflectionTestUtils.setField(worker, "chunkSize", 2);
+        ReflectionTestUtils.setField(worker, "staleAfterSeconds", 300);
+
+        Tenant tenant = new Tenant();
+        tenant.setId(1L);
+        job = new ImportJob();
+        job.setJobId(10L);
+        job.setTenant(tenant);
+        job.setJobType("TEST");
+        job.setFileName("rows.txt");
+        job.setWorkerId((String) ReflectionTestUtils.getField(worker, "workerId"));
+
+        lenient().when(jobRepository.claim(eq(10L), anyString(), any(), any())).thenReturn(1);
+        lenient().when(jobRepository.findById(10L)).thenReturn(Optional.of(job));
+        lenient().when(jobRepository.save(any(ImportJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(fileContentRepository.read(eq(10L), any())).thenAnswer(invocation -> {
+            ImportJobFileContentRepository.ContentReader reader = invocation.getArgument(1);
+            reader.read(new ByteArrayInputStream("1\n2\nbad\n4\n5\n".getBytes(StandardCharsets.UTF_8)));
+            return true;
+        });
+    }
+
+    @Test
+    void testRun_ProcessesInCommittedChunks() {
+        worker.submit(10L);
+
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5)), handler.chunks);
+        assertEquals(ImportJob.STATUS_COMPLETED, job.getStatus());
+        assertEquals(5, job.getProcessedRows());
+        assertEquals(4, job.getCreatedCount());
+        assertEquals(1, job.getErrorCount());
+        assertEquals(5, job.getLastCommittedRow());
+        assertNotNull(job.getCompletedOn());
+        verify(errorRepository).save(argThat((ImportJobError e) -> e.getRowNumber() == 3));
+        verify(transactionManager, atLeast(5)).commit(any());
+        assertNull(TenantContext.getTenantId());
+    }
+
+    @Test
+    void testRun_ResumesAfterLastCommittedRow() {
+        job.setStatus(ImportJob.STATUS_RUNNING);
+        job.setProcessedRows(2);
+        job.setCreatedCount(2);
+        job.setLastCommittedRow(2);
+
+        worker.run(10L);
+
+        assertEquals(List.of(List.of(3, 4), List.of(5)), handler.chunks);
+        assertEquals(5, job.getProcessedRows());
+        assertEquals(4, job.getCreatedCount());
+    }
+
+    @Test
+    void testRun_SkipsJobClaimedElsewhere() throws Exception {
+        when(jobRepository.claim(eq(10L), anyString(), any(), any())).thenReturn(0);
+
+        worker.run(10L);
+
+        assertTrue(handler.chunks.isEmpty());
+        verify(fileContentRepository, never()).read(anyLong(), any());
+    }
+
+    @Test
+    void testSendHeartbeats_RefreshesRunningJobsDuringChunk() {
+        handler.onChunk = () -> worker.sendHeartbeats();
+
+        worker.run(10L);
+
+        verify(jobRepository, atLeastOnce()).heartbeat(eq(List.of(10L)), eq(job.getWorkerId()), any());
+
+        clearInvocations(jobRepository);
+        worker.sendHeartbeats();
+        verify(jobRepository, never()).heartbeat(any(), anyString(), any());
+    }
+
+    @Test
+    void testRun_MissingFileFailsJob() throws Exception {
+        when(fileContentRepository.read(eq(10L), any())).thenReturn(false);
+
+        worker.run(10L);
+
+        assertEquals(ImportJob.STATUS_FAILED, job.getStatus());
+        assertTrue(job.getErrorMessage().contains("Import file not found"));
+    }
+
+    @Test
+    void testRun_FailureKeepsCommittedProgress() {
+        handler.failOnRow = 4;
+
+        worker.run(10L);
+
+        assertEquals(ImportJob.STATUS_FAILED, job.getStatus());
+        assertEquals(2, job.getLastCommittedRow());
+        assertTrue(job.getErrorMessage().contains("row 4"));
+    }
+
+    /**
+     * Handler reading one value per line; non-numeric lines are row errors.
+     */
+    private static class RecordingHandler implements ImportJobHandler {
+        private final List<List<Integer>> chunks = new ArrayList<>();
+        private int failOnRow = -1;
+        private Runnable onChunk = () -> { };
+
+        @Override
+        public String getJobType() {
+            return "TEST";
+        }
+
+        @Override
+        public void readRows(InputStream content, String fileName, Consumer<Row> consumer) throws Exception {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8));
+            String line;
+            int rowNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                consumer.accept(new Row(++rowNumber, Map.of("value", line)));
+            }
+        }
+
+        @Override
+        public ChunkResult processChunk(ImportJob job, List<Row> rows) {
+            assertEquals(1L, TenantContext.getTenantId());
+            onChunk.run();
+            ChunkResult result = new ChunkResult();
+            List<Integer> rowNumbers = new ArrayList<>();
+            for (Row row : rows) {
+                if (row.rowNumber() == failOnRow) {
+                    throw new IllegalStateException("Failed at row " + failOnRow);
+                }
+                rowNumbers.add(row.rowNumber());
+                if (row.get("value").chars().allMatch(Character::isDigit)) {
+                    result.created();
+                } else {
+                    result.error(row.rowNumber(), "Not a number");
+                }
+            }
+            chunks.add(rowNumbers);
+            return result;
+        }
+    }
+}
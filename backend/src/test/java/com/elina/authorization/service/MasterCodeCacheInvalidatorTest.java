@@ -0,0 +1,76 @@
+package com.elina.authorization.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MasterCodeCacheInvalidator.
+ */
+class MasterCodeCacheInvalidatorTest {
+
+    private Cache cache;
+    private MasterCodeCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        invalidator = new MasterCodeCacheInvalidator(cacheManager);
+        cache = cacheManager.getCache(MasterCodeCacheInvalidator.CACHE_NAME);
+        cache.put("master_codes:1:WORK_CENTER:active", "a");
+        cache.put("master_codes:1:WORK_CENTER:WC_SITE", "b");
+        cache.put("master_codes:1:COST_CENTER:active", "c");
+        cache.put("master_codes:2:WORK_CENTER:active", "d");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testEvictCodeType_OnlyEvictsTenantAndCodeType() {
+        invalidator.evictCodeType(1L, "WORK_CENTER");
+
+        assertNull(cache.get("master_codes:1:WORK_CENTER:active"));
+        assertNull(cache.get("master_codes:1:WORK_CENTER:WC_SITE"));
+        assertNotNull(cache.get("master_codes:1:COST_CENTER:active"));
+        assertNotNull(cache.get("master_codes:2:WORK_CENTER:active"));
+    }
+
+    @Test
+    void testEvictCodeType_DeferredUntilCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        invalidator.evictCodeType(1L, "WORK_CENTER");
+        invalidator.evictCodeType(1L, "WORK_CENTER");
+        assertNotNull(cache.get("master_codes:1:WORK_CENTER:active"));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+        assertNull(cache.get("master_codes:1:WORK_CENTER:active"));
+        assertNotNull(cache.get("master_codes:2:WORK_CENTER:active"));
+    }
+
+    @Test
+    void testEvictCodeType_SkippedOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        invalidator.evictCodeType(1L, "WORK_CENTER");
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertNotNull(cache.get("master_codes:1:WORK_CENTER:active"));
+    }
+}
@@ -1,10 +1,13 @@
 package com.elina.authorization.service;
 
+import com.elina.authorization.config.PrimaryCacheLoader;
 import com.elina.authorization.context.TenantContext;
+import com.elina.authorization.dto.BulkUploadResult;
 import com.elina.authorization.dto.MasterCodeCreateDTO;
 import com.elina.authorization.dto.MasterCodeDTO;
 import com.elina.authorization.entity.MasterCode;
 import com.elina.authorization.entity.Tenant;
+import com.elina.authorization.repository.MasterCodeBatchRepository;
 import com.elina.authorization.repository.MasterCodeRepository;
 import com.elina.authorization.repository.TenantRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -14,18 +17,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -43,6 +56,18 @@ class MasterCodeServiceTest {
     @Mock
     private TenantRepository tenantRepository;
 
+    @Mock
+    private MasterCodeBatchRepository masterCodeBatchRepository;
+
+    @Mock
+    private MasterCodeCacheInvalidator cacheInvalidator;
+
+    @Mock
+    private EntityCacheInvalidator entityCacheInvalidator;
+
+    @Mock
+    private PrimaryCacheLoader primaryCacheLoader;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -79,6 +104,9 @@ class MasterCodeServiceTest {
         masterCode.setUpdatedOn(LocalDateTime.now());
 
         // SecurityContext stubbings are only set up in tests that need them
+
+        ReflectionTestUtils.setField(masterCodeService, "bulkUploadBatchSize", 2);
+        ReflectionTestUtils.setField(masterCodeService, "bulkUploadMaxResultRows", 100);
     }
 
     @AfterEach
@@ -152,6 +180,7 @@ class MasterCodeServiceTest {
         // Assert
         assertNotNull(result);
         verify(masterCodeRepository).save(any(MasterCode.class));
+        verify(cacheInvalidator).evictCodeType(1L, "WORK_CENTER");
     }
 
     @Test
@@ -205,6 +234,7 @@ class MasterCodeServiceTest {
 
         // Assert
         verify(masterCodeRepository).delete(masterCode);
+        verify(cacheInvalidator).evictCodeType(1L, "WORK_CENTER");
     }
 
     @Test
@@ -226,14 +256,95 @@ class MasterCodeServiceTest {
         // Arrange
         when(masterCodeRepository.findActiveByCodeType("WORK_CENTER"))
                 .thenReturn(Arrays.asList(masterCode));
+        when(primaryCacheLoader.load(any())).thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
 
         // Act
         List<MasterCodeDTO> result = masterCodeService.getActiveMasterCodesByType("WORK_CENTER");
 
         // Assert
+        verify(primaryCacheLoader).load(any());
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("WC_SITE", result.get(0).getCodeValue());
     }
-}
 
+    @Test
+    void testBulkUploadCsv_PreloadsPerCodeTypeAndBatchesUpserts() {
+        String csv = "code_type,code_value,short_description\n" +
+            "WORK_CENTER,WC_SITE,Site\n" +
+            "WORK_CENTER,WC_NEW,New\n" +
+            "WORK_CENTER,,Missing value\n" +
+            "UNIT,KG,Kilogram\n" +
+            "WORK_CENTER,WC_NEW,New again\n";
+        MockMultipartFile file = new MockMultipartFile("file", "codes.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+
+        when(masterCodeRepository.findCodeValuesByCodeType("WORK_CENTER")).thenReturn(List.of("WC_SITE"));
+        when(masterCodeRepository.findCodeValuesByCodeType("UNIT")).thenReturn(List.of());
+        List<List<MasterCodeBatchRepository.UpsertRow>> batches = new ArrayList<>();
+        doAnswer(invocation -> batches.add(new ArrayList<>(invocation.getArgument(2))))
+            .when(masterCodeBatchRepository).upsert(eq(1L), any(), anyList());
+
+        BulkUploadResult result = masterCodeService.bulkUploadMasterCodes(file, false);
+
+        assertEquals(5, result.getTotalRows());
+        assertEquals(4, result.getValidRows());
+        assertEquals(1, result.getInvalidRows());
+        assertEquals(2, result.getCreatedCount());
+        assertEquals(2, result.getUpdatedCount());
+        assertEquals(1, result.getSkippedCount());
+        assertEquals(List.of("UPDATE", "CREATE", "CREATE", "UPDATE"), result.getRows().stream()
+            .filter(BulkUploadResult.BulkUploadRowResult::isValid)
+            .map(BulkUploadResult.BulkUploadRowResult::getAction).toList());
+
+        // Batch size 2: two full batches, no trailing rows
+        assertEquals(List.of(2, 2), batches.stream().filter(b -> !b.isEmpty()).map(List::size).toList());
+        verify(masterCodeRepository, times(1)).findCodeValuesByCodeType("WORK_CENTER");
+        verify(masterCodeRepository, never()).findByCodeTypeAndCodeValue(anyString(), anyString());
+        verify(cacheInvalidator).evictCodeType(1L, "WORK_CENTER");
+        verify(cacheInvalidator).evictCodeType(1L, "UNIT");
+        verify(entityCacheInvalidator).evictRegion(MasterCode.class);
+    }
+
+    @Test
+    void testBulkUpload_RejectsLegacyXlsUpFront() {
+        MockMultipartFile file = new MockMultipartFile("file", "codes.XLS", null, new byte[] {(byte) 0xD0, (byte) 0xCF});
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> masterCodeService.bulkUploadMasterCodes(file, true));
+
+        assertTrue(e.getMessage().contains("(.xls) files are not supported"));
+        verify(masterCodeRepository, never()).findCodeValuesByCodeType(anyString());
+    }
+
+    @Test
+    void testBulkUploadExcel_DryRunStreamsSheet() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Code_Type");
+            header.createCell(1).setCellValue("code_value");
+            header.createCell(2).setCellValue("short_description");
+            Row row1 = sheet.createRow(1);
+            row1.createCell(0).setCellValue("UNIT");
+            row1.createCell(1).setCellValue(100);
+            row1.createCell(2).setCellValue("Hundred");
+            Row row2 = sheet.createRow(2);
+            row2.createCell(0).setCellValue("COST_CENTER");
+            row2.createCell(1).setCellValue("CC1");
+            workbook.write(out);
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "codes.xlsx", null, out.toByteArray());
+
+        when(masterCodeRepository.findCodeValuesByCodeType("UNIT")).thenReturn(List.of("100"));
+
+        BulkUploadResult result = masterCodeService.bulkUploadMasterCodes(file, true);
+
+        assertEquals(2, result.getTotalRows());
+        assertEquals(1, result.getValidRows());
+        assertEquals("UPDATE", result.getRows().get(0).getAction());
+        assertEquals("100", result.getRows().get(0).getCodeValue());
+        assertEquals(3, result.getRows().get(1).getRowNumber());
+        assertEquals("SKIP", result.getRows().get(1).getAction());
+        verifyNoInteractions(masterCodeBatchRepository, cacheInvalidator, entityCacheInvalidator);
+    }
+}
@@ -0,0 +1,286 @@
+package com.elina.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * HTTP load driver for the dataset written by SyntheticDataGenerator.
+ *
+ * Every virtual user (VU, one thread) logs in as one of the generated users (round robin over
+ * users.csv) and then loops over the day-wise update scenario of a random task of its tenant:
+ * 1. GET  /api/wbs/project/{projectId}/hierarchy   (wbs.hierarchy)
+ * 2. GET  /api/task-updates/task/{taskId}/window   (task-updates.window)
+ * 3. POST /api/task-updates/task/{taskId}          (task-updates.save, one day of the task)
+ *
+ * VUs are started evenly over --ramp-up and run until --duration has elapsed. Latency is
+ * measured per step; the report (console and CSV) has count, errors, throughput and
+ * min/mean/p50/p90/p95/p99/max in milliseconds. Non-2xx responses and I/O errors count as errors.
+ *
+ * Options: --base-url=http://localhost:8080 --vus=20 --duration=2m --ramp-up=20s
+ * --think-time=0ms --user-password=LoadTest@123 --manifest=target/loadtest
+ * --report=target/loadtest/report.csv
+ *
+ * See README_LOAD_TESTING.md.
+ */
+public class LoadTestDriver {
+
+    private static final String[] STEPS = {"login", "wbs.hierarchy", "task-updates.window", "task-updates.save"};
+
+    private final String baseUrl;
+    private final int vus;
+    private final Duration duration;
+    private final Duration rampUp;
+    private final Duration thinkTime;
+    private final String userPassword;
+    private final Path manifestDir;
+    private final Path report;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, StepStats> stats = new LinkedHashMap<>();
+
+    private record User(String tenantCode, String email) {
+    }
+
+    private record Task(long projectId, long taskId, LocalDate startDate, LocalDate endDate) {
+    }
+
+    LoadTestDriver(LoadTestArgs args) {
+        this.baseUrl = args.string("base-url", "http://localhost:8080");
+        this.vus = args.integer("vus", 20);
+        this.duration = args.duration("duration", Duration.ofMinutes(2));
+        this.rampUp = args.duration("ramp-up", Duration.ofSeconds(20));
+        this.thinkTime = args.duration("think-time", Duration.ZERO);
+        this.userPassword = args.string("user-password", "LoadTest@123");
+        this.manifestDir = Path.of(args.string("manifest", "target/loadtest"));
+        this.report = Path.of(args.string("report", manifestDir.resolve("report.csv").toString()));
+        for (String step : STEPS) {
+            stats.put(step, new StepStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestDriver(new LoadTestArgs(args)).run();
+    }
+
+    void run() throws IOException, InterruptedException {
+        List<User> users = readCsv(manifestDir.resolve("users.csv")).stream()
+            .map(row -> new User(row[0], row[1]))
+            .toList();
+        Map<String, List<Task>> tasksByTenant = readCsv(manifestDir.resolve("tasks.csv")).stream()
+            .collect(Collectors.groupingBy(row -> row[0], Collectors.mapping(row -> new Task(
+                Long.parseLong(row[1]), Long.parseLong(row[2]), LocalDate.parse(row[3]), LocalDate.parse(row[4])),
+                Collectors.toList())));
+        if (users.isEmpty() || tasksByTenant.isEmpty()) {
+            throw new IllegalStateException("No users or tasks in " + manifestDir + "; run SyntheticDataGenerator first");
+        }
+
+        System.out.printf("Running %d VUs for %s (ramp-up %s) against %s%n", vus, duration, rampUp, baseUrl);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long rampStep = vus > 1 ? rampUp.toNanos() / (vus - 1) : 0;
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < vus; i++) {
+            User user = users.get(i % users.size());
+            List<Task> tasks = tasksByTenant.getOrDefault(user.tenantCode(), List.of());
+            long startAt = start + rampStep * i;
+            Thread thread = new Thread(() -> runUser(user, tasks, startAt, end), "vu-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        writeReport(seconds);
+    }
+
+    private void runUser(User user, List<Task> tasks, long startAt, long end) {
+        try {
+            sleepNanos(startAt - System.nanoTime());
+            String token = login(user);
+            if (token == null || tasks.isEmpty()) {
+                return;
+            }
+            while (System.nanoTime() < end) {
+                Task task = tasks.get(ThreadLocalRandom.current().nextInt(tasks.size()));
+                send("wbs.hierarchy", get("/api/wbs/project/" + task.projectId() + "/hierarchy", token));
+                send("task-updates.window", get("/api/task-updates/task/" + task.taskId() + "/window", token));
+                send("task-updates.save", saveUpdate(task, token));
+                sleepNanos(thinkTime.toNanos());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String login(User user) {
+        Map<String, String> body = Map.of("tenantCode", user.tenantCode(), "email", user.email(), "password", userPassword);
+        HttpResponse<String> response = send("login", post("/api/auth/login", null, body));
+        if (response == null || response.statusCode() != 200) {
+            System.err.printf("Login failed for %s/%s: %s%n", user.tenantCode(), user.email(),
+                response != null ? response.statusCode() : "no response");
+            return null;
+        }
+        try {
+            JsonNode json = objectMapper.readTree(response.body());
+            return json.path("token").asText(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * One day-wise update on a random day of the task that is not in the future.
+     */
+    private HttpRequest saveUpdate(Task task, String token) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate lastDay = task.endDate().isBefore(LocalDate.now()) ? task.endDate() : LocalDate.now();
+        long span = Math.max(1, lastDay.toEpochDay() - task.startDate().toEpochDay() + 1);
+        LocalDate date = task.startDate().plusDays(random.nextLong(span));
+
+        Map<String, Object> update = new LinkedHashMap<>();
+        update.put("updateDate", date.toString());
+        update.put("planQty", 10 + random.nextInt(40));
+        update.put("actualQty", 5 + random.nextInt(45));
+        update.put("remarks", "Load test");
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("taskId", task.taskId());
+        body.put("updates", List.of(update));
+        return post("/api/task-updates/task/" + task.taskId(), token, body);
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Authorization", "Bearer " + token)
+            .timeout(Duration.ofSeconds(30))
+            .GET()
+            .build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            return builder.build();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize request body", e);
+        }
+    }
+
+    /**
+     * Sends the request and records its latency under the step.
+     *
+     * @return Response, or null on I/O errors
+     */
+    private HttpResponse<String> send(String step, HttpRequest request) {
+        long start = System.nanoTime();
+        HttpResponse<String> response = null;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            // Counted as error below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        boolean ok = response != null && response.statusCode() >= 200 && response.statusCode() < 300;
+        stats.get(step).record(System.nanoTime() - start, ok);
+        return response;
+    }
+
+    private void writeReport(double seconds) throws IOException {
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        String header = "step,count,errors,throughput_per_s,min_ms,mean_ms,p50_ms,p90_ms,p95_ms,p99_ms,max_ms";
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(report))) {
+            out.println(header);
+            System.out.printf("%n%-20s %8s %7s %9s %8s %8s %8s %8s %8s %8s %8s%n", "step", "count", "errors",
+                "req/s", "min", "mean", "p50", "p90", "p95", "p99", "max");
+            for (Map.Entry<String, StepStats> entry : stats.entrySet()) {
+                StepStats step = entry.getValue();
+                double[] ms = step.latenciesMillis();
+                if (ms.length == 0) {
+                    continue;
+                }
+                double mean = Arrays.stream(ms).average().orElse(0);
+                double throughput = ms.length / seconds;
+                out.printf("%s,%d,%d,%.2f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f%n", entry.getKey(), ms.length,
+                    step.errors.get(), throughput, ms[0], mean, percentile(ms, 50), percentile(ms, 90),
+                    percentile(ms, 95), percentile(ms, 99), ms[ms.length - 1]);
+                System.out.printf("%-20s %8d %7d %9.1f %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f%n", entry.getKey(),
+                    ms.length, step.errors.get(), throughput, ms[0], mean, percentile(ms, 50), percentile(ms, 90),
+                    percentile(ms, 95), percentile(ms, 99), ms[ms.length - 1]);
+            }
+        }
+        System.out.println("Latencies in ms; report written to " + report.toAbsolutePath());
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values.
+     */
+    static double percentile(double[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static List<String[]> readCsv(Path file) throws IOException {
+        try (var lines = Files.lines(file)) {
+            return lines.skip(1).filter(line -> !line.isBlank()).map(line -> line.split(",")).toList();
+        }
+    }
+
+    private static void sleepNanos(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        }
+    }
+
+    /**
+     * Latencies (nanoseconds) and error count of one scenario step.
+     */
+    private static final class StepStats {
+
+        private final Map<Thread, List<Long>> samples = new ConcurrentHashMap<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        void record(long nanos, boolean ok) {
+            samples.computeIfAbsent(Thread.currentThread(), t -> new ArrayList<>()).add(nanos);
+            if (!ok) {
+                errors.incrementAndGet();
+            }
+        }
+
+        double[] latenciesMillis() {
+            return samples.values().stream()
+                .flatMap(List::stream)
+                .mapToDouble(nanos -> nanos / 1_000_000.0)
+                .sorted()
+                .toArray();
+        }
+    }
+}
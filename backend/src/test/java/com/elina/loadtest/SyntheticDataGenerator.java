@@ -0,0 +1,468 @@
+package com.elina.loadtest;
+
+import com.elina.projects.entity.SearchNames;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic multi-tenant dataset for load tests.
+ *
+ * Generates, per tenant: users (SYSTEM_ADMIN role, shared password), projects, a WBS tree of
+ * configurable depth and fanout (with materialized paths), tasks under every leaf WBS, plan
+ * versions with one plan line per task day, and day-wise task updates for past days. Rows are
+ * bulk-loaded with JDBC batches into an existing schema (Liquibase on SQL Server, Hibernate DDL
+ * on H2), so the same generator feeds a local SQL Server or an H2 file database.
+ *
+ * The dataset is reproducible for a given --seed and sizing. Tenant codes are
+ * &lt;prefix&gt;001, &lt;prefix&gt;002, ...; generation stops if a tenant code already exists.
+ *
+ * Output (--out, default target/loadtest): users.csv and tasks.csv, read by LoadTestDriver.
+ *
+ * Options: --url --user --password --prefix=LOAD --tenants=2 --users=5 --projects=3
+ * --wbs-depth=3 --wbs-fanout=3 --tasks-per-wbs=4 --days=90 --plan-versions=3
+ * --update-ratio=0.8 --seed=42 --batch-size=1000 --user-password=LoadTest@123 --out=target/loadtest
+ *
+ * See README_LOAD_TESTING.md.
+ */
+public class SyntheticDataGenerator {
+
+    private static final String[] ACTIVITIES = {
+        "Excavation", "Formwork", "Rebar Fixing", "Concrete Pour", "Masonry", "Plastering",
+        "Waterproofing", "Cable Laying", "Piping", "Backfilling", "Painting", "Tiling"
+    };
+    private static final String[] ZONES = {"Zone A", "Zone B", "Zone C", "Block 1", "Block 2", "Tower"};
+    private static final String[] UNITS = {"M3", "M2", "KG", "M", "NOS"};
+    private static final Null NULL_BIGINT = new Null(Types.BIGINT);
+
+    private final String url;
+    private final String dbUser;
+    private final String dbPassword;
+    private final String prefix;
+    private final int tenants;
+    private final int usersPerTenant;
+    private final int projectsPerTenant;
+    private final int wbsDepth;
+    private final int wbsFanout;
+    private final int tasksPerWbs;
+    private final int days;
+    private final int planVersions;
+    private final double updateRatio;
+    private final int batchSize;
+    private final String userPassword;
+    private final Path outputDir;
+    private final Random random;
+    private final LocalDate today = LocalDate.now();
+    private final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    private final Map<String, Long> rowCounts = new LinkedHashMap<>();
+
+    /**
+     * Typed SQL NULL for batch parameters.
+     */
+    private record Null(int sqlType) {
+    }
+
+    private record WbsNode(long id, long projectId, String code, String path) {
+    }
+
+    private record TaskSpec(String code, long projectId, long wbsId, LocalDate startDate, LocalDate endDate,
+                            BigDecimal dailyQty) {
+    }
+
+    SyntheticDataGenerator(LoadTestArgs args) {
+        this.url = args.string("url",
+            "jdbc:sqlserver://localhost:1433;databaseName=elina;encrypt=false;trustServerCertificate=true");
+        this.dbUser = args.string("user", "elina");
+        this.dbPassword = args.string("password", "elina123");
+        this.prefix = args.string("prefix", "LOAD");
+        this.tenants = args.integer("tenants", 2);
+        this.usersPerTenant = args.integer("users", 5);
+        this.projectsPerTenant = args.integer("projects", 3);
+        this.wbsDepth = args.integer("wbs-depth", 3);
+        this.wbsFanout = args.integer("wbs-fanout", 3);
+        this.tasksPerWbs = args.integer("tasks-per-wbs", 4);
+        this.days = args.integer("days", 90);
+        this.planVersions = args.integer("plan-versions", 3);
+        this.updateRatio = args.decimal("update-ratio", 0.8);
+        this.batchSize = args.integer("batch-size", 1000);
+        this.userPassword = args.string("user-password", "LoadTest@123");
+        this.outputDir = Path.of(args.string("out", "target/loadtest"));
+        this.random = new Random(args.longValue("seed", 42));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new SyntheticDataGenerator(new LoadTestArgs(args)).run();
+    }
+
+    void run() throws SQLException, IOException {
+        Files.createDirectories(outputDir);
+        long start = System.currentTimeMillis();
+        String passwordHash = new BCryptPasswordEncoder().encode(userPassword);
+
+        try (Connection connection = DriverManager.getConnection(url, dbUser, dbPassword);
+             PrintWriter usersOut = new PrintWriter(Files.newBufferedWriter(outputDir.resolve("users.csv")));
+             PrintWriter tasksOut = new PrintWriter(Files.newBufferedWriter(outputDir.resolve("tasks.csv")))) {
+            connection.setAutoCommit(false);
+            usersOut.println("tenant_code,email");
+            tasksOut.println("tenant_code,project_id,task_id,start_date,end_date");
+
+            for (int t = 1; t <= tenants; t++) {
+                String tenantCode = String.format("%s%03d", prefix, t);
+                long tenantStart = System.currentTimeMillis();
+                generateTenant(connection, tenantCode, passwordHash, usersOut, tasksOut);
+                System.out.printf("Tenant %s generated in %d ms%n", tenantCode, System.currentTimeMillis() - tenantStart);
+            }
+        }
+
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        long total = rowCounts.values().stream().mapToLong(Long::longValue).sum();
+        System.out.println();
+        rowCounts.forEach((table, rows) -> System.out.printf("%-15s %,12d rows%n", table, rows));
+        System.out.printf("%-15s %,12d rows in %.1f s (%,d rows/s)%n", "total", total, elapsed / 1000.0,
+            total * 1000 / elapsed);
+        System.out.println("Manifest written to " + outputDir.toAbsolutePath());
+        System.out.println("Run POST /api/reports/progress/rebuild per tenant to refresh the progress facts.");
+    }
+
+    private void generateTenant(Connection connection, String tenantCode, String passwordHash,
+                                PrintWriter usersOut, PrintWriter tasksOut) throws SQLException {
+        if (queryId(connection, "SELECT id FROM tenants WHERE tenant_code = ?", tenantCode) != null) {
+            throw new IllegalStateException("Tenant " + tenantCode + " already exists; use another --prefix");
+        }
+
+        try (Batch batch = new Batch(connection, "tenants",
+                "INSERT INTO tenants (tenant_code, name, client_code, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)")) {
+            batch.add(tenantCode, "Load Test Tenant " + tenantCode, tenantCode, true, now, now);
+        }
+        long tenantId = queryId(connection, "SELECT id FROM tenants WHERE tenant_code = ?", tenantCode);
+
+        try (Batch batch = new Batch(connection, "roles",
+                "INSERT INTO roles (tenant_id, code, name, description, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            batch.add(tenantId, "SYSTEM_ADMIN", "System Administrator", "Load test role", true, now, now);
+        }
+        long roleId = queryId(connection, "SELECT id FROM roles WHERE tenant_id = ? AND code = ?", tenantId, "SYSTEM_ADMIN");
+
+        long userId = generateUsers(connection, tenantId, tenantCode, roleId, passwordHash, usersOut);
+        Map<String, Long> projectIds = generateProjects(connection, tenantId, userId);
+        List<WbsNode> leaves = generateWbs(connection, tenantId, userId, projectIds);
+        Map<Long, TaskSpec> tasks = generateTasks(connection, tenantId, userId, leaves);
+        generatePlansAndUpdates(connection, tenantId, userId, tasks);
+
+        tasks.forEach((taskId, task) -> tasksOut.printf("%s,%d,%d,%s,%s%n",
+            tenantCode, task.projectId(), taskId, task.startDate(), task.endDate()));
+    }
+
+    /**
+     * @return Id of the first user (used as created_by)
+     */
+    private long generateUsers(Connection connection, long tenantId, String tenantCode, long roleId,
+                               String passwordHash, PrintWriter usersOut) throws SQLException {
+        try (Batch batch = new Batch(connection, "users",
+                "INSERT INTO users (tenant_id, email, password_hash, first_name, last_name, is_active, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int u = 1; u <= usersPerTenant; u++) {
+                String email = "load.user" + u + "@" + tenantCode.toLowerCase() + ".example.com";
+                batch.add(tenantId, email, passwordHash, "Load", "User " + u, true, now, now);
+                usersOut.println(tenantCode + "," + email);
+            }
+        }
+
+        List<Long> userIds = queryIds(connection, "SELECT id FROM users WHERE tenant_id = ? ORDER BY id", tenantId);
+        try (Batch batch = new Batch(connection, "user_roles",
+                "INSERT INTO user_roles (user_id, role_id, created_at) VALUES (?, ?, ?)")) {
+            for (Long id : userIds) {
+                batch.add(id, roleId, now);
+            }
+        }
+        return userIds.get(0);
+    }
+
+    private Map<String, Long> generateProjects(Connection connection, long tenantId, long userId) throws SQLException {
+        try (Batch batch = new Batch(connection, "projects",
+                "INSERT INTO projects (tenant_id, project_code, project_name, search_name, description, start_date, " +
+                "end_date, status, activate_flag, created_by, created_on, updated_on) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int p = 1; p <= projectsPerTenant; p++) {
+                String name = pick(ZONES) + " Project " + p;
+                batch.add(tenantId, String.format("P%03d", p), name, SearchNames.normalize(name), "Synthetic load test project",
+                    today.minusDays(days), today.plusDays(days), "ACTIVE", true, userId, now, now);
+            }
+        }
+        return queryCodes(connection, "SELECT project_id, project_code FROM projects WHERE tenant_id = ?", tenantId);
+    }
+
+    /**
+     * WBS trees, one level at a time so parent ids and paths are known for the next level.
+     *
+     * @return Leaf WBS (the deepest level)
+     */
+    private List<WbsNode> generateWbs(Connection connection, long tenantId, long userId,
+                                      Map<String, Long> projectIds) throws SQLException {
+        List<WbsNode> parents = new ArrayList<>();
+        projectIds.forEach((code, id) -> parents.add(new WbsNode(0, id, code + "-W", "/")));
+
+        List<WbsNode> level = parents;
+        for (int depth = 1; depth <= wbsDepth; depth++) {
+            Map<String, WbsNode> parentByChildCode = new HashMap<>();
+            try (Batch batch = new Batch(connection, "wbs",
+                    "INSERT INTO wbs (tenant_id, project_id, parent_wbs_id, wbs_code, wbs_name, search_name, start_date, " +
+                    "end_date, level, work_center, cost_center, planned_qty, actual_qty, status, is_confirmed, is_locked, " +
+                    "activate_flag, created_by, created_on, updated_on) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (WbsNode parent : level) {
+                    for (int f = 1; f <= wbsFanout; f++) {
+                        String code = parent.code() + (depth == 1 ? "" : ".") + f;
+                        String name = pick(ACTIVITIES) + " " + pick(ZONES) + " " + code;
+                        parentByChildCode.put(code, parent);
+                        batch.add(tenantId, parent.projectId(), depth == 1 ? NULL_BIGINT : parent.id(), code, name,
+                            SearchNames.normalize(name), today.minusDays(days), today.plusDays(days), depth,
+                            "WC" + (1 + random.nextInt(3)), "CC" + (1 + random.nextInt(3)), BigDecimal.ZERO,
+                            BigDecimal.ZERO, "IN_PROGRESS", false, false, true, userId, now, now);
+                    }
+                }
+            }
+
+            Map<String, Long> ids = queryCodes(connection,
+                "SELECT wbs_id, wbs_code FROM wbs WHERE tenant_id = ? AND level = ?", tenantId, depth);
+            List<WbsNode> children = new ArrayList<>();
+            try (Batch batch = new Batch(connection, null, "UPDATE wbs SET path = ? WHERE wbs_id = ?")) {
+                for (Map.Entry<String, WbsNode> entry : parentByChildCode.entrySet()) {
+                    long id = ids.get(entry.getKey());
+                    WbsNode parent = entry.getValue();
+                    String path = parent.path() + id + "/";
+                    batch.add(path, id);
+                    children.add(new WbsNode(id, parent.projectId(), entry.getKey(), path));
+                }
+            }
+            children.sort((a, b) -> a.code().compareTo(b.code()));
+            level = children;
+        }
+        return level;
+    }
+
+    private Map<Long, TaskSpec> generateTasks(Connection connection, long tenantId, long userId,
+                                              List<WbsNode> leaves) throws SQLException {
+        Map<String, TaskSpec> specs = new LinkedHashMap<>();
+        try (Batch batch = new Batch(connection, "tasks",
+                "INSERT INTO tasks (tenant_id, project_id, wbs_id, task_code, task_name, search_name, start_date, end_date, " +
+                "planned_qty, actual_qty, unit, status, is_confirmed, is_locked, activate_flag, created_by, created_on, updated_on) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (WbsNode leaf : leaves) {
+                for (int t = 1; t <= tasksPerWbs; t++) {
+                    String code = leaf.code() + "-T" + t;
+                    String name = pick(ACTIVITIES) + " " + pick(ZONES) + " " + code;
+                    // About two thirds of each task lies in the past
+                    LocalDate startDate = today.minusDays(days * 2L / 3 + random.nextInt(7) - 3);
+                    LocalDate endDate = startDate.plusDays(days - 1);
+                    BigDecimal dailyQty = BigDecimal.valueOf(5 + random.nextInt(46));
+                    specs.put(code, new TaskSpec(code, leaf.projectId(), leaf.id(), startDate, endDate, dailyQty));
+                    batch.add(tenantId, leaf.projectId(), leaf.id(), code, name, SearchNames.normalize(name), startDate,
+                        endDate, dailyQty.multiply(BigDecimal.valueOf(days)), BigDecimal.ZERO, pick(UNITS), "IN_PROGRESS",
+                        false, false, true, userId, now, now);
+                }
+            }
+        }
+
+        Map<String, Long> ids = queryCodes(connection, "SELECT task_id, task_code FROM tasks WHERE tenant_id = ?", tenantId);
+        Map<Long, TaskSpec> tasks = new LinkedHashMap<>();
+        specs.forEach((code, spec) -> tasks.put(ids.get(code), spec));
+        return tasks;
+    }
+
+    /**
+     * Plan versions (the last one active) with a line per task day, and task updates for past
+     * days following the active plan with some variance.
+     */
+    private void generatePlansAndUpdates(Connection connection, long tenantId, long userId,
+                                         Map<Long, TaskSpec> tasks) throws SQLException {
+        try (Batch batch = new Batch(connection, "plan_versions",
+                "INSERT INTO plan_versions (tenant_id, task_id, version_no, version_date, description, is_active, " +
+                "activate_flag, is_archived, created_by, created_on, updated_on) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (Map.Entry<Long, TaskSpec> entry : tasks.entrySet()) {
+                for (int v = 1; v <= planVersions; v++) {
+                    batch.add(tenantId, entry.getKey(), v, entry.getValue().startDate().plusDays(v - 1L),
+                        "Synthetic plan v" + v, v == planVersions, true, false, userId, now, now);
+                }
+            }
+        }
+
+        Map<Long, Map<Integer, Long>> versionIds = new HashMap<>();
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT plan_version_id, task_id, version_no FROM plan_versions WHERE tenant_id = ?")) {
+            ps.setLong(1, tenantId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    versionIds.computeIfAbsent(rs.getLong(2), k -> new HashMap<>()).put(rs.getInt(3), rs.getLong(1));
+                }
+            }
+        }
+
+        try (Batch lines = new Batch(connection, "plan_lines",
+                "INSERT INTO plan_lines (tenant_id, plan_version_id, task_id, line_number, work_date, planned_qty, " +
+                "description, activate_flag, created_by, created_on, updated_on) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             Batch updates = new Batch(connection, "task_updates",
+                "INSERT INTO task_updates (tenant_id, task_id, update_date, planned_qty, actual_qty, daily_update_qty, " +
+                "remarks, activate_flag, created_by, created_on, updated_on) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (Map.Entry<Long, TaskSpec> entry : tasks.entrySet()) {
+                long taskId = entry.getKey();
+                TaskSpec task = entry.getValue();
+                Map<Integer, Long> versions = versionIds.get(taskId);
+
+                BigDecimal activeQty = task.dailyQty();
+                for (int v = 1; v <= planVersions; v++) {
+                    // Each re-plan moves the daily quantity by up to +/-10%
+                    BigDecimal qty = task.dailyQty()
+                        .multiply(BigDecimal.valueOf(0.9 + random.nextDouble() * 0.2))
+                        .setScale(2, RoundingMode.HALF_UP);
+                    for (int d = 0; d < days; d++) {
+                        lines.add(tenantId, versions.get(v), taskId, d + 1, task.startDate().plusDays(d), qty,
+                            "Day " + (d + 1), true, userId, now, now);
+                    }
+                    activeQty = qty;
+                }
+
+                for (LocalDate date = task.startDate(); date.isBefore(today) && !date.isAfter(task.endDate());
+                     date = date.plusDays(1)) {
+                    if (random.nextDouble() >= updateRatio) {
+                        continue;
+                    }
+                    BigDecimal actual = activeQty
+                        .multiply(BigDecimal.valueOf(0.6 + random.nextDouble() * 0.6))
+                        .setScale(2, RoundingMode.HALF_UP);
+                    updates.add(tenantId, taskId, date, activeQty, actual, actual, "Synthetic update", true,
+                        userId, now, now);
+                }
+            }
+        }
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static Long queryId(Connection connection, String sql, Object... params) throws SQLException {
+        List<Long> ids = queryIds(connection, sql, params);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    private static List<Long> queryIds(Connection connection, String sql, Object... params) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Code -> id for a query selecting (id, code).
+     */
+    private static Map<String, Long> queryCodes(Connection connection, String sql, Object... params) throws SQLException {
+        Map<String, Long> ids = new LinkedHashMap<>();
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            bind(ps, params);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.put(rs.getString(2), rs.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static void bind(PreparedStatement ps, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            Object value = params[i];
+            int index = i + 1;
+            if (value instanceof Null typedNull) {
+                ps.setNull(index, typedNull.sqlType());
+            } else if (value instanceof LocalDate date) {
+                ps.setDate(index, java.sql.Date.valueOf(date));
+            } else if (value instanceof Timestamp timestamp) {
+                ps.setTimestamp(index, timestamp);
+            } else if (value instanceof Boolean bool) {
+                ps.setBoolean(index, bool);
+            } else if (value instanceof BigDecimal decimal) {
+                ps.setBigDecimal(index, decimal);
+            } else if (value instanceof Long number) {
+                ps.setLong(index, number);
+            } else if (value instanceof Integer number) {
+                ps.setInt(index, number);
+            } else {
+                ps.setString(index, (String) value);
+            }
+        }
+    }
+
+    /**
+     * JDBC batch of one statement, executed and committed every batch-size rows.
+     */
+    private final class Batch implements AutoCloseable {
+
+        private final Connection connection;
+        private final String table;
+        private final PreparedStatement statement;
+        private int pending;
+
+        Batch(Connection connection, String table, String sql) throws SQLException {
+            this.connection = connection;
+            this.table = table;
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        void add(Object... values) throws SQLException {
+            bind(statement, values);
+            statement.addBatch();
+            if (++pending >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (pending == 0) {
+                return;
+            }
+            statement.executeBatch();
+            connection.commit();
+            if (table != null) {
+                rowCounts.merge(table, (long) pending, Long::sum);
+            }
+            pending = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.elina.projects.controller;
+
+import com.elina.projects.dto.CursorPageDTO;
+import com.elina.projects.dto.TaskDTO;
+import com.elina.projects.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TaskController keyset listing.
+ *
+ * Tests cover:
+ * - Page sizes below 1 answered with 400 before reaching the service
+ * - Valid sizes passed through to the service
+ */
+@ExtendWith(MockitoExtension.class)
+class TaskControllerTest {
+
+    @Mock
+    private TaskService taskService;
+
+    @InjectMocks
+    private TaskController taskController;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                1L, null, List.of(new SimpleGrantedAuthority("PAGE_PROJECTS_VIEW"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testListTasksAfter_SizeBelowOne_ShouldReturnBadRequest() {
+        ResponseEntity<CursorPageDTO<TaskDTO>> zero = taskController.listTasksAfter(null, null, false, null, null, 0, false);
+        ResponseEntity<CursorPageDTO<TaskDTO>> negative = taskController.listTasksAfter(null, null, false, null, null, -1, false);
+
+        assertEquals(HttpStatus.BAD_REQUEST, zero.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, negative.getStatusCode());
+        verify(taskService, never()).listTasksAfter(any(), any(), any(), any(), any(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    void testListTasksAfter_ValidSize_ShouldCallService() {
+        CursorPageDTO<TaskDTO> page = new CursorPageDTO<>();
+        when(taskService.listTasksAfter(null, null, false, null, null, 1, false)).thenReturn(page);
+
+        ResponseEntity<CursorPageDTO<TaskDTO>> response = taskController.listTasksAfter(null, null, false, null, null, 1, false);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(page, response.getBody());
+    }
+}
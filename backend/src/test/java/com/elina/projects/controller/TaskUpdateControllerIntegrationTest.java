@@ -178,7 +178,27 @@ class TaskUpdateControllerIntegrationTest {
         mockMvc.perform(get("/api/task-updates/task/" + task.getTaskId())
                 .header("Authorization", "Bearer " + authToken))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(header().exists("X-SQL-Statements")); // Within @SqlBudget, else the request fails
+    }
+
+    @Test
+    void testGetUpdatesForTask_Columnar_ReturnsOneArrayPerField() throws Exception {
+        mockMvc.perform(get("/api/task-updates/task/" + task.getTaskId())
+                .param("format", "columnar")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updateDate").isArray())
+                .andExpect(jsonPath("$.planQty").isArray())
+                .andExpect(jsonPath("$.actualQty").isArray())
+                .andExpect(jsonPath("$.canEdit").isArray());
+
+        mockMvc.perform(get("/api/task-updates/task/" + task.getTaskId() + "/window")
+                .param("format", "columnar")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.columns.updateDate").isArray())
+                .andExpect(jsonPath("$.rows").doesNotExist());
     }
 
     @Test
@@ -0,0 +1,142 @@
+package com.elina.projects.service;
+
+import com.elina.authorization.config.PrimaryCacheLoader;
+import com.elina.authorization.config.ReplicaRoutingDataSource;
+import com.elina.authorization.context.TenantContext;
+import com.elina.projects.entity.Task;
+import com.elina.projects.entity.Wbs;
+import com.elina.projects.repository.ConfirmationLockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ConfirmationLockResolver.
+ *
+ * Tests cover:
+ * - Lock dates cached on first access (including "no lock")
+ * - Task and WBS entries cached separately
+ * - Tenant eviction after a confirmation
+ * - Lock dates loaded from the primary while reads use a lagging read replica
+ */
+@ExtendWith(MockitoExtension.class)
+class ConfirmationLockResolverTest {
+
+    @Mock
+    private ConfirmationLockRepository confirmationLockRepository;
+
+    private ConfirmationLockResolver resolver;
+    private Wbs wbs;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(1L);
+        resolver = new ConfirmationLockResolver(confirmationLockRepository, new ConcurrentMapCacheManager(),
+            new PrimaryCacheLoader(Optional.empty(), mock(PlatformTransactionManager.class)));
+
+        wbs = new Wbs();
+        wbs.setWbsId(2L);
+        task = new Task();
+        task.setTaskId(10L);
+        task.setWbs(wbs);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void testGetLockDate_CachedOnFirstAccess() {
+        when(confirmationLockRepository.findEffectiveLockDate(1L, List.of(2L), 10L)).thenReturn(null);
+
+        assertNull(resolver.getLockDate(task));
+        assertNull(resolver.getLockDate(task));
+
+        verify(confirmationLockRepository, times(1)).findEffectiveLockDate(1L, List.of(2L), 10L);
+    }
+
+    @Test
+    void testGetLockDate_TaskAndWbsCachedSeparately() {
+        when(confirmationLockRepository.findEffectiveLockDate(1L, List.of(2L), 10L)).thenReturn(LocalDate.of(2025, 11, 30));
+        when(confirmationLockRepository.findEffectiveLockDate(1L, List.of(2L), null)).thenReturn(LocalDate.of(2025, 10, 31));
+
+        assertEquals(LocalDate.of(2025, 11, 30), resolver.getLockDate(task));
+        assertEquals(LocalDate.of(2025, 10, 31), resolver.getLockDate(wbs));
+        assertEquals(LocalDate.of(2025, 11, 30), resolver.getLockDate(task));
+    }
+
+    @Test
+    void testEvictTenant_ReloadsLockDates() {
+        when(confirmationLockRepository.findEffectiveLockDate(1L, List.of(2L), 10L))
+                .thenReturn(null, LocalDate.of(2025, 11, 30));
+
+        assertNull(resolver.getLockDate(task));
+        assertNull(resolver.getLockDate(task));
+
+        resolver.evictTenant(1L);
+
+        assertEquals(LocalDate.of(2025, 11, 30), resolver.getLockDate(task));
+    }
+
+    @Test
+    void testGetLockDate_AfterConfirmation_LoadsFromPrimaryWhileReadsUseLaggingReplica() throws SQLException {
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        Connection primaryConnection = mock(Connection.class);
+        Connection replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, Duration.ofMinutes(1), 100, 1,
+            meterRegistry);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        resolver = new ConfirmationLockResolver(confirmationLockRepository, new ConcurrentMapCacheManager(),
+            new PrimaryCacheLoader(Optional.of(routing), transactionManager));
+
+        // The confirmation is committed on the primary; the replica has not applied it yet
+        when(confirmationLockRepository.findEffectiveLockDate(1L, List.of(2L), 10L)).thenAnswer(invocation ->
+            targetConnection(dataSource) == primaryConnection ? LocalDate.of(2025, 11, 30) : null);
+        resolver.evictTenant(1L);
+
+        TransactionTemplate gridLoad = new TransactionTemplate(transactionManager);
+        gridLoad.setReadOnly(true);
+        gridLoad.executeWithoutResult(status -> {
+            assertSame(replicaConnection, targetConnection(dataSource));
+            assertEquals(LocalDate.of(2025, 11, 30), resolver.getLockDate(task));
+        });
+        // A later save sees the cached lock, not the replica's "no lock"
+        assertEquals(LocalDate.of(2025, 11, 30), resolver.getLockDate(task));
+
+        verify(confirmationLockRepository, times(1)).findEffectiveLockDate(1L, List.of(2L), 10L);
+        assertEquals(1.0, meterRegistry.get("datasource.routing").tags("reason", "cache-load").counter().count());
+    }
+
+    private static Connection targetConnection(DataSource dataSource) {
+        return ((ConnectionProxy) DataSourceUtils.getConnection(dataSource)).getTargetConnection();
+    }
+}
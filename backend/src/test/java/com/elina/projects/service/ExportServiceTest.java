@@ -0,0 +1,171 @@
+package com.elina.projects.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.projects.entity.PlanLine;
+import com.elina.projects.repository.ExportRepository;
+import com.elina.projects.repository.ExportRepository.ArchivedPlanVersion;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ExportService.
+ *
+ * Tests cover:
+ * - CSV export (header, plain decimals, ISO dates, formula-like text escaped)
+ * - XLSX export (typed cells)
+ * - Plan line export of all versions including archived ones
+ * - Tenant captured when the export is prepared
+ * - Invalid format and date range rejected before streaming
+ */
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock
+    private ExportRepository exportRepository;
+
+    @Mock
+    private PlanVersionArchiveService planVersionArchiveService;
+
+    @InjectMocks
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private void stubTaskUpdates() {
+        when(exportRepository.streamTaskUpdates(eq(1L), eq(5L), isNull(), isNull(), isNull(), any()))
+                .thenAnswer(invocation -> {
+                    ExportRepository.RowSink sink = invocation.getArgument(5);
+                    sink.columns(List.of("task_code", "update_date", "actual_qty", "remarks"));
+                    sink.row(new Object[] {"TASK-001", LocalDate.of(2025, 11, 5), new BigDecimal("12.50"), "=SUM(A1)"});
+                    sink.row(new Object[] {"TASK-001", LocalDate.of(2025, 11, 6), new BigDecimal("1E+1"), null});
+                    return 2L;
+                });
+    }
+
+    @Test
+    void testExportTaskUpdates_Csv() throws Exception {
+        stubTaskUpdates();
+
+        ExportService.Export export = exportService.exportTaskUpdates("csv", 5L, null, null, null);
+        // Body runs later, without tenant context
+        TenantContext.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.body().writeTo(out);
+
+        assertEquals("text/csv", export.contentType());
+        assertTrue(export.fileName().startsWith("task-updates-"));
+        assertEquals("task_code,update_date,actual_qty,remarks\r\n" +
+                "TASK-001,2025-11-05,12.50,'=SUM(A1)\r\n" +
+                "TASK-001,2025-11-06,10,\r\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExportTaskUpdates_Xlsx() throws Exception {
+        stubTaskUpdates();
+
+        ExportService.Export export = exportService.exportTaskUpdates("XLSX", 5L, null, null, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.body().writeTo(out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheet("task-updates");
+            assertEquals(2, sheet.getLastRowNum());
+            assertEquals("update_date", sheet.getRow(0).getCell(1).getStringCellValue());
+            assertEquals(LocalDate.of(2025, 11, 5), sheet.getRow(1).getCell(1).getLocalDateTimeCellValue().toLocalDate());
+            assertEquals(12.5, sheet.getRow(1).getCell(2).getNumericCellValue());
+            assertEquals("=SUM(A1)", sheet.getRow(1).getCell(3).getStringCellValue());
+        }
+    }
+
+    private static PlanLine planLine(int lineNumber, LocalDate workDate, String qty, boolean active) {
+        PlanLine line = new PlanLine();
+        line.setLineNumber(lineNumber);
+        line.setWorkDate(workDate);
+        line.setPlannedQty(new BigDecimal(qty));
+        line.setActivateFlag(active);
+        return line;
+    }
+
+    @Test
+    void testExportPlanLines_AllVersions_ShouldIncludeArchivedVersions() throws Exception {
+        when(exportRepository.streamPlanLines(eq(1L), isNull(), eq(7L), eq(false), isNull(),
+                eq(LocalDate.of(2025, 11, 30)), any()))
+                .thenAnswer(invocation -> {
+                    ExportRepository.RowSink sink = invocation.getArgument(6);
+                    sink.columns(List.of("project_code", "task_code", "task_name", "version_no", "is_active",
+                            "line_number", "work_date", "planned_qty", "description"));
+                    sink.row(new Object[] {"P-001", "TASK-001", "Slab", 3, true, 1, LocalDate.of(2025, 11, 5),
+                            new BigDecimal("8.00"), null});
+                    return 1L;
+                });
+        when(exportRepository.findArchivedPlanVersions(1L, null, 7L))
+                .thenReturn(List.of(new ArchivedPlanVersion(7L, 41L, "P-001", "TASK-001", "Slab", 1)));
+        when(planVersionArchiveService.loadArchivedLinesByVersion(7L)).thenAnswer(invocation -> {
+            // Archive reads need the tenant on the export thread
+            assertEquals(1L, TenantContext.getTenantId());
+            return Map.of(41L, List.of(
+                    planLine(2, LocalDate.of(2025, 11, 6), "4.00", true),
+                    planLine(1, LocalDate.of(2025, 11, 5), "5.00", true),
+                    planLine(3, LocalDate.of(2025, 11, 7), "6.00", false),
+                    planLine(4, LocalDate.of(2025, 12, 1), "7.00", true)));
+        });
+
+        ExportService.Export export = exportService.exportPlanLines("csv", null, 7L, false, null,
+                LocalDate.of(2025, 11, 30));
+        TenantContext.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.body().writeTo(out);
+
+        assertEquals("project_code,task_code,task_name,version_no,is_active,line_number,work_date,planned_qty,description\r\n" +
+                "P-001,TASK-001,Slab,3,true,1,2025-11-05,8.00,\r\n" +
+                "P-001,TASK-001,Slab,1,false,1,2025-11-05,5.00,\r\n" +
+                "P-001,TASK-001,Slab,1,false,2,2025-11-06,4.00,\r\n", out.toString(StandardCharsets.UTF_8));
+        assertNull(TenantContext.getTenantId());
+    }
+
+    @Test
+    void testExportPlanLines_CurrentOnly_ShouldNotReadArchives() throws Exception {
+        when(exportRepository.streamPlanLines(eq(1L), isNull(), isNull(), eq(true), isNull(), isNull(), any()))
+                .thenReturn(0L);
+
+        exportService.exportPlanLines("csv", null, null, true, null, null).body().writeTo(new ByteArrayOutputStream());
+
+        verify(exportRepository, never()).findArchivedPlanVersions(any(), any(), any());
+        verifyNoInteractions(planVersionArchiveService);
+    }
+
+    @Test
+    void testExport_InvalidArguments_ShouldThrowException() {
+        assertThrows(RuntimeException.class, () -> exportService.exportTaskUpdates("pdf", null, null, null, null));
+        assertThrows(RuntimeException.class, () -> exportService.exportAuditLogs("csv", null,
+                LocalDate.of(2025, 11, 10), LocalDate.of(2025, 11, 1)));
+        verifyNoInteractions(exportRepository);
+    }
+}
@@ -51,7 +51,7 @@ class PlanServiceAdditionalTest {
     private TenantRepository tenantRepository;
 
     @Mock
-    private ConfirmationRepository confirmationRepository;
+    private ConfirmationLockResolver confirmationLockResolver;
 
     @Mock
     private BusinessRuleEngine businessRuleEngine;
@@ -59,6 +59,12 @@ class PlanServiceAdditionalTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private PlanVersionArchiveService planVersionArchiveService;
+
+    @Mock
+    private ProgressFactService progressFactService;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -103,22 +109,22 @@ class PlanServiceAdditionalTest {
     @Test
     void testListPlanVersions_Success() {
         // Arrange
-        PlanVersion version1 = new PlanVersion();
+        PlanVersionDTO version1 = new PlanVersionDTO();
         version1.setPlanVersionId(1L);
-        version1.setTenant(tenant);
-        version1.setTask(task);
+        version1.setTenantId(tenant.getId());
+        version1.setTaskId(task.getTaskId());
         version1.setVersionNo(1);
         version1.setIsActive(true);
 
-        PlanVersion version2 = new PlanVersion();
+        PlanVersionDTO version2 = new PlanVersionDTO();
         version2.setPlanVersionId(2L);
-        version2.setTenant(tenant);
-        version2.setTask(task);
+        version2.setTenantId(tenant.getId());
+        version2.setTaskId(task.getTaskId());
         version2.setVersionNo(2);
         version2.setIsActive(false);
 
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(planVersionRepository.findByTaskId(1L, true)).thenReturn(Arrays.asList(version2, version1));
+        when(planVersionRepository.findDTOsByTaskId(1L, true)).thenReturn(Arrays.asList(version2, version1));
 
         // Act
         List<PlanVersionDTO> result = planService.listPlanVersions(1L);
@@ -174,24 +180,24 @@ class PlanServiceAdditionalTest {
         version.setTenant(tenant);
         version.setTask(task);
 
-        PlanLine line1 = new PlanLine();
+        PlanLineDTO line1 = new PlanLineDTO();
         line1.setPlanLineId(1L);
         line1.setWorkDate(LocalDate.of(2025, 1, 10));
         line1.setPlannedQty(BigDecimal.valueOf(100.0));
-        line1.setTenant(tenant);
-        line1.setPlanVersion(version);
-        line1.setTask(task);
+        line1.setTenantId(tenant.getId());
+        line1.setPlanVersionId(version.getPlanVersionId());
+        line1.setTaskId(task.getTaskId());
 
-        PlanLine line2 = new PlanLine();
+        PlanLineDTO line2 = new PlanLineDTO();
         line2.setPlanLineId(2L);
         line2.setWorkDate(LocalDate.of(2025, 1, 15));
         line2.setPlannedQty(BigDecimal.valueOf(150.0));
-        line2.setTenant(tenant);
-        line2.setPlanVersion(version);
-        line2.setTask(task);
+        line2.setTenantId(tenant.getId());
+        line2.setPlanVersionId(version.getPlanVersionId());
+        line2.setTaskId(task.getTaskId());
 
         when(planVersionRepository.findById(1L)).thenReturn(Optional.of(version));
-        when(planLineRepository.findByPlanVersionId(1L, true)).thenReturn(Arrays.asList(line1, line2));
+        when(planLineRepository.findDTOsByPlanVersionId(1L, true)).thenReturn(Arrays.asList(line1, line2));
 
         // Act
         List<PlanLineDTO> result = planService.getPlanLines(1L);
@@ -241,7 +247,7 @@ class PlanServiceAdditionalTest {
         version.setVersionNo(1);
 
         when(planVersionRepository.findById(1L)).thenReturn(Optional.of(version));
-        when(confirmationRepository.existsByEntityTypeAndEntityId("TASK", task.getTaskId())).thenReturn(false);
+        when(confirmationLockResolver.getLockDate(task)).thenReturn(null);
         when(planLineRepository.findByPlanVersionId(1L, null)).thenReturn(Collections.emptyList());
 
         // Act
@@ -261,7 +267,7 @@ class PlanServiceAdditionalTest {
         version.setTask(task);
 
         when(planVersionRepository.findById(1L)).thenReturn(Optional.of(version));
-        when(confirmationRepository.existsByEntityTypeAndEntityId("TASK", task.getTaskId())).thenReturn(true);
+        when(confirmationLockResolver.getLockDate(task)).thenReturn(LocalDate.now());
 
         // Act & Assert
         BusinessRuleException exception = assertThrows(BusinessRuleException.class, 
@@ -51,7 +51,7 @@ class PlanServiceTest {
     private TenantRepository tenantRepository;
 
     @Mock
-    private ConfirmationRepository confirmationRepository;
+    private ConfirmationLockResolver confirmationLockResolver;
 
     @Mock
     private BusinessRuleEngine businessRuleEngine;
@@ -59,6 +59,12 @@ class PlanServiceTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private PlanVersionArchiveService planVersionArchiveService;
+
+    @Mock
+    private ProgressFactService progressFactService;
+
     @Mock
     private SecurityContext securityContext;
 
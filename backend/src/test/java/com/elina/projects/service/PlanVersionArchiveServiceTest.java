@@ -0,0 +1,257 @@
+package com.elina.projects.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.authorization.entity.Tenant;
+import com.elina.projects.entity.PlanLine;
+import com.elina.projects.entity.PlanVersion;
+import com.elina.projects.entity.PlanVersionArchive;
+import com.elina.projects.entity.Task;
+import com.elina.projects.repository.PlanLineRepository;
+import com.elina.projects.repository.PlanVersionArchiveRepository;
+import com.elina.projects.repository.PlanVersionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PlanVersionArchiveService.
+ * Tests retention selection, delta-encoded archive chains and lazy restore.
+ */
+@ExtendWith(MockitoExtension.class)
+class PlanVersionArchiveServiceTest {
+
+    @Mock
+    private PlanVersionRepository planVersionRepository;
+
+    @Mock
+    private PlanLineRepository planLineRepository;
+
+    @Mock
+    private PlanVersionArchiveRepository archiveRepository;
+
+    @Mock
+    private ConfirmationLockResolver confirmationLockResolver;
+
+    @InjectMocks
+    private PlanVersionArchiveService archiveService;
+
+    private Tenant tenant;
+    private Task task;
+    private List<PlanVersionArchive> storedArchives;
+    private Map<Long, List<PlanLine>> linesByVersion;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(1L);
+        ReflectionTestUtils.setField(archiveService, "retentionEnabled", true);
+        ReflectionTestUtils.setField(archiveService, "keepLast", 2);
+        ReflectionTestUtils.setField(archiveService, "maxAgeDays", 0);
+        ReflectionTestUtils.setField(archiveService, "keyframeInterval", 10);
+
+        tenant = new Tenant();
+        tenant.setId(1L);
+
+        task = new Task();
+        task.setTaskId(1L);
+        task.setTenant(tenant);
+
+        storedArchives = new ArrayList<>();
+        linesByVersion = new HashMap<>();
+
+        lenient().when(archiveRepository.save(any(PlanVersionArchive.class))).thenAnswer(invocation -> {
+            PlanVersionArchive archive = invocation.getArgument(0);
+            if (archive.getArchiveId() == null) {
+                archive.setArchiveId((long) storedArchives.size() + 1);
+                storedArchives.add(archive);
+            }
+            return archive;
+        });
+        lenient().when(archiveRepository.findByTaskId(1L)).thenAnswer(invocation -> new ArrayList<>(storedArchives));
+        lenient().when(archiveRepository.findByPlanVersionId(anyLong())).thenAnswer(invocation -> storedArchives.stream()
+                .filter(a -> a.getPlanVersion().getPlanVersionId().equals(invocation.getArgument(0)))
+                .findFirst());
+        lenient().doAnswer(invocation -> storedArchives.remove((PlanVersionArchive) invocation.getArgument(0)))
+                .when(archiveRepository).delete(any(PlanVersionArchive.class));
+        lenient().when(planLineRepository.findByPlanVersionId(anyLong(), isNull()))
+                .thenAnswer(invocation -> linesByVersion.getOrDefault((Long) invocation.getArgument(0), List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void testApplyRetentionPolicy_ArchivesVersionsBeyondKeepLast() {
+        List<PlanVersion> versions = createVersions(5, 5);
+        when(planVersionRepository.findByTaskId(1L, null)).thenReturn(versions);
+
+        int archived = archiveService.applyRetentionPolicy(task);
+
+        // Versions 5 and 4 are kept; 3, 2, 1 archived oldest first
+        assertEquals(3, archived);
+        assertEquals(List.of(1, 2, 3), storedArchives.stream()
+                .map(a -> a.getPlanVersion().getVersionNo()).collect(Collectors.toList()));
+        assertNull(storedArchives.get(0).getBaseArchiveId());
+        assertEquals(1L, storedArchives.get(1).getBaseArchiveId());
+        assertEquals(2L, storedArchives.get(2).getBaseArchiveId());
+        assertTrue(versions.get(2).getIsArchived());
+        assertFalse(versions.get(1).getIsArchived());
+        verify(planLineRepository, times(3)).deleteByPlanVersionId(anyLong());
+    }
+
+    @Test
+    void testApplyRetentionPolicy_NeverArchivesActiveOrConfirmedVersions() {
+        List<PlanVersion> versions = createVersions(5, 2);
+        // Lock inherited from an ancestor WBS, resolved by ConfirmationLockResolver
+        when(confirmationLockResolver.getLockDate(task)).thenReturn(LocalDate.of(2025, 1, 1));
+        when(planVersionRepository.findByTaskId(1L, null)).thenReturn(versions);
+
+        int archived = archiveService.applyRetentionPolicy(task);
+
+        // Version 2 is active, version 1 is dated on the confirmation date
+        assertEquals(1, archived);
+        assertEquals(3, storedArchives.get(0).getPlanVersion().getVersionNo());
+    }
+
+    @Test
+    void testApplyRetentionPolicy_Disabled() {
+        ReflectionTestUtils.setField(archiveService, "retentionEnabled", false);
+
+        assertEquals(0, archiveService.applyRetentionPolicy(task));
+        verify(planVersionRepository, never()).findByTaskId(anyLong(), any());
+    }
+
+    @Test
+    void testApplyRetentionPolicyIfDue_SkipsPolicyBelowThreshold() {
+        when(planVersionRepository.countRetentionCandidates(eq(1L), isNull(), eq(2), isNull())).thenReturn(0L);
+
+        assertEquals(0, archiveService.applyRetentionPolicyIfDue(task));
+        verify(planVersionRepository, never()).findByTaskId(anyLong(), any());
+        verify(archiveRepository, never()).findByTaskId(anyLong());
+    }
+
+    @Test
+    void testApplyRetentionPolicyIfDue_RunsPolicyWhenThresholdCrossed() {
+        List<PlanVersion> versions = createVersions(3, 3);
+        when(planVersionRepository.countRetentionCandidates(eq(1L), isNull(), eq(2), isNull())).thenReturn(1L);
+        when(planVersionRepository.findByTaskId(1L, null)).thenReturn(versions);
+
+        assertEquals(1, archiveService.applyRetentionPolicyIfDue(task));
+        assertTrue(versions.get(2).getIsArchived());
+    }
+
+    @Test
+    void testLoadArchivedLines_DecodesDeltaChain() {
+        List<PlanVersion> versions = createVersions(5, 5);
+        Map<Long, List<PlanLine>> original = new HashMap<>(linesByVersion);
+        when(planVersionRepository.findByTaskId(1L, null)).thenReturn(versions);
+        archiveService.applyRetentionPolicy(task);
+
+        for (PlanVersion version : versions.subList(2, 5)) {
+            List<PlanLine> decoded = archiveService.loadArchivedLines(version);
+            assertSameLines(original.get(version.getPlanVersionId()), decoded);
+        }
+    }
+
+    @Test
+    void testLoadArchivedLinesByVersion_DecodesEveryArchivedVersion() {
+        List<PlanVersion> versions = createVersions(5, 5);
+        Map<Long, List<PlanLine>> original = new HashMap<>(linesByVersion);
+        when(planVersionRepository.findByTaskId(1L, null)).thenReturn(versions);
+        archiveService.applyRetentionPolicy(task);
+        clearInvocations(archiveRepository);
+
+        Map<Long, List<PlanLine>> decoded = archiveService.loadArchivedLinesByVersion(1L);
+
+        assertEquals(Set.of(1L, 2L, 3L), decoded.keySet());
+        decoded.forEach((versionId, lines) -> assertSameLines(original.get(versionId), lines));
+        // The chain is read once for all versions
+        verify(archiveRepository, times(1)).findByTaskId(1L);
+    }
+
+    @Test
+    void testRestoreVersion_RewritesDependentAsSnapshot() {
+        List<PlanVersion> versions = createVersions(5, 5);
+        Map<Long, List<PlanLine>> original = new HashMap<>(linesByVersion);
+        when(planVersionRepository.findByTaskId(1L, null)).thenReturn(versions);
+        archiveService.applyRetentionPolicy(task);
+
+        // Restore version 2, which version 3's delta is based on
+        PlanVersion version2 = versions.get(3);
+        List<PlanLine> restored = new ArrayList<>();
+        when(planLineRepository.save(any(PlanLine.class))).thenAnswer(invocation -> {
+            restored.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        archiveService.restoreVersion(version2);
+
+        assertFalse(version2.getIsArchived());
+        assertSameLines(original.get(2L), restored);
+        PlanVersionArchive version3Archive = storedArchives.stream()
+                .filter(a -> a.getPlanVersion().getVersionNo() == 3).findFirst().orElseThrow();
+        assertNull(version3Archive.getBaseArchiveId());
+        assertSameLines(original.get(3L), archiveService.loadArchivedLines(versions.get(2)));
+    }
+
+    /**
+     * Create versions 1..count (returned newest first, as the repository does),
+     * each with a few lines that change slightly from version to version.
+     */
+    private List<PlanVersion> createVersions(int count, int activeVersionNo) {
+        List<PlanVersion> versions = new ArrayList<>();
+        for (int no = 1; no <= count; no++) {
+            PlanVersion version = new PlanVersion();
+            version.setPlanVersionId((long) no);
+            version.setTenant(tenant);
+            version.setTask(task);
+            version.setVersionNo(no);
+            version.setVersionDate(LocalDate.of(2025, 1, no));
+            version.setIsActive(no == activeVersionNo);
+            version.setIsArchived(false);
+            version.setCreatedBy(1L);
+            versions.add(0, version);
+
+            List<PlanLine> lines = new ArrayList<>();
+            for (int day = 1; day <= 5 + no; day++) {
+                PlanLine line = new PlanLine();
+                line.setLineNumber(day);
+                line.setWorkDate(LocalDate.of(2025, 2, day));
+                line.setPlannedQty(BigDecimal.valueOf(day == no ? 50 + no : 10).setScale(2));
+                line.setDescription(day == 1 ? "Version " + no : null);
+                line.setActivateFlag(day != 3 || no % 2 == 0);
+                lines.add(line);
+            }
+            linesByVersion.put((long) no, lines);
+        }
+        return versions;
+    }
+
+    private void assertSameLines(List<PlanLine> expected, List<PlanLine> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            PlanLine e = expected.get(i);
+            PlanLine a = actual.get(i);
+            assertEquals(e.getWorkDate(), a.getWorkDate());
+            assertEquals(0, e.getPlannedQty().compareTo(a.getPlannedQty()));
+            assertEquals(e.getLineNumber(), a.getLineNumber());
+            assertEquals(e.getDescription(), a.getDescription());
+            assertEquals(e.getActivateFlag(), a.getActivateFlag());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.elina.projects.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.projects.repository.ProgressFactRepository;
+import com.elina.projects.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProgressFactService.
+ *
+ * Tests cover:
+ * - Immediate refresh outside a transaction
+ * - Changed tasks collected and refreshed once before commit, after a flush
+ * - Nothing refreshed when the transaction rolls back
+ */
+@ExtendWith(MockitoExtension.class)
+class ProgressFactServiceTest {
+
+    @Mock
+    private ProgressFactRepository progressFactRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private ProgressFactService progressFactService;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(progressFactService);
+        TenantContext.clear();
+    }
+
+    @Test
+    void testTaskChanged_OutsideTransaction_RefreshesImmediately() {
+        progressFactService.taskChanged(10L);
+
+        verify(progressFactRepository, times(1)).refreshTasks(1L, List.of(10L));
+        verify(taskRepository, never()).flush();
+    }
+
+    @Test
+    void testTaskChanged_InsideTransaction_RefreshesOnceBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        progressFactService.taskChanged(10L);
+        progressFactService.taskChanged(11L);
+        progressFactService.taskChanged(10L);
+
+        verifyNoInteractions(progressFactRepository);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+
+        synchronizations.forEach(sync -> sync.beforeCommit(false));
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        InOrder inOrder = inOrder(taskRepository, progressFactRepository);
+        inOrder.verify(taskRepository).flush();
+        inOrder.verify(progressFactRepository).refreshTasks(eq(1L), argThat(ids -> Set.copyOf(ids).equals(Set.of(10L, 11L))));
+        assertNull(TransactionSynchronizationManager.getResource(progressFactService));
+    }
+
+    @Test
+    void testTaskChanged_RolledBack_NothingRefreshed() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        progressFactService.taskChanged(10L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verifyNoInteractions(progressFactRepository);
+        assertNull(TransactionSynchronizationManager.getResource(progressFactService));
+    }
+}
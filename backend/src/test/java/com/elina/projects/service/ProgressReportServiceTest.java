@@ -0,0 +1,120 @@
+package com.elina.projects.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.projects.dto.ProgressBreakdownDTO;
+import com.elina.projects.dto.ProgressPointDTO;
+import com.elina.projects.repository.ProgressFactRepository;
+import com.elina.projects.repository.ProgressFactRepository.DailyTotal;
+import com.elina.projects.repository.ProgressFactRepository.Dimension;
+import com.elina.projects.repository.ProgressFactRepository.GroupTotal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProgressReportService.
+ *
+ * Tests cover:
+ * - Daily totals grouped into weeks with cumulative totals from an opening balance
+ * - Month grouping for the whole tenant
+ * - Variance ranking defaults and limit cap
+ * - Invalid arguments rejected before querying
+ */
+@ExtendWith(MockitoExtension.class)
+class ProgressReportServiceTest {
+
+    @Mock
+    private ProgressFactRepository progressFactRepository;
+
+    @InjectMocks
+    private ProgressReportService progressReportService;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void testGetProgressByPeriod_WeeklyWithOpeningBalance() {
+        LocalDate from = LocalDate.of(2025, 11, 3); // Monday
+        LocalDate to = LocalDate.of(2025, 11, 16);
+        when(progressFactRepository.findTotalsBefore(1L, 5L, from))
+                .thenReturn(new DailyTotal(from, new BigDecimal("100.00"), new BigDecimal("90.00")));
+        when(progressFactRepository.findDailyTotals(1L, 5L, from, to)).thenReturn(List.of(
+                new DailyTotal(LocalDate.of(2025, 11, 3), new BigDecimal("10.00"), new BigDecimal("8.00")),
+                new DailyTotal(LocalDate.of(2025, 11, 9), new BigDecimal("10.00"), new BigDecimal("12.00")),
+                new DailyTotal(LocalDate.of(2025, 11, 10), new BigDecimal("10.00"), new BigDecimal("5.00"))));
+
+        List<ProgressPointDTO> points = progressReportService.getProgressByPeriod(5L, from, to, "week");
+
+        assertEquals(2, points.size());
+        ProgressPointDTO first = points.get(0);
+        assertEquals(LocalDate.of(2025, 11, 3), first.getPeriodStart());
+        assertEquals(LocalDate.of(2025, 11, 9), first.getPeriodEnd());
+        assertEquals(new BigDecimal("20.00"), first.getPlannedQty());
+        assertEquals(new BigDecimal("20.00"), first.getActualQty());
+        assertEquals(new BigDecimal("120.00"), first.getCumulativePlannedQty());
+        assertEquals(new BigDecimal("110.00"), first.getCumulativeActualQty());
+
+        ProgressPointDTO second = points.get(1);
+        assertEquals(LocalDate.of(2025, 11, 10), second.getPeriodStart());
+        assertEquals(new BigDecimal("-5.00"), second.getVariance());
+        assertEquals(new BigDecimal("130.00"), second.getCumulativePlannedQty());
+        assertEquals(new BigDecimal("115.00"), second.getCumulativeActualQty());
+        assertEquals(new BigDecimal("-15.00"), second.getCumulativeVariance());
+    }
+
+    @Test
+    void testGetProgressByPeriod_MonthlyForTenant() {
+        when(progressFactRepository.findDailyTotals(1L, null, null, null)).thenReturn(List.of(
+                new DailyTotal(LocalDate.of(2025, 10, 31), new BigDecimal("4.00"), new BigDecimal("4.00")),
+                new DailyTotal(LocalDate.of(2025, 11, 1), new BigDecimal("6.00"), BigDecimal.ZERO)));
+
+        List<ProgressPointDTO> points = progressReportService.getProgressByPeriod(null, null, null, "MONTH");
+
+        assertEquals(2, points.size());
+        assertEquals(LocalDate.of(2025, 10, 1), points.get(0).getPeriodStart());
+        assertEquals(LocalDate.of(2025, 10, 31), points.get(0).getPeriodEnd());
+        assertEquals(new BigDecimal("10.00"), points.get(1).getCumulativePlannedQty());
+        verify(progressFactRepository, never()).findTotalsBefore(any(), any(), any());
+    }
+
+    @Test
+    void testGetVarianceRanking_DefaultsAndLimitCap() {
+        when(progressFactRepository.findVarianceRanking(eq(1L), isNull(), eq(Dimension.WBS), any(), eq(100)))
+                .thenReturn(List.of(new GroupTotal(7L, "WBS-7", "Earthworks",
+                        new BigDecimal("50.00"), new BigDecimal("20.00"))));
+
+        List<ProgressBreakdownDTO> result = progressReportService.getVarianceRanking(null, "wbs", null, 1000);
+
+        assertEquals(1, result.size());
+        assertEquals("WBS", result.get(0).getEntityType());
+        assertEquals(new BigDecimal("-30.00"), result.get(0).getVariance());
+    }
+
+    @Test
+    void testInvalidArguments_ShouldThrowException() {
+        assertThrows(RuntimeException.class, () -> progressReportService.getProgressByPeriod(null,
+                LocalDate.of(2025, 11, 10), LocalDate.of(2025, 11, 1), null));
+        assertThrows(RuntimeException.class, () -> progressReportService.getProgressByPeriod(null, null, null, "YEAR"));
+        assertThrows(RuntimeException.class, () -> progressReportService.getWbsBreakdown(null, null, null, null));
+        verifyNoInteractions(progressFactRepository);
+    }
+}
@@ -0,0 +1,99 @@
+package com.elina.projects.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.authorization.entity.Tenant;
+import com.elina.authorization.repository.TenantRepository;
+import com.elina.authorization.rule.BusinessRuleEngine;
+import com.elina.projects.dto.ProjectDetailsDTO;
+import com.elina.projects.dto.WbsDTO;
+import com.elina.projects.entity.Project;
+import com.elina.projects.repository.ProjectRepository;
+import com.elina.projects.repository.WbsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProjectService project details.
+ *
+ * Tests cover:
+ * - WBS hierarchy assembled in memory from one project-wide query
+ */
+@ExtendWith(MockitoExtension.class)
+class ProjectServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private WbsRepository wbsRepository;
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private BusinessRuleEngine businessRuleEngine;
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    @InjectMocks
+    private ProjectService projectService;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(1L);
+
+        Tenant tenant = new Tenant();
+        tenant.setId(1L);
+        project = new Project();
+        project.setProjectId(1L);
+        project.setTenant(tenant);
+        project.setProjectCode("P001");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private static WbsDTO wbs(Long id, String code, Long parentId) {
+        WbsDTO wbs = new WbsDTO();
+        wbs.setWbsId(id);
+        wbs.setWbsCode(code);
+        wbs.setParentWbsId(parentId);
+        return wbs;
+    }
+
+    @Test
+    void testGetProjectDetails_ShouldBuildHierarchyFromOneQuery() {
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(wbsRepository.findDTOsByProjectId(1L, true)).thenReturn(List.of(
+                wbs(1L, "WBS001", null), wbs(2L, "WBS002", null),
+                wbs(3L, "WBS003", 1L), wbs(4L, "WBS004", 1L),
+                wbs(5L, "WBS005", 3L)));
+
+        ProjectDetailsDTO details = projectService.getProjectDetails(1L);
+
+        assertEquals(5, details.getTotalWbsCount());
+        List<WbsDTO> roots = details.getWbsHierarchy();
+        assertEquals(List.of("WBS001", "WBS002"), roots.stream().map(WbsDTO::getWbsCode).toList());
+        assertEquals(List.of("WBS003", "WBS004"), roots.get(0).getChildren().stream().map(WbsDTO::getWbsCode).toList());
+        assertEquals("WBS005", roots.get(0).getChildren().get(0).getChildren().get(0).getWbsCode());
+        assertTrue(roots.get(1).getChildren().isEmpty());
+        verify(wbsRepository).findDTOsByProjectId(1L, true);
+        verifyNoMoreInteractions(wbsRepository);
+    }
+}
@@ -0,0 +1,158 @@
+package com.elina.projects.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.authorization.entity.Tenant;
+import com.elina.authorization.repository.TenantRepository;
+import com.elina.authorization.rule.BusinessRuleEngine;
+import com.elina.projects.dto.CursorPageDTO;
+import com.elina.projects.dto.TaskDTO;
+import com.elina.projects.entity.Project;
+import com.elina.projects.entity.Wbs;
+import com.elina.projects.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TaskService keyset listing.
+ *
+ * Tests cover:
+ * - One extra row fetched to detect a next page, cursor pointing at the last returned code
+ * - Cursor of a page decoded as the seek key of the next query
+ * - Search normalized to an escaped prefix pattern, count only when requested
+ * - Page size capped at CursorPageDTO.MAX_SIZE, sizes below 1 rejected
+ */
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private WbsRepository wbsRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private TaskUpdateRepository taskUpdateRepository;
+
+    @Mock
+    private PlanVersionRepository planVersionRepository;
+
+    @Mock
+    private BusinessRuleEngine businessRuleEngine;
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    @Mock
+    private ProgressFactService progressFactService;
+
+    @InjectMocks
+    private TaskService taskService;
+
+    private Tenant tenant;
+    private Project project;
+    private Wbs wbs;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(1L);
+
+        tenant = new Tenant();
+        tenant.setId(1L);
+        project = new Project();
+        project.setProjectId(1L);
+        wbs = new Wbs();
+        wbs.setWbsId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private TaskDTO task(long id, String code) {
+        TaskDTO task = new TaskDTO();
+        task.setTaskId(id);
+        task.setTaskCode(code);
+        task.setTenantId(tenant.getId());
+        task.setProjectId(project.getProjectId());
+        task.setWbsId(wbs.getWbsId());
+        return task;
+    }
+
+    @Test
+    void testListTasksAfter_ShouldReturnCursorWhenMoreRowsExist() {
+        when(taskRepository.findDTOPageAfter(null, null, false, null, null, PageRequest.of(0, 3)))
+                .thenReturn(List.of(task(1L, "T001"), task(2L, "T002"), task(3L, "T003")));
+
+        CursorPageDTO<TaskDTO> page = taskService.listTasksAfter(null, null, false, null, null, 2, false);
+
+        assertEquals(2, page.getContent().size());
+        assertEquals("T002", page.getContent().get(1).getTaskCode());
+        assertTrue(page.isHasMore());
+        assertEquals("T002", CursorPageDTO.decodeCursor(page.getNextCursor()));
+        assertNull(page.getTotalElements());
+        verify(taskRepository, never()).countWithPrefix(any(), any(), any(), any());
+    }
+
+    @Test
+    void testListTasksAfter_ShouldSeekPastCursorAndEndOnLastPage() {
+        String cursor = CursorPageDTO.encodeCursor("T002");
+        when(taskRepository.findDTOPageAfter(null, null, false, null, "T002", PageRequest.of(0, 3)))
+                .thenReturn(List.of(task(3L, "T003")));
+
+        CursorPageDTO<TaskDTO> page = taskService.listTasksAfter(null, null, false, null, cursor, 2, false);
+
+        assertEquals(1, page.getContent().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testListTasksAfter_ShouldSearchByEscapedPrefixAndCountOnRequest() {
+        when(taskRepository.findDTOPageAfter(eq(1L), isNull(), eq(true), eq("POUR!_CON%"), isNull(), any()))
+                .thenReturn(List.of(task(1L, "T001")));
+        when(taskRepository.countWithPrefix(1L, null, true, "POUR!_CON%")).thenReturn(1L);
+
+        CursorPageDTO<TaskDTO> page = taskService.listTasksAfter(1L, null, true, "  pour_con ", null, 20, true);
+
+        assertEquals(1, page.getContent().size());
+        assertEquals(1L, page.getTotalElements());
+    }
+
+    @Test
+    void testListTasksAfter_ShouldCapPageSize() {
+        when(taskRepository.findDTOPageAfter(null, null, false, null, null, PageRequest.of(0, CursorPageDTO.MAX_SIZE + 1)))
+                .thenReturn(List.of(task(1L, "T001")));
+
+        CursorPageDTO<TaskDTO> page = taskService.listTasksAfter(null, null, false, null, null, 5000, false);
+
+        assertEquals(CursorPageDTO.MAX_SIZE, page.getSize());
+    }
+
+    @Test
+    void testListTasksAfter_ShouldRejectSizeBelowOne() {
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.listTasksAfter(null, null, false, null, null, 0, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> taskService.listTasksAfter(null, null, false, null, null, -5, false));
+        verify(taskRepository, never()).findDTOPageAfter(any(), any(), any(), any(), any(), any());
+    }
+}
@@ -2,10 +2,16 @@ package com.elina.projects.service;
 
 import com.elina.authorization.context.TenantContext;
 import com.elina.authorization.entity.Tenant;
+import com.elina.authorization.rule.BusinessRuleContext;
 import com.elina.authorization.rule.BusinessRuleEngine;
 import com.elina.authorization.rule.BusinessRuleException;
+import com.elina.authorization.rule.BusinessRulePlan;
+import com.elina.authorization.rule.BusinessRuleViolation;
+import com.elina.projects.dto.BulkValidationResultDTO;
 import com.elina.projects.dto.TaskUpdateBulkDTO;
+import com.elina.projects.dto.TaskUpdateCreateDTO;
 import com.elina.projects.dto.TaskUpdateDayWiseDTO;
+import com.elina.projects.dto.TaskUpdateWindowDTO;
 import com.elina.projects.entity.*;
 import com.elina.projects.repository.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,8 +39,11 @@ import static org.mockito.Mockito.lenient;
  * - Rule 101 violation (backdate too old)
  * - Rule 102 violation (update on locked date)
  * - Rule 401 violation (actual > plan)
+ * - All violations of a bulk save reported together
+ * - Dry-run validation of a day-wise grid (per-row results, no writes)
  * - Date range validation (outside task range)
  * - Confirmation lock blocking
+ * - Windowed day-wise grid (range queries, clipping, adjacent windows)
  * - Successful save operations
  */
 @ExtendWith(MockitoExtension.class)
@@ -53,7 +62,7 @@ class TaskUpdateServiceTest {
     private PlanVersionRepository planVersionRepository;
 
     @Mock
-    private ConfirmationRepository confirmationRepository;
+    private ConfirmationLockResolver confirmationLockResolver;
 
     @Mock
     private BusinessRuleEngine businessRuleEngine;
@@ -61,6 +70,15 @@ class TaskUpdateServiceTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private ProgressFactService progressFactService;
+
+    @Mock
+    private BusinessRulePlan lockPlan;
+
+    @Mock
+    private BusinessRulePlan updatePlan;
+
     @InjectMocks
     private TaskUpdateService taskUpdateService;
 
@@ -89,13 +107,16 @@ class TaskUpdateServiceTest {
         task.setActualQty(BigDecimal.ZERO);
         task.setIsConfirmed(false);
         task.setIsLocked(false);
+
+        // Compiled rule plans (no violations unless stubbed)
+        lenient().when(businessRuleEngine.compile(List.of(102))).thenReturn(lockPlan);
+        lenient().when(businessRuleEngine.compile(List.of(101, 201, 401))).thenReturn(updatePlan);
     }
 
     @Test
     void testSaveOrUpdateDayWise_WithRule401Violation_ShouldThrowException() {
         // Arrange
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        lenient().when(confirmationRepository.findByEntityTypeAndEntityId(eq("WBS"), any())).thenReturn(Optional.empty());
 
         TaskUpdateBulkDTO bulkDTO = new TaskUpdateBulkDTO();
         bulkDTO.setTaskId(1L);
@@ -106,26 +127,136 @@ class TaskUpdateServiceTest {
         dayUpdate.setActualQty(new BigDecimal("15.00")); // Exceeds plan - should violate Rule 401
         bulkDTO.setUpdates(Arrays.asList(dayUpdate));
 
-        // Mock business rule engine to throw Rule 401 violation
-        doThrow(new BusinessRuleException(401, "Actual quantity cannot exceed planned quantity"))
-                .when(businessRuleEngine).validateAll(anyList(), any());
+        // Mock compiled rule plan to report Rule 401 violation
+        when(updatePlan.collect(any())).thenReturn(List.of(
+                new BusinessRuleViolation(401, "Actual quantity cannot exceed planned quantity", null, null)));
 
         // Act & Assert
-        assertThrows(BusinessRuleException.class, () -> {
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class, () -> {
             taskUpdateService.saveOrUpdateDayWise(bulkDTO);
         });
+        assertEquals(401, exception.getRuleNumber());
 
-        // Verify business rule engine was called
-        verify(businessRuleEngine, times(1)).validateAll(anyList(), any());
+        // Verify compiled rule plan was used
+        verify(updatePlan, times(1)).collect(any());
         // Verify no save occurred
         verify(taskUpdateRepository, never()).save(any());
     }
 
+    @Test
+    void testSaveOrUpdateDayWise_WithSeveralInvalidRows_ShouldReportAllViolations() {
+        // Arrange
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskUpdateRepository.findByTaskIdAndDateRange(eq(1L), any(), any(), eq(false))).thenReturn(List.of());
+
+        TaskUpdateBulkDTO bulkDTO = new TaskUpdateBulkDTO();
+        bulkDTO.setTaskId(1L);
+
+        TaskUpdateBulkDTO.DayWiseUpdateDTO outOfRange = new TaskUpdateBulkDTO.DayWiseUpdateDTO();
+        outOfRange.setUpdateDate(LocalDate.of(2025, 12, 1)); // After task end date
+        outOfRange.setPlanQty(new BigDecimal("10.00"));
+        outOfRange.setActualQty(new BigDecimal("10.00"));
+
+        TaskUpdateBulkDTO.DayWiseUpdateDTO valid = new TaskUpdateBulkDTO.DayWiseUpdateDTO();
+        valid.setUpdateDate(LocalDate.of(2025, 11, 5));
+        valid.setPlanQty(new BigDecimal("10.00"));
+        valid.setActualQty(new BigDecimal("10.00"));
+
+        TaskUpdateBulkDTO.DayWiseUpdateDTO exceeding = new TaskUpdateBulkDTO.DayWiseUpdateDTO();
+        exceeding.setUpdateDate(LocalDate.of(2025, 11, 6));
+        exceeding.setPlanQty(new BigDecimal("10.00"));
+        exceeding.setActualQty(new BigDecimal("15.00"));
+
+        bulkDTO.setUpdates(Arrays.asList(outOfRange, valid, exceeding));
+
+        when(updatePlan.collect(any())).thenAnswer(invocation -> {
+            BusinessRuleContext context = invocation.getArgument(0);
+            return context.getActualQty().compareTo(context.getPlannedQty()) > 0
+                ? List.of(new BusinessRuleViolation(401, "Actual quantity cannot exceed planned quantity", null, context))
+                : List.of();
+        });
+
+        // Act & Assert
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class, () -> {
+            taskUpdateService.saveOrUpdateDayWise(bulkDTO);
+        });
+
+        assertEquals(2, exception.getViolations().size());
+        assertNull(exception.getViolations().get(0).getRuleNumber());
+        assertEquals(401, exception.getViolations().get(1).getRuleNumber());
+        assertEquals(LocalDate.of(2025, 11, 6), exception.getViolations().get(1).getContext().getUpdateDate());
+
+        // Rules are resolved once for the whole grid, nothing is saved
+        verify(businessRuleEngine, times(1)).compile(List.of(101, 201, 401));
+        verify(updatePlan, times(2)).collect(any());
+        verify(taskUpdateRepository, never()).save(any());
+    }
+
+    @Test
+    void testValidateDayWise_ShouldReportPerRowResultsWithoutSaving() {
+        // Arrange
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        TaskUpdate existingUpdate = new TaskUpdate();
+        existingUpdate.setUpdateId(1L);
+        existingUpdate.setTask(task);
+        existingUpdate.setTenant(tenant);
+        existingUpdate.setUpdateDate(LocalDate.of(2025, 11, 5));
+        existingUpdate.setActualQty(new BigDecimal("8.00"));
+        when(taskUpdateRepository.findByTaskIdAndDateRange(1L, LocalDate.of(2025, 11, 5), LocalDate.of(2025, 12, 1), false))
+                .thenReturn(List.of(existingUpdate));
+
+        TaskUpdateBulkDTO bulkDTO = new TaskUpdateBulkDTO();
+        bulkDTO.setTaskId(1L);
+
+        TaskUpdateBulkDTO.DayWiseUpdateDTO valid = new TaskUpdateBulkDTO.DayWiseUpdateDTO();
+        valid.setUpdateDate(LocalDate.of(2025, 11, 5));
+        valid.setPlanQty(new BigDecimal("10.00"));
+        valid.setActualQty(new BigDecimal("10.00"));
+
+        TaskUpdateBulkDTO.DayWiseUpdateDTO outOfRange = new TaskUpdateBulkDTO.DayWiseUpdateDTO();
+        outOfRange.setUpdateDate(LocalDate.of(2025, 12, 1)); // After task end date
+        outOfRange.setPlanQty(new BigDecimal("10.00"));
+        outOfRange.setActualQty(new BigDecimal("10.00"));
+
+        TaskUpdateBulkDTO.DayWiseUpdateDTO exceeding = new TaskUpdateBulkDTO.DayWiseUpdateDTO();
+        exceeding.setUpdateDate(LocalDate.of(2025, 11, 6));
+        exceeding.setPlanQty(new BigDecimal("10.00"));
+        exceeding.setActualQty(new BigDecimal("15.00"));
+
+        bulkDTO.setUpdates(Arrays.asList(valid, outOfRange, exceeding));
+
+        when(updatePlan.collect(any())).thenAnswer(invocation -> {
+            BusinessRuleContext context = invocation.getArgument(0);
+            return context.getActualQty().compareTo(context.getPlannedQty()) > 0
+                ? List.of(new BusinessRuleViolation(401, "Actual quantity cannot exceed planned quantity", null, context))
+                : List.of();
+        });
+
+        // Act
+        BulkValidationResultDTO result = taskUpdateService.validateDayWise(bulkDTO);
+
+        // Assert
+        assertFalse(result.isValid());
+        assertEquals(3, result.getRowCount());
+        assertEquals(2, result.getInvalidRowCount());
+        assertTrue(result.getRows().get(0).isValid());
+        assertFalse(result.getRows().get(1).isValid());
+        assertNull(result.getRows().get(1).getViolations().get(0).getRuleNumber());
+        assertEquals(401, result.getRows().get(2).getViolations().get(0).getRuleNumber());
+        assertEquals(LocalDate.of(2025, 11, 6), result.getRows().get(2).getDate());
+
+        // Existing updates come from the preloaded range, nothing is written
+        verify(taskUpdateRepository, never()).findByTaskIdAndUpdateDate(anyLong(), any());
+        verify(taskUpdateRepository, never()).save(any());
+        verify(taskRepository, never()).save(any());
+        verify(auditLogService, never()).writeAuditLog(anyString(), anyLong(), anyString(), any(), any());
+    }
+
     @Test
     void testSaveOrUpdateDayWise_WithDateOutsideTaskRange_ShouldThrowException() {
         // Arrange
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        lenient().when(confirmationRepository.findByEntityTypeAndEntityId(eq("WBS"), any())).thenReturn(Optional.empty());
 
         TaskUpdateBulkDTO bulkDTO = new TaskUpdateBulkDTO();
         bulkDTO.setTaskId(1L);
@@ -161,7 +292,7 @@ class TaskUpdateServiceTest {
         confirmation.setEntityId(1L);
         confirmation.setConfirmationDate(LocalDate.of(2025, 11, 10)); // Locks date 2025-11-10 and earlier
 
-        when(confirmationRepository.findByEntityTypeAndEntityId(eq("WBS"), eq(1L))).thenReturn(Optional.of(confirmation));
+        when(confirmationLockResolver.getLockDate(task)).thenReturn(confirmation.getConfirmationDate());
 
         TaskUpdateBulkDTO bulkDTO = new TaskUpdateBulkDTO();
         bulkDTO.setTaskId(1L);
@@ -172,25 +303,48 @@ class TaskUpdateServiceTest {
         dayUpdate.setActualQty(new BigDecimal("10.00"));
         bulkDTO.setUpdates(Arrays.asList(dayUpdate));
 
-        // Mock Rule 102 to throw exception (backdate not allowed after lock)
-        doThrow(new BusinessRuleException(102, "Cannot update locked date"))
-                .when(businessRuleEngine).validate(eq(102), any());
+        // Mock Rule 102 to report a violation (backdate not allowed after lock)
+        when(lockPlan.collect(any())).thenReturn(List.of(
+                new BusinessRuleViolation(102, "Cannot update locked date", null, null)));
 
         // Act & Assert
-        assertThrows(BusinessRuleException.class, () -> {
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class, () -> {
             taskUpdateService.saveOrUpdateDayWise(bulkDTO);
         });
+        assertEquals(102, exception.getRuleNumber());
 
         // Verify Rule 102 was checked
-        verify(businessRuleEngine, atLeastOnce()).validate(eq(102), any());
+        verify(lockPlan, atLeastOnce()).collect(any());
+        verify(taskUpdateRepository, never()).save(any());
+    }
+
+    @Test
+    void testCreateOrUpdateTaskUpdate_WithAncestorConfirmation_ShouldRejectLockedDate() {
+        // Arrange: the task has no lock of its own; an ancestor WBS is confirmed through 2025-11-10
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(confirmationLockResolver.getLockDate(task)).thenReturn(LocalDate.of(2025, 11, 10));
+        doThrow(new BusinessRuleException(102, "Backdate after lock not allowed"))
+                .when(businessRuleEngine).validate(eq(102), any());
+
+        TaskUpdateCreateDTO dto = new TaskUpdateCreateDTO();
+        dto.setTaskId(1L);
+        dto.setUpdateDate(LocalDate.of(2025, 11, 5));
+        dto.setActualQty(new BigDecimal("10.00"));
+
+        // Act & Assert
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class,
+                () -> taskUpdateService.createOrUpdateTaskUpdate(dto));
+        assertEquals(102, exception.getRuleNumber());
+        verify(businessRuleEngine).validate(eq(102), argThat(context ->
+                LocalDate.of(2025, 11, 10).equals(context.getConfirmationDate())));
+        verify(taskUpdateRepository, never()).save(any());
     }
 
     @Test
     void testSaveOrUpdateDayWise_WithValidData_ShouldSaveSuccessfully() {
         // Arrange
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        lenient().when(confirmationRepository.findByEntityTypeAndEntityId(eq("WBS"), any())).thenReturn(Optional.empty());
-        when(taskUpdateRepository.findByTaskIdAndUpdateDate(anyLong(), any())).thenReturn(Optional.empty());
+        when(taskUpdateRepository.findByTaskIdAndDateRange(eq(1L), any(), any(), eq(false))).thenReturn(List.of());
         when(taskUpdateRepository.getTotalActualQtyByTaskId(anyLong())).thenReturn(new BigDecimal("10.00"));
 
         TaskUpdate savedUpdate = new TaskUpdate();
@@ -238,7 +392,7 @@ class TaskUpdateServiceTest {
         // Create confirmation lock
         Confirmation confirmation = new Confirmation();
         confirmation.setConfirmationDate(LocalDate.of(2025, 11, 10));
-        when(confirmationRepository.findByEntityTypeAndEntityId(eq("WBS"), eq(1L))).thenReturn(Optional.of(confirmation));
+        when(confirmationLockResolver.getLockDate(task)).thenReturn(confirmation.getConfirmationDate());
 
         // Mock Rule 102 to throw exception
         doThrow(new BusinessRuleException(102, "Cannot delete update for locked date"))
@@ -257,7 +411,6 @@ class TaskUpdateServiceTest {
     void testSaveOrUpdateDayWise_WithRule101Violation_ShouldThrowException() {
         // Arrange
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        lenient().when(confirmationRepository.findByEntityTypeAndEntityId(eq("WBS"), any())).thenReturn(Optional.empty());
 
         TaskUpdateBulkDTO bulkDTO = new TaskUpdateBulkDTO();
         bulkDTO.setTaskId(1L);
@@ -310,7 +463,6 @@ class TaskUpdateServiceTest {
         when(taskUpdateRepository.findByTaskIdOrderByUpdateDate(1L, true))
                 .thenReturn(Arrays.asList(existingUpdate));
 
-        lenient().when(confirmationRepository.findByEntityTypeAndEntityId(eq("WBS"), any())).thenReturn(Optional.empty());
 
         // Act
         List<TaskUpdateDayWiseDTO> result = taskUpdateService.getUpdatesForTask(1L);
@@ -329,7 +481,6 @@ class TaskUpdateServiceTest {
         when(planVersionRepository.findCurrentByTaskId(1L)).thenReturn(Optional.empty());
         when(taskUpdateRepository.findByTaskIdOrderByUpdateDate(1L, true))
                 .thenReturn(Collections.emptyList());
-        lenient().when(confirmationRepository.findByEntityTypeAndEntityId(eq("WBS"), any())).thenReturn(Optional.empty());
 
         // Act
         List<TaskUpdateDayWiseDTO> result = taskUpdateService.getUpdatesForTask(1L);
@@ -379,8 +530,7 @@ class TaskUpdateServiceTest {
     void testSaveOrUpdateDayWise_WithMultipleUpdates_ShouldSaveAll() {
         // Arrange
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        lenient().when(confirmationRepository.findByEntityTypeAndEntityId(eq("WBS"), any())).thenReturn(Optional.empty());
-        when(taskUpdateRepository.findByTaskIdAndUpdateDate(anyLong(), any())).thenReturn(Optional.empty());
+        when(taskUpdateRepository.findByTaskIdAndDateRange(eq(1L), any(), any(), eq(false))).thenReturn(List.of());
         when(taskUpdateRepository.getTotalActualQtyByTaskId(anyLong())).thenReturn(new BigDecimal("30.00"));
 
         TaskUpdate savedUpdate1 = new TaskUpdate();
@@ -424,13 +574,17 @@ class TaskUpdateServiceTest {
         assertEquals(2, result.size());
         verify(taskUpdateRepository, times(2)).save(any());
         verify(auditLogService, times(2)).writeAuditLog(anyString(), anyLong(), anyString(), any(), any());
+        // Existing rows loaded with one range query, as in the dry-run
+        verify(taskUpdateRepository, times(1)).findByTaskIdAndDateRange(1L, LocalDate.of(2025, 11, 5), LocalDate.of(2025, 11, 6), false);
+        verify(taskUpdateRepository, never()).findByTaskIdAndUpdateDate(anyLong(), any());
+        // Progress facts refreshed once for the task
+        verify(progressFactService, times(1)).taskChanged(1L);
     }
 
     @Test
     void testSaveOrUpdateDayWise_WithExistingUpdate_ShouldUpdate() {
         // Arrange
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        lenient().when(confirmationRepository.findByEntityTypeAndEntityId(eq("WBS"), any())).thenReturn(Optional.empty());
 
         TaskUpdate existingUpdate = new TaskUpdate();
         existingUpdate.setUpdateId(1L);
@@ -439,8 +593,8 @@ class TaskUpdateServiceTest {
         existingUpdate.setUpdateDate(LocalDate.of(2025, 11, 5));
         existingUpdate.setActualQty(new BigDecimal("8.00"));
 
-        when(taskUpdateRepository.findByTaskIdAndUpdateDate(1L, LocalDate.of(2025, 11, 5)))
-                .thenReturn(Optional.of(existingUpdate));
+        when(taskUpdateRepository.findByTaskIdAndDateRange(1L, LocalDate.of(2025, 11, 5), LocalDate.of(2025, 11, 5), false))
+                .thenReturn(List.of(existingUpdate));
         when(taskUpdateRepository.getTotalActualQtyByTaskId(anyLong())).thenReturn(new BigDecimal("10.00"));
 
         TaskUpdate savedUpdate = new TaskUpdate();
@@ -480,7 +634,6 @@ class TaskUpdateServiceTest {
         update.setUpdateDate(LocalDate.of(2025, 10, 1)); // Very old date
 
         when(taskUpdateRepository.findById(1L)).thenReturn(Optional.of(update));
-        lenient().when(confirmationRepository.findByEntityTypeAndEntityId(eq("WBS"), any())).thenReturn(Optional.empty());
 
         // Mock Rule 101 to throw exception (backdate too old)
         doThrow(new BusinessRuleException(101, "Cannot delete update - backdate too old"))
@@ -505,7 +658,6 @@ class TaskUpdateServiceTest {
         update.setUpdateDate(LocalDate.of(2025, 11, 5));
 
         when(taskUpdateRepository.findById(1L)).thenReturn(Optional.of(update));
-        lenient().when(confirmationRepository.findByEntityTypeAndEntityId(eq("WBS"), any())).thenReturn(Optional.empty());
         when(taskUpdateRepository.getTotalActualQtyByTaskId(anyLong())).thenReturn(BigDecimal.ZERO);
 
         // Act
@@ -532,8 +684,7 @@ class TaskUpdateServiceTest {
         // Create confirmation lock
         Confirmation confirmation = new Confirmation();
         confirmation.setConfirmationDate(LocalDate.of(2025, 11, 10));
-        when(confirmationRepository.findByEntityTypeAndEntityId(eq("WBS"), eq(1L)))
-                .thenReturn(Optional.of(confirmation));
+        when(confirmationLockResolver.getLockDate(task)).thenReturn(confirmation.getConfirmationDate());
 
         // Act
         List<TaskUpdateDayWiseDTO> result = taskUpdateService.getUpdatesForTask(1L);
@@ -547,5 +698,76 @@ class TaskUpdateServiceTest {
             }
         }
     }
-}
 
+    @Test
+    void testGetUpdatesForTaskWindow_LoadsOnlyWindowRange() {
+        // Arrange
+        PlanVersion version = new PlanVersion();
+        version.setPlanVersionId(5L);
+        PlanLine planLine = new PlanLine();
+        planLine.setWorkDate(LocalDate.of(2025, 11, 12));
+        planLine.setPlannedQty(new BigDecimal("8.00"));
+        TaskUpdate update = new TaskUpdate();
+        update.setUpdateId(20L);
+        update.setUpdateDate(LocalDate.of(2025, 11, 12));
+        update.setActualQty(new BigDecimal("6.00"));
+
+        LocalDate from = LocalDate.of(2025, 11, 10);
+        LocalDate to = LocalDate.of(2025, 11, 16);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(planVersionRepository.findCurrentByTaskId(1L)).thenReturn(Optional.of(version));
+        when(planLineRepository.findByPlanVersionIdAndDateRange(5L, from, to, true)).thenReturn(List.of(planLine));
+        when(taskUpdateRepository.findByTaskIdAndDateRange(1L, from, to, true)).thenReturn(List.of(update));
+
+        // Act
+        TaskUpdateWindowDTO window = taskUpdateService.getUpdatesForTaskWindow(1L, from, to);
+
+        // Assert
+        assertEquals(7, window.getRows().size());
+        TaskUpdateDayWiseDTO row = window.getRows().get(2);
+        assertEquals(LocalDate.of(2025, 11, 12), row.getUpdateDate());
+        assertEquals(new BigDecimal("8.00"), row.getPlanQty());
+        assertEquals(new BigDecimal("6.00"), row.getActualQty());
+        assertEquals(20L, row.getUpdateId());
+
+        // Adjacent windows keep the size
+        assertEquals(LocalDate.of(2025, 11, 3), window.getPreviousWindowStart());
+        assertEquals(LocalDate.of(2025, 11, 9), window.getPreviousWindowEnd());
+        assertEquals(LocalDate.of(2025, 11, 17), window.getNextWindowStart());
+        assertEquals(LocalDate.of(2025, 11, 23), window.getNextWindowEnd());
+
+        // Full-range loads are not used
+        verify(planLineRepository, never()).findByPlanVersionId(any(), any());
+        verify(taskUpdateRepository, never()).findByTaskIdOrderByUpdateDate(any(), any());
+    }
+
+    @Test
+    void testGetUpdatesForTaskWindow_ClippedToTaskRange() {
+        // Arrange
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(planVersionRepository.findCurrentByTaskId(1L)).thenReturn(Optional.empty());
+        when(taskUpdateRepository.findByTaskIdAndDateRange(1L, LocalDate.of(2025, 11, 1),
+                LocalDate.of(2025, 11, 5), true)).thenReturn(Collections.emptyList());
+
+        // Act
+        TaskUpdateWindowDTO window = taskUpdateService.getUpdatesForTaskWindow(1L,
+                LocalDate.of(2025, 10, 28), LocalDate.of(2025, 11, 5));
+
+        // Assert
+        assertEquals(LocalDate.of(2025, 11, 1), window.getWindowStart());
+        assertEquals(5, window.getRows().size());
+        assertNull(window.getPreviousWindowStart());
+        assertNull(window.getPreviousWindowEnd());
+        assertEquals(LocalDate.of(2025, 11, 6), window.getNextWindowStart());
+        assertEquals(LocalDate.of(2025, 11, 14), window.getNextWindowEnd());
+    }
+
+    @Test
+    void testGetUpdatesForTaskWindow_TooLarge_ShouldThrowException() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        assertThrows(RuntimeException.class, () -> taskUpdateService.getUpdatesForTaskWindow(1L,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2026, 6, 30)));
+        verify(taskUpdateRepository, never()).findByTaskIdAndDateRange(any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,110 @@
+package com.elina.projects.service;
+
+import com.elina.projects.repository.SearchIndexRepository.SearchDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TenantSearchIndex.
+ *
+ * Tests cover:
+ * - Word prefix matching on codes and names, all query words required
+ * - Ranking: exact code, code prefix, name prefix, other word prefix
+ * - Entity type and visibility filters, applied outside the index lock
+ * - Change events taking precedence over rows loaded concurrently
+ */
+class TenantSearchIndexTest {
+
+    private TenantSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TenantSearchIndex();
+        index.load(List.of(
+            task(1L, "T-100", "Pour concrete slab"),
+            task(2L, "T-1001", "Formwork"),
+            task(3L, "SLAB-01", "Slab reinforcement"),
+            new SearchDocument("WBS", 10L, 1L, "WBS-01", "Concrete works", "WC01", null),
+            new SearchDocument("PROJECT", 1L, 1L, "P-001", "Tower construction", null, null)));
+    }
+
+    private static SearchDocument task(Long id, String code, String name) {
+        return new SearchDocument("TASK", id, 1L, code, name, null, null);
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, Set.of(), d -> true, 10).stream().map(SearchDocument::entityId).toList();
+    }
+
+    @Test
+    void testSearch_ShouldMatchWordPrefixesOfCodeAndName() {
+        assertEquals(List.of(1L, 2L), ids("t-100"));
+        assertEquals(List.of(1L), ids("conc pour"));
+        assertTrue(ids("reinforcement").contains(3L));
+        assertTrue(ids("xyz").isEmpty());
+    }
+
+    @Test
+    void testSearch_ShouldRankExactCodeThenCodePrefixThenNamePrefix() {
+        assertEquals(List.of(1L, 2L), ids("T-100"));
+
+        List<SearchDocument> slab = index.search("slab", Set.of(), d -> true, 10);
+        assertEquals("SLAB-01", slab.get(0).code());
+        assertEquals("T-100", slab.get(1).code());
+    }
+
+    @Test
+    void testSearch_ShouldApplyTypeAndVisibilityFilters() {
+        List<SearchDocument> concrete = index.search("concrete", Set.of("WBS"), d -> true, 10);
+        assertEquals(1, concrete.size());
+        assertEquals("WBS-01", concrete.get(0).code());
+
+        assertTrue(index.search("concrete", Set.of("WBS"), d -> d.workCenter() == null, 10).isEmpty());
+        assertEquals(1, index.search("t", Set.of(), d -> true, 1).size());
+    }
+
+    @Test
+    void testSearch_ShouldRunFilterBestFirstWithoutHoldingTheLock() {
+        List<String> tested = new ArrayList<>();
+
+        // A filter that writes to the index would deadlock if the read lock were still held
+        List<SearchDocument> results = assertTimeoutPreemptively(Duration.ofSeconds(5),
+            () -> index.search("t-100", Set.of(), d -> {
+                tested.add(d.code());
+                index.apply(task(4L, "X-1", "Unrelated"));
+                return !"T-100".equals(d.code());
+            }, 1));
+
+        assertEquals(List.of("T-1001"), results.stream().map(SearchDocument::code).toList());
+        assertEquals(List.of("T-100", "T-1001"), tested);
+    }
+
+    @Test
+    void testChanges_ShouldUpdateAndRemoveEntries() {
+        index.apply(task(2L, "T-1001", "Scaffolding"));
+        index.remove("TASK", 1L);
+
+        assertTrue(ids("formwork").isEmpty());
+        assertEquals(List.of(2L), ids("scaff"));
+        assertTrue(ids("pour").isEmpty());
+    }
+
+    @Test
+    void testLoad_ShouldNotOverwriteEntriesChangedDuringBuild() {
+        TenantSearchIndex building = new TenantSearchIndex();
+        building.apply(task(1L, "T-100", "Renamed task"));
+        building.remove("TASK", 2L);
+
+        building.load(List.of(task(1L, "T-100", "Pour concrete slab"), task(2L, "T-1001", "Formwork")));
+
+        assertEquals(1, building.size());
+        assertEquals("Renamed task", building.search("renamed", Set.of(), d -> true, 10).get(0).name());
+    }
+}
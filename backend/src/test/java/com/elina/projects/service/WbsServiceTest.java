@@ -0,0 +1,170 @@
+package com.elina.projects.service;
+
+import com.elina.authorization.context.TenantContext;
+import com.elina.authorization.entity.Tenant;
+import com.elina.authorization.repository.TenantRepository;
+import com.elina.authorization.rule.BusinessRuleEngine;
+import com.elina.authorization.service.UserAuthorizationService;
+import com.elina.projects.dto.WbsDTO;
+import com.elina.projects.entity.Project;
+import com.elina.projects.entity.Wbs;
+import com.elina.projects.repository.ProjectRepository;
+import com.elina.projects.repository.WbsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WbsService hierarchy maintenance.
+ *
+ * Tests cover:
+ * - Materialized path and level rewritten for the moved subtree
+ * - Moves below the WBS itself or a descendant rejected
+ * - Ancestors read from the path, without ancestors the user is not authorized for
+ */
+@ExtendWith(MockitoExtension.class)
+class WbsServiceTest {
+
+    @Mock
+    private WbsRepository wbsRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TenantRepository tenantRepository;
+
+    @Mock
+    private BusinessRuleEngine businessRuleEngine;
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    @Mock
+    private UserAuthorizationService userAuthorizationService;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private WbsService wbsService;
+
+    private Wbs root;
+    private Wbs child;
+    private Wbs otherRoot;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setTenantId(1L);
+
+        Tenant tenant = new Tenant();
+        tenant.setId(1L);
+        Project project = new Project();
+        project.setProjectId(1L);
+
+        root = wbs(1L, "WBS001", null, tenant, project);
+        child = wbs(2L, "WBS002", root, tenant, project);
+        otherRoot = wbs(3L, "WBS003", null, tenant, project);
+
+        SecurityContextHolder.setContext(securityContext);
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getPrincipal()).thenReturn(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    private static Wbs wbs(Long id, String code, Wbs parent, Tenant tenant, Project project) {
+        Wbs wbs = new Wbs();
+        wbs.setWbsId(id);
+        wbs.setWbsCode(code);
+        wbs.setTenant(tenant);
+        wbs.setProject(project);
+        wbs.setParentWbs(parent);
+        wbs.setLevel(parent != null ? parent.getLevel() + 1 : 1);
+        wbs.setPath(Wbs.childPath(parent, id));
+        return wbs;
+    }
+
+    @Test
+    void testMoveWbs_ShouldRewritePathOfSubtree() {
+        when(wbsRepository.findById(2L)).thenReturn(Optional.of(child));
+        when(wbsRepository.findById(3L)).thenReturn(Optional.of(otherRoot));
+        when(wbsRepository.save(any(Wbs.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        WbsDTO result = wbsService.moveWbs(2L, 3L);
+
+        assertEquals(3L, result.getParentWbsId());
+        assertEquals("/3/2/", child.getPath());
+        assertEquals(2, child.getLevel());
+        verify(wbsRepository).moveDescendantPaths("/1/2/", "/3/2/", 6, 0);
+    }
+
+    @Test
+    void testMoveWbs_ToRoot_ShouldShiftDescendantLevels() {
+        when(wbsRepository.findById(2L)).thenReturn(Optional.of(child));
+        when(wbsRepository.save(any(Wbs.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        wbsService.moveWbs(2L, null);
+
+        assertEquals("/2/", child.getPath());
+        assertEquals(1, child.getLevel());
+        verify(wbsRepository).moveDescendantPaths("/1/2/", "/2/", 6, -1);
+    }
+
+    @Test
+    void testMoveWbs_BelowOwnDescendant_ShouldThrow() {
+        when(wbsRepository.findById(1L)).thenReturn(Optional.of(root));
+        when(wbsRepository.findById(2L)).thenReturn(Optional.of(child));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> wbsService.moveWbs(1L, 2L));
+
+        assertTrue(exception.getMessage().contains("descendants"));
+        verify(wbsRepository, never()).save(any());
+        verify(wbsRepository, never()).moveDescendantPaths(anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testGetWbsAncestors_ShouldLoadIdsFromPath() {
+        when(wbsRepository.findById(2L)).thenReturn(Optional.of(child));
+        when(wbsRepository.findByWbsIdsOrderByLevel(List.of(1L))).thenReturn(List.of(root));
+
+        List<WbsDTO> result = wbsService.getWbsAncestors(2L);
+
+        assertEquals(1, result.size());
+        assertEquals("WBS001", result.get(0).getWbsCode());
+    }
+
+    @Test
+    void testGetWbsAncestors_ShouldSkipUnauthorizedAncestor() {
+        root.setWorkCenter("WC_RESTRICTED");
+        Wbs grandchild = wbs(4L, "WBS004", child, root.getTenant(), root.getProject());
+        when(wbsRepository.findById(4L)).thenReturn(Optional.of(grandchild));
+        when(wbsRepository.findByWbsIdsOrderByLevel(List.of(1L, 2L))).thenReturn(List.of(root, child));
+        when(userAuthorizationService.findByUserId(1L)).thenReturn(List.of());
+
+        List<WbsDTO> result = wbsService.getWbsAncestors(4L);
+
+        assertEquals(List.of("WBS002"), result.stream().map(WbsDTO::getWbsCode).toList());
+    }
+}
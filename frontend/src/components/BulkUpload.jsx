@@ -12,8 +12,12 @@ const BulkUpload = ({ onClose }) => {
     const selectedFile = e.target.files[0]
     if (selectedFile) {
       const ext = selectedFile.name.split('.').pop().toLowerCase()
-      if (!['csv', 'xlsx', 'xls'].includes(ext)) {
-        setError('Please select a CSV or Excel file (.csv, .xlsx, .xls)')
+      if (ext === 'xls') {
+        setError('Excel 97-2003 (.xls) files are not supported. Save the file as .xlsx or .csv')
+        return
+      }
+      if (!['csv', 'xlsx'].includes(ext)) {
+        setError('Please select a CSV or Excel file (.csv, .xlsx)')
         return
       }
       setFile(selectedFile)
@@ -123,7 +127,7 @@ const BulkUpload = ({ onClose }) => {
         <div className="mb-6 bg-blue-50 border border-blue-200 rounded-md p-4">
           <h3 className="text-sm font-semibold text-blue-900 mb-2">Instructions:</h3>
           <ul className="text-sm text-blue-800 list-disc list-inside space-y-1">
-            <li>Upload a CSV or Excel file (.csv, .xlsx, .xls)</li>
+            <li>Upload a CSV or Excel file (.csv, .xlsx)</li>
             <li>Required columns: code_type, code_value</li>
             <li>Optional columns: short_description, long_description</li>
             <li>Use "Validate" to preview changes before committing</li>
@@ -145,7 +149,7 @@ const BulkUpload = ({ onClose }) => {
           <div className="flex items-center space-x-4">
             <input
               type="file"
-              accept=".csv,.xlsx,.xls"
+              accept=".csv,.xlsx"
               onChange={handleFileChange}
               className="block w-full text-sm text-gray-500 file:mr-4 file:py-2 file:px-4 file:rounded-md file:border-0 file:text-sm file:font-semibold file:bg-indigo-50 file:text-indigo-700 hover:file:bg-indigo-100"
             />
@@ -255,7 +259,7 @@ const BulkUpload = ({ onClose }) => {
                 </table>
                 {result.rows.length > 50 && (
                   <div className="mt-2 text-sm text-gray-500 text-center">
-                    Showing first 50 rows. Total: {result.rows.length} rows.
+                    Showing first 50 rows. Total: {result.totalRows} rows.
                   </div>
                 )}
               </div>